@@ -27,6 +27,7 @@ import org.exbin.framework.bined.BinedModule;
 import org.exbin.framework.menu.api.MenuManagement;
 import org.exbin.framework.bined.editor.action.EditSelectionAction;
 import org.exbin.framework.bined.editor.action.ReloadFileAction;
+import org.exbin.framework.bined.editor.action.SaveSelectionAsAction;
 import org.exbin.framework.bined.editor.service.EditorOptionsService;
 import org.exbin.framework.bined.editor.settings.BinaryEditorSettingsApplier;
 import org.exbin.framework.bined.editor.settings.CodeAreaEditingSettingsComponent;
@@ -206,6 +207,14 @@ public class BinedEditorModule implements Module {
         return reloadFileAction;
     }
 
+    @Nonnull
+    public SaveSelectionAsAction createSaveSelectionAsAction() {
+        ensureSetup();
+        SaveSelectionAsAction saveSelectionAsAction = new SaveSelectionAsAction();
+        saveSelectionAsAction.setup(resourceBundle);
+        return saveSelectionAsAction;
+    }
+
     public void registerPropertiesMenu() {
         createPropertiesAction();
         MenuModuleApi menuModule = App.getModule(MenuModuleApi.class);
@@ -222,6 +231,13 @@ public class BinedEditorModule implements Module {
         mgmt.registerMenuRule(contribution, new PositionSequenceContributionRule(PositionSequenceContributionRule.PositionMode.BOTTOM));
     }
 
+    public void registerSaveSelectionAsMenu() {
+        MenuModuleApi menuModule = App.getModule(MenuModuleApi.class);
+        MenuManagement mgmt = menuModule.getMainMenuManagement(MODULE_ID).getSubMenu(MenuModuleApi.FILE_SUBMENU_ID);
+        SequenceContribution contribution = mgmt.registerMenuItem(createSaveSelectionAsAction());
+        mgmt.registerMenuRule(contribution, new PositionSequenceContributionRule(PositionSequenceContributionRule.PositionMode.BOTTOM));
+    }
+
     public void registerEditSelectionAction() {
         createEditSelectionAction();
         MenuModuleApi menuModule = App.getModule(MenuModuleApi.class);
@@ -236,5 +252,8 @@ public class BinedEditorModule implements Module {
         SequenceContribution contribution = mgmt.registerMenuItem(createEditSelectionAction());
         mgmt.registerMenuRule(contribution, new GroupSequenceContributionRule(BinedModule.CODE_AREA_POPUP_SELECTION_GROUP_ID));
         mgmt.registerMenuRule(contribution, new PositionSequenceContributionRule(PositionSequenceContributionRule.PositionMode.BOTTOM));
+        contribution = mgmt.registerMenuItem(createSaveSelectionAsAction());
+        mgmt.registerMenuRule(contribution, new GroupSequenceContributionRule(BinedModule.CODE_AREA_POPUP_SELECTION_GROUP_ID));
+        mgmt.registerMenuRule(contribution, new PositionSequenceContributionRule(PositionSequenceContributionRule.PositionMode.BOTTOM));
     }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.editor.action;
+
+import java.awt.event.ActionEvent;
+import java.io.File;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.AbstractAction;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.capability.SelectionCapable;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.framework.App;
+import org.exbin.framework.action.api.ActionContextChange;
+import org.exbin.framework.action.api.ActionConsts;
+import org.exbin.framework.action.api.ActionModuleApi;
+import org.exbin.framework.action.api.ActionContextChangeManager;
+import org.exbin.framework.action.api.ActiveComponent;
+import org.exbin.framework.bined.BackgroundTaskRunner;
+import org.exbin.framework.bined.BinaryDataComponent;
+import org.exbin.framework.bined.DataRangeFileWriter;
+
+/**
+ * Save selected data into file action.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SaveSelectionAsAction extends AbstractAction {
+
+    public static final String ACTION_ID = "saveSelectionAsAction";
+
+    private ResourceBundle resourceBundle;
+    private CodeAreaCore codeArea;
+
+    public SaveSelectionAsAction() {
+    }
+
+    public void setup(ResourceBundle resourceBundle) {
+        this.resourceBundle = resourceBundle;
+        ActionModuleApi actionModule = App.getModule(ActionModuleApi.class);
+        actionModule.initAction(this, resourceBundle, ACTION_ID);
+        putValue(ActionConsts.ACTION_DIALOG_MODE, true);
+        putValue(ActionConsts.ACTION_CONTEXT_CHANGE, new ActionContextChange() {
+            @Override
+            public void register(ActionContextChangeManager manager) {
+                manager.registerUpdateListener(ActiveComponent.class, (instance) -> {
+                    codeArea = instance instanceof BinaryDataComponent ? ((BinaryDataComponent) instance).getCodeArea() : null;
+                    setEnabled(codeArea != null);
+                });
+            }
+        });
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            JOptionPane.showMessageDialog(codeArea, resourceBundle.getString("saveSelectionAsAction.emptySelection"), resourceBundle.getString("saveSelectionAsAction.text"), JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        JFileChooser saveFileChooser = new JFileChooser();
+        saveFileChooser.setAcceptAllFileFilterUsed(true);
+        if (saveFileChooser.showSaveDialog(codeArea) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        File targetFile = saveFileChooser.getSelectedFile();
+        if (targetFile.exists()) {
+            String message = MessageFormat.format(resourceBundle.getString("saveSelectionAsAction.overwriteQuestion"), targetFile.getName());
+            if (JOptionPane.showConfirmDialog(codeArea, message, resourceBundle.getString("saveSelectionAsAction.text"), JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE) != JOptionPane.YES_OPTION) {
+                return;
+            }
+        }
+
+        BinaryData data = codeArea.getContentData();
+        long position = selection.getFirst();
+        long length = selection.getLength();
+        try {
+            BackgroundTaskRunner.execute(codeArea, resourceBundle.getString("saveSelectionAsAction.progress"), (progressListener) -> {
+                DataRangeFileWriter.write(data, position, length, targetFile, progressListener);
+                return null;
+            });
+        } catch (CancellationException ex) {
+            // Incomplete file was removed by writer
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            Logger.getLogger(SaveSelectionAsAction.class.getName()).log(Level.SEVERE, null, cause);
+            JOptionPane.showMessageDialog(codeArea, cause.getMessage(), resourceBundle.getString("saveSelectionAsAction.saveFailed"), JOptionPane.ERROR_MESSAGE);
+        }
+    }
+}
@@ -257,6 +257,7 @@ public class BinedLauncherModule implements LauncherModule {
 
             binedEditorModule.registerPropertiesMenu();
             binedEditorModule.registerReloadFileMenu();
+            binedEditorModule.registerSaveSelectionAsMenu();
             // TODO binedModule.registerPrintMenu();
             binedViewerModule.registerViewModeMenu();
             binedViewerModule.registerCodeTypeMenu();
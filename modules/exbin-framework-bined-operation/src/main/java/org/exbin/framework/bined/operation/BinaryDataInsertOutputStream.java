@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation;
+
+import java.io.OutputStream;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+
+/**
+ * Output stream inserting written data into binary data in chunks.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinaryDataInsertOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final EditableBinaryData data;
+    private final long startPosition;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferLength = 0;
+    private long insertedLength = 0;
+
+    public BinaryDataInsertOutputStream(EditableBinaryData data, long startPosition) {
+        this.data = data;
+        this.startPosition = startPosition;
+    }
+
+    @Override
+    public void write(int value) {
+        buffer[bufferLength++] = (byte) value;
+        if (bufferLength == BUFFER_SIZE) {
+            flush();
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        if (bufferLength + length > BUFFER_SIZE) {
+            flush();
+            if (length >= BUFFER_SIZE) {
+                data.insert(startPosition + insertedLength, bytes, offset, length);
+                insertedLength += length;
+                return;
+            }
+        }
+
+        System.arraycopy(bytes, offset, buffer, bufferLength, length);
+        bufferLength += length;
+    }
+
+    @Override
+    public void flush() {
+        if (bufferLength > 0) {
+            data.insert(startPosition + insertedLength, buffer, 0, bufferLength);
+            insertedLength += bufferLength;
+            bufferLength = 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Returns length of data already inserted into target data.
+     *
+     * @return inserted length
+     */
+    public long getInsertedLength() {
+        return insertedLength;
+    }
+}
@@ -34,6 +34,7 @@ import org.exbin.framework.bined.operation.action.ConvertDataAction;
 import org.exbin.framework.bined.operation.action.CopyAsAction;
 import org.exbin.framework.bined.operation.action.PasteFromAction;
 import org.exbin.framework.bined.operation.method.RandomDataMethod;
+import org.exbin.framework.bined.operation.method.SequenceDataMethod;
 import org.exbin.framework.bined.operation.method.SimpleFillDataMethod;
 import org.exbin.framework.language.api.LanguageModuleApi;
 import org.exbin.framework.bined.operation.api.ConvertDataMethod;
@@ -42,10 +43,15 @@ import org.exbin.framework.bined.operation.api.InsertDataMethod;
 import org.exbin.framework.bined.operation.api.PasteFromDataMethod;
 import org.exbin.framework.bined.operation.method.Base64DataMethod;
 import org.exbin.framework.bined.operation.method.BitSwappingDataMethod;
+import org.exbin.framework.bined.operation.method.ByteTransformDataMethod;
+import org.exbin.framework.bined.operation.method.CharsetTranscodingDataMethod;
 import org.exbin.framework.bined.operation.method.CompressionDataMethod;
+import org.exbin.framework.bined.operation.method.ConversionPipelineDataMethod;
 import org.exbin.framework.bined.operation.method.CopyAsTextDataMethod;
 import org.exbin.framework.bined.operation.method.DateTimeConversionMethod;
+import org.exbin.framework.bined.operation.method.FastCompressionDataMethod;
 import org.exbin.framework.bined.operation.method.PasteFromTextDataMethod;
+import org.exbin.framework.bined.operation.method.TextEncodingDataMethod;
 import org.exbin.framework.contribution.api.GroupSequenceContributionRule;
 import org.exbin.framework.contribution.api.RelativeSequenceContributionRule;
 import org.exbin.framework.contribution.api.RelativeSequenceContributionRule.NextToMode;
@@ -75,14 +81,26 @@ public class BinedOperationModule implements Module {
         addInsertDataMethod(simpleFillDataMethod);
         RandomDataMethod randomDataMethod = new RandomDataMethod();
         addInsertDataMethod(randomDataMethod);
+        SequenceDataMethod sequenceDataMethod = new SequenceDataMethod();
+        addInsertDataMethod(sequenceDataMethod);
         BitSwappingDataMethod bitSwappingDataMethod = new BitSwappingDataMethod();
         addConvertDataMethod(bitSwappingDataMethod);
+        ByteTransformDataMethod byteTransformDataMethod = new ByteTransformDataMethod();
+        addConvertDataMethod(byteTransformDataMethod);
         Base64DataMethod base64DataMethod = new Base64DataMethod();
         addConvertDataMethod(base64DataMethod);
+        TextEncodingDataMethod textEncodingDataMethod = new TextEncodingDataMethod();
+        addConvertDataMethod(textEncodingDataMethod);
+        CharsetTranscodingDataMethod charsetTranscodingDataMethod = new CharsetTranscodingDataMethod();
+        addConvertDataMethod(charsetTranscodingDataMethod);
         DateTimeConversionMethod dateTimeConversionMethod = new DateTimeConversionMethod();
         addConvertDataMethod(dateTimeConversionMethod);
         CompressionDataMethod compressionDataMethod = new CompressionDataMethod();
         addConvertDataMethod(compressionDataMethod);
+        FastCompressionDataMethod fastCompressionDataMethod = new FastCompressionDataMethod();
+        addConvertDataMethod(fastCompressionDataMethod);
+        ConversionPipelineDataMethod conversionPipelineDataMethod = new ConversionPipelineDataMethod();
+        addConvertDataMethod(conversionPipelineDataMethod);
         CopyAsTextDataMethod copyAsTextDataMethod = new CopyAsTextDataMethod();
         addCopyAsDataMethod(copyAsTextDataMethod);
         PasteFromTextDataMethod fromTextDataMethod = new PasteFromTextDataMethod();
@@ -15,7 +15,9 @@
  */
 package org.exbin.framework.bined.operation;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
 
 /**
@@ -27,12 +29,16 @@ import org.exbin.auxiliary.binary_data.EditableBinaryData;
 public interface ConversionDataProvider {
 
     /**
-     * Provides data into given binary data.
+     * Provides converted data into given binary data.
+     * <p>
+     * Source and target data can be the same instance.
      *
-     * @param binaryData editable data target
-     * @param position position
-     * @param length source data position
+     * @param sourceData source data
+     * @param position source data position
+     * @param length source data length
+     * @param targetData editable data target
      * @param targetPosition target position
+     * @param progressListener progress listener or null
      */
-    void provideData(EditableBinaryData binaryData, long position, long length, long targetPosition);
+    void provideData(BinaryData sourceData, long position, long length, EditableBinaryData targetData, long targetPosition, @Nullable ConversionProgressListener progressListener);
 }
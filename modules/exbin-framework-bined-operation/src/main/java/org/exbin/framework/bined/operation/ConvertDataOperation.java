@@ -15,9 +15,17 @@
  */
 package org.exbin.framework.bined.operation;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
 import org.exbin.bined.operation.swing.BasicBinaryDataOperationType;
 import org.exbin.bined.operation.swing.RemoveDataOperation;
 import org.exbin.bined.operation.BinaryDataUndoableOperation;
@@ -30,10 +38,18 @@ import org.exbin.bined.operation.BinaryDataUndoableOperation;
 @ParametersAreNonnullByDefault
 public class ConvertDataOperation implements BinaryDataUndoableOperation {
 
+    /**
+     * Length of converted range above which undo data are stored in
+     * temporary file.
+     */
+    public static final long SPILL_THRESHOLD = 16 * 1024 * 1024;
+
     protected final long startPosition;
     protected final long length;
     protected final long convertedDataLength;
     protected final ConversionDataProvider conversionDataProvider;
+    protected EditableBinaryData preparedData = null;
+    protected BinaryDataUndoableOperation preparedUndoOperation = null;
 
     public ConvertDataOperation(long startPosition, long length, long convertedDataLength, ConversionDataProvider conversionDataProvider) {
         this.startPosition = startPosition;
@@ -42,6 +58,49 @@ public class ConvertDataOperation implements BinaryDataUndoableOperation {
         this.conversionDataProvider = conversionDataProvider;
     }
 
+    /**
+     * Computes converted data in advance without modifying content data.
+     * <p>
+     * Can be called outside of event dispatch thread as content data are
+     * only read. Prepared data are then inserted by next execution.
+     *
+     * @param contentData content data
+     * @param progressListener progress listener
+     * @throws IllegalStateException on conversion error
+     */
+    public void prepare(BinaryData contentData, @Nullable ConversionProgressListener progressListener) {
+        EditableBinaryData convertedData = new ByteArrayPagedData();
+        conversionDataProvider.provideData(contentData, startPosition, length, convertedData, 0, progressListener);
+        preparedData = convertedData;
+    }
+
+    /**
+     * Stores original data for undo in advance.
+     * <p>
+     * Can be called outside of event dispatch thread as content data are
+     * only read. Prepared undo is then used by next execution with undo.
+     *
+     * @param contentData content data
+     * @throws IllegalStateException when cancelled
+     */
+    public void prepareUndo(BinaryData contentData) {
+        BinaryDataUndoableOperation undoOperation = createOriginalDataUndoOperation(contentData);
+        if (preparedUndoOperation != null) {
+            preparedUndoOperation.dispose();
+        }
+        preparedUndoOperation = undoOperation;
+    }
+
+    /**
+     * Returns data computed by prepare method if not yet inserted.
+     *
+     * @return prepared data
+     */
+    @Nonnull
+    public Optional<BinaryData> getPreparedData() {
+        return Optional.ofNullable(preparedData);
+    }
+
     @Nonnull
     @Override
     public BasicBinaryDataOperationType getType() {
@@ -65,18 +124,65 @@ public class ConvertDataOperation implements BinaryDataUndoableOperation {
         BinaryDataUndoableOperation originalDataUndoOperation = null;
 
         if (withUndo) {
-            originalDataUndoOperation = new org.exbin.bined.operation.swing.InsertDataOperation(startPosition, 0, contentData.copy(startPosition, length));
-            undoOperation = new CompoundBinaryDataOperation();
-            ((CompoundBinaryDataOperation) undoOperation).addOperation(new RemoveDataOperation(startPosition, 0, convertedDataLength));
-            ((CompoundBinaryDataOperation) undoOperation).addOperation(originalDataUndoOperation);
+            originalDataUndoOperation = preparedUndoOperation != null ? preparedUndoOperation : createOriginalDataUndoOperation(contentData);
+        } else if (preparedUndoOperation != null) {
+            preparedUndoOperation.dispose();
         }
+        preparedUndoOperation = null;
 
-        conversionDataProvider.provideData(contentData, startPosition, length, startPosition + length);
+        // Length of converted data might differ from expected, for example for compression
+        long dataSize = contentData.getDataSize();
+        try {
+            if (preparedData != null) {
+                contentData.insert(startPosition + length, preparedData);
+                preparedData = null;
+            } else {
+                conversionDataProvider.provideData(contentData, startPosition, length, contentData, startPosition + length, null);
+            }
+        } catch (RuntimeException ex) {
+            // Source data are kept intact when conversion fails
+            long partialDataLength = contentData.getDataSize() - dataSize;
+            if (partialDataLength > 0) {
+                contentData.remove(startPosition + length, partialDataLength);
+            }
+            if (originalDataUndoOperation != null) {
+                originalDataUndoOperation.dispose();
+            }
+            throw ex;
+        }
+        long providedDataLength = contentData.getDataSize() - dataSize;
         contentData.remove(startPosition, length);
+
+        if (withUndo) {
+            undoOperation = new CompoundBinaryDataOperation();
+            ((CompoundBinaryDataOperation) undoOperation).addOperation(new RemoveDataOperation(startPosition, 0, providedDataLength));
+            ((CompoundBinaryDataOperation) undoOperation).addOperation(originalDataUndoOperation);
+        }
         return undoOperation;
     }
 
+    @Nonnull
+    private BinaryDataUndoableOperation createOriginalDataUndoOperation(BinaryData contentData) {
+        if (length > SPILL_THRESHOLD) {
+            // Large original data are kept in temporary file instead of heap
+            try {
+                return new SpilledInsertDataOperation(startPosition, SpilledDataSnapshot.create(contentData, startPosition, length));
+            } catch (InterruptedIOException ex) {
+                throw new IllegalStateException("Conversion cancelled", ex);
+            } catch (IOException ex) {
+                Logger.getLogger(ConvertDataOperation.class.getName()).log(Level.WARNING, "Unable to store undo data to temporary file", ex);
+            }
+        }
+
+        return new org.exbin.bined.operation.swing.InsertDataOperation(startPosition, 0, contentData.copy(startPosition, length));
+    }
+
     @Override
     public void dispose() {
+        preparedData = null;
+        if (preparedUndoOperation != null) {
+            preparedUndoOperation.dispose();
+            preparedUndoOperation = null;
+        }
     }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.BinaryDataRangeInputStream;
+
+/**
+ * Read-only binary data representing run of repeated pattern.
+ * <p>
+ * Run is kept symbolically as pattern, phase and length, so memory used by
+ * instance does not depend on run length. Bytes are computed only for
+ * requested ranges and saving writes data in blocks of repeated pattern.
+ * <p>
+ * Inserting instance into document data copies its bytes into document
+ * backend, which stores them as regular data.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class FillBinaryData implements BinaryData {
+
+    public static final int BLOCK_SIZE = 65536;
+
+    private final byte[] pattern;
+    private final int phase;
+    private final long length;
+    private byte[] block = null;
+
+    public FillBinaryData(byte value, long length) {
+        this(new byte[]{value}, 0, length);
+    }
+
+    public FillBinaryData(byte[] pattern, long length) {
+        this(pattern, 0, length);
+    }
+
+    private FillBinaryData(byte[] pattern, int phase, long length) {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("Empty pattern");
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length");
+        }
+        this.pattern = pattern;
+        this.phase = phase;
+        this.length = length;
+    }
+
+    @Nonnull
+    public byte[] getPattern() {
+        return pattern.clone();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    @Override
+    public long getDataSize() {
+        return length;
+    }
+
+    @Override
+    public byte getByte(long position) {
+        checkRange(position, 1);
+        return pattern[(int) ((phase + position) % pattern.length)];
+    }
+
+    @Nonnull
+    @Override
+    public BinaryData copy() {
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public BinaryData copy(long startFrom, long length) {
+        checkRange(startFrom, length);
+        return new FillBinaryData(pattern, (int) ((phase + startFrom) % pattern.length), length);
+    }
+
+    @Override
+    public void copyToArray(long startFrom, byte[] target, int offset, int length) {
+        checkRange(startFrom, length);
+        byte[] sourceBlock = getBlock();
+        int blockOffset = (int) ((phase + startFrom) % pattern.length);
+        int blockLength = sourceBlock.length - pattern.length;
+        while (length > 0) {
+            int copyLength = Math.min(length, blockLength);
+            System.arraycopy(sourceBlock, blockOffset, target, offset, copyLength);
+            // Block length is multiple of pattern length, so offset is kept
+            offset += copyLength;
+            length -= copyLength;
+        }
+    }
+
+    @Override
+    public void saveToStream(OutputStream outputStream) throws IOException {
+        byte[] sourceBlock = getBlock();
+        int blockLength = sourceBlock.length - pattern.length;
+        long remaining = length;
+        while (remaining > 0) {
+            int writeLength = (int) Math.min(remaining, blockLength);
+            outputStream.write(sourceBlock, phase, writeLength);
+            remaining -= writeLength;
+        }
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getDataInputStream() {
+        return new BinaryDataRangeInputStream(this, 0, length);
+    }
+
+    @Override
+    public void dispose() {
+        block = null;
+    }
+
+    /**
+     * Returns block of repeated pattern.
+     * <p>
+     * Block contains whole number of patterns and one extra pattern, so
+     * that copy can start at any phase.
+     *
+     * @return block
+     */
+    @Nonnull
+    private byte[] getBlock() {
+        if (block == null) {
+            int patternsCount = Math.max(BLOCK_SIZE / pattern.length, 1);
+            byte[] newBlock = new byte[(patternsCount + 1) * pattern.length];
+            System.arraycopy(pattern, 0, newBlock, 0, pattern.length);
+            int filled = pattern.length;
+            while (filled < newBlock.length) {
+                int copyLength = Math.min(filled, newBlock.length - filled);
+                System.arraycopy(newBlock, 0, newBlock, filled, copyLength);
+                filled += copyLength;
+            }
+            block = newBlock;
+        }
+        return block;
+    }
+
+    private void checkRange(long startFrom, long rangeLength) {
+        if (startFrom < 0 || rangeLength < 0 || startFrom + rangeLength > length) {
+            throw new IndexOutOfBoundsException("Requested data out of bounds");
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
+import org.exbin.auxiliary.binary_data.paged.PagedData;
+import org.exbin.bined.operation.BinaryDataUndoableOperation;
+import org.exbin.bined.operation.swing.BasicBinaryDataOperationType;
+import org.exbin.bined.operation.swing.ModifyDataOperation;
+import org.exbin.framework.bined.operation.api.InPlaceConversion;
+
+/**
+ * Operation to convert data range in place keeping its length.
+ * <p>
+ * Undo uses inverse conversion when available, otherwise original data are
+ * stored.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class InPlaceConvertDataOperation implements BinaryDataUndoableOperation {
+
+    protected final long position;
+    protected final long length;
+    protected final InPlaceConversion conversion;
+    protected BinaryDataUndoableOperation preparedUndoOperation = null;
+
+    public InPlaceConvertDataOperation(long position, long length, InPlaceConversion conversion) {
+        this.position = position;
+        this.length = length;
+        this.conversion = conversion;
+    }
+
+    /**
+     * Converts data range in advance.
+     * <p>
+     * Can be called outside of event dispatch thread when content data are
+     * not accessed otherwise. Next execution only records undo operation.
+     * When the thread is interrupted, converted data are reverted.
+     *
+     * @param contentData content data
+     * @param progressListener progress listener
+     * @throws InterruptedIOException when cancelled
+     */
+    public void prepare(EditableBinaryData contentData, @Nullable ConversionProgressListener progressListener) throws InterruptedIOException {
+        BinaryDataUndoableOperation undoOperation = createUndoOperation(contentData);
+        if (Thread.currentThread().isInterrupted()) {
+            undoOperation.dispose();
+            throw new InterruptedIOException("Conversion cancelled");
+        }
+
+        conversion.convert(contentData, position, length, progressListener);
+        preparedUndoOperation = undoOperation;
+        if (Thread.currentThread().isInterrupted()) {
+            revertPrepared(contentData);
+            throw new InterruptedIOException("Conversion cancelled");
+        }
+    }
+
+    /**
+     * Reverts data converted by prepare method if not yet executed.
+     *
+     * @param contentData content data
+     */
+    public void revertPrepared(EditableBinaryData contentData) {
+        if (preparedUndoOperation != null) {
+            preparedUndoOperation.execute(contentData);
+            preparedUndoOperation.dispose();
+            preparedUndoOperation = null;
+        }
+    }
+
+    @Nonnull
+    @Override
+    public BasicBinaryDataOperationType getType() {
+        return BasicBinaryDataOperationType.MODIFY_DATA;
+    }
+
+    @Override
+    public void execute(EditableBinaryData contentData) {
+        if (preparedUndoOperation != null) {
+            // Data were already converted
+            preparedUndoOperation.dispose();
+            preparedUndoOperation = null;
+            return;
+        }
+
+        conversion.convert(contentData, position, length, null);
+    }
+
+    @Nonnull
+    @Override
+    public BinaryDataUndoableOperation executeWithUndo(EditableBinaryData contentData) {
+        if (preparedUndoOperation != null) {
+            BinaryDataUndoableOperation undoOperation = preparedUndoOperation;
+            preparedUndoOperation = null;
+            return undoOperation;
+        }
+
+        BinaryDataUndoableOperation undoOperation = createUndoOperation(contentData);
+        conversion.convert(contentData, position, length, null);
+        return undoOperation;
+    }
+
+    @Nonnull
+    private BinaryDataUndoableOperation createUndoOperation(EditableBinaryData contentData) {
+        InPlaceConversion inverse = conversion.getInverse();
+        if (inverse != null) {
+            return new InPlaceConvertDataOperation(position, length, inverse);
+        }
+
+        return createOriginalDataUndoOperation(contentData);
+    }
+
+    @Nonnull
+    private BinaryDataUndoableOperation createOriginalDataUndoOperation(EditableBinaryData contentData) {
+        if (length > ConvertDataOperation.SPILL_THRESHOLD) {
+            try {
+                return new SpilledReplaceDataOperation(position, SpilledDataSnapshot.create(contentData, position, length));
+            } catch (InterruptedIOException ex) {
+                throw new IllegalStateException("Conversion cancelled", ex);
+            } catch (IOException ex) {
+                Logger.getLogger(InPlaceConvertDataOperation.class.getName()).log(Level.WARNING, "Unable to store undo data to temporary file", ex);
+            }
+        }
+
+        // TODO use copy directly once delta is fixed
+        PagedData origData = new ByteArrayPagedData();
+        origData.insert(0, contentData.copy(position, length));
+        return new ModifyDataOperation(position, origData);
+    }
+
+    @Override
+    public void dispose() {
+        if (preparedUndoOperation != null) {
+            preparedUndoOperation.dispose();
+            preparedUndoOperation = null;
+        }
+    }
+}
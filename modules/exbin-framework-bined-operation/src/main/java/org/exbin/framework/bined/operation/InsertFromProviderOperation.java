@@ -16,7 +16,9 @@
 package org.exbin.framework.bined.operation;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
 import org.exbin.bined.operation.swing.BasicBinaryDataOperationType;
 import org.exbin.bined.operation.swing.RemoveDataOperation;
@@ -32,12 +34,33 @@ public class InsertFromProviderOperation implements BinaryDataUndoableOperation
 
     protected final long position;
     protected final long length;
+    @Nullable
     protected final InsertionDataProvider dataOperationDataProvider;
+    @Nullable
+    protected final BinaryData data;
 
     public InsertFromProviderOperation(long position, long length, InsertionDataProvider dataOperationDataProvider) {
         this.position = position;
         this.length = length;
         this.dataOperationDataProvider = dataOperationDataProvider;
+        this.data = null;
+    }
+
+    /**
+     * Creates operation inserting given data as is.
+     * <p>
+     * Data are copied by target data in blocks instead of being generated
+     * into uninitialized range. Target data store copy of inserted bytes, so
+     * virtual data like fill are materialized by insertion.
+     *
+     * @param position position
+     * @param data inserted data
+     */
+    public InsertFromProviderOperation(long position, BinaryData data) {
+        this.position = position;
+        this.length = data.getDataSize();
+        this.dataOperationDataProvider = null;
+        this.data = data;
     }
 
     @Nonnull
@@ -60,8 +83,12 @@ public class InsertFromProviderOperation implements BinaryDataUndoableOperation
     private BinaryDataUndoableOperation execute(EditableBinaryData contentData, boolean withUndo) {
         BinaryDataUndoableOperation undoOperation = null;
 
-        contentData.insertUninitialized(position, length);
-        dataOperationDataProvider.provideData(contentData, position);
+        if (data != null) {
+            contentData.insert(position, data);
+        } else {
+            contentData.insertUninitialized(position, length);
+            dataOperationDataProvider.provideData(contentData, position);
+        }
 
         if (withUndo) {
             undoOperation = new RemoveDataOperation(position, 0, length);
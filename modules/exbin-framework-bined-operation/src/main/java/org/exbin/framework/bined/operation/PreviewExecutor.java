@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.SwingUtilities;
+
+/**
+ * Executor for computation of method previews outside of event dispatch
+ * thread.
+ * <p>
+ * Requests are debounced and each new request cancels computation of previous
+ * one. Only result of the latest request is passed to the consumer, which is
+ * invoked on event dispatch thread. Thread is created on first request and
+ * stopped by shutdown when preview is no longer shown.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class PreviewExecutor {
+
+    /**
+     * Delay before preview computation starts in milliseconds.
+     */
+    public static final long DEBOUNCE_DELAY = 150;
+
+    /**
+     * Maximum length of input data used for preview computation.
+     */
+    public static final long SAMPLE_LENGTH_LIMIT = 1024 * 1024;
+
+    private final Object lock = new Object();
+    private long generation = 0;
+    private ScheduledExecutorService executor = null;
+    private Future<?> pendingFuture = null;
+
+    public PreviewExecutor() {
+    }
+
+    /**
+     * Submits preview computation replacing any previous request.
+     * <p>
+     * Options should be read from components before calling this method as
+     * computation itself is performed on background thread.
+     *
+     * @param <T> result type
+     * @param computation preview computation
+     * @param resultConsumer consumer of the result invoked on event dispatch
+     * thread
+     */
+    public <T> void submit(Callable<T> computation, Consumer<T> resultConsumer) {
+        synchronized (lock) {
+            cancelPending();
+            long requestGeneration = ++generation;
+            if (executor == null) {
+                executor = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+                    Thread thread = new Thread(runnable, "PreviewThread");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            pendingFuture = executor.schedule(() -> {
+                T result;
+                try {
+                    result = computation.call();
+                } catch (Exception ex) {
+                    // Interrupted computation was cancelled by newer request or shutdown
+                    if (!(ex instanceof InterruptedException || ex instanceof InterruptedIOException) && !Thread.currentThread().isInterrupted()) {
+                        Logger.getLogger(PreviewExecutor.class.getName()).log(Level.SEVERE, "Preview computation failed", ex);
+                    }
+                    return;
+                }
+
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+
+                SwingUtilities.invokeLater(() -> {
+                    if (isCurrent(requestGeneration)) {
+                        resultConsumer.accept(result);
+                    }
+                });
+            }, DEBOUNCE_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Cancels pending or running preview computation.
+     */
+    public void cancel() {
+        synchronized (lock) {
+            cancelPending();
+            generation++;
+        }
+    }
+
+    /**
+     * Cancels pending or running preview computation and stops the thread.
+     * <p>
+     * Executor can be used again, new thread is created on next request.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            cancelPending();
+            generation++;
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * Returns length of data to use for preview computation.
+     *
+     * @param length full data length
+     * @return length of sampled prefix
+     */
+    public static long getSampleLength(long length) {
+        return Math.min(length, SAMPLE_LENGTH_LIMIT);
+    }
+
+    private boolean isCurrent(long requestGeneration) {
+        synchronized (lock) {
+            return generation == requestGeneration;
+        }
+    }
+
+    private void cancelPending() {
+        if (pendingFuture != null) {
+            pendingFuture.cancel(true);
+            pendingFuture = null;
+        }
+    }
+}
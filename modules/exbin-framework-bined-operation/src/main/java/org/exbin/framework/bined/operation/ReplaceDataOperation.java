@@ -16,11 +16,14 @@
 package org.exbin.framework.bined.operation;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
 import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
 import org.exbin.auxiliary.binary_data.paged.PagedData;
 import org.exbin.bined.operation.swing.BasicBinaryDataOperationType;
+import org.exbin.bined.operation.swing.InsertDataOperation;
 import org.exbin.bined.operation.swing.ModifyDataOperation;
 import org.exbin.bined.operation.swing.RemoveDataOperation;
 import org.exbin.bined.operation.BinaryDataUndoableOperation;
@@ -35,12 +38,34 @@ public class ReplaceDataOperation implements BinaryDataUndoableOperation {
 
     protected final long position;
     protected final long length;
+    @Nullable
     protected final InsertionDataProvider dataOperationDataProvider;
+    @Nullable
+    protected final BinaryData data;
 
     public ReplaceDataOperation(long position, long length, InsertionDataProvider dataOperationDataProvider) {
         this.position = position;
         this.length = length;
         this.dataOperationDataProvider = dataOperationDataProvider;
+        this.data = null;
+    }
+
+    /**
+     * Creates operation replacing range with given data as is.
+     * <p>
+     * Replaced range is removed and data are copied by target data in
+     * blocks. Target data store copy of inserted bytes, so virtual data like
+     * fill are materialized by insertion. Undo keeps copy of replaced range
+     * in memory.
+     *
+     * @param position position
+     * @param data replacement data
+     */
+    public ReplaceDataOperation(long position, BinaryData data) {
+        this.position = position;
+        this.length = data.getDataSize();
+        this.dataOperationDataProvider = null;
+        this.data = data;
     }
 
     @Nonnull
@@ -66,6 +91,10 @@ public class ReplaceDataOperation implements BinaryDataUndoableOperation {
             throw new IllegalStateException("Unable to replace data outside of document");
         }
 
+        if (data != null) {
+            return executeInsert(contentData, data, withUndo);
+        }
+
         BinaryDataUndoableOperation undoOperation = null;
 
         if (position == dataSize) {
@@ -97,6 +126,29 @@ public class ReplaceDataOperation implements BinaryDataUndoableOperation {
         return undoOperation;
     }
 
+    private BinaryDataUndoableOperation executeInsert(EditableBinaryData contentData, BinaryData insertedData, boolean withUndo) {
+        long replacedLength = Math.min(length, contentData.getDataSize() - position);
+        BinaryDataUndoableOperation undoOperation = null;
+        if (withUndo) {
+            if (replacedLength == 0) {
+                undoOperation = new RemoveDataOperation(position, 0, length);
+            } else {
+                PagedData origData = new ByteArrayPagedData();
+                origData.insert(0, contentData.copy(position, replacedLength));
+                undoOperation = new CompoundBinaryDataOperation();
+                ((CompoundBinaryDataOperation) undoOperation).addOperation(new RemoveDataOperation(position, 0, length));
+                ((CompoundBinaryDataOperation) undoOperation).addOperation(new InsertDataOperation(position, 0, origData));
+            }
+        }
+
+        if (replacedLength > 0) {
+            contentData.remove(position, replacedLength);
+        }
+        contentData.insert(position, insertedData);
+
+        return undoOperation;
+    }
+
     @Override
     public void dispose() {
     }
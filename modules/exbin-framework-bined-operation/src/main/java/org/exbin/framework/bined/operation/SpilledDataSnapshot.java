@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+
+/**
+ * Snapshot of data range stored in temporary file.
+ * <p>
+ * Data are stored as independently compressed blocks, so they can be
+ * restored block by block without loading whole range into memory. Blocks
+ * which do not compress are stored as is.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SpilledDataSnapshot {
+
+    public static final int BLOCK_SIZE = 1024 * 1024;
+
+    /**
+     * Files of snapshots which were not disposed yet, removed on exit.
+     */
+    private static final Set<File> LIVE_FILES = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (File file : LIVE_FILES) {
+                file.delete();
+            }
+        }, "SpilledDataSnapshot cleanup"));
+    }
+
+    private final File file;
+    private final long dataSize;
+    private final long[] blockOffsets;
+
+    private SpilledDataSnapshot(File file, long dataSize, long[] blockOffsets) {
+        this.file = file;
+        this.dataSize = dataSize;
+        this.blockOffsets = blockOffsets;
+    }
+
+    /**
+     * Stores data range into new temporary file.
+     *
+     * @param data source data
+     * @param position range position
+     * @param length range length
+     * @return snapshot
+     * @throws IOException if temporary file cannot be written
+     * @throws InterruptedIOException when thread was interrupted
+     */
+    @Nonnull
+    public static SpilledDataSnapshot create(BinaryData data, long position, long length) throws IOException {
+        int blocksCount = (int) ((length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        long[] blockOffsets = new long[blocksCount + 1];
+        File file = File.createTempFile("bined-undo", ".tmp");
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(file), BLOCK_SIZE)) {
+            byte[] block = new byte[(int) Math.min(length, BLOCK_SIZE)];
+            byte[] compressed = new byte[block.length];
+            long fileOffset = 0;
+            for (int blockIndex = 0; blockIndex < blocksCount; blockIndex++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Snapshot cancelled");
+                }
+                long blockPosition = (long) blockIndex * BLOCK_SIZE;
+                int blockLength = (int) Math.min(length - blockPosition, BLOCK_SIZE);
+                data.copyToArray(position + blockPosition, block, 0, blockLength);
+
+                deflater.reset();
+                deflater.setInput(block, 0, blockLength);
+                deflater.finish();
+                int compressedLength = 0;
+                while (!deflater.finished() && compressedLength < blockLength) {
+                    compressedLength += deflater.deflate(compressed, compressedLength, blockLength - compressedLength);
+                }
+
+                if (deflater.finished() && compressedLength < blockLength) {
+                    output.write(compressed, 0, compressedLength);
+                    fileOffset += compressedLength;
+                } else {
+                    output.write(block, 0, blockLength);
+                    fileOffset += blockLength;
+                }
+                blockOffsets[blockIndex + 1] = fileOffset;
+            }
+        } catch (IOException | RuntimeException ex) {
+            file.delete();
+            throw ex;
+        } finally {
+            deflater.end();
+        }
+
+        LIVE_FILES.add(file);
+        return new SpilledDataSnapshot(file, length, blockOffsets);
+    }
+
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    /**
+     * Inserts stored data into target data.
+     *
+     * @param target target data
+     * @param position target position
+     * @throws IOException if temporary file cannot be read
+     */
+    public void insertInto(EditableBinaryData target, long position) throws IOException {
+        restore(target, position, true);
+    }
+
+    /**
+     * Replaces target data range with stored data.
+     *
+     * @param target target data
+     * @param position target position
+     * @throws IOException if temporary file cannot be read
+     */
+    public void replaceInto(EditableBinaryData target, long position) throws IOException {
+        restore(target, position, false);
+    }
+
+    private void restore(EditableBinaryData target, long position, boolean insert) throws IOException {
+        try (InputStream input = openInputStream()) {
+            byte[] block = new byte[(int) Math.min(dataSize, BLOCK_SIZE)];
+            long blockPosition = 0;
+            while (blockPosition < dataSize) {
+                int blockLength = (int) Math.min(dataSize - blockPosition, BLOCK_SIZE);
+                int readLength = 0;
+                while (readLength < blockLength) {
+                    int count = input.read(block, readLength, blockLength - readLength);
+                    if (count < 0) {
+                        throw new IOException("Unexpected end of snapshot data");
+                    }
+                    readLength += count;
+                }
+
+                if (insert) {
+                    target.insert(position + blockPosition, block, 0, blockLength);
+                } else {
+                    target.replace(position + blockPosition, block, 0, blockLength);
+                }
+                blockPosition += blockLength;
+            }
+        }
+    }
+
+    /**
+     * Opens stream reading stored data block by block.
+     *
+     * @return input stream
+     * @throws IOException if temporary file cannot be opened
+     */
+    @Nonnull
+    public InputStream openInputStream() throws IOException {
+        return new SnapshotInputStream();
+    }
+
+    /**
+     * Deletes temporary file.
+     */
+    public void dispose() {
+        LIVE_FILES.remove(file);
+        if (!file.delete() && file.exists()) {
+            // File might be still opened on some platforms
+            file.deleteOnExit();
+        }
+    }
+
+    private class SnapshotInputStream extends InputStream {
+
+        private final RandomAccessFile input;
+        private final Inflater inflater = new Inflater();
+        private final byte[] block = new byte[(int) Math.min(dataSize, BLOCK_SIZE)];
+        private final byte[] compressed = new byte[block.length];
+        private int blockIndex = 0;
+        private int blockLength = 0;
+        private int blockOffset = 0;
+        private boolean closed = false;
+
+        public SnapshotInputStream() throws IOException {
+            input = new RandomAccessFile(file, "r");
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (blockOffset == blockLength && !loadNextBlock()) {
+                return -1;
+            }
+            return block[blockOffset++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (blockOffset == blockLength && !loadNextBlock()) {
+                return -1;
+            }
+
+            int readLength = Math.min(length, blockLength - blockOffset);
+            System.arraycopy(block, blockOffset, buffer, offset, readLength);
+            blockOffset += readLength;
+            return readLength;
+        }
+
+        private boolean loadNextBlock() throws IOException {
+            if (blockIndex >= blockOffsets.length - 1) {
+                return false;
+            }
+
+            long blockPosition = (long) blockIndex * BLOCK_SIZE;
+            blockLength = (int) Math.min(dataSize - blockPosition, BLOCK_SIZE);
+            blockOffset = 0;
+            int storedLength = (int) (blockOffsets[blockIndex + 1] - blockOffsets[blockIndex]);
+            input.seek(blockOffsets[blockIndex]);
+            blockIndex++;
+            if (storedLength == blockLength) {
+                input.readFully(block, 0, blockLength);
+                return true;
+            }
+
+            input.readFully(compressed, 0, storedLength);
+            inflater.reset();
+            inflater.setInput(compressed, 0, storedLength);
+            try {
+                int inflatedLength = 0;
+                while (inflatedLength < blockLength && !inflater.finished()) {
+                    int count = inflater.inflate(block, inflatedLength, blockLength - inflatedLength);
+                    if (count == 0 && !inflater.finished()) {
+                        // Stored block is truncated or not produced by this snapshot
+                        throw new IOException("Corrupted snapshot data block");
+                    }
+                    inflatedLength += count;
+                }
+                if (inflatedLength != blockLength) {
+                    throw new IOException("Corrupted snapshot data block");
+                }
+            } catch (DataFormatException ex) {
+                throw new IOException("Corrupted snapshot data block", ex);
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            inflater.end();
+            input.close();
+        }
+    }
+}
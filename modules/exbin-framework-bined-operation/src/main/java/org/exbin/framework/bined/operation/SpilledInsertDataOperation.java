@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation;
+
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.operation.BinaryDataUndoableOperation;
+import org.exbin.bined.operation.swing.BasicBinaryDataOperationType;
+import org.exbin.bined.operation.swing.RemoveDataOperation;
+
+/**
+ * Operation to insert data stored in temporary file.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SpilledInsertDataOperation implements BinaryDataUndoableOperation {
+
+    protected final long position;
+    protected final SpilledDataSnapshot snapshot;
+
+    public SpilledInsertDataOperation(long position, SpilledDataSnapshot snapshot) {
+        this.position = position;
+        this.snapshot = snapshot;
+    }
+
+    @Nonnull
+    @Override
+    public BasicBinaryDataOperationType getType() {
+        return BasicBinaryDataOperationType.INSERT;
+    }
+
+    @Override
+    public void execute(EditableBinaryData contentData) {
+        try {
+            snapshot.insertInto(contentData, position);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to restore data from temporary file", ex);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public BinaryDataUndoableOperation executeWithUndo(EditableBinaryData contentData) {
+        execute(contentData);
+        return new RemoveDataOperation(position, 0, snapshot.getDataSize());
+    }
+
+    @Override
+    public void dispose() {
+        snapshot.dispose();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation;
+
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.operation.BinaryDataUndoableOperation;
+import org.exbin.bined.operation.swing.BasicBinaryDataOperationType;
+
+/**
+ * Operation to replace data range with data stored in temporary file.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SpilledReplaceDataOperation implements BinaryDataUndoableOperation {
+
+    protected final long position;
+    protected final SpilledDataSnapshot snapshot;
+
+    public SpilledReplaceDataOperation(long position, SpilledDataSnapshot snapshot) {
+        this.position = position;
+        this.snapshot = snapshot;
+    }
+
+    @Nonnull
+    @Override
+    public BasicBinaryDataOperationType getType() {
+        return BasicBinaryDataOperationType.MODIFY_DATA;
+    }
+
+    @Override
+    public void execute(EditableBinaryData contentData) {
+        try {
+            snapshot.replaceInto(contentData, position);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to restore data from temporary file", ex);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public BinaryDataUndoableOperation executeWithUndo(EditableBinaryData contentData) {
+        SpilledDataSnapshot originalSnapshot;
+        try {
+            originalSnapshot = SpilledDataSnapshot.create(contentData, position, snapshot.getDataSize());
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to store data to temporary file", ex);
+        }
+        execute(contentData);
+        return new SpilledReplaceDataOperation(position, originalSnapshot);
+    }
+
+    @Override
+    public void dispose() {
+        snapshot.dispose();
+    }
+}
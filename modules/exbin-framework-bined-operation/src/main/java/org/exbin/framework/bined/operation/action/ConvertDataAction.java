@@ -20,17 +20,26 @@ import java.awt.Dialog;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.ResourceBundle;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.AbstractAction;
 import javax.swing.Action;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
 import org.exbin.bined.CodeAreaUtils;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.capability.SelectionCapable;
 import org.exbin.bined.operation.swing.CodeAreaOperationCommandHandler;
 import org.exbin.bined.operation.swing.command.CodeAreaCommand;
 import org.exbin.bined.swing.CodeAreaCommandHandler;
@@ -42,12 +51,20 @@ import org.exbin.framework.action.api.ActionConsts;
 import org.exbin.framework.action.api.ActionModuleApi;
 import org.exbin.framework.action.api.ActionContextChangeManager;
 import org.exbin.framework.action.api.ActiveComponent;
+import org.exbin.framework.bined.BackgroundTaskRunner;
 import org.exbin.framework.bined.BinEdFileHandler;
 import org.exbin.framework.bined.BinaryDataComponent;
 import org.exbin.framework.bined.BinedModule;
+import org.exbin.framework.bined.SharedRangeBinaryData;
 import org.exbin.framework.utils.ActionUtils;
 import org.exbin.framework.bined.operation.BinedOperationModule;
+import org.exbin.framework.bined.operation.ConvertDataOperation;
+import org.exbin.framework.bined.operation.InPlaceConvertDataOperation;
+import org.exbin.framework.bined.operation.command.ConvertDataCommand;
+import org.exbin.framework.bined.operation.command.InPlaceConvertDataCommand;
 import org.exbin.framework.bined.operation.api.ConvertDataMethod;
+import org.exbin.framework.bined.operation.api.InPlaceConversion;
+import org.exbin.framework.bined.operation.api.SameLengthConvertDataMethod;
 import org.exbin.framework.bined.operation.api.DataOperationMethod;
 import org.exbin.framework.bined.operation.gui.ConvertDataControlPanel;
 import org.exbin.framework.editor.api.EditorProvider;
@@ -71,6 +88,7 @@ public class ConvertDataAction extends AbstractAction {
 
     private static final int PREVIEW_LENGTH_LIMIT = 4096;
 
+    private ResourceBundle resourceBundle;
     private CodeAreaCore codeArea;
     private EditorProvider editorProvider;
     private ConvertDataMethod lastMethod = null;
@@ -79,6 +97,7 @@ public class ConvertDataAction extends AbstractAction {
     }
 
     public void setup(ResourceBundle resourceBundle) {
+        this.resourceBundle = resourceBundle;
         ActionModuleApi actionModule = App.getModule(ActionModuleApi.class);
         actionModule.initAction(this, resourceBundle, ACTION_ID);
         putValue(Action.ACCELERATOR_KEY, javax.swing.KeyStroke.getKeyStroke(java.awt.event.KeyEvent.VK_M, ActionUtils.getMetaMask()));
@@ -131,44 +150,64 @@ public class ConvertDataAction extends AbstractAction {
                     Component activeComponent = dataOperationPanel.getActiveComponent().get();
                     ConvertDataMethod activeMethod = (ConvertDataMethod) optionalActiveMethod.get();
 
-                    switch (actionType) {
-                        case CONVERT: {
-                            CodeAreaCommand command = activeMethod.createConvertCommand(activeComponent, codeArea);
+                    try {
+                        switch (actionType) {
+                            case CONVERT: {
+                                CodeAreaCommand command = createConvertCommand(activeMethod, activeComponent);
+                                try {
+                                    if (command instanceof ConvertDataCommand) {
+                                        prepareConversion(((ConvertDataCommand) command).getOperation(), dialog.getWindow(), true);
+                                    } else if (command instanceof InPlaceConvertDataCommand) {
+                                        prepareInPlaceConversion(((InPlaceConvertDataCommand) command).getOperation(), dialog.getWindow());
+                                    }
+                                } catch (CancellationException | ExecutionException ex) {
+                                    command.dispose();
+                                    throw ex;
+                                }
 
-                            CodeAreaCommandHandler commandHandler = codeArea.getCommandHandler();
-                            if (commandHandler instanceof CodeAreaOperationCommandHandler) {
-                                ((CodeAreaOperationCommandHandler) commandHandler).getUndoRedo().execute(command);
-                            } else {
-                                command.execute();
+                                CodeAreaCommandHandler commandHandler = codeArea.getCommandHandler();
+                                if (commandHandler instanceof CodeAreaOperationCommandHandler) {
+                                    ((CodeAreaOperationCommandHandler) commandHandler).getUndoRedo().execute(command);
+                                } else {
+                                    command.execute();
+                                }
+                                break;
                             }
-                            break;
-                        }
-                        case CONVERT_TO_NEW_FILE: {
-                            BinaryData outputData = activeMethod.performDirectConvert(activeComponent, codeArea);
-
-                            if (editorProvider != null) {
-                                editorProvider.newFile();
-                                Optional<FileHandler> activeFile = editorProvider.getActiveFile();
-                                if (activeFile.isPresent()) {
-                                    BinEdFileHandler fileHandler = (BinEdFileHandler) activeFile.get();
-                                    fileHandler.getCodeArea().setContentData(outputData);
+                            case CONVERT_TO_NEW_FILE: {
+                                BinaryData outputData = performDirectConvert(activeMethod, activeComponent, dialog.getWindow());
+
+                                if (editorProvider != null) {
+                                    editorProvider.newFile();
+                                    Optional<FileHandler> activeFile = editorProvider.getActiveFile();
+                                    if (activeFile.isPresent()) {
+                                        BinEdFileHandler fileHandler = (BinEdFileHandler) activeFile.get();
+                                        fileHandler.getCodeArea().setContentData(outputData);
+                                    }
                                 }
+                                break;
                             }
-                            break;
-                        }
-                        case CONVERT_TO_CLIPBOARD: {
-                            try {
-                                BinaryData outputData = activeMethod.performDirectConvert(activeComponent, codeArea);
-                                DataFlavor binedDataFlavor = new DataFlavor(CodeAreaUtils.BINED_CLIPBOARD_MIME_FULL);
-                                DataFlavor binaryDataFlavor = new DataFlavor(CodeAreaUtils.MIME_CLIPBOARD_BINARY);
-                                Clipboard clipboard = CodeAreaSwingUtils.getClipboard();
-                                CodeAreaSwingUtils.BinaryDataClipboardData binaryData = new CodeAreaSwingUtils.BinaryDataClipboardData(outputData, binedDataFlavor, binaryDataFlavor, null);
-                                clipboard.setContents(binaryData, binaryData);
-                            } catch (ClassNotFoundException ex) {
-                                Logger.getLogger(ConvertDataAction.class.getName()).log(Level.SEVERE, null, ex);
+                            case CONVERT_TO_CLIPBOARD: {
+                                try {
+                                    BinaryData outputData = performDirectConvert(activeMethod, activeComponent, dialog.getWindow());
+                                    DataFlavor binedDataFlavor = new DataFlavor(CodeAreaUtils.BINED_CLIPBOARD_MIME_FULL);
+                                    DataFlavor binaryDataFlavor = new DataFlavor(CodeAreaUtils.MIME_CLIPBOARD_BINARY);
+                                    Clipboard clipboard = CodeAreaSwingUtils.getClipboard();
+                                    CodeAreaSwingUtils.BinaryDataClipboardData binaryData = new CodeAreaSwingUtils.BinaryDataClipboardData(outputData, binedDataFlavor, binaryDataFlavor, null);
+                                    clipboard.setContents(binaryData, binaryData);
+                                } catch (ClassNotFoundException ex) {
+                                    Logger.getLogger(ConvertDataAction.class.getName()).log(Level.SEVERE, null, ex);
+                                }
+                                break;
                             }
-                            break;
                         }
+                    } catch (CancellationException ex) {
+                        // Conversion cancelled by user, data were left unchanged
+                        return;
+                    } catch (ExecutionException | IllegalStateException ex) {
+                        // Conversion failed and data were left unchanged, keep dialog open to allow change of options
+                        Throwable cause = ex instanceof ExecutionException && ex.getCause() != null ? ex.getCause() : ex;
+                        JOptionPane.showMessageDialog(dialog.getWindow(), cause.getMessage(), resourceBundle.getString("convertDataAction.failed"), JOptionPane.ERROR_MESSAGE);
+                        return;
                     }
                 }
                 lastMethod = (ConvertDataMethod) optionalActiveMethod.orElse(null);
@@ -177,7 +216,111 @@ public class ConvertDataAction extends AbstractAction {
             dialog.close();
             dialog.dispose();
         });
+        dialog.getWindow().addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                dataOperationPanel.cancelPreview();
+            }
+        });
         SwingUtilities.invokeLater(dataOperationPanel::initFocus);
         dialog.showCentered(codeArea);
     }
+
+    /**
+     * Creates convert command for given method.
+     * <p>
+     * Same length conversions are applied in place on the data range.
+     *
+     * @param method convert data method
+     * @param methodComponent method component
+     * @return command
+     */
+    @Nonnull
+    private CodeAreaCommand createConvertCommand(ConvertDataMethod method, Component methodComponent) {
+        if (method instanceof SameLengthConvertDataMethod) {
+            InPlaceConversion conversion = ((SameLengthConvertDataMethod) method).createInPlaceConversion(methodComponent);
+            if (conversion != null) {
+                long position;
+                long length;
+                SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+                if (selection.isEmpty()) {
+                    position = 0;
+                    length = codeArea.getDataSize();
+                } else {
+                    position = selection.getFirst();
+                    length = selection.getLength();
+                }
+
+                return new InPlaceConvertDataCommand(codeArea, new InPlaceConvertDataOperation(position, length, conversion));
+            }
+        }
+
+        return method.createConvertCommand(methodComponent, codeArea);
+    }
+
+    /**
+     * Computes converted data on background thread with progress dialog.
+     *
+     * @param operation convert data operation
+     * @param parentComponent parent component
+     * @param withUndo whether to also store original data for undo
+     * @throws CancellationException when cancelled by user
+     * @throws ExecutionException when conversion failed
+     */
+    private void prepareConversion(ConvertDataOperation operation, Component parentComponent, boolean withUndo) throws ExecutionException {
+        BinaryData contentData = codeArea.getContentData();
+        BackgroundTaskRunner.execute(parentComponent, resourceBundle.getString("convertDataAction.progress"), (progressListener) -> {
+            operation.prepare(contentData, progressListener::progress);
+            if (withUndo) {
+                operation.prepareUndo(contentData);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Converts data in place on background thread with progress dialog.
+     * <p>
+     * Data are reverted when cancelled.
+     *
+     * @param operation in place convert data operation
+     * @param parentComponent parent component
+     * @throws CancellationException when cancelled by user
+     * @throws ExecutionException when conversion failed
+     */
+    private void prepareInPlaceConversion(InPlaceConvertDataOperation operation, Component parentComponent) throws ExecutionException {
+        EditableBinaryData contentData = (EditableBinaryData) codeArea.getContentData();
+        // Data are modified on background thread, shared ranges are detached first
+        if (!SharedRangeBinaryData.detachShares(parentComponent, contentData)) {
+            throw new CancellationException();
+        }
+
+        try {
+            BackgroundTaskRunner.execute(parentComponent, resourceBundle.getString("convertDataAction.progress"), (progressListener) -> {
+                operation.prepare(contentData, progressListener::progress);
+                return null;
+            });
+        } catch (CancellationException ex) {
+            // Cancel might come after conversion finished
+            operation.revertPrepared(contentData);
+            throw ex;
+        }
+    }
+
+    @Nonnull
+    private BinaryData performDirectConvert(ConvertDataMethod method, Component methodComponent, Component parentComponent) throws ExecutionException {
+        CodeAreaCommand command = method.createConvertCommand(methodComponent, codeArea);
+        try {
+            if (command instanceof ConvertDataCommand) {
+                // Reuse conversion of the command to compute data with progress
+                ConvertDataOperation operation = ((ConvertDataCommand) command).getOperation();
+                prepareConversion(operation, parentComponent, false);
+                return operation.getPreparedData().get();
+            }
+        } finally {
+            command.dispose();
+        }
+
+        return method.performDirectConvert(methodComponent, codeArea);
+    }
 }
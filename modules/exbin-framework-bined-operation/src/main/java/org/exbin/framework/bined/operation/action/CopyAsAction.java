@@ -18,6 +18,8 @@ package org.exbin.framework.bined.operation.action;
 import java.awt.Component;
 import java.awt.Dialog;
 import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -115,6 +117,12 @@ public class CopyAsAction extends AbstractAction {
             dialog.close();
             dialog.dispose();
         });
+        dialog.getWindow().addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                dataOperationPanel.cancelPreview();
+            }
+        });
         SwingUtilities.invokeLater(dataOperationPanel::initFocus);
         dialog.showCentered(codeArea);
     }
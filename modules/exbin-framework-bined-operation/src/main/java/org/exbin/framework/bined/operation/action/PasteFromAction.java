@@ -18,6 +18,8 @@ package org.exbin.framework.bined.operation.action;
 import java.awt.Component;
 import java.awt.Dialog;
 import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -37,6 +39,7 @@ import org.exbin.framework.action.api.ActionConsts;
 import org.exbin.framework.action.api.ActionModuleApi;
 import org.exbin.framework.action.api.ActionContextChangeManager;
 import org.exbin.framework.action.api.ActiveComponent;
+import org.exbin.framework.bined.SharedRangeBinaryData;
 import org.exbin.framework.bined.BinaryDataComponent;
 import org.exbin.framework.bined.operation.BinedOperationModule;
 import org.exbin.framework.bined.operation.api.DataOperationMethod;
@@ -118,11 +121,13 @@ public class PasteFromAction extends AbstractAction {
                     EditOperation activeOperation = ((EditModeCapable) codeArea).getActiveOperation();
                     CodeAreaCommand command = activeMethod.createPasteCommand(activeComponent, codeArea, dataPosition, activeOperation);
 
-                    CodeAreaCommandHandler commandHandler = codeArea.getCommandHandler();
-                    if (commandHandler instanceof CodeAreaOperationCommandHandler) {
-                        ((CodeAreaOperationCommandHandler) commandHandler).getUndoRedo().execute(command);
-                    } else {
-                        command.execute();
+                    if (SharedRangeBinaryData.detachShares(codeArea, codeArea.getContentData())) {
+                        CodeAreaCommandHandler commandHandler = codeArea.getCommandHandler();
+                        if (commandHandler instanceof CodeAreaOperationCommandHandler) {
+                            ((CodeAreaOperationCommandHandler) commandHandler).getUndoRedo().execute(command);
+                        } else {
+                            command.execute();
+                        }
                     }
                 }
                 lastMethod = (PasteFromDataMethod) optionalActiveMethod.orElse(null);
@@ -131,6 +136,12 @@ public class PasteFromAction extends AbstractAction {
             dialog.close();
             dialog.dispose();
         });
+        dialog.getWindow().addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                dataOperationPanel.cancelPreview();
+            }
+        });
         SwingUtilities.invokeLater(dataOperationPanel::initFocus);
         dialog.showCentered(codeArea);
     }
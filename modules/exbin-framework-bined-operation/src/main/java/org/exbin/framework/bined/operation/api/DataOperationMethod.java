@@ -49,4 +49,11 @@ public interface DataOperationMethod {
      * @param component component
      */
     void initFocus(Component component);
+
+    /**
+     * Cancels pending preview computation and releases its resources.
+     * <p>
+     * Called when dialog using the method is closed.
+     */
+    void cancelPreview();
 }
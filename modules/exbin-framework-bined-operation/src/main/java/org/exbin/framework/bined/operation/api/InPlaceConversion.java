@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.api;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
+
+/**
+ * Conversion producing output of the same length as input, applied directly
+ * on the data range.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface InPlaceConversion {
+
+    /**
+     * Converts data range in place.
+     * <p>
+     * Implementation should process data in blocks using replace calls
+     * without copying whole range. Conversion is not interrupted, whole range
+     * is always converted.
+     *
+     * @param data data
+     * @param position range position
+     * @param length range length
+     * @param progressListener progress listener
+     */
+    void convert(EditableBinaryData data, long position, long length, @Nullable ConversionProgressListener progressListener);
+
+    /**
+     * Returns conversion reverting this conversion.
+     * <p>
+     * When available, it is used for undo instead of storing original data.
+     *
+     * @return inverse conversion or null if conversion is not reversible
+     */
+    @Nullable
+    InPlaceConversion getInverse();
+}
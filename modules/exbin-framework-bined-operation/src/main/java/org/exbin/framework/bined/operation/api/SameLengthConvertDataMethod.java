@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.api;
+
+import java.awt.Component;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Interface for convert data method which can produce output of the same
+ * length as input.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface SameLengthConvertDataMethod extends ConvertDataMethod {
+
+    /**
+     * Creates in-place conversion for current state of the component.
+     * <p>
+     * When available, conversion is applied on data range directly instead
+     * of command created by createConvertCommand.
+     *
+     * @param component visual component
+     * @return in-place conversion or null if configured conversion changes
+     * length of data
+     */
+    @Nullable
+    InPlaceConversion createInPlaceConversion(Component component);
+}
@@ -41,6 +41,11 @@ public class ConvertDataCommand extends CodeAreaCommand {
         this.operation = operation;
     }
 
+    @Nonnull
+    public ConvertDataOperation getOperation() {
+        return operation;
+    }
+
     @Nonnull
     @Override
     public CodeAreaCommandType getType() {
@@ -58,6 +63,7 @@ public class ConvertDataCommand extends CodeAreaCommand {
     public void performUndo() {
         undoOperation.execute((EditableBinaryData) codeArea.getContentData());
         undoOperation.dispose();
+        undoOperation = null;
         ((ScrollingCapable) codeArea).revealCursor();
         codeArea.notifyDataChanged();
     }
@@ -66,5 +72,9 @@ public class ConvertDataCommand extends CodeAreaCommand {
     public void dispose() {
         super.dispose();
         operation.dispose();
+        if (undoOperation != null) {
+            undoOperation.dispose();
+            undoOperation = null;
+        }
     }
 }
@@ -98,6 +98,16 @@ public class DataOperationPanel extends javax.swing.JPanel {
         }
     }
 
+    /**
+     * Cancels preview computation of all data methods.
+     */
+    public void cancelPreview() {
+        DefaultListModel<DataOperationMethod> listModel = (DefaultListModel<DataOperationMethod>) optionsList.getModel();
+        for (int i = 0; i < listModel.getSize(); i++) {
+            listModel.getElementAt(i).cancelPreview();
+        }
+    }
+
     @Nonnull
     public Optional<DataOperationMethod> getActiveMethod() {
         return Optional.ofNullable(activeMethod);
@@ -16,12 +16,13 @@
 package org.exbin.framework.bined.operation.method;
 
 import java.awt.Component;
-import java.util.Base64;
+import java.io.IOException;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import javax.swing.SwingUtilities;
 import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
 import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.SelectionRange;
@@ -32,8 +33,11 @@ import org.exbin.framework.App;
 import org.exbin.framework.bined.operation.api.ConvertDataMethod;
 import org.exbin.framework.language.api.LanguageModuleApi;
 import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
+import org.exbin.framework.bined.operation.method.codec.Base64Codec;
 import org.exbin.framework.bined.operation.method.gui.Base64DataPanel;
 import org.exbin.framework.bined.operation.ConversionDataProvider;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
 import org.exbin.framework.bined.operation.command.ConvertDataCommand;
 import org.exbin.framework.bined.operation.ConvertDataOperation;
 import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
@@ -51,6 +55,7 @@ public class Base64DataMethod implements ConvertDataMethod {
     private PreviewDataHandler previewDataHandler;
     private long previewLengthLimit = 0;
     private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
 
     @Nonnull
     @Override
@@ -70,6 +75,11 @@ public class Base64DataMethod implements ConvertDataMethod {
         ((Base64DataPanel) component).initFocus();
     }
 
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
     @Nonnull
     @Override
     public CodeAreaCommand createConvertCommand(Component component, CodeAreaCore codeArea) {
@@ -87,8 +97,11 @@ public class Base64DataMethod implements ConvertDataMethod {
             length = selection.getLength();
         }
 
-        ConversionDataProvider conversionDataProvider = (EditableBinaryData binaryData, long sourcePosition, long sourceLength, long targetPosition) -> {
-            convertData(binaryData, sourcePosition, sourceLength, operationType, binaryData, targetPosition);
+        ConversionDataProvider conversionDataProvider = (BinaryData sourceData, long sourcePosition, long sourceLength, EditableBinaryData targetData, long targetPosition, @Nullable ConversionProgressListener progressListener) -> {
+            String message = convertData(sourceData, sourcePosition, sourceLength, operationType, targetData, targetPosition);
+            if (!message.isEmpty()) {
+                throw new IllegalStateException(message);
+            }
         };
 
         return new ConvertDataCommand(codeArea, new ConvertDataOperation(position, length, length, conversionDataProvider));
@@ -109,86 +122,74 @@ public class Base64DataMethod implements ConvertDataMethod {
             length = selection.getLength();
         }
 
-        EditableBinaryData binaryData = new ByteArrayEditableData();
-        convertData(codeArea.getContentData(), position, length, operationType, binaryData, 0);
+        EditableBinaryData binaryData = new ByteArrayPagedData();
+        String message = convertData(codeArea.getContentData(), position, length, operationType, binaryData, 0);
+        if (!message.isEmpty()) {
+            throw new IllegalStateException(message);
+        }
         return binaryData;
     }
 
-    public void convertData(BinaryData sourceBinaryData, long position, long length, OperationType operationType, EditableBinaryData targetBinaryData, long targetPosition) throws IllegalStateException {
+    /**
+     * Encodes or decodes data range.
+     * <p>
+     * On failure no data are inserted into target data.
+     *
+     * @param sourceBinaryData source binary data
+     * @param position starting position
+     * @param length data length
+     * @param operationType operation type
+     * @param targetBinaryData target binary data
+     * @param targetPosition target position
+     * @return error message or empty string on success
+     */
+    @Nonnull
+    public String convertData(BinaryData sourceBinaryData, long position, long length, OperationType operationType, EditableBinaryData targetBinaryData, long targetPosition) {
+        return convertData(sourceBinaryData, position, length, operationType, true, targetBinaryData, targetPosition);
+    }
+
+    @Nonnull
+    private String convertData(BinaryData sourceBinaryData, long position, long length, OperationType operationType, boolean completeInput, EditableBinaryData targetBinaryData, long targetPosition) {
+        Base64Codec codec;
+        boolean decode;
         switch (operationType) {
-            case BASIC_ENCODER: {
-                Base64.Encoder encoder = Base64.getEncoder();
-                byte[] sourceData = new byte[(int) length];
-                sourceBinaryData.copyToArray(position, sourceData, 0, (int) length);
-                byte[] output = encoder.encode(sourceData);
-                targetBinaryData.insert(targetPosition, output);
-                break;
-            }
+            case BASIC_ENCODER:
             case BASIC_DECODER: {
-                Base64.Decoder decoder = Base64.getDecoder();
-                byte[] sourceData = new byte[(int) length];
-                sourceBinaryData.copyToArray(position, sourceData, 0, (int) length);
-                try {
-                    byte[] output = decoder.decode(sourceData);
-                    targetBinaryData.insert(targetPosition, output);
-                } catch (IllegalArgumentException ex) {
-                    // ignore
-                }
-                break;
-            }
-            case MIME_ENCODER: {
-                Base64.Encoder encoder = Base64.getMimeEncoder();
-                byte[] sourceData = new byte[(int) length];
-                sourceBinaryData.copyToArray(position, sourceData, 0, (int) length);
-                try {
-                    byte[] output = encoder.encode(sourceData);
-                    targetBinaryData.insert(targetPosition, output);
-                } catch (IllegalArgumentException ex) {
-                    // ignore
-                }
+                codec = new Base64Codec(Base64Codec.Variant.STANDARD);
+                decode = operationType == OperationType.BASIC_DECODER;
                 break;
             }
+            case MIME_ENCODER:
             case MIME_DECODER: {
-                Base64.Decoder decoder = Base64.getMimeDecoder();
-                byte[] sourceData = new byte[(int) length];
-                sourceBinaryData.copyToArray(position, sourceData, 0, (int) length);
-                byte[] output = decoder.decode(sourceData);
-                targetBinaryData.insert(targetPosition, output);
-                break;
-            }
-            case URL_ENCODER: {
-                Base64.Encoder encoder = Base64.getUrlEncoder();
-                byte[] sourceData = new byte[(int) length];
-                sourceBinaryData.copyToArray(position, sourceData, 0, (int) length);
-                try {
-                    byte[] output = encoder.encode(sourceData);
-                    targetBinaryData.insert(targetPosition, output);
-                } catch (IllegalArgumentException ex) {
-                    // ignore
-                }
+                codec = new Base64Codec(Base64Codec.Variant.MIME);
+                decode = operationType == OperationType.MIME_DECODER;
                 break;
             }
+            case URL_ENCODER:
             case URL_DECODER: {
-                Base64.Decoder decoder = Base64.getUrlDecoder();
-                byte[] sourceData = new byte[(int) length];
-                sourceBinaryData.copyToArray(position, sourceData, 0, (int) length);
-                try {
-                    byte[] output = decoder.decode(sourceData);
-                    targetBinaryData.insert(targetPosition, output);
-                } catch (IllegalArgumentException ex) {
-                    // ignore
-                }
+                codec = new Base64Codec(Base64Codec.Variant.URL);
+                decode = operationType == OperationType.URL_DECODER;
                 break;
             }
             default:
                 throw CodeAreaUtils.getInvalidTypeException(operationType);
         }
+
+        try {
+            codec.convert(sourceBinaryData, position, length, decode, completeInput, targetBinaryData, targetPosition);
+        } catch (IOException ex) {
+            return "Error: " + (ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage());
+        }
+
+        return "";
     }
 
     @Override
     public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
         this.previewDataHandler = previewDataHandler;
         this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
         Base64DataPanel panel = (Base64DataPanel) component;
         panel.setResultChangeListener(() -> {
             fillPreviewData(panel, codeArea);
@@ -197,32 +198,44 @@ public class Base64DataMethod implements ConvertDataMethod {
     }
 
     private void fillPreviewData(Base64DataPanel panel, CodeAreaCore codeArea) {
-        previewPanel = new BinaryPreviewPanel();
-        previewDataHandler.setPreviewComponent(previewPanel);
-        SwingUtilities.invokeLater(() -> {
-            OperationType operationType = panel.getOperationType();
-
-            EditableBinaryData previewBinaryData = new ByteArrayEditableData();
-            previewBinaryData.clear();
-            long position;
-            long length;
-            SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
-            if (selection.isEmpty()) {
-                position = 0;
-                length = codeArea.getDataSize();
-            } else {
-                position = selection.getFirst();
-                length = selection.getLength();
-            }
-            convertData(codeArea.getContentData(), position, length, operationType, previewBinaryData, 0);
-            long previewDataSize = previewBinaryData.getDataSize();
+        OperationType operationType = panel.getOperationType();
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+        BinaryData contentData = codeArea.getContentData();
+        long sampleLength = PreviewExecutor.getSampleLength(length);
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
+            PreviewResult result = new PreviewResult();
+            result.binaryData = new ByteArrayEditableData();
+            result.message = convertData(contentData, position, sampleLength, operationType, sampleLength == length, result.binaryData, 0);
+            long previewDataSize = result.binaryData.getDataSize();
             if (previewDataSize > previewLengthLimit) {
-                previewBinaryData.remove(previewLengthLimit, previewDataSize - previewLengthLimit);
+                result.binaryData.remove(previewLengthLimit, previewDataSize - previewLengthLimit);
+            }
+            return result;
+        }, (result) -> {
+            if (result.message.isEmpty()) {
+                targetPanel.setPreviewData(result.binaryData);
+            } else {
+                targetPanel.setErrorMessage(result.message);
             }
-            previewPanel.setPreviewData(previewBinaryData);
         });
     }
 
+    private static class PreviewResult {
+
+        EditableBinaryData binaryData;
+        String message;
+    }
+
     public enum OperationType {
         BASIC_ENCODER,
         BASIC_DECODER,
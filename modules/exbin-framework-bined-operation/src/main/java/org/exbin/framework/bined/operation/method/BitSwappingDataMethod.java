@@ -18,10 +18,11 @@ package org.exbin.framework.bined.operation.method;
 import java.awt.Component;
 import java.util.Optional;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import javax.swing.SwingUtilities;
 import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
 import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.SelectionRange;
@@ -29,11 +30,14 @@ import org.exbin.bined.capability.SelectionCapable;
 import org.exbin.bined.operation.swing.command.CodeAreaCommand;
 import org.exbin.bined.swing.CodeAreaCore;
 import org.exbin.framework.App;
-import org.exbin.framework.bined.operation.api.ConvertDataMethod;
+import org.exbin.framework.bined.operation.api.InPlaceConversion;
+import org.exbin.framework.bined.operation.api.SameLengthConvertDataMethod;
 import org.exbin.framework.language.api.LanguageModuleApi;
 import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
 import org.exbin.framework.bined.operation.method.gui.BitSwappingDataPanel;
 import org.exbin.framework.bined.operation.ConversionDataProvider;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
 import org.exbin.framework.bined.operation.command.ConvertDataCommand;
 import org.exbin.framework.bined.operation.ConvertDataOperation;
 import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
@@ -44,15 +48,23 @@ import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
-public class BitSwappingDataMethod implements ConvertDataMethod {
+public class BitSwappingDataMethod implements SameLengthConvertDataMethod {
 
-    private static final int BUFFER_SIZE = 4096;
+    private static final int BUFFER_SIZE = 65536;
+    private static final byte[] REVERSED_BITS = new byte[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            REVERSED_BITS[i] = (byte) (Integer.reverse(i) >>> 24);
+        }
+    }
 
     private java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(BitSwappingDataPanel.class);
 
     private PreviewDataHandler previewDataHandler;
     private long previewLengthLimit = 0;
     private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
 
     @Nonnull
     @Override
@@ -72,6 +84,11 @@ public class BitSwappingDataMethod implements ConvertDataMethod {
         ((BitSwappingDataPanel) component).initFocus();
     }
 
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
     @Nonnull
     @Override
     public CodeAreaCommand createConvertCommand(Component component, CodeAreaCore codeArea) {
@@ -89,13 +106,20 @@ public class BitSwappingDataMethod implements ConvertDataMethod {
             length = selection.getLength();
         }
 
-        ConversionDataProvider conversionDataProvider = (EditableBinaryData binaryData, long sourcePosition, long sourceLength, long targetPosition) -> {
-            convertData(binaryData, sourcePosition, sourceLength, operationType.get(), binaryData, targetPosition);
+        ConversionDataProvider conversionDataProvider = (BinaryData sourceData, long sourcePosition, long sourceLength, EditableBinaryData targetData, long targetPosition, @Nullable ConversionProgressListener progressListener) -> {
+            convertData(sourceData, sourcePosition, sourceLength, operationType.get(), targetData, targetPosition);
         };
 
         return new ConvertDataCommand(codeArea, new ConvertDataOperation(position, length, length, conversionDataProvider));
     }
 
+    @Nullable
+    @Override
+    public InPlaceConversion createInPlaceConversion(Component component) {
+        Optional<OperationType> operationType = ((BitSwappingDataPanel) component).getOperationType();
+        return operationType.isPresent() ? new BitSwappingConversion(operationType.get()) : null;
+    }
+
     @Override
     public BinaryData performDirectConvert(Component component, CodeAreaCore codeArea) {
         BitSwappingDataPanel panel = (BitSwappingDataPanel) component;
@@ -111,58 +135,148 @@ public class BitSwappingDataMethod implements ConvertDataMethod {
             length = selection.getLength();
         }
 
-        EditableBinaryData binaryData = new ByteArrayEditableData();
+        EditableBinaryData binaryData = new ByteArrayPagedData();
         convertData(codeArea.getContentData(), position, length, operationType.get(), binaryData, 0);
         return binaryData;
     }
 
     public void convertData(BinaryData sourceBinaryData, long position, long length, OperationType operationType, EditableBinaryData targetBinaryData, long targetPosition) throws IllegalStateException {
+        if (length == 0) {
+            return;
+        }
+
+        byte[] buffer = new byte[(int) Math.min(length, BUFFER_SIZE)];
+        if (operationType == OperationType.REVERT_BYTES_ORDER) {
+            // Blocks are processed from the end of the range
+            long remaining = length;
+            while (remaining > 0) {
+                int blockLength = (int) Math.min(remaining, BUFFER_SIZE);
+                remaining -= blockLength;
+                sourceBinaryData.copyToArray(position + remaining, buffer, 0, blockLength);
+                reverseBytes(buffer, 0, blockLength);
+                targetBinaryData.insert(targetPosition, buffer, 0, blockLength);
+                targetPosition += blockLength;
+            }
+            return;
+        }
+
+        long processed = 0;
+        while (processed < length) {
+            int blockLength = (int) Math.min(length - processed, BUFFER_SIZE);
+            sourceBinaryData.copyToArray(position + processed, buffer, 0, blockLength);
+            transformBlock(buffer, blockLength, operationType);
+            targetBinaryData.insert(targetPosition + processed, buffer, 0, blockLength);
+            processed += blockLength;
+        }
+    }
+
+    /**
+     * Performs operation directly on given data range.
+     * <p>
+     * Data are processed in blocks and written back using replace without
+     * intermediate copy of the range.
+     *
+     * @param binaryData data
+     * @param position position
+     * @param length length
+     * @param operationType operation type
+     * @param progressListener progress listener
+     */
+    public void transformData(EditableBinaryData binaryData, long position, long length, OperationType operationType, @Nullable ConversionProgressListener progressListener) {
+        if (length == 0) {
+            return;
+        }
+
+        if (operationType == OperationType.REVERT_BYTES_ORDER) {
+            // Swap reversed blocks from both ends of the range
+            int blockSize = (int) Math.min((length + 1) / 2, BUFFER_SIZE);
+            byte[] headBuffer = new byte[blockSize];
+            byte[] tailBuffer = new byte[blockSize];
+            long headPosition = position;
+            long tailEnd = position + length;
+            while (tailEnd - headPosition > 1) {
+                int blockLength = (int) Math.min((tailEnd - headPosition) / 2, blockSize);
+                long tailPosition = tailEnd - blockLength;
+                binaryData.copyToArray(headPosition, headBuffer, 0, blockLength);
+                binaryData.copyToArray(tailPosition, tailBuffer, 0, blockLength);
+                reverseBytes(headBuffer, 0, blockLength);
+                reverseBytes(tailBuffer, 0, blockLength);
+                binaryData.replace(headPosition, tailBuffer, 0, blockLength);
+                binaryData.replace(tailPosition, headBuffer, 0, blockLength);
+                headPosition += blockLength;
+                tailEnd = tailPosition;
+                if (progressListener != null) {
+                    progressListener.progress(length - (tailEnd - headPosition), length);
+                }
+            }
+            return;
+        }
+
+        byte[] buffer = new byte[(int) Math.min(length, BUFFER_SIZE)];
+        long processed = 0;
+        while (processed < length) {
+            int blockLength = (int) Math.min(length - processed, BUFFER_SIZE);
+            binaryData.copyToArray(position + processed, buffer, 0, blockLength);
+            transformBlock(buffer, blockLength, operationType);
+            binaryData.replace(position + processed, buffer, 0, blockLength);
+            processed += blockLength;
+            if (progressListener != null) {
+                progressListener.progress(processed, length);
+            }
+        }
+    }
+
+    /**
+     * Transforms block of data.
+     * <p>
+     * Block length must be multiple of word size except for the last block.
+     * Incomplete trailing word is left unchanged.
+     * <p>
+     * Operation {@link OperationType#REVERT_BYTES_ORDER} is not supported as it
+     * depends on whole data range.
+     *
+     * @param buffer buffer
+     * @param length block length
+     * @param operationType operation type
+     */
+    public static void transformBlock(byte[] buffer, int length, OperationType operationType) {
         switch (operationType) {
             case INVERT_BITS: {
-                int bufferSize = length < BUFFER_SIZE ? (int) length : BUFFER_SIZE;
-                byte[] buffer = new byte[bufferSize];
-                long remaining = length;
-                while (remaining > 0) {
-                    sourceBinaryData.copyToArray(position, buffer, 0, bufferSize);
-                    for (int i = 0; i < buffer.length; i++) {
-                        buffer[i] ^= 0xff;
-                    }
-                    remaining -= bufferSize;
-                    targetBinaryData.insert(targetPosition, buffer);
-                    targetPosition += bufferSize;
+                for (int i = 0; i < length; i++) {
+                    buffer[i] ^= (byte) 0xff;
                 }
                 break;
             }
-            case REVERT_BYTES_ORDER: {
-                int bufferSize = length < BUFFER_SIZE ? (int) length : BUFFER_SIZE;
-                byte[] buffer = new byte[bufferSize];
-                long remaining = length;
-                while (remaining > 0) {
-                    sourceBinaryData.copyToArray(position, buffer, 0, bufferSize);
-                    for (int i = 0; i < (buffer.length + 1) / 2; i++) {
-                        byte swap = buffer[i];
-                        buffer[i] = buffer[buffer.length - i - 1];
-                        buffer[buffer.length - i - 1] = swap;
-                    }
-                    remaining -= bufferSize;
-                    targetBinaryData.insert(targetPosition, buffer);
+            case SWAP_PAIRS: {
+                for (int i = 0; i + 1 < length; i += 2) {
+                    byte swap = buffer[i];
+                    buffer[i] = buffer[i + 1];
+                    buffer[i + 1] = swap;
                 }
                 break;
             }
-            case SWAP_PAIRS: {
-                int bufferSize = length < BUFFER_SIZE ? (int) length : BUFFER_SIZE;
-                byte[] buffer = new byte[bufferSize];
-                long remaining = length;
-                while (remaining > 0) {
-                    sourceBinaryData.copyToArray(position, buffer, 0, bufferSize);
-                    for (int i = 0; i < buffer.length / 2; i++) {
-                        byte swap = buffer[i * 2];
-                        buffer[i * 2] = buffer[i * 2 + 1];
-                        buffer[i * 2 + 1] = swap;
-                    }
-                    remaining -= bufferSize;
-                    targetBinaryData.insert(targetPosition, buffer);
-                    targetPosition += bufferSize;
+            case REVERSE_BITS: {
+                for (int i = 0; i < length; i++) {
+                    buffer[i] = REVERSED_BITS[buffer[i] & 0xff];
+                }
+                break;
+            }
+            case SWAP_NIBBLES: {
+                for (int i = 0; i < length; i++) {
+                    int value = buffer[i] & 0xff;
+                    buffer[i] = (byte) ((value << 4) | (value >> 4));
+                }
+                break;
+            }
+            case SWAP_WORDS_32: {
+                for (int i = 0; i + 3 < length; i += 4) {
+                    reverseBytes(buffer, i, 4);
+                }
+                break;
+            }
+            case SWAP_WORDS_64: {
+                for (int i = 0; i + 7 < length; i += 8) {
+                    reverseBytes(buffer, i, 8);
                 }
                 break;
             }
@@ -171,10 +285,24 @@ public class BitSwappingDataMethod implements ConvertDataMethod {
         }
     }
 
+    private static void reverseBytes(byte[] buffer, int offset, int length) {
+        int left = offset;
+        int right = offset + length - 1;
+        while (left < right) {
+            byte swap = buffer[left];
+            buffer[left] = buffer[right];
+            buffer[right] = swap;
+            left++;
+            right--;
+        }
+    }
+
     @Override
     public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
         this.previewDataHandler = previewDataHandler;
         this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
         BitSwappingDataPanel panel = (BitSwappingDataPanel) component;
         panel.setResultChangeListener(() -> {
             fillPreviewData(panel, codeArea);
@@ -183,37 +311,67 @@ public class BitSwappingDataMethod implements ConvertDataMethod {
     }
 
     private void fillPreviewData(BitSwappingDataPanel panel, CodeAreaCore codeArea) {
-        previewPanel = new BinaryPreviewPanel();
-        previewDataHandler.setPreviewComponent(previewPanel);
-        SwingUtilities.invokeLater(() -> {
-            Optional<OperationType> operationType = panel.getOperationType();
-
+        Optional<OperationType> operationType = panel.getOperationType();
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+        BinaryData contentData = codeArea.getContentData();
+        long sampleLength = PreviewExecutor.getSampleLength(length);
+        // Reverted data starts with the end of the range
+        long samplePosition = operationType.isPresent() && operationType.get() == OperationType.REVERT_BYTES_ORDER ? position + length - sampleLength : position;
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
             EditableBinaryData previewBinaryData = new ByteArrayEditableData();
-            previewBinaryData.clear();
             if (operationType.isPresent()) {
-                long position;
-                long length;
-                SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
-                if (selection.isEmpty()) {
-                    position = 0;
-                    length = codeArea.getDataSize();
-                } else {
-                    position = selection.getFirst();
-                    length = selection.getLength();
-                }
-                convertData(codeArea.getContentData(), position, length, operationType.get(), previewBinaryData, 0);
+                convertData(contentData, samplePosition, sampleLength, operationType.get(), previewBinaryData, 0);
                 long previewDataSize = previewBinaryData.getDataSize();
                 if (previewDataSize > previewLengthLimit) {
                     previewBinaryData.remove(previewLengthLimit, previewDataSize - previewLengthLimit);
                 }
             }
-            previewPanel.setPreviewData(previewBinaryData);
-        });
+            return previewBinaryData;
+        }, targetPanel::setPreviewData);
+    }
+
+    /**
+     * In-place bit swapping conversion.
+     * <p>
+     * All operations are self-inverse, so undo applies the same operation.
+     */
+    private class BitSwappingConversion implements InPlaceConversion {
+
+        private final OperationType operationType;
+
+        public BitSwappingConversion(OperationType operationType) {
+            this.operationType = operationType;
+        }
+
+        @Override
+        public void convert(EditableBinaryData data, long position, long length, @Nullable ConversionProgressListener progressListener) {
+            transformData(data, position, length, operationType, progressListener);
+        }
+
+        @Nonnull
+        @Override
+        public InPlaceConversion getInverse() {
+            return this;
+        }
     }
 
     public enum OperationType {
         INVERT_BITS,
         REVERT_BYTES_ORDER,
-        SWAP_PAIRS
+        SWAP_PAIRS,
+        REVERSE_BITS,
+        SWAP_NIBBLES,
+        SWAP_WORDS_32,
+        SWAP_WORDS_64
     }
 }
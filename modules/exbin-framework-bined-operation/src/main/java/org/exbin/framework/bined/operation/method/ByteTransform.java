@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.CodeAreaUtils;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
+import org.exbin.framework.bined.operation.api.InPlaceConversion;
+
+/**
+ * Byte-wise transformation using repeating key or lookup table.
+ * <p>
+ * Key is expanded in advance into block of buffer size, so that key
+ * operations are simple loops over two arrays which the JIT compiler can
+ * vectorize. Rotations and substitutions use lookup table.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ByteTransform implements InPlaceConversion {
+
+    public static final int BUFFER_SIZE = 65536;
+
+    private final TransformType transformType;
+    private final byte[] parameter;
+    private final int keyLength;
+    private final byte[] keyBlock;
+    private final byte[] table;
+
+    /**
+     * Creates byte transformation.
+     *
+     * @param transformType transform type
+     * @param parameter key for key operations, first byte is used as count of
+     * bits for rotations, lookup table for substitution where missing entries
+     * are left unchanged
+     */
+    public ByteTransform(TransformType transformType, byte[] parameter) {
+        this.transformType = transformType;
+        this.parameter = parameter;
+        switch (transformType) {
+            case XOR:
+            case ADD:
+            case SUBTRACT: {
+                keyLength = Math.max(parameter.length, 1);
+                keyBlock = new byte[BUFFER_SIZE + keyLength - 1];
+                if (parameter.length > 0) {
+                    for (int i = 0; i < keyBlock.length; i += keyLength) {
+                        System.arraycopy(parameter, 0, keyBlock, i, Math.min(keyLength, keyBlock.length - i));
+                    }
+                }
+                table = null;
+                break;
+            }
+            case ROTATE_LEFT:
+            case ROTATE_RIGHT: {
+                int bits = parameter.length > 0 ? parameter[0] & 7 : 0;
+                if (transformType == TransformType.ROTATE_RIGHT) {
+                    bits = (8 - bits) & 7;
+                }
+                table = new byte[256];
+                for (int i = 0; i < 256; i++) {
+                    table[i] = (byte) ((i << bits) | (i >>> (8 - bits)));
+                }
+                keyLength = 0;
+                keyBlock = null;
+                break;
+            }
+            case SUBSTITUTE: {
+                table = new byte[256];
+                for (int i = 0; i < 256; i++) {
+                    table[i] = i < parameter.length ? parameter[i] : (byte) i;
+                }
+                keyLength = 0;
+                keyBlock = null;
+                break;
+            }
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(transformType);
+        }
+    }
+
+    @Nonnull
+    public TransformType getTransformType() {
+        return transformType;
+    }
+
+    @Override
+    public void convert(EditableBinaryData data, long position, long length, @Nullable ConversionProgressListener progressListener) {
+        byte[] buffer = new byte[(int) Math.min(length, BUFFER_SIZE)];
+        long processed = 0;
+        while (processed < length) {
+            int blockLength = (int) Math.min(length - processed, BUFFER_SIZE);
+            data.copyToArray(position + processed, buffer, 0, blockLength);
+            transformBlock(buffer, blockLength, processed);
+            data.replace(position + processed, buffer, 0, blockLength);
+            processed += blockLength;
+            if (progressListener != null) {
+                progressListener.progress(processed, length);
+            }
+        }
+    }
+
+    /**
+     * Transforms data range and inserts result into target data.
+     *
+     * @param source source data
+     * @param position source position
+     * @param length source length
+     * @param target target data
+     * @param targetPosition target position
+     */
+    public void transform(BinaryData source, long position, long length, EditableBinaryData target, long targetPosition) {
+        byte[] buffer = new byte[(int) Math.min(length, BUFFER_SIZE)];
+        long processed = 0;
+        while (processed < length) {
+            int blockLength = (int) Math.min(length - processed, BUFFER_SIZE);
+            source.copyToArray(position + processed, buffer, 0, blockLength);
+            transformBlock(buffer, blockLength, processed);
+            target.insert(targetPosition + processed, buffer, 0, blockLength);
+            processed += blockLength;
+        }
+    }
+
+    /**
+     * Transforms block of data.
+     *
+     * @param buffer buffer
+     * @param length block length
+     * @param offset offset of block from start of the range for key phase
+     */
+    private void transformBlock(byte[] buffer, int length, long offset) {
+        switch (transformType) {
+            case XOR: {
+                byte[] key = keyBlock;
+                int phase = (int) (offset % keyLength);
+                for (int i = 0; i < length; i++) {
+                    buffer[i] ^= key[phase + i];
+                }
+                break;
+            }
+            case ADD: {
+                byte[] key = keyBlock;
+                int phase = (int) (offset % keyLength);
+                for (int i = 0; i < length; i++) {
+                    buffer[i] += key[phase + i];
+                }
+                break;
+            }
+            case SUBTRACT: {
+                byte[] key = keyBlock;
+                int phase = (int) (offset % keyLength);
+                for (int i = 0; i < length; i++) {
+                    buffer[i] -= key[phase + i];
+                }
+                break;
+            }
+            case ROTATE_LEFT:
+            case ROTATE_RIGHT:
+            case SUBSTITUTE: {
+                byte[] lookup = table;
+                for (int i = 0; i < length; i++) {
+                    buffer[i] = lookup[buffer[i] & 0xff];
+                }
+                break;
+            }
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(transformType);
+        }
+    }
+
+    @Nullable
+    @Override
+    public InPlaceConversion getInverse() {
+        switch (transformType) {
+            case XOR:
+                return this;
+            case ADD:
+                return new ByteTransform(TransformType.SUBTRACT, parameter);
+            case SUBTRACT:
+                return new ByteTransform(TransformType.ADD, parameter);
+            case ROTATE_LEFT:
+                return new ByteTransform(TransformType.ROTATE_RIGHT, parameter);
+            case ROTATE_RIGHT:
+                return new ByteTransform(TransformType.ROTATE_LEFT, parameter);
+            case SUBSTITUTE: {
+                // Only permutation table can be inverted
+                byte[] inverseTable = new byte[256];
+                boolean[] used = new boolean[256];
+                for (int i = 0; i < 256; i++) {
+                    int value = table[i] & 0xff;
+                    if (used[value]) {
+                        return null;
+                    }
+                    used[value] = true;
+                    inverseTable[value] = (byte) i;
+                }
+                return new ByteTransform(TransformType.SUBSTITUTE, inverseTable);
+            }
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(transformType);
+        }
+    }
+
+    public enum TransformType {
+        XOR,
+        ADD,
+        SUBTRACT,
+        ROTATE_LEFT,
+        ROTATE_RIGHT,
+        SUBSTITUTE
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.awt.Component;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.capability.SelectionCapable;
+import org.exbin.bined.operation.swing.command.CodeAreaCommand;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.operation.api.InPlaceConversion;
+import org.exbin.framework.bined.operation.api.SameLengthConvertDataMethod;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
+import org.exbin.framework.bined.operation.method.gui.ByteTransformDataPanel;
+import org.exbin.framework.bined.operation.ConversionDataProvider;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
+import org.exbin.framework.bined.operation.command.ConvertDataCommand;
+import org.exbin.framework.bined.operation.ConvertDataOperation;
+import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
+
+/**
+ * Byte transform data method for key XOR, addition, subtraction, bit
+ * rotation and substitution table.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ByteTransformDataMethod implements SameLengthConvertDataMethod {
+
+    private java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(ByteTransformDataPanel.class);
+
+    private PreviewDataHandler previewDataHandler;
+    private long previewLengthLimit = 0;
+    private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return resourceBundle.getString("method.name");
+    }
+
+    @Nonnull
+    @Override
+    public Component createComponent() {
+        ByteTransformDataPanel component = new ByteTransformDataPanel();
+        return component;
+    }
+
+    @Override
+    public void initFocus(Component component) {
+        ((ByteTransformDataPanel) component).initFocus();
+    }
+
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaCommand createConvertCommand(Component component, CodeAreaCore codeArea) {
+        ByteTransform transform = ((ByteTransformDataPanel) component).createTransform();
+
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        ConversionDataProvider conversionDataProvider = (BinaryData sourceData, long sourcePosition, long sourceLength, EditableBinaryData targetData, long targetPosition, @Nullable ConversionProgressListener progressListener) -> {
+            transform.transform(sourceData, sourcePosition, sourceLength, targetData, targetPosition);
+        };
+
+        return new ConvertDataCommand(codeArea, new ConvertDataOperation(position, length, length, conversionDataProvider));
+    }
+
+    @Nullable
+    @Override
+    public InPlaceConversion createInPlaceConversion(Component component) {
+        return ((ByteTransformDataPanel) component).createTransform();
+    }
+
+    @Override
+    public BinaryData performDirectConvert(Component component, CodeAreaCore codeArea) {
+        ByteTransform transform = ((ByteTransformDataPanel) component).createTransform();
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        EditableBinaryData binaryData = new ByteArrayPagedData();
+        transform.transform(codeArea.getContentData(), position, length, binaryData, 0);
+        return binaryData;
+    }
+
+    @Override
+    public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
+        this.previewDataHandler = previewDataHandler;
+        this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
+        ByteTransformDataPanel panel = (ByteTransformDataPanel) component;
+        panel.setResultChangeListener(() -> {
+            fillPreviewData(panel, codeArea);
+        });
+        fillPreviewData(panel, codeArea);
+    }
+
+    private void fillPreviewData(ByteTransformDataPanel panel, CodeAreaCore codeArea) {
+        ByteTransform transform = panel.createTransform();
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+        BinaryData contentData = codeArea.getContentData();
+        long sampleLength = Math.min(PreviewExecutor.getSampleLength(length), previewLengthLimit);
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
+            EditableBinaryData previewBinaryData = new ByteArrayEditableData();
+            transform.transform(contentData, position, sampleLength, previewBinaryData, 0);
+            return previewBinaryData;
+        }, targetPanel::setPreviewData);
+    }
+}
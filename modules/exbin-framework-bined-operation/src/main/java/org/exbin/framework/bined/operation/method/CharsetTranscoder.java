@@ -0,0 +1,373 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.UnmappableCharacterException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
+import org.exbin.bined.CodeAreaUtils;
+
+/**
+ * Streaming transcoder of text data between two charsets.
+ * <p>
+ * Data are processed through fixed-size byte and char buffers reused for
+ * whole conversion, so memory usage does not depend on length of data.
+ * Malformed or unmappable sequences are handled according to selected
+ * action and position of the first one is recorded.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CharsetTranscoder {
+
+    public static final int BUFFER_SIZE = 65536;
+
+    private final Charset sourceCharset;
+    private final Charset targetCharset;
+    private final InvalidInputAction invalidInputAction;
+    private final CharsetDecoder decoder;
+    private final CharsetEncoder encoder;
+    private final ByteBuffer inputBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer charBuffer = CharBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer outputBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private EditableBinaryData target;
+    private long targetPosition;
+    private long inputPosition;
+    private long decodedPosition;
+    private int carriedChars;
+    private long invalidCount;
+    private long firstInvalidPosition;
+
+    public CharsetTranscoder(Charset sourceCharset, Charset targetCharset, InvalidInputAction invalidInputAction) {
+        this.sourceCharset = sourceCharset;
+        this.targetCharset = targetCharset;
+        this.invalidInputAction = invalidInputAction;
+        decoder = sourceCharset.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+        encoder = targetCharset.newEncoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+    }
+
+    @Nonnull
+    public Charset getSourceCharset() {
+        return sourceCharset;
+    }
+
+    @Nonnull
+    public Charset getTargetCharset() {
+        return targetCharset;
+    }
+
+    @Nonnull
+    public InvalidInputAction getInvalidInputAction() {
+        return invalidInputAction;
+    }
+
+    /**
+     * Returns number of invalid sequences found by last transcoding.
+     *
+     * @return count of replaced or skipped sequences
+     */
+    public long getInvalidCount() {
+        return invalidCount;
+    }
+
+    /**
+     * Returns position of first invalid sequence found by last transcoding.
+     *
+     * @return position in source data or -1 if there was none
+     */
+    public long getFirstInvalidPosition() {
+        return firstInvalidPosition;
+    }
+
+    /**
+     * Transcodes data range and inserts result into target data.
+     * <p>
+     * On failure already inserted data are removed.
+     *
+     * @param source source data
+     * @param position source position
+     * @param length source length
+     * @param target target data
+     * @param targetPosition target position
+     * @return length of inserted data
+     * @throws InvalidSequenceException on invalid sequence with report action
+     * @throws IOException when interrupted
+     */
+    public long transcode(BinaryData source, long position, long length, EditableBinaryData target, long targetPosition) throws IOException {
+        this.target = target;
+        this.targetPosition = targetPosition;
+        decoder.reset();
+        encoder.reset();
+        inputBuffer.clear().flip();
+        charBuffer.clear();
+        outputBuffer.clear();
+        inputPosition = position;
+        carriedChars = 0;
+        invalidCount = 0;
+        firstInvalidPosition = -1;
+
+        try {
+            long endPosition = position + length;
+            long readPosition = position;
+            byte[] input = inputBuffer.array();
+            boolean endOfInput = false;
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Conversion cancelled");
+                }
+
+                inputPosition += inputBuffer.position();
+                inputBuffer.compact();
+                int readLength = (int) Math.min(inputBuffer.remaining(), endPosition - readPosition);
+                source.copyToArray(readPosition, input, inputBuffer.position(), readLength);
+                inputBuffer.position(inputBuffer.position() + readLength);
+                readPosition += readLength;
+                endOfInput = readPosition == endPosition;
+                inputBuffer.flip();
+
+                CoderResult result;
+                do {
+                    result = decode(endOfInput);
+                    encode(false);
+                } while (result.isOverflow());
+            } while (!endOfInput);
+
+            CoderResult result;
+            do {
+                result = decoder.flush(charBuffer);
+                encode(true);
+            } while (result.isOverflow());
+            do {
+                result = encoder.flush(outputBuffer);
+                writeOutput();
+            } while (result.isOverflow());
+        } catch (IOException ex) {
+            target.remove(targetPosition, this.targetPosition - targetPosition);
+            throw ex;
+        } finally {
+            this.target = null;
+        }
+
+        return this.targetPosition - targetPosition;
+    }
+
+    /**
+     * Creates byte mapping table for pair of single-byte charsets.
+     * <p>
+     * Table is available only when each byte of source charset is transcoded
+     * into single byte of target charset using given action, so that
+     * transcoding never changes length of data.
+     *
+     * @param sourceCharset source charset
+     * @param targetCharset target charset
+     * @param invalidInputAction invalid input action
+     * @return table of 256 target bytes or null if not available
+     */
+    @Nullable
+    public static byte[] createMappingTable(Charset sourceCharset, Charset targetCharset, InvalidInputAction invalidInputAction) {
+        CharsetDecoder decoder = sourceCharset.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+        if (decoder.averageCharsPerByte() != 1 || decoder.maxCharsPerByte() != 1 || targetCharset.newEncoder().maxBytesPerChar() != 1) {
+            return null;
+        }
+
+        // Each byte has to be complete sequence, otherwise bytes are decoded in groups
+        byte[] input = new byte[1];
+        for (int i = 0; i < 256; i++) {
+            input[0] = (byte) i;
+            try {
+                if (decoder.decode(ByteBuffer.wrap(input)).remaining() != 1) {
+                    return null;
+                }
+            } catch (UnmappableCharacterException ex) {
+                // Unmappable byte is handled by transcoding
+            } catch (CharacterCodingException ex) {
+                return null;
+            }
+        }
+
+        CharsetTranscoder transcoder = new CharsetTranscoder(sourceCharset, targetCharset, invalidInputAction);
+        byte[] table = new byte[256];
+        EditableBinaryData source = new ByteArrayEditableData(new byte[1]);
+        EditableBinaryData target = new ByteArrayEditableData();
+        try {
+            for (int i = 0; i < 256; i++) {
+                source.setByte(0, (byte) i);
+                target.clear();
+                if (transcoder.transcode(source, 0, 1, target, 0) != 1) {
+                    return null;
+                }
+                table[i] = target.getByte(0);
+            }
+        } catch (IOException ex) {
+            return null;
+        }
+
+        return table;
+    }
+
+    @Nonnull
+    private CoderResult decode(boolean endOfInput) throws IOException {
+        decodedPosition = inputPosition + inputBuffer.position();
+        while (true) {
+            CoderResult result = decoder.decode(inputBuffer, charBuffer, endOfInput);
+            if (!result.isError()) {
+                return result;
+            }
+
+            String replacement = decoder.replacement();
+            if (invalidInputAction == InvalidInputAction.REPLACE && charBuffer.remaining() < replacement.length()) {
+                // Sequence is processed again when there is space for replacement
+                return CoderResult.OVERFLOW;
+            }
+
+            handleInvalidSequence(inputPosition + inputBuffer.position(), result.length(), false);
+            inputBuffer.position(inputBuffer.position() + result.length());
+            if (invalidInputAction == InvalidInputAction.REPLACE) {
+                charBuffer.put(replacement);
+            }
+        }
+    }
+
+    private void encode(boolean endOfInput) throws IOException {
+        charBuffer.flip();
+        while (true) {
+            CoderResult result = encoder.encode(charBuffer, outputBuffer, endOfInput);
+            if (result.isOverflow()) {
+                writeOutput();
+            } else if (result.isError()) {
+                handleInvalidSequence(getCharPosition(charBuffer.position()), result.length(), true);
+                charBuffer.position(charBuffer.position() + result.length());
+                if (invalidInputAction == InvalidInputAction.REPLACE) {
+                    byte[] replacement = encoder.replacement();
+                    if (outputBuffer.remaining() < replacement.length) {
+                        writeOutput();
+                    }
+                    outputBuffer.put(replacement);
+                }
+            } else {
+                break;
+            }
+        }
+        charBuffer.compact();
+        carriedChars = charBuffer.position();
+    }
+
+    private void writeOutput() {
+        outputBuffer.flip();
+        int length = outputBuffer.remaining();
+        if (length > 0) {
+            target.insert(targetPosition, outputBuffer.array(), 0, length);
+            targetPosition += length;
+        }
+        outputBuffer.clear();
+    }
+
+    /**
+     * Computes source position of character in char buffer.
+     * <p>
+     * Position is not tracked for each character, but computed only for
+     * invalid character by encoding preceding characters back.
+     */
+    private long getCharPosition(int charIndex) {
+        if (charIndex <= carriedChars) {
+            return decodedPosition;
+        }
+
+        String precedingChars = new String(charBuffer.array(), carriedChars, charIndex - carriedChars);
+        return decodedPosition + precedingChars.getBytes(sourceCharset).length;
+    }
+
+    private void handleInvalidSequence(long position, int length, boolean unmappable) throws InvalidSequenceException {
+        switch (invalidInputAction) {
+            case REPORT:
+                throw new InvalidSequenceException(position, length, unmappable);
+            case REPLACE:
+            case SKIP:
+                break;
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(invalidInputAction);
+        }
+
+        if (invalidCount == 0) {
+            firstInvalidPosition = position;
+        }
+        invalidCount++;
+    }
+
+    /**
+     * Action for malformed input or unmappable characters.
+     */
+    public enum InvalidInputAction {
+        REPORT,
+        REPLACE,
+        SKIP
+    }
+
+    /**
+     * Exception for malformed or unmappable sequence.
+     */
+    public static class InvalidSequenceException extends IOException {
+
+        private final long position;
+        private final int length;
+        private final boolean unmappable;
+
+        public InvalidSequenceException(long position, int length, boolean unmappable) {
+            super((unmappable ? "Unmappable character" : "Malformed input") + " at position " + position);
+            this.position = position;
+            this.length = length;
+            this.unmappable = unmappable;
+        }
+
+        /**
+         * Returns position of sequence in source data.
+         *
+         * @return position
+         */
+        public long getPosition() {
+            return position;
+        }
+
+        /**
+         * Returns length of sequence in bytes for malformed input or in
+         * characters for unmappable character.
+         *
+         * @return length
+         */
+        public int getLength() {
+            return length;
+        }
+
+        public boolean isUnmappable() {
+            return unmappable;
+        }
+    }
+}
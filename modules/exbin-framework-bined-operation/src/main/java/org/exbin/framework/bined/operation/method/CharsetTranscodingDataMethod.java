@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.awt.Component;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.text.MessageFormat;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.capability.SelectionCapable;
+import org.exbin.bined.operation.swing.command.CodeAreaCommand;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.operation.api.InPlaceConversion;
+import org.exbin.framework.bined.operation.api.SameLengthConvertDataMethod;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
+import org.exbin.framework.bined.operation.method.gui.CharsetTranscodingDataPanel;
+import org.exbin.framework.bined.operation.ConversionDataProvider;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
+import org.exbin.framework.bined.operation.command.ConvertDataCommand;
+import org.exbin.framework.bined.operation.ConvertDataOperation;
+import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
+
+/**
+ * Charset transcoding data method for conversion of text between encodings.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CharsetTranscodingDataMethod implements SameLengthConvertDataMethod {
+
+    /**
+     * Maximum length of single character sequence in supported charsets.
+     */
+    private static final int MAX_SEQUENCE_LENGTH = 4;
+
+    private java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(CharsetTranscodingDataPanel.class);
+
+    private PreviewDataHandler previewDataHandler;
+    private long previewLengthLimit = 0;
+    private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return resourceBundle.getString("method.name");
+    }
+
+    @Nonnull
+    @Override
+    public Component createComponent() {
+        CharsetTranscodingDataPanel component = new CharsetTranscodingDataPanel();
+        return component;
+    }
+
+    @Override
+    public void initFocus(Component component) {
+        ((CharsetTranscodingDataPanel) component).initFocus();
+    }
+
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaCommand createConvertCommand(Component component, CodeAreaCore codeArea) {
+        CharsetTranscodingDataPanel panel = (CharsetTranscodingDataPanel) component;
+        Charset sourceCharset = panel.getSourceCharset();
+        Charset targetCharset = panel.getTargetCharset();
+        CharsetTranscoder.InvalidInputAction invalidInputAction = panel.getInvalidInputAction();
+
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        ConversionDataProvider conversionDataProvider = (BinaryData sourceData, long sourcePosition, long sourceLength, EditableBinaryData targetData, long targetPosition, @Nullable ConversionProgressListener progressListener) -> {
+            CharsetTranscoder transcoder = new CharsetTranscoder(sourceCharset, targetCharset, invalidInputAction);
+            try {
+                transcoder.transcode(sourceData, sourcePosition, sourceLength, targetData, targetPosition);
+            } catch (IOException ex) {
+                // Original data are kept when conversion fails
+                Logger.getLogger(CharsetTranscodingDataMethod.class.getName()).log(Level.WARNING, "Charset transcoding failed", ex);
+                targetData.insert(targetPosition, sourceData.copy(sourcePosition, sourceLength));
+            }
+        };
+
+        return new ConvertDataCommand(codeArea, new ConvertDataOperation(position, length, length, conversionDataProvider));
+    }
+
+    @Nullable
+    @Override
+    public InPlaceConversion createInPlaceConversion(Component component) {
+        CharsetTranscodingDataPanel panel = (CharsetTranscodingDataPanel) component;
+        // Mapping between single-byte charsets is applied as substitution table
+        byte[] table = CharsetTranscoder.createMappingTable(panel.getSourceCharset(), panel.getTargetCharset(), panel.getInvalidInputAction());
+        return table != null ? new ByteTransform(ByteTransform.TransformType.SUBSTITUTE, table) : null;
+    }
+
+    @Override
+    public BinaryData performDirectConvert(Component component, CodeAreaCore codeArea) {
+        CharsetTranscodingDataPanel panel = (CharsetTranscodingDataPanel) component;
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        EditableBinaryData binaryData = new ByteArrayPagedData();
+        CharsetTranscoder transcoder = new CharsetTranscoder(panel.getSourceCharset(), panel.getTargetCharset(), panel.getInvalidInputAction());
+        try {
+            transcoder.transcode(codeArea.getContentData(), position, length, binaryData, 0);
+        } catch (IOException ex) {
+            Logger.getLogger(CharsetTranscodingDataMethod.class.getName()).log(Level.WARNING, "Charset transcoding failed", ex);
+        }
+        return binaryData;
+    }
+
+    @Override
+    public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
+        this.previewDataHandler = previewDataHandler;
+        this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
+        CharsetTranscodingDataPanel panel = (CharsetTranscodingDataPanel) component;
+        panel.setResultChangeListener(() -> {
+            fillPreviewData(panel, codeArea);
+        });
+        fillPreviewData(panel, codeArea);
+    }
+
+    private void fillPreviewData(CharsetTranscodingDataPanel panel, CodeAreaCore codeArea) {
+        Charset sourceCharset = panel.getSourceCharset();
+        Charset targetCharset = panel.getTargetCharset();
+        CharsetTranscoder.InvalidInputAction invalidInputAction = panel.getInvalidInputAction();
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+        BinaryData contentData = codeArea.getContentData();
+        long sampleLength = PreviewExecutor.getSampleLength(length);
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
+            ResultData resultData = new ResultData();
+            EditableBinaryData previewBinaryData = new ByteArrayEditableData();
+            try {
+                new CharsetTranscoder(sourceCharset, targetCharset, invalidInputAction).transcode(contentData, position, sampleLength, previewBinaryData, 0);
+            } catch (CharsetTranscoder.InvalidSequenceException ex) {
+                if (sampleLength < length && ex.getPosition() > position + sampleLength - MAX_SEQUENCE_LENGTH) {
+                    // Sequence might be only cut by end of the sample
+                    new CharsetTranscoder(sourceCharset, targetCharset, CharsetTranscoder.InvalidInputAction.SKIP).transcode(contentData, position, sampleLength, previewBinaryData, 0);
+                } else if (ex.isUnmappable()) {
+                    resultData.errorText = MessageFormat.format(resourceBundle.getString("invalidSequence.unmappable"), String.valueOf(ex.getPosition()));
+                    return resultData;
+                } else {
+                    resultData.errorText = MessageFormat.format(resourceBundle.getString("invalidSequence.malformed"), String.valueOf(ex.getPosition()), ex.getLength());
+                    return resultData;
+                }
+            }
+            long previewDataSize = previewBinaryData.getDataSize();
+            if (previewDataSize > previewLengthLimit) {
+                previewBinaryData.remove(previewLengthLimit, previewDataSize - previewLengthLimit);
+            }
+            resultData.binaryData = previewBinaryData;
+            return resultData;
+        }, (resultData) -> {
+            if (resultData.errorText != null) {
+                targetPanel.setErrorMessage(resultData.errorText);
+            } else {
+                targetPanel.setPreviewData(resultData.binaryData);
+            }
+        });
+    }
+
+    private class ResultData {
+
+        BinaryData binaryData;
+        String errorText;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.bined.CodeAreaUtils;
+import org.exbin.bined.CodeCharactersCase;
+import org.exbin.bined.CodeType;
+
+/**
+ * Encoder of binary data into text code separated by spaces.
+ * <p>
+ * Data are processed in chunks using precomputed digits of all byte values.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CodeTextEncoder {
+
+    public static final int BUFFER_SIZE = 65536;
+
+    private final int digitsPerByte;
+    private final char[] digitsTable;
+
+    public CodeTextEncoder(CodeType codeType, CodeCharactersCase codeCharactersCase) {
+        digitsPerByte = codeType.getMaxDigitsForByte();
+        digitsTable = new char[256 * digitsPerByte];
+        for (int i = 0; i < 256; i++) {
+            CodeAreaUtils.byteToCharsCode((byte) i, codeType, digitsTable, i * digitsPerByte, codeCharactersCase);
+        }
+    }
+
+    /**
+     * Returns length of text for given length of data.
+     *
+     * @param dataLength data length
+     * @return text length
+     */
+    public long getTextLength(long dataLength) {
+        return dataLength == 0 ? 0 : dataLength * (digitsPerByte + 1) - 1;
+    }
+
+    /**
+     * Encodes chunk of data.
+     * <p>
+     * Target must have space for length * (digits per byte + 1) characters.
+     *
+     * @param data source data
+     * @param offset source offset
+     * @param length source length
+     * @param continued true if chunk follows previous data and should start
+     * with separator
+     * @param target target buffer
+     * @param targetOffset target offset
+     * @return number of characters written
+     */
+    public int encode(byte[] data, int offset, int length, boolean continued, char[] target, int targetOffset) {
+        int targetPosition = targetOffset;
+        for (int i = 0; i < length; i++) {
+            if (continued || i > 0) {
+                target[targetPosition++] = ' ';
+            }
+            System.arraycopy(digitsTable, (data[offset + i] & 0xff) * digitsPerByte, target, targetPosition, digitsPerByte);
+            targetPosition += digitsPerByte;
+        }
+        return targetPosition - targetOffset;
+    }
+
+    /**
+     * Encodes data range into string.
+     *
+     * @param data source data
+     * @param position source position
+     * @param length source length
+     * @return text
+     */
+    @Nonnull
+    public String encode(BinaryData data, long position, int length) {
+        StringBuilder builder = new StringBuilder((int) getTextLength(length));
+        byte[] buffer = new byte[Math.min(length, BUFFER_SIZE)];
+        char[] chars = new char[buffer.length * (digitsPerByte + 1)];
+        int processed = 0;
+        while (processed < length) {
+            int chunkLength = Math.min(length - processed, BUFFER_SIZE);
+            data.copyToArray(position + processed, buffer, 0, chunkLength);
+            builder.append(chars, 0, encode(buffer, 0, chunkLength, processed > 0, chars, 0));
+            processed += chunkLength;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Creates reader producing text from data read from given input stream.
+     *
+     * @param input data input stream, closed with the reader
+     * @return reader
+     */
+    @Nonnull
+    public Reader createReader(InputStream input) {
+        return new CodeTextReader(input);
+    }
+
+    private class CodeTextReader extends Reader {
+
+        private final InputStream input;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final char[] chars = new char[BUFFER_SIZE * (digitsPerByte + 1)];
+        private int charsLength = 0;
+        private int charsOffset = 0;
+        private boolean continued = false;
+
+        public CodeTextReader(InputStream input) {
+            this.input = input;
+        }
+
+        @Override
+        public int read(char[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (charsOffset == charsLength) {
+                int dataLength = input.read(buffer, 0, buffer.length);
+                if (dataLength < 0) {
+                    return -1;
+                }
+                charsLength = encode(buffer, 0, dataLength, continued, chars, 0);
+                charsOffset = 0;
+                continued |= dataLength > 0;
+            }
+
+            int readLength = Math.min(length, charsLength - charsOffset);
+            System.arraycopy(chars, charsOffset, target, offset, readLength);
+            charsOffset += readLength;
+            return readLength;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.awt.datatransfer.Clipboard;
+import java.awt.datatransfer.ClipboardOwner;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.Transferable;
+import java.awt.datatransfer.UnsupportedFlavorException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.BinaryDataRangeInputStream;
+import org.exbin.framework.bined.operation.ConvertDataOperation;
+import org.exbin.framework.bined.operation.SpilledDataSnapshot;
+
+/**
+ * Clipboard transferable producing text code of binary data on demand.
+ * <p>
+ * Copied data are kept as binary snapshot, large ranges in temporary file,
+ * and text is generated only when requested by the receiving application.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CodeTextTransferable implements Transferable, ClipboardOwner {
+
+    /**
+     * Maximum length of text provided as string.
+     */
+    public static final long MAX_STRING_LENGTH = Integer.MAX_VALUE - 8;
+
+    public static final DataFlavor READER_FLAVOR = new DataFlavor("text/plain; class=java.io.Reader", "Plain Text");
+
+    private final CodeTextEncoder encoder;
+    private final long dataLength;
+    private final BinaryData data;
+    private final SpilledDataSnapshot snapshot;
+
+    private CodeTextTransferable(CodeTextEncoder encoder, long dataLength, @Nullable BinaryData data, @Nullable SpilledDataSnapshot snapshot) {
+        this.encoder = encoder;
+        this.dataLength = dataLength;
+        this.data = data;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Creates transferable for snapshot of given data range.
+     *
+     * @param source source data
+     * @param position range position
+     * @param length range length
+     * @param encoder text encoder
+     * @return transferable
+     * @throws IOException if large range cannot be stored to temporary file
+     */
+    @Nonnull
+    public static CodeTextTransferable create(BinaryData source, long position, long length, CodeTextEncoder encoder) throws IOException {
+        if (length > ConvertDataOperation.SPILL_THRESHOLD) {
+            return new CodeTextTransferable(encoder, length, null, SpilledDataSnapshot.create(source, position, length));
+        }
+
+        return new CodeTextTransferable(encoder, length, source.copy(position, length), null);
+    }
+
+    public long getTextLength() {
+        return encoder.getTextLength(dataLength);
+    }
+
+    @Nonnull
+    @Override
+    public DataFlavor[] getTransferDataFlavors() {
+        if (getTextLength() > MAX_STRING_LENGTH) {
+            return new DataFlavor[]{READER_FLAVOR};
+        }
+
+        return new DataFlavor[]{DataFlavor.stringFlavor, READER_FLAVOR};
+    }
+
+    @Override
+    public boolean isDataFlavorSupported(DataFlavor flavor) {
+        for (DataFlavor supportedFlavor : getTransferDataFlavors()) {
+            if (supportedFlavor.equals(flavor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public Object getTransferData(DataFlavor flavor) throws UnsupportedFlavorException, IOException {
+        if (!isDataFlavorSupported(flavor)) {
+            throw new UnsupportedFlavorException(flavor);
+        }
+
+        Reader reader = encoder.createReader(openDataStream());
+        if (READER_FLAVOR.equals(flavor)) {
+            return reader;
+        }
+
+        try {
+            StringBuilder builder = new StringBuilder((int) getTextLength());
+            char[] buffer = new char[CodeTextEncoder.BUFFER_SIZE];
+            int length;
+            while ((length = reader.read(buffer, 0, buffer.length)) >= 0) {
+                builder.append(buffer, 0, length);
+            }
+            return builder.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Nonnull
+    private InputStream openDataStream() throws IOException {
+        if (snapshot != null) {
+            return snapshot.openInputStream();
+        }
+
+        return new BinaryDataRangeInputStream(data, 0, dataLength);
+    }
+
+    @Override
+    public void lostOwnership(Clipboard clipboard, Transferable contents) {
+        if (snapshot != null) {
+            snapshot.dispose();
+        }
+    }
+}
@@ -16,9 +16,12 @@
 package org.exbin.framework.bined.operation.method;
 
 import java.awt.Component;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
@@ -31,9 +34,10 @@ import java.util.zip.ZipOutputStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import javax.swing.SwingUtilities;
 import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.BinaryDataRangeInputStream;
 import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
 import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.SelectionRange;
@@ -44,8 +48,11 @@ import org.exbin.framework.App;
 import org.exbin.framework.bined.operation.api.ConvertDataMethod;
 import org.exbin.framework.language.api.LanguageModuleApi;
 import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
 import org.exbin.framework.bined.operation.method.gui.CompressionDataPanel;
+import org.exbin.framework.bined.operation.BinaryDataInsertOutputStream;
 import org.exbin.framework.bined.operation.ConversionDataProvider;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
 import org.exbin.framework.bined.operation.command.ConvertDataCommand;
 import org.exbin.framework.bined.operation.ConvertDataOperation;
 import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
@@ -56,11 +63,14 @@ import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
 @ParametersAreNonnullByDefault
 public class CompressionDataMethod implements ConvertDataMethod {
 
+    private static final int BUFFER_SIZE = 65536;
+
     private java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(CompressionDataPanel.class);
 
     private PreviewDataHandler previewDataHandler;
     private long previewLengthLimit = 0;
     private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
 
     @Nonnull
     @Override
@@ -80,6 +90,11 @@ public class CompressionDataMethod implements ConvertDataMethod {
         ((CompressionDataPanel) component).initFocus();
     }
 
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
     @Nonnull
     @Override
     public CodeAreaCommand createConvertCommand(Component component, CodeAreaCore codeArea) {
@@ -99,8 +114,11 @@ public class CompressionDataMethod implements ConvertDataMethod {
             length = selection.getLength();
         }
 
-        ConversionDataProvider conversionDataProvider = (EditableBinaryData binaryData, long sourcePosition, long sourceLength, long targetPosition) -> {
-            convertData(binaryData, sourcePosition, sourceLength, operationType, algorithm, autoDetect, binaryData, targetPosition);
+        ConversionDataProvider conversionDataProvider = (BinaryData sourceData, long sourcePosition, long sourceLength, EditableBinaryData targetData, long targetPosition, @Nullable ConversionProgressListener progressListener) -> {
+            String message = convertData(sourceData, sourcePosition, sourceLength, operationType, algorithm, autoDetect, targetData, targetPosition, progressListener);
+            if (!message.isEmpty()) {
+                throw new IllegalStateException(message);
+            }
         };
 
         return new ConvertDataCommand(codeArea, new ConvertDataOperation(position, length, length, conversionDataProvider));
@@ -125,8 +143,11 @@ public class CompressionDataMethod implements ConvertDataMethod {
             length = selection.getLength();
         }
 
-        EditableBinaryData binaryData = new ByteArrayEditableData();
-        convertData(codeArea.getContentData(), position, length, operationType, algorithm, autoDetect, binaryData, 0);
+        EditableBinaryData binaryData = new ByteArrayPagedData();
+        String message = convertData(codeArea.getContentData(), position, length, operationType, algorithm, autoDetect, binaryData, 0);
+        if (!message.isEmpty()) {
+            throw new IllegalStateException(message);
+        }
         return binaryData;
     }
 
@@ -141,42 +162,74 @@ public class CompressionDataMethod implements ConvertDataMethod {
      * @param autoDetect auto-detect compression type for decompression
      * @param targetBinaryData target binary data
      * @param targetPosition target position
-     * @return result message
-     * @throws IllegalStateException on conversion error
+     * @return error message or empty string on success
      */
     @Nonnull
     public String convertData(BinaryData sourceBinaryData, long position, long length, OperationType operationType,
             CompressionAlgorithm algorithm, boolean autoDetect, EditableBinaryData targetBinaryData,
-            long targetPosition) throws IllegalStateException {
+            long targetPosition) {
+        return convertData(sourceBinaryData, position, length, operationType, algorithm, autoDetect, targetBinaryData, targetPosition, null);
+    }
 
-        byte[] sourceData = new byte[(int) length];
-        sourceBinaryData.copyToArray(position, sourceData, 0, (int) length);
+    /**
+     * Compresses or decompresses binary data.
+     * <p>
+     * Data is streamed in chunks, so length of the data is not limited by
+     * available memory. Conversion is cancelled when current thread is
+     * interrupted. On failure no data are inserted into target data.
+     *
+     * @param sourceBinaryData source binary data
+     * @param position starting position
+     * @param length data length
+     * @param operationType compress or decompress
+     * @param algorithm compression algorithm
+     * @param autoDetect auto-detect compression type for decompression
+     * @param targetBinaryData target binary data
+     * @param targetPosition target position
+     * @param progressListener progress listener
+     * @return error message or empty string on success
+     */
+    @Nonnull
+    public String convertData(BinaryData sourceBinaryData, long position, long length, OperationType operationType,
+            CompressionAlgorithm algorithm, boolean autoDetect, EditableBinaryData targetBinaryData,
+            long targetPosition, @Nullable ConversionProgressListener progressListener) {
+        return convertData(sourceBinaryData, position, length, operationType, algorithm, autoDetect, true, targetBinaryData, targetPosition, progressListener);
+    }
 
+    @Nonnull
+    private String convertData(BinaryData sourceBinaryData, long position, long length, OperationType operationType,
+            CompressionAlgorithm algorithm, boolean autoDetect, boolean completeInput, EditableBinaryData targetBinaryData,
+            long targetPosition, @Nullable ConversionProgressListener progressListener) {
+        BinaryDataInsertOutputStream output = new BinaryDataInsertOutputStream(targetBinaryData, targetPosition);
         try {
-            byte[] output;
             if (operationType == OperationType.COMPRESS) {
-                output = compress(sourceData, algorithm);
+                compress(sourceBinaryData, position, length, algorithm, output, progressListener);
             } else {
                 // Auto-detect compression type if enabled
                 CompressionAlgorithm detectedAlgorithm = algorithm;
                 if (autoDetect) {
-                    CompressionAlgorithm detected = detectCompressionType(sourceData);
+                    CompressionAlgorithm detected = detectCompressionType(sourceBinaryData, position, length);
                     if (detected != null) {
                         detectedAlgorithm = detected;
                     }
                 }
-                output = decompress(sourceData, detectedAlgorithm);
+                decompress(sourceBinaryData, position, length, detectedAlgorithm, output, progressListener);
             }
-            targetBinaryData.insert(targetPosition, output);
-
-        } catch (Exception ex) {
-            // Handle errors gracefully
-            String errorMsg = "Error: " + ex.getMessage();
-            byte[] output = errorMsg.getBytes(java.nio.charset.StandardCharsets.UTF_8);
-            targetBinaryData.insert(targetPosition, output);
-            return errorMsg;
+            output.close();
+        } catch (EOFException ex) {
+            if (!completeInput && operationType == OperationType.DECOMPRESS) {
+                // Sample of compressed data ends prematurely, keep decompressed part
+                output.close();
+                return "";
+            }
+            targetBinaryData.remove(targetPosition, output.getInsertedLength());
+            return "Error: " + (ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage());
+        } catch (IOException | RuntimeException ex) {
+            // Target data are left unchanged
+            targetBinaryData.remove(targetPosition, output.getInsertedLength());
+            return "Error: " + (ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage());
         }
-        
+
         return "";
     }
 
@@ -184,113 +237,148 @@ public class CompressionDataMethod implements ConvertDataMethod {
      * Compresses data using specified algorithm.
      *
      * @param data input data
+     * @param position input data position
+     * @param length input data length
      * @param algorithm compression algorithm
-     * @return compressed data
+     * @param output output stream
+     * @param progressListener progress listener
      * @throws IOException on compression error
      */
-    private byte[] compress(byte[] data, CompressionAlgorithm algorithm) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
+    private void compress(BinaryData data, long position, long length, CompressionAlgorithm algorithm, OutputStream output, @Nullable ConversionProgressListener progressListener) throws IOException {
         switch (algorithm) {
             case GZIP: {
-                try (GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
-                    gzip.write(data);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(output, BUFFER_SIZE)) {
+                    copyData(data, position, length, gzip, progressListener);
                 }
                 break;
             }
+            case GZIP_PARALLEL: {
+                new ParallelGzipCompressor().compress(data, position, length, output, progressListener);
+                break;
+            }
             case ZIP: {
-                try (ZipOutputStream zip = new ZipOutputStream(baos)) {
+                try (ZipOutputStream zip = new ZipOutputStream(output)) {
                     zip.putNextEntry(new ZipEntry("data"));
-                    zip.write(data);
+                    copyData(data, position, length, zip, progressListener);
                     zip.closeEntry();
                 }
                 break;
             }
             case DEFLATE: {
-                try (DeflaterOutputStream deflate = new DeflaterOutputStream(baos, new Deflater())) {
-                    deflate.write(data);
+                Deflater deflater = new Deflater();
+                try (DeflaterOutputStream deflate = new DeflaterOutputStream(output, deflater, BUFFER_SIZE)) {
+                    copyData(data, position, length, deflate, progressListener);
+                } finally {
+                    deflater.end();
                 }
                 break;
             }
             default:
                 throw CodeAreaUtils.getInvalidTypeException(algorithm);
         }
-
-        return baos.toByteArray();
     }
 
     /**
      * Decompresses data using specified algorithm.
      *
      * @param data compressed data
+     * @param position compressed data position
+     * @param length compressed data length
      * @param algorithm compression algorithm
-     * @return decompressed data
+     * @param output output stream
+     * @param progressListener progress listener
      * @throws IOException on decompression error
      */
-    private byte[] decompress(byte[] data, CompressionAlgorithm algorithm) throws IOException {
-        ByteArrayInputStream bais = new ByteArrayInputStream(data);
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    private void decompress(BinaryData data, long position, long length, CompressionAlgorithm algorithm, OutputStream output, @Nullable ConversionProgressListener progressListener) throws IOException {
+        CountingInputStream input = new CountingInputStream(new BinaryDataRangeInputStream(data, position, length));
 
         switch (algorithm) {
-            case GZIP: {
-                try (GZIPInputStream gzip = new GZIPInputStream(bais)) {
-                    byte[] buffer = new byte[4096];
-                    int len;
-                    while ((len = gzip.read(buffer)) > 0) {
-                        baos.write(buffer, 0, len);
-                    }
+            case GZIP:
+            case GZIP_PARALLEL: {
+                try (GZIPInputStream gzip = new GZIPInputStream(input, BUFFER_SIZE)) {
+                    copyStream(gzip, input, length, output, progressListener);
                 }
                 break;
             }
             case ZIP: {
-                try (ZipInputStream zip = new ZipInputStream(bais)) {
+                try (ZipInputStream zip = new ZipInputStream(input)) {
                     ZipEntry entry = zip.getNextEntry();
                     if (entry != null) {
-                        byte[] buffer = new byte[4096];
-                        int len;
-                        while ((len = zip.read(buffer)) > 0) {
-                            baos.write(buffer, 0, len);
-                        }
+                        copyStream(zip, input, length, output, progressListener);
                     }
                 }
                 break;
             }
             case DEFLATE: {
-                try (InflaterInputStream inflate = new InflaterInputStream(bais, new Inflater())) {
-                    byte[] buffer = new byte[4096];
-                    int len;
-                    while ((len = inflate.read(buffer)) > 0) {
-                        baos.write(buffer, 0, len);
-                    }
+                Inflater inflater = new Inflater();
+                try (InflaterInputStream inflate = new InflaterInputStream(input, inflater, BUFFER_SIZE)) {
+                    copyStream(inflate, input, length, output, progressListener);
+                } finally {
+                    inflater.end();
                 }
                 break;
             }
             default:
                 throw CodeAreaUtils.getInvalidTypeException(algorithm);
         }
+    }
+
+    private static void copyData(BinaryData data, long position, long length, OutputStream output, @Nullable ConversionProgressListener progressListener) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long processed = 0;
+        while (processed < length) {
+            checkCancelled();
+            int chunkLength = (int) Math.min(BUFFER_SIZE, length - processed);
+            data.copyToArray(position + processed, buffer, 0, chunkLength);
+            output.write(buffer, 0, chunkLength);
+            processed += chunkLength;
+            if (progressListener != null) {
+                progressListener.progress(processed, length);
+            }
+        }
+    }
 
-        return baos.toByteArray();
+    private static void copyStream(InputStream input, CountingInputStream sourceInput, long length, OutputStream output, @Nullable ConversionProgressListener progressListener) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int chunkLength;
+        while ((chunkLength = input.read(buffer)) > 0) {
+            checkCancelled();
+            output.write(buffer, 0, chunkLength);
+            if (progressListener != null) {
+                progressListener.progress(sourceInput.getCount(), length);
+            }
+        }
+    }
+
+    private static void checkCancelled() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Conversion cancelled");
+        }
     }
 
     /**
      * Detects compression type by examining magic bytes.
      *
      * @param data compressed data
+     * @param position compressed data position
+     * @param length compressed data length
      * @return detected compression algorithm, or null if unknown
      */
     @Nullable
-    private CompressionAlgorithm detectCompressionType(byte[] data) {
-        if (data.length < 2) {
+    private CompressionAlgorithm detectCompressionType(BinaryData data, long position, long length) {
+        if (length < 2) {
             return null;
         }
 
+        byte firstByte = data.getByte(position);
+        byte secondByte = data.getByte(position + 1);
         // GZIP magic bytes: 0x1F 0x8B
-        if (data[0] == 0x1F && data[1] == (byte) 0x8B) {
+        if (firstByte == 0x1F && secondByte == (byte) 0x8B) {
             return CompressionAlgorithm.GZIP;
         }
 
         // ZIP magic bytes: 0x50 0x4B (PK)
-        if (data.length >= 4 && data[0] == 0x50 && data[1] == 0x4B) {
+        if (length >= 4 && firstByte == 0x50 && secondByte == 0x4B) {
             return CompressionAlgorithm.ZIP;
         }
 
@@ -302,6 +390,8 @@ public class CompressionDataMethod implements ConvertDataMethod {
     public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
         this.previewDataHandler = previewDataHandler;
         this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
         CompressionDataPanel panel = (CompressionDataPanel) component;
         panel.setConfigChangeListener(() -> {
             fillPreviewData(panel, codeArea);
@@ -310,46 +400,90 @@ public class CompressionDataMethod implements ConvertDataMethod {
     }
 
     private void fillPreviewData(CompressionDataPanel panel, CodeAreaCore codeArea) {
-        previewPanel = new BinaryPreviewPanel();
-        previewDataHandler.setPreviewComponent(previewPanel);
-        SwingUtilities.invokeLater(() -> {
-            OperationType operationType = panel.getOperationType();
-            CompressionAlgorithm algorithm = panel.getAlgorithm();
-            boolean autoDetect = panel.isAutoDetect();
-
-            EditableBinaryData previewBinaryData = new ByteArrayEditableData();
-            previewBinaryData.clear();
-            long position;
-            long length;
-            SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
-            if (selection.isEmpty()) {
-                position = 0;
-                length = codeArea.getDataSize();
+        OperationType operationType = panel.getOperationType();
+        CompressionAlgorithm algorithm = panel.getAlgorithm();
+        boolean autoDetect = panel.isAutoDetect();
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        // Limit preview data size to avoid performance issues
+        long sampleLength = PreviewExecutor.getSampleLength(length);
+        BinaryData contentData = codeArea.getContentData();
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
+            PreviewResult result = new PreviewResult();
+            result.binaryData = new ByteArrayEditableData();
+            result.message = convertData(contentData, position, sampleLength, operationType, algorithm, autoDetect, sampleLength == length, result.binaryData, 0, null);
+            result.resultSize = result.binaryData.getDataSize();
+            if (result.resultSize > previewLengthLimit) {
+                result.binaryData.remove(previewLengthLimit, result.resultSize - previewLengthLimit);
+            }
+            return result;
+        }, (result) -> {
+            panel.updateStatistics(sampleLength, result.resultSize);
+            if (result.message.isEmpty()) {
+                targetPanel.setPreviewData(result.binaryData);
             } else {
-                position = selection.getFirst();
-                length = selection.getLength();
+                targetPanel.setErrorMessage(result.message);
             }
+        });
+    }
 
-            // Limit preview data size to avoid performance issues
-            length = Math.min(length, 1024 * 1024); // Max 1MB for preview
+    private static class PreviewResult {
+
+        EditableBinaryData binaryData;
+        String message;
+        long resultSize;
+    }
 
-            String message = convertData(codeArea.getContentData(), position, length, operationType, algorithm, autoDetect, previewBinaryData, 0);
+    /**
+     * Input stream counting consumed source data.
+     */
+    @ParametersAreNonnullByDefault
+    private static class CountingInputStream extends FilterInputStream {
 
-            // Update statistics in panel
-            long originalSize = length;
-            long compressedSize = previewBinaryData.getDataSize();
-            panel.updateStatistics(originalSize, compressedSize);
+        private long count = 0;
 
-            if (message.isEmpty()) {
-                long previewDataSize = previewBinaryData.getDataSize();
-                if (previewDataSize > previewLengthLimit) {
-                    previewBinaryData.remove(previewLengthLimit, previewDataSize - previewLengthLimit);
-                }
-                previewPanel.setPreviewData(previewBinaryData);
-            } else {
-                previewPanel.setErrorMessage(message);
+        public CountingInputStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count++;
             }
-        });
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int readLength = super.read(buffer, offset, length);
+            if (readLength > 0) {
+                count += readLength;
+            }
+            return readLength;
+        }
+
+        @Override
+        public long skip(long length) throws IOException {
+            long skipped = super.skip(length);
+            count += skipped;
+            return skipped;
+        }
+
+        public long getCount() {
+            return count;
+        }
     }
 
     /**
@@ -366,6 +500,7 @@ public class CompressionDataMethod implements ConvertDataMethod {
     public enum CompressionAlgorithm {
         GZIP,
         ZIP,
-        DEFLATE
+        DEFLATE,
+        GZIP_PARALLEL
     }
 }
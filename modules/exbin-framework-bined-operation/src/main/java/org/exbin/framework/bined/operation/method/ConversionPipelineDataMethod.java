@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.awt.Component;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.capability.SelectionCapable;
+import org.exbin.bined.operation.swing.command.CodeAreaCommand;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.operation.api.ConvertDataMethod;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
+import org.exbin.framework.bined.operation.method.gui.ConversionPipelinePanel;
+import org.exbin.framework.bined.operation.pipeline.ConversionPipeline;
+import org.exbin.framework.bined.operation.settings.ConversionPipelineOptions;
+import org.exbin.framework.bined.operation.ConversionDataProvider;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
+import org.exbin.framework.bined.operation.command.ConvertDataCommand;
+import org.exbin.framework.bined.operation.ConvertDataOperation;
+import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
+import org.exbin.framework.options.api.OptionsModuleApi;
+
+/**
+ * Conversion pipeline data method chaining multiple conversion stages.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ConversionPipelineDataMethod implements ConvertDataMethod {
+
+    private java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(ConversionPipelinePanel.class);
+
+    private PreviewDataHandler previewDataHandler;
+    private long previewLengthLimit = 0;
+    private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return resourceBundle.getString("method.name");
+    }
+
+    @Nonnull
+    @Override
+    public Component createComponent() {
+        ConversionPipelinePanel component = new ConversionPipelinePanel();
+        ConversionPipelineOptions options = new ConversionPipelineOptions(App.getModule(OptionsModuleApi.class).getAppOptions());
+        component.setPresets(options.getPresets());
+        component.setPresetsChangeListener(options::setPresets);
+        return component;
+    }
+
+    @Override
+    public void initFocus(Component component) {
+        ((ConversionPipelinePanel) component).initFocus();
+    }
+
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaCommand createConvertCommand(Component component, CodeAreaCore codeArea) {
+        ConversionPipelinePanel panel = (ConversionPipelinePanel) component;
+        ConversionPipeline pipeline = panel.getPipeline();
+
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        // Whole chain is processed as single conversion, so it is undone in one step
+        ConversionDataProvider conversionDataProvider = (BinaryData sourceData, long sourcePosition, long sourceLength, EditableBinaryData targetData, long targetPosition, @Nullable ConversionProgressListener progressListener) -> {
+            String message = convertData(sourceData, sourcePosition, sourceLength, pipeline, targetData, targetPosition, progressListener);
+            if (!message.isEmpty()) {
+                throw new IllegalStateException(message);
+            }
+        };
+
+        return new ConvertDataCommand(codeArea, new ConvertDataOperation(position, length, length, conversionDataProvider));
+    }
+
+    @Override
+    public BinaryData performDirectConvert(Component component, CodeAreaCore codeArea) {
+        ConversionPipelinePanel panel = (ConversionPipelinePanel) component;
+        ConversionPipeline pipeline = panel.getPipeline();
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        EditableBinaryData binaryData = new ByteArrayPagedData();
+        String message = convertData(codeArea.getContentData(), position, length, pipeline, binaryData, 0, null);
+        if (!message.isEmpty()) {
+            throw new IllegalStateException(message);
+        }
+        return binaryData;
+    }
+
+    /**
+     * Converts data using conversion pipeline.
+     * <p>
+     * On failure no data are inserted into target data.
+     *
+     * @param sourceBinaryData source binary data
+     * @param position starting position
+     * @param length data length
+     * @param pipeline conversion pipeline
+     * @param targetBinaryData target binary data
+     * @param targetPosition target position
+     * @param progressListener progress listener
+     * @return error message or empty string on success
+     */
+    @Nonnull
+    public String convertData(BinaryData sourceBinaryData, long position, long length, ConversionPipeline pipeline, EditableBinaryData targetBinaryData, long targetPosition, @Nullable ConversionProgressListener progressListener) {
+        try {
+            pipeline.convert(sourceBinaryData, position, length, targetBinaryData, targetPosition, progressListener);
+        } catch (IOException ex) {
+            return getErrorMessage(ex);
+        }
+
+        return "";
+    }
+
+    @Nonnull
+    private static String getErrorMessage(IOException ex) {
+        return "Error: " + (ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage());
+    }
+
+    @Override
+    public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
+        this.previewDataHandler = previewDataHandler;
+        this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
+        ConversionPipelinePanel panel = (ConversionPipelinePanel) component;
+        panel.setResultChangeListener(() -> {
+            fillPreviewData(panel, codeArea);
+        });
+        fillPreviewData(panel, codeArea);
+    }
+
+    private void fillPreviewData(ConversionPipelinePanel panel, CodeAreaCore codeArea) {
+        ConversionPipeline pipeline = panel.getPipeline();
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+        BinaryData contentData = codeArea.getContentData();
+        // Decompressing stages cannot process truncated sample, so whole input
+        // is streamed until enough output for preview is produced instead
+        boolean completeInput = pipeline.requiresCompleteInput();
+        long sampleLength = completeInput ? length : PreviewExecutor.getSampleLength(length);
+        long outputLimit = previewLengthLimit;
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
+            PreviewResult result = new PreviewResult();
+            result.binaryData = new ByteArrayEditableData();
+            try {
+                pipeline.convert(contentData, position, sampleLength, result.binaryData, 0, completeInput ? outputLimit : -1);
+                result.message = "";
+            } catch (IOException ex) {
+                result.message = getErrorMessage(ex);
+            }
+            long previewDataSize = result.binaryData.getDataSize();
+            if (previewDataSize > outputLimit) {
+                result.binaryData.remove(outputLimit, previewDataSize - outputLimit);
+            }
+            return result;
+        }, (result) -> {
+            if (result.message.isEmpty()) {
+                targetPanel.setPreviewData(result.binaryData);
+            } else {
+                targetPanel.setErrorMessage(result.message);
+            }
+        });
+    }
+
+    private static class PreviewResult {
+
+        EditableBinaryData binaryData;
+        String message;
+    }
+}
@@ -18,15 +18,15 @@ package org.exbin.framework.bined.operation.method;
 import java.awt.Component;
 import java.awt.Toolkit;
 import java.awt.datatransfer.Clipboard;
-import java.awt.datatransfer.StringSelection;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
-import javax.swing.SwingUtilities;
+import javax.swing.JOptionPane;
 import org.exbin.auxiliary.binary_data.BinaryData;
-import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.CodeCharactersCase;
 import org.exbin.bined.CodeType;
 import org.exbin.bined.SelectionRange;
@@ -35,6 +35,7 @@ import org.exbin.bined.swing.CodeAreaCore;
 import org.exbin.framework.App;
 import org.exbin.framework.language.api.LanguageModuleApi;
 import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
 import org.exbin.framework.bined.operation.api.CopyAsDataMethod;
 import org.exbin.framework.bined.operation.gui.TextPreviewPanel;
 import org.exbin.framework.bined.operation.method.gui.CopyAsTextDataPanel;
@@ -47,11 +48,18 @@ import org.exbin.framework.bined.operation.method.gui.CopyAsTextDataPanel;
 @ParametersAreNonnullByDefault
 public class CopyAsTextDataMethod implements CopyAsDataMethod {
 
+    /**
+     * Length of text above which user is warned that target application
+     * might not be able to paste it.
+     */
+    public static final long WARNING_TEXT_LENGTH = 64 * 1024 * 1024;
+
     private java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(CopyAsTextDataPanel.class);
 
     private PreviewDataHandler previewDataHandler;
     private long previewLengthLimit = 1024;
     private TextPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
 
     @Nonnull
     @Override
@@ -85,6 +93,11 @@ public class CopyAsTextDataMethod implements CopyAsDataMethod {
         ((CopyAsTextDataPanel) component).initFocus();
     }
 
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
     @Override
     public void performCopy(Component component, CodeAreaCore codeArea) {
         CopyAsTextDataPanel panel = (CopyAsTextDataPanel) component;
@@ -101,19 +114,33 @@ public class CopyAsTextDataMethod implements CopyAsDataMethod {
             position = selection.getFirst();
             length = selection.getLength();
         }
-        if (length > previewLengthLimit) {
-            length = previewLengthLimit;
+        CodeTextEncoder encoder = new CodeTextEncoder(codeType, codeCharactersCase);
+        long textLength = encoder.getTextLength(length);
+        if (textLength > WARNING_TEXT_LENGTH) {
+            String message = java.text.MessageFormat.format(resourceBundle.getString("largeCopyWarning.message"), textLength);
+            if (JOptionPane.showConfirmDialog(component, message, resourceBundle.getString("largeCopyWarning.title"), JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE) != JOptionPane.YES_OPTION) {
+                return;
+            }
+        }
+
+        // Text is generated only when clipboard content is requested
+        CodeTextTransferable transferable;
+        try {
+            transferable = CodeTextTransferable.create(codeArea.getContentData(), position, length, encoder);
+        } catch (IOException ex) {
+            Logger.getLogger(CopyAsTextDataMethod.class.getName()).log(Level.SEVERE, null, ex);
+            return;
         }
-        String text = generateData(codeArea.getContentData(), position, (int) length, codeType, codeCharactersCase);
-        StringSelection stringSelection = new StringSelection(text);
         Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
-        clipboard.setContents(stringSelection, stringSelection);
+        clipboard.setContents(transferable, transferable);
     }
 
     @Override
     public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
         this.previewDataHandler = previewDataHandler;
         this.previewLengthLimit = lengthLimit;
+        previewPanel = new TextPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
         CopyAsTextDataPanel panel = (CopyAsTextDataPanel) component;
         panel.setResultChangeListener(() -> {
             fillPreviewData(panel, codeArea);
@@ -122,44 +149,30 @@ public class CopyAsTextDataMethod implements CopyAsDataMethod {
     }
 
     private void fillPreviewData(CopyAsTextDataPanel panel, CodeAreaCore codeArea) {
-        previewPanel = new TextPreviewPanel();
-        previewDataHandler.setPreviewComponent(previewPanel);
+        CodeType codeType = panel.getCodeType();
+        CodeCharactersCase codeCharactersCase = panel.getCodeCharactersCase();
 
-        SwingUtilities.invokeLater(() -> {
-            CodeType codeType = panel.getCodeType();
-            CodeCharactersCase codeCharactersCase = panel.getCodeCharactersCase();
-
-            long position;
-            long length;
-            SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
-            if (selection.isEmpty()) {
-                position = 0;
-                length = codeArea.getDataSize();
-            } else {
-                position = selection.getFirst();
-                length = selection.getLength();
-            }
-            if (length > previewLengthLimit) {
-                length = previewLengthLimit;
-            }
-            String previewText = generateData(codeArea.getContentData(), position, (int) length, codeType, codeCharactersCase);
-            previewPanel.setPreviewText(previewText);
-        });
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+        if (length > previewLengthLimit) {
+            length = previewLengthLimit;
+        }
+        BinaryData contentData = codeArea.getContentData();
+        int previewLength = (int) length;
+        TextPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> generateData(contentData, position, previewLength, codeType, codeCharactersCase), targetPanel::setPreviewText);
     }
 
     @Nonnull
     public String generateData(BinaryData sourceData, long position, int length, CodeType codeType, CodeCharactersCase codeCharactersCase) {
-        int charsPerByte = codeType.getMaxDigitsForByte() + 1;
-        int textLength = (int) (length * charsPerByte);
-        if (textLength > 0) {
-            textLength--;
-        }
-
-        char[] targetData = new char[textLength];
-        Arrays.fill(targetData, ' ');
-        for (int i = 0; i < length; i++) {
-            CodeAreaUtils.byteToCharsCode(sourceData.getByte(position + i), codeType, targetData, (int) (i * charsPerByte), codeCharactersCase);
-        }
-        return new String(targetData);
+        return new CodeTextEncoder(codeType, codeCharactersCase).encode(sourceData, position, length);
     }
 }
@@ -23,8 +23,8 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import javax.swing.SwingUtilities;
 import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
@@ -36,8 +36,10 @@ import org.exbin.framework.App;
 import org.exbin.framework.bined.operation.api.ConvertDataMethod;
 import org.exbin.framework.language.api.LanguageModuleApi;
 import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
 import org.exbin.framework.bined.operation.method.gui.DateTimeConversionPanel;
 import org.exbin.framework.bined.operation.ConversionDataProvider;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
 import org.exbin.framework.bined.operation.command.ConvertDataCommand;
 import org.exbin.framework.bined.operation.ConvertDataOperation;
 import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
@@ -53,6 +55,7 @@ public class DateTimeConversionMethod implements ConvertDataMethod {
     private PreviewDataHandler previewDataHandler;
     private long previewLengthLimit = 0;
     private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
 
     @Nonnull
     @Override
@@ -72,6 +75,11 @@ public class DateTimeConversionMethod implements ConvertDataMethod {
         ((DateTimeConversionPanel) component).initFocus();
     }
 
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
     @Nonnull
     @Override
     public CodeAreaCommand createConvertCommand(Component component, CodeAreaCore codeArea) {
@@ -89,8 +97,8 @@ public class DateTimeConversionMethod implements ConvertDataMethod {
             length = selection.getLength();
         }
 
-        ConversionDataProvider conversionDataProvider = (EditableBinaryData binaryData, long sourcePosition, long sourceLength, long targetPosition) -> {
-            convertData(binaryData, sourcePosition, sourceLength, config, binaryData, targetPosition);
+        ConversionDataProvider conversionDataProvider = (BinaryData sourceData, long sourcePosition, long sourceLength, EditableBinaryData targetData, long targetPosition, @Nullable ConversionProgressListener progressListener) -> {
+            convertData(sourceData, sourcePosition, sourceLength, config, targetData, targetPosition);
         };
 
         return new ConvertDataCommand(codeArea, new ConvertDataOperation(position, length, length, conversionDataProvider));
@@ -241,6 +249,8 @@ public class DateTimeConversionMethod implements ConvertDataMethod {
     public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
         this.previewDataHandler = previewDataHandler;
         this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
         DateTimeConversionPanel panel = (DateTimeConversionPanel) component;
         panel.setConfigChangeListener(() -> {
             fillPreviewData(panel, codeArea);
@@ -249,44 +259,46 @@ public class DateTimeConversionMethod implements ConvertDataMethod {
     }
 
     private void fillPreviewData(DateTimeConversionPanel panel, CodeAreaCore codeArea) {
-        previewPanel = new BinaryPreviewPanel();
-        previewDataHandler.setPreviewComponent(previewPanel);
-        SwingUtilities.invokeLater(() -> {
-            ConversionConfig config = panel.getConversionConfig();
-
-            EditableBinaryData previewBinaryData = new ByteArrayEditableData();
-            previewBinaryData.clear();
-            long position;
-            long length;
-            SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
-            if (selection.isEmpty()) {
-                position = 0;
-                length = codeArea.getDataSize();
-            } else {
-                position = selection.getFirst();
-                length = selection.getLength();
-            }
+        ConversionConfig config = panel.getConversionConfig();
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
 
-            // Limit length to data size requirement
-            if (config.dataSize == DataSize.INT_32) {
-                length = Math.min(length, 4);
-            } else {
-                length = Math.min(length, 8);
+        // Limit length to data size requirement
+        long previewLength = Math.min(length, config.dataSize == DataSize.INT_32 ? 4 : 8);
+        BinaryData contentData = codeArea.getContentData();
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
+            PreviewResult result = new PreviewResult();
+            result.binaryData = new ByteArrayEditableData();
+            result.message = convertData(contentData, position, previewLength, config, result.binaryData, 0);
+            long previewDataSize = result.binaryData.getDataSize();
+            if (previewDataSize > previewLengthLimit) {
+                result.binaryData.remove(previewLengthLimit, previewDataSize - previewLengthLimit);
             }
-
-            String message = convertData(codeArea.getContentData(), position, length, config, previewBinaryData, 0);
-            if (message.isEmpty()) {
-                long previewDataSize = previewBinaryData.getDataSize();
-                if (previewDataSize > previewLengthLimit) {
-                    previewBinaryData.remove(previewLengthLimit, previewDataSize - previewLengthLimit);
-                }
-                previewPanel.setPreviewData(previewBinaryData);
+            return result;
+        }, (result) -> {
+            if (result.message.isEmpty()) {
+                targetPanel.setPreviewData(result.binaryData);
             } else {
-                previewPanel.setErrorMessage(message);
+                targetPanel.setErrorMessage(result.message);
             }
         });
     }
 
+    private static class PreviewResult {
+
+        EditableBinaryData binaryData;
+        String message;
+    }
+
     /**
      * Byte order type enumeration.
      */
@@ -0,0 +1,452 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.awt.Component;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.CodeAreaUtils;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.capability.SelectionCapable;
+import org.exbin.bined.operation.swing.command.CodeAreaCommand;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.operation.api.ConvertDataMethod;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
+import org.exbin.framework.bined.operation.method.CompressionDataMethod.OperationType;
+import org.exbin.framework.bined.operation.method.gui.FastCompressionDataPanel;
+import org.exbin.framework.bined.operation.BinaryDataInsertOutputStream;
+import org.exbin.framework.bined.operation.ConversionDataProvider;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
+import org.exbin.framework.bined.operation.command.ConvertDataCommand;
+import org.exbin.framework.bined.operation.ConvertDataOperation;
+import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
+
+/**
+ * LZ4 and Snappy compression conversion data method.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class FastCompressionDataMethod implements ConvertDataMethod {
+
+    /**
+     * Maximum length of data processed as single LZ4 block or Snappy buffer.
+     */
+    public static final int MAX_BLOCK_LENGTH = 1 << 30;
+
+    private java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(FastCompressionDataPanel.class);
+
+    private PreviewDataHandler previewDataHandler;
+    private long previewLengthLimit = 0;
+    private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return resourceBundle.getString("method.name");
+    }
+
+    @Nonnull
+    @Override
+    public Component createComponent() {
+        FastCompressionDataPanel component = new FastCompressionDataPanel();
+        return component;
+    }
+
+    @Override
+    public void initFocus(Component component) {
+        ((FastCompressionDataPanel) component).initFocus();
+    }
+
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaCommand createConvertCommand(Component component, CodeAreaCore codeArea) {
+        FastCompressionDataPanel panel = (FastCompressionDataPanel) component;
+        OperationType operationType = panel.getOperationType();
+        FastCompressionAlgorithm algorithm = panel.getAlgorithm();
+        boolean autoDetect = panel.isAutoDetect();
+
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        ConversionDataProvider conversionDataProvider = (BinaryData sourceData, long sourcePosition, long sourceLength, EditableBinaryData targetData, long targetPosition, @Nullable ConversionProgressListener progressListener) -> {
+            String message = convertData(sourceData, sourcePosition, sourceLength, operationType, algorithm, autoDetect, targetData, targetPosition, progressListener);
+            if (!message.isEmpty()) {
+                throw new IllegalStateException(message);
+            }
+        };
+
+        return new ConvertDataCommand(codeArea, new ConvertDataOperation(position, length, length, conversionDataProvider));
+    }
+
+    @Nonnull
+    @Override
+    public BinaryData performDirectConvert(Component component, CodeAreaCore codeArea) {
+        FastCompressionDataPanel panel = (FastCompressionDataPanel) component;
+        OperationType operationType = panel.getOperationType();
+        FastCompressionAlgorithm algorithm = panel.getAlgorithm();
+        boolean autoDetect = panel.isAutoDetect();
+
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        EditableBinaryData binaryData = new ByteArrayPagedData();
+        String message = convertData(codeArea.getContentData(), position, length, operationType, algorithm, autoDetect, binaryData, 0);
+        if (!message.isEmpty()) {
+            throw new IllegalStateException(message);
+        }
+        return binaryData;
+    }
+
+    /**
+     * Compresses or decompresses binary data.
+     *
+     * @param sourceBinaryData source binary data
+     * @param position starting position
+     * @param length data length
+     * @param operationType compress or decompress
+     * @param algorithm compression algorithm
+     * @param autoDetect auto-detect compression type for decompression
+     * @param targetBinaryData target binary data
+     * @param targetPosition target position
+     * @return error message or empty string on success
+     */
+    @Nonnull
+    public String convertData(BinaryData sourceBinaryData, long position, long length, OperationType operationType,
+            FastCompressionAlgorithm algorithm, boolean autoDetect, EditableBinaryData targetBinaryData,
+            long targetPosition) {
+        return convertData(sourceBinaryData, position, length, operationType, algorithm, autoDetect, targetBinaryData, targetPosition, null);
+    }
+
+    /**
+     * Compresses or decompresses binary data.
+     * <p>
+     * LZ4 frames are streamed block by block, LZ4 block and Snappy data are
+     * processed in memory up to MAX_BLOCK_LENGTH. On failure no data are
+     * inserted into target data.
+     *
+     * @param sourceBinaryData source binary data
+     * @param position starting position
+     * @param length data length
+     * @param operationType compress or decompress
+     * @param algorithm compression algorithm
+     * @param autoDetect auto-detect compression type for decompression
+     * @param targetBinaryData target binary data
+     * @param targetPosition target position
+     * @param progressListener progress listener
+     * @return error message or empty string on success
+     */
+    @Nonnull
+    public String convertData(BinaryData sourceBinaryData, long position, long length, OperationType operationType,
+            FastCompressionAlgorithm algorithm, boolean autoDetect, EditableBinaryData targetBinaryData,
+            long targetPosition, @Nullable ConversionProgressListener progressListener) {
+        BinaryDataInsertOutputStream output = new BinaryDataInsertOutputStream(targetBinaryData, targetPosition);
+        try {
+            if (operationType == OperationType.COMPRESS) {
+                compress(sourceBinaryData, position, length, algorithm, output, progressListener);
+            } else {
+                FastCompressionAlgorithm detectedAlgorithm = algorithm;
+                if (autoDetect) {
+                    FastCompressionAlgorithm detected = detectCompressionType(sourceBinaryData, position, length);
+                    if (detected != null) {
+                        detectedAlgorithm = detected;
+                    }
+                }
+                decompress(sourceBinaryData, position, length, detectedAlgorithm, output, progressListener);
+            }
+            output.close();
+        } catch (IOException | RuntimeException ex) {
+            // Target data are left unchanged
+            targetBinaryData.remove(targetPosition, output.getInsertedLength());
+            return "Error: " + (ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage());
+        }
+
+        return "";
+    }
+
+    private void compress(BinaryData data, long position, long length, FastCompressionAlgorithm algorithm, OutputStream output, @Nullable ConversionProgressListener progressListener) throws IOException {
+        switch (algorithm) {
+            case LZ4_FRAME: {
+                Lz4Codec.compressFrame(data, position, length, output, progressListener);
+                break;
+            }
+            case LZ4_BLOCK: {
+                byte[] source = loadData(data, position, length);
+                byte[] target = new byte[Lz4Codec.maxCompressedLength(source.length)];
+                int targetLength = Lz4Codec.compressBlock(source, 0, source.length, target, 0);
+                output.write(target, 0, targetLength);
+                break;
+            }
+            case SNAPPY: {
+                byte[] source = loadData(data, position, length);
+                byte[] target = new byte[SnappyCodec.maxCompressedLength(source.length)];
+                int targetLength = SnappyCodec.compress(source, 0, source.length, target, 0);
+                output.write(target, 0, targetLength);
+                break;
+            }
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(algorithm);
+        }
+        if (progressListener != null) {
+            progressListener.progress(length, length);
+        }
+    }
+
+    private void decompress(BinaryData data, long position, long length, FastCompressionAlgorithm algorithm, OutputStream output, @Nullable ConversionProgressListener progressListener) throws IOException {
+        switch (algorithm) {
+            case LZ4_FRAME: {
+                Lz4Codec.decompressFrame(data, position, length, output, progressListener);
+                break;
+            }
+            case LZ4_BLOCK: {
+                byte[] source = loadData(data, position, length);
+                // Validation pass determines exact size of output
+                int targetLength = Lz4Codec.decompressBlock(source, 0, source.length, null, 0, Integer.MAX_VALUE, 0);
+                byte[] target = new byte[targetLength];
+                Lz4Codec.decompressBlock(source, 0, source.length, target, 0, targetLength, 0);
+                output.write(target);
+                break;
+            }
+            case SNAPPY: {
+                byte[] source = loadData(data, position, length);
+                byte[] target = new byte[SnappyCodec.getUncompressedLength(source, 0, source.length)];
+                SnappyCodec.decompress(source, 0, source.length, target, 0);
+                output.write(target);
+                break;
+            }
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(algorithm);
+        }
+        if (progressListener != null) {
+            progressListener.progress(length, length);
+        }
+    }
+
+    /**
+     * Speculatively tests whether data range decompresses using given
+     * algorithm.
+     * <p>
+     * Data is only validated without producing output, so it is cheap to use
+     * on arbitrary regions.
+     *
+     * @param data source data
+     * @param position source position
+     * @param length source length
+     * @param algorithm compression algorithm
+     * @return length of decompressed data or -1 if data is not valid
+     */
+    public static long testDecompression(BinaryData data, long position, long length, FastCompressionAlgorithm algorithm) {
+        if (length > MAX_BLOCK_LENGTH && algorithm != FastCompressionAlgorithm.LZ4_FRAME) {
+            return -1;
+        }
+
+        try {
+            switch (algorithm) {
+                case LZ4_FRAME: {
+                    if (!Lz4Codec.isFrame(data, position, length)) {
+                        return -1;
+                    }
+                    CountingOutputStream output = new CountingOutputStream();
+                    Lz4Codec.decompressFrame(data, position, length, output, null);
+                    return output.getCount();
+                }
+                case LZ4_BLOCK: {
+                    byte[] source = loadData(data, position, length);
+                    return Lz4Codec.getDecompressedBlockLength(source, 0, source.length);
+                }
+                case SNAPPY: {
+                    byte[] source = loadData(data, position, length);
+                    return SnappyCodec.getDecompressedLength(source, 0, source.length);
+                }
+                default:
+                    throw CodeAreaUtils.getInvalidTypeException(algorithm);
+            }
+        } catch (IOException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Detects compression type using frame magic number or by testing
+     * whether data decompresses.
+     *
+     * @param data compressed data
+     * @param position compressed data position
+     * @param length compressed data length
+     * @return detected compression algorithm, or null if unknown
+     */
+    @Nullable
+    public static FastCompressionAlgorithm detectCompressionType(BinaryData data, long position, long length) {
+        if (Lz4Codec.isFrame(data, position, length)) {
+            return FastCompressionAlgorithm.LZ4_FRAME;
+        }
+
+        // Snappy has length header and so is less likely to match by accident
+        if (testDecompression(data, position, length, FastCompressionAlgorithm.SNAPPY) >= 0) {
+            return FastCompressionAlgorithm.SNAPPY;
+        }
+
+        if (testDecompression(data, position, length, FastCompressionAlgorithm.LZ4_BLOCK) >= 0) {
+            return FastCompressionAlgorithm.LZ4_BLOCK;
+        }
+
+        return null;
+    }
+
+    @Nonnull
+    private static byte[] loadData(BinaryData data, long position, long length) throws IOException {
+        if (length > MAX_BLOCK_LENGTH) {
+            throw new IOException("Data exceeds maximum block length, use LZ4 frame instead");
+        }
+
+        byte[] buffer = new byte[(int) length];
+        data.copyToArray(position, buffer, 0, (int) length);
+        return buffer;
+    }
+
+    @Override
+    public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
+        this.previewDataHandler = previewDataHandler;
+        this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
+        FastCompressionDataPanel panel = (FastCompressionDataPanel) component;
+        panel.setConfigChangeListener(() -> {
+            fillPreviewData(panel, codeArea);
+        });
+        fillPreviewData(panel, codeArea);
+    }
+
+    private void fillPreviewData(FastCompressionDataPanel panel, CodeAreaCore codeArea) {
+        OperationType operationType = panel.getOperationType();
+        FastCompressionAlgorithm algorithm = panel.getAlgorithm();
+        boolean autoDetect = panel.isAutoDetect();
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        // Limit preview data size to avoid performance issues
+        long sampleLength = PreviewExecutor.getSampleLength(length);
+        BinaryData contentData = codeArea.getContentData();
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
+            FastCompressionAlgorithm testedAlgorithm = algorithm;
+            if (autoDetect) {
+                FastCompressionAlgorithm detected = detectCompressionType(contentData, position, sampleLength);
+                if (detected != null) {
+                    testedAlgorithm = detected;
+                }
+            }
+
+            PreviewResult result = new PreviewResult();
+            result.decompressedLength = testDecompression(contentData, position, sampleLength, testedAlgorithm);
+            result.binaryData = new ByteArrayEditableData();
+            result.message = convertData(contentData, position, sampleLength, operationType, algorithm, autoDetect, result.binaryData, 0);
+            result.resultSize = result.binaryData.getDataSize();
+            if (result.resultSize > previewLengthLimit) {
+                result.binaryData.remove(previewLengthLimit, result.resultSize - previewLengthLimit);
+            }
+            return result;
+        }, (result) -> {
+            panel.setDecompressionTestResult(result.decompressedLength);
+            panel.updateStatistics(sampleLength, result.resultSize);
+            if (result.message.isEmpty()) {
+                targetPanel.setPreviewData(result.binaryData);
+            } else {
+                targetPanel.setErrorMessage(result.message);
+            }
+        });
+    }
+
+    private static class PreviewResult {
+
+        EditableBinaryData binaryData;
+        String message;
+        long resultSize;
+        long decompressedLength;
+    }
+
+    /**
+     * Output stream only counting written data.
+     */
+    @ParametersAreNonnullByDefault
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count = 0;
+
+        @Override
+        public void write(int value) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Fast compression algorithm enumeration.
+     */
+    public enum FastCompressionAlgorithm {
+        LZ4_FRAME,
+        LZ4_BLOCK,
+        SNAPPY
+    }
+}
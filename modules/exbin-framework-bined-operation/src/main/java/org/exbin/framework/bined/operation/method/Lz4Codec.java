@@ -0,0 +1,514 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
+
+/**
+ * LZ4 block and frame format codec.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class Lz4Codec {
+
+    public static final int FRAME_MAGIC = 0x184D2204;
+
+    private static final int SKIPPABLE_FRAME_MAGIC = 0x184D2A50;
+    private static final int SKIPPABLE_FRAME_MASK = 0xFFFFFFF0;
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+    private static final int MAX_DISTANCE = 65535;
+    private static final int HASH_LOG = 14;
+    private static final int SKIP_TRIGGER = 6;
+    private static final int WINDOW_SIZE = 65536;
+    private static final int FRAME_VERSION = 0x40;
+    private static final int FLAG_BLOCK_INDEPENDENCE = 0x20;
+    private static final int FLAG_BLOCK_CHECKSUM = 0x10;
+    private static final int FLAG_CONTENT_SIZE = 0x08;
+    private static final int FLAG_CONTENT_CHECKSUM = 0x04;
+    private static final int FLAG_DICTIONARY_ID = 0x01;
+    private static final int UNCOMPRESSED_BLOCK_FLAG = 0x80000000;
+
+    private Lz4Codec() {
+    }
+
+    /**
+     * Returns maximum length of compressed block for given input length.
+     *
+     * @param length input length
+     * @return maximum compressed length
+     */
+    public static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compresses data to LZ4 block.
+     *
+     * @param source source buffer
+     * @param sourceOffset source offset
+     * @param sourceLength source length
+     * @param target target buffer with at least maxCompressedLength space
+     * @param targetOffset target offset
+     * @return length of compressed block
+     */
+    public static int compressBlock(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset) {
+        return compressBlock(source, sourceOffset, sourceLength, target, targetOffset, new int[1 << HASH_LOG]);
+    }
+
+    private static int compressBlock(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset, int[] hashTable) {
+        int sourceEnd = sourceOffset + sourceLength;
+        int targetPosition = targetOffset;
+        int anchor = sourceOffset;
+
+        if (sourceLength > MF_LIMIT) {
+            Arrays.fill(hashTable, -1);
+            int matchLimit = sourceEnd - LAST_LITERALS;
+            int mfLimit = sourceEnd - MF_LIMIT;
+            int position = sourceOffset;
+            hashTable[hash(readInt(source, position))] = position;
+            position++;
+
+            search:
+            while (true) {
+                int reference;
+                int step = 1;
+                int searchCount = 1 << SKIP_TRIGGER;
+                int nextPosition = position;
+                do {
+                    position = nextPosition;
+                    if (position > mfLimit) {
+                        break search;
+                    }
+
+                    // Step grows when no match is found for incompressible data
+                    nextPosition = position + step;
+                    step = searchCount++ >>> SKIP_TRIGGER;
+                    int hash = hash(readInt(source, position));
+                    reference = hashTable[hash];
+                    hashTable[hash] = position;
+                } while (reference < 0 || position - reference > MAX_DISTANCE || readInt(source, reference) != readInt(source, position));
+
+                while (position > anchor && reference > sourceOffset && source[position - 1] == source[reference - 1]) {
+                    position--;
+                    reference--;
+                }
+
+                int tokenPosition = targetPosition++;
+                targetPosition = writeLiterals(source, anchor, position - anchor, target, tokenPosition, targetPosition);
+
+                while (true) {
+                    int offset = position - reference;
+                    target[targetPosition++] = (byte) offset;
+                    target[targetPosition++] = (byte) (offset >>> 8);
+
+                    position += MIN_MATCH;
+                    reference += MIN_MATCH;
+                    int matchStart = position;
+                    while (position < matchLimit && source[position] == source[reference]) {
+                        position++;
+                        reference++;
+                    }
+                    int matchLength = position - matchStart;
+                    if (matchLength >= 15) {
+                        target[tokenPosition] |= 15;
+                        targetPosition = writeLength(target, targetPosition, matchLength - 15);
+                    } else {
+                        target[tokenPosition] |= (byte) matchLength;
+                    }
+
+                    anchor = position;
+                    if (position > mfLimit) {
+                        break search;
+                    }
+
+                    hashTable[hash(readInt(source, position - 2))] = position - 2;
+                    int hash = hash(readInt(source, position));
+                    reference = hashTable[hash];
+                    hashTable[hash] = position;
+                    if (reference < 0 || position - reference > MAX_DISTANCE || readInt(source, reference) != readInt(source, position)) {
+                        position++;
+                        continue search;
+                    }
+
+                    // Immediate match without literals
+                    tokenPosition = targetPosition++;
+                    target[tokenPosition] = 0;
+                }
+            }
+        }
+
+        int tokenPosition = targetPosition++;
+        targetPosition = writeLiterals(source, anchor, sourceEnd - anchor, target, tokenPosition, targetPosition);
+        return targetPosition - targetOffset;
+    }
+
+    /**
+     * Decompresses LZ4 block.
+     * <p>
+     * When target is null, block is only validated and length of decompressed
+     * data is returned, which allows to cheaply test whether data region is
+     * valid LZ4 block.
+     *
+     * @param source source buffer
+     * @param sourceOffset source offset
+     * @param sourceLength source length
+     * @param target target buffer or null for validation only
+     * @param targetOffset target offset
+     * @param targetLimit target limit position
+     * @param dictionaryStart start of preceding data in target usable by
+     * matches
+     * @return length of decompressed data
+     * @throws IOException when block is malformed
+     */
+    public static int decompressBlock(byte[] source, int sourceOffset, int sourceLength, @Nullable byte[] target, int targetOffset, int targetLimit, int dictionaryStart) throws IOException {
+        int sourcePosition = sourceOffset;
+        int sourceEnd = sourceOffset + sourceLength;
+        int targetPosition = targetOffset;
+        while (true) {
+            if (sourcePosition >= sourceEnd) {
+                throw createMalformedException();
+            }
+
+            int token = source[sourcePosition++] & 0xff;
+            int literalsLength = token >>> 4;
+            if (literalsLength == 15) {
+                int value;
+                do {
+                    if (sourcePosition >= sourceEnd) {
+                        throw createMalformedException();
+                    }
+                    value = source[sourcePosition++] & 0xff;
+                    literalsLength += value;
+                } while (value == 255 && literalsLength > 0);
+            }
+            if (literalsLength < 0 || literalsLength > sourceEnd - sourcePosition || literalsLength > targetLimit - targetPosition) {
+                throw createMalformedException();
+            }
+
+            if (target != null) {
+                System.arraycopy(source, sourcePosition, target, targetPosition, literalsLength);
+            }
+            sourcePosition += literalsLength;
+            targetPosition += literalsLength;
+            if (sourcePosition == sourceEnd) {
+                // Last sequence contains literals only
+                return targetPosition - targetOffset;
+            }
+
+            if (sourceEnd - sourcePosition < 2) {
+                throw createMalformedException();
+            }
+            int offset = (source[sourcePosition] & 0xff) | (source[sourcePosition + 1] & 0xff) << 8;
+            sourcePosition += 2;
+            if (offset == 0 || offset > targetPosition - dictionaryStart) {
+                throw createMalformedException();
+            }
+
+            int matchLength = token & 15;
+            if (matchLength == 15) {
+                int value;
+                do {
+                    if (sourcePosition >= sourceEnd) {
+                        throw createMalformedException();
+                    }
+                    value = source[sourcePosition++] & 0xff;
+                    matchLength += value;
+                } while (value == 255 && matchLength > 0);
+            }
+            matchLength += MIN_MATCH;
+            if (matchLength < MIN_MATCH || matchLength > targetLimit - targetPosition) {
+                throw createMalformedException();
+            }
+
+            if (target != null) {
+                int reference = targetPosition - offset;
+                int matchEnd = targetPosition + matchLength;
+                int position = targetPosition;
+                // Overlapping match repeats pattern doubling copied length
+                while (position < matchEnd) {
+                    int copyLength = Math.min(position - reference, matchEnd - position);
+                    System.arraycopy(target, reference, target, position, copyLength);
+                    position += copyLength;
+                }
+            }
+            targetPosition += matchLength;
+        }
+    }
+
+    /**
+     * Tests whether given data is valid LZ4 block.
+     *
+     * @param source source buffer
+     * @param sourceOffset source offset
+     * @param sourceLength source length
+     * @return length of decompressed data or -1 if data is not valid block
+     */
+    public static int getDecompressedBlockLength(byte[] source, int sourceOffset, int sourceLength) {
+        try {
+            return decompressBlock(source, sourceOffset, sourceLength, null, 0, Integer.MAX_VALUE, 0);
+        } catch (IOException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Compresses data range to LZ4 frame with independent blocks and content
+     * checksum.
+     *
+     * @param data source data
+     * @param position source position
+     * @param length source length
+     * @param output output stream
+     * @param progressListener progress listener
+     * @throws IOException on write error or when interrupted
+     */
+    public static void compressFrame(BinaryData data, long position, long length, OutputStream output, @Nullable ConversionProgressListener progressListener) throws IOException {
+        int blockSizeId = 4;
+        while (blockSizeId < 7 && getBlockMaxSize(blockSizeId) < length) {
+            blockSizeId++;
+        }
+        int blockMaxSize = getBlockMaxSize(blockSizeId);
+
+        byte[] header = new byte[7];
+        writeInt(header, 0, FRAME_MAGIC);
+        header[4] = (byte) (FRAME_VERSION | FLAG_BLOCK_INDEPENDENCE | FLAG_CONTENT_CHECKSUM);
+        header[5] = (byte) (blockSizeId << 4);
+        header[6] = (byte) (XxHash32.hash(header, 4, 2) >> 8);
+        output.write(header);
+
+        byte[] block = new byte[(int) Math.min(blockMaxSize, length)];
+        byte[] compressed = new byte[4 + maxCompressedLength(block.length)];
+        int[] hashTable = new int[1 << HASH_LOG];
+        XxHash32 contentHash = new XxHash32();
+        long processed = 0;
+        while (processed < length) {
+            checkCancelled();
+            int blockLength = (int) Math.min(blockMaxSize, length - processed);
+            data.copyToArray(position + processed, block, 0, blockLength);
+            contentHash.update(block, 0, blockLength);
+            int compressedLength = compressBlock(block, 0, blockLength, compressed, 4, hashTable);
+            if (compressedLength < blockLength) {
+                writeInt(compressed, 0, compressedLength);
+                output.write(compressed, 0, compressedLength + 4);
+            } else {
+                // Incompressible block is stored as is
+                writeInt(compressed, 0, blockLength | UNCOMPRESSED_BLOCK_FLAG);
+                output.write(compressed, 0, 4);
+                output.write(block, 0, blockLength);
+            }
+            processed += blockLength;
+            if (progressListener != null) {
+                progressListener.progress(processed, length);
+            }
+        }
+
+        byte[] trailer = new byte[8];
+        writeInt(trailer, 4, contentHash.getValue());
+        output.write(trailer);
+    }
+
+    /**
+     * Decompresses sequence of LZ4 frames.
+     *
+     * @param data source data
+     * @param position source position
+     * @param length source length
+     * @param output output stream
+     * @param progressListener progress listener
+     * @throws IOException when data is malformed or when interrupted
+     */
+    public static void decompressFrame(BinaryData data, long position, long length, OutputStream output, @Nullable ConversionProgressListener progressListener) throws IOException {
+        long sourcePosition = position;
+        long sourceEnd = position + length;
+        byte[] header = new byte[14];
+        while (sourcePosition < sourceEnd) {
+            checkCancelled();
+            int magic = readInt(data, sourcePosition, sourceEnd);
+            sourcePosition += 4;
+            if ((magic & SKIPPABLE_FRAME_MASK) == SKIPPABLE_FRAME_MAGIC) {
+                sourcePosition += (readInt(data, sourcePosition, sourceEnd) & 0xffffffffL) + 4;
+                continue;
+            }
+            if (magic != FRAME_MAGIC) {
+                throw new IOException("Invalid LZ4 frame header");
+            }
+
+            readFully(data, sourcePosition, sourceEnd, header, 0, 2);
+            int flags = header[0] & 0xff;
+            int blockSizeId = (header[1] >> 4) & 7;
+            if ((flags & 0xc0) != FRAME_VERSION || (flags & FLAG_DICTIONARY_ID) != 0 || blockSizeId < 4) {
+                throw new IOException("Unsupported LZ4 frame format");
+            }
+            int descriptorLength = (flags & FLAG_CONTENT_SIZE) != 0 ? 10 : 2;
+            readFully(data, sourcePosition, sourceEnd, header, 0, descriptorLength + 1);
+            sourcePosition += descriptorLength + 1;
+            if (header[descriptorLength] != (byte) (XxHash32.hash(header, 0, descriptorLength) >> 8)) {
+                throw new IOException("LZ4 frame header checksum mismatch");
+            }
+
+            boolean blockChecksum = (flags & FLAG_BLOCK_CHECKSUM) != 0;
+            int blockMaxSize = getBlockMaxSize(blockSizeId);
+            // Dependent blocks may refer to data of previous blocks
+            int windowSize = (flags & FLAG_BLOCK_INDEPENDENCE) != 0 ? 0 : WINDOW_SIZE;
+            byte[] block = new byte[blockMaxSize];
+            byte[] decompressed = new byte[windowSize + blockMaxSize];
+            int dictionaryLength = 0;
+            XxHash32 contentHash = (flags & FLAG_CONTENT_CHECKSUM) != 0 ? new XxHash32() : null;
+            while (true) {
+                checkCancelled();
+                int blockSize = readInt(data, sourcePosition, sourceEnd);
+                sourcePosition += 4;
+                if (blockSize == 0) {
+                    break;
+                }
+
+                boolean uncompressed = (blockSize & UNCOMPRESSED_BLOCK_FLAG) != 0;
+                blockSize &= ~UNCOMPRESSED_BLOCK_FLAG;
+                if (blockSize > blockMaxSize) {
+                    throw createMalformedException();
+                }
+                readFully(data, sourcePosition, sourceEnd, block, 0, blockSize);
+                sourcePosition += blockSize;
+                if (blockChecksum) {
+                    if (readInt(data, sourcePosition, sourceEnd) != XxHash32.hash(block, 0, blockSize)) {
+                        throw new IOException("LZ4 block checksum mismatch");
+                    }
+                    sourcePosition += 4;
+                }
+
+                int blockLength;
+                if (uncompressed) {
+                    System.arraycopy(block, 0, decompressed, dictionaryLength, blockSize);
+                    blockLength = blockSize;
+                } else {
+                    blockLength = decompressBlock(block, 0, blockSize, decompressed, dictionaryLength, dictionaryLength + blockMaxSize, 0);
+                }
+                output.write(decompressed, dictionaryLength, blockLength);
+                if (contentHash != null) {
+                    contentHash.update(decompressed, dictionaryLength, blockLength);
+                }
+                if (windowSize > 0) {
+                    int totalLength = dictionaryLength + blockLength;
+                    int keepLength = Math.min(windowSize, totalLength);
+                    System.arraycopy(decompressed, totalLength - keepLength, decompressed, 0, keepLength);
+                    dictionaryLength = keepLength;
+                }
+                if (progressListener != null) {
+                    progressListener.progress(sourcePosition - position, length);
+                }
+            }
+
+            if (contentHash != null) {
+                if (readInt(data, sourcePosition, sourceEnd) != contentHash.getValue()) {
+                    throw new IOException("LZ4 content checksum mismatch");
+                }
+                sourcePosition += 4;
+            }
+        }
+    }
+
+    /**
+     * Tests whether data starts with LZ4 frame magic number.
+     *
+     * @param data data
+     * @param position position
+     * @param length length
+     * @return true if LZ4 frame header is present
+     */
+    public static boolean isFrame(BinaryData data, long position, long length) {
+        if (length < 7) {
+            return false;
+        }
+
+        try {
+            return readInt(data, position, position + length) == FRAME_MAGIC;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private static int getBlockMaxSize(int blockSizeId) {
+        return 1 << (8 + 2 * blockSizeId);
+    }
+
+    private static int writeLiterals(byte[] source, int literalsStart, int literalsLength, byte[] target, int tokenPosition, int targetPosition) {
+        if (literalsLength >= 15) {
+            target[tokenPosition] = (byte) (15 << 4);
+            targetPosition = writeLength(target, targetPosition, literalsLength - 15);
+        } else {
+            target[tokenPosition] = (byte) (literalsLength << 4);
+        }
+        System.arraycopy(source, literalsStart, target, targetPosition, literalsLength);
+        return targetPosition + literalsLength;
+    }
+
+    private static int writeLength(byte[] target, int targetPosition, int length) {
+        while (length >= 255) {
+            target[targetPosition++] = (byte) 255;
+            length -= 255;
+        }
+        target[targetPosition++] = (byte) length;
+        return targetPosition;
+    }
+
+    private static int hash(int value) {
+        return (value * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+    private static int readInt(byte[] buffer, int offset) {
+        return (buffer[offset] & 0xff) | (buffer[offset + 1] & 0xff) << 8 | (buffer[offset + 2] & 0xff) << 16 | (buffer[offset + 3] & 0xff) << 24;
+    }
+
+    private static int readInt(BinaryData data, long position, long end) throws IOException {
+        byte[] buffer = new byte[4];
+        readFully(data, position, end, buffer, 0, 4);
+        return readInt(buffer, 0);
+    }
+
+    private static void readFully(BinaryData data, long position, long end, byte[] target, int offset, int length) throws IOException {
+        if (end - position < length) {
+            throw new IOException("Unexpected end of LZ4 data");
+        }
+        data.copyToArray(position, target, offset, length);
+    }
+
+    private static void writeInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >> 8);
+        buffer[offset + 2] = (byte) (value >> 16);
+        buffer[offset + 3] = (byte) (value >> 24);
+    }
+
+    private static void checkCancelled() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Conversion cancelled");
+        }
+    }
+
+    private static IOException createMalformedException() {
+        return new IOException("Malformed LZ4 data");
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
+
+/**
+ * Parallel GZIP compressor.
+ * <p>
+ * Input is split into blocks compressed independently on worker threads with
+ * dictionary primed from the tail of previous block. Blocks are terminated by
+ * sync flush so that they can be concatenated into single deflate stream and
+ * resulting output is standard GZIP stream.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ParallelGzipCompressor {
+
+    private static final int BLOCK_SIZE = 128 * 1024;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int CRC32_POLYNOMIAL = 0xedb88320;
+
+    private final int level;
+    private final int threadsCount;
+
+    public ParallelGzipCompressor() {
+        this(Deflater.DEFAULT_COMPRESSION, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelGzipCompressor(int level, int threadsCount) {
+        this.level = level;
+        this.threadsCount = Math.max(1, threadsCount);
+    }
+
+    /**
+     * Compresses data range to GZIP stream.
+     *
+     * @param data input data
+     * @param position input data position
+     * @param length input data length
+     * @param output output stream
+     * @param progressListener progress listener
+     * @throws IOException on compression error or when interrupted
+     */
+    public void compress(BinaryData data, long position, long length, OutputStream output, @Nullable ConversionProgressListener progressListener) throws IOException {
+        writeHeader(output);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadsCount, (runnable) -> {
+            Thread thread = new Thread(runnable, "GzipCompressionThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Number of blocks in flight is limited to keep memory usage bounded
+        int maxPendingBlocks = threadsCount * 2;
+        ArrayDeque<Future<CompressedBlock>> pendingBlocks = new ArrayDeque<>();
+        try {
+            long crc = 0;
+            long submitted = 0;
+            long processed = 0;
+            byte[] previousBlock = null;
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Conversion cancelled");
+                }
+
+                int blockLength = (int) Math.min(BLOCK_SIZE, length - submitted);
+                byte[] block = new byte[blockLength];
+                data.copyToArray(position + submitted, block, 0, blockLength);
+                submitted += blockLength;
+                pendingBlocks.add(executor.submit(new BlockTask(block, previousBlock, submitted == length)));
+                previousBlock = block;
+
+                while (!pendingBlocks.isEmpty() && (pendingBlocks.size() >= maxPendingBlocks || submitted == length)) {
+                    CompressedBlock compressedBlock = waitForBlock(pendingBlocks.poll());
+                    output.write(compressedBlock.data, 0, compressedBlock.length);
+                    crc = crc32Combine(crc, compressedBlock.crc, compressedBlock.inputLength);
+                    processed += compressedBlock.inputLength;
+                    if (progressListener != null) {
+                        progressListener.progress(processed, length);
+                    }
+                }
+            } while (submitted < length);
+
+            writeTrailer(output, crc, length);
+        } finally {
+            for (Future<CompressedBlock> pendingBlock : pendingBlocks) {
+                pendingBlock.cancel(true);
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    private static CompressedBlock waitForBlock(Future<CompressedBlock> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Conversion cancelled");
+        } catch (ExecutionException ex) {
+            throw new IOException("Block compression failed", ex.getCause());
+        }
+    }
+
+    private static void writeHeader(OutputStream output) throws IOException {
+        output.write(new byte[]{(byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0});
+    }
+
+    private static void writeTrailer(OutputStream output, long crc, long length) throws IOException {
+        byte[] trailer = new byte[8];
+        writeInt(trailer, 0, (int) crc);
+        // Size is stored modulo 2^32
+        writeInt(trailer, 4, (int) length);
+        output.write(trailer);
+    }
+
+    private static void writeInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >> 8);
+        buffer[offset + 2] = (byte) (value >> 16);
+        buffer[offset + 3] = (byte) (value >> 24);
+    }
+
+    /**
+     * Combines CRC32 of two consecutive sequences.
+     * <p>
+     * Port of crc32_combine from zlib using GF(2) matrix exponentiation.
+     *
+     * @param crc1 CRC32 of first sequence
+     * @param crc2 CRC32 of second sequence
+     * @param length2 length of second sequence
+     * @return CRC32 of concatenated sequences
+     */
+    static long crc32Combine(long crc1, long crc2, long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+
+        int[] even = new int[32];
+        int[] odd = new int[32];
+
+        // Operator for one zero bit
+        odd[0] = CRC32_POLYNOMIAL;
+        int row = 1;
+        for (int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+
+        // Operators for two and four zero bits
+        gf2MatrixSquare(even, odd);
+        gf2MatrixSquare(odd, even);
+
+        int crc = (int) crc1;
+        long remaining = length2;
+        do {
+            gf2MatrixSquare(even, odd);
+            if ((remaining & 1) != 0) {
+                crc = gf2MatrixTimes(even, crc);
+            }
+            remaining >>= 1;
+            if (remaining == 0) {
+                break;
+            }
+
+            gf2MatrixSquare(odd, even);
+            if ((remaining & 1) != 0) {
+                crc = gf2MatrixTimes(odd, crc);
+            }
+            remaining >>= 1;
+        } while (remaining != 0);
+
+        return (crc ^ (int) crc2) & 0xffffffffL;
+    }
+
+    private static int gf2MatrixTimes(int[] matrix, int vector) {
+        int sum = 0;
+        int index = 0;
+        while (vector != 0) {
+            if ((vector & 1) != 0) {
+                sum ^= matrix[index];
+            }
+            vector >>>= 1;
+            index++;
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(int[] square, int[] matrix) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = gf2MatrixTimes(matrix, matrix[n]);
+        }
+    }
+
+    @ParametersAreNonnullByDefault
+    private final class BlockTask implements Callable<CompressedBlock> {
+
+        private final byte[] block;
+        private final byte[] previousBlock;
+        private final boolean lastBlock;
+
+        public BlockTask(byte[] block, @Nullable byte[] previousBlock, boolean lastBlock) {
+            this.block = block;
+            this.previousBlock = previousBlock;
+            this.lastBlock = lastBlock;
+        }
+
+        @Override
+        public CompressedBlock call() {
+            CRC32 crc = new CRC32();
+            crc.update(block, 0, block.length);
+
+            Deflater deflater = new Deflater(level, true);
+            try {
+                if (previousBlock != null) {
+                    int dictionaryLength = Math.min(DICTIONARY_SIZE, previousBlock.length);
+                    deflater.setDictionary(previousBlock, previousBlock.length - dictionaryLength, dictionaryLength);
+                }
+                deflater.setInput(block, 0, block.length);
+
+                byte[] output = new byte[block.length + (block.length >> 3) + 64];
+                int outputLength = 0;
+                if (lastBlock) {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        if (outputLength == output.length) {
+                            output = Arrays.copyOf(output, output.length * 2);
+                        }
+                        outputLength += deflater.deflate(output, outputLength, output.length - outputLength);
+                    }
+                } else {
+                    // Sync flush aligns block end to byte boundary without closing the stream
+                    while (true) {
+                        int available = output.length - outputLength;
+                        int written = deflater.deflate(output, outputLength, available, Deflater.SYNC_FLUSH);
+                        outputLength += written;
+                        if (written < available) {
+                            break;
+                        }
+                        output = Arrays.copyOf(output, output.length * 2);
+                    }
+                }
+
+                return new CompressedBlock(output, outputLength, crc.getValue(), block.length);
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    private static final class CompressedBlock {
+
+        private final byte[] data;
+        private final int length;
+        private final long crc;
+        private final int inputLength;
+
+        public CompressedBlock(byte[] data, int length, long crc, int inputLength) {
+            this.data = data;
+            this.length = length;
+            this.crc = crc;
+            this.inputLength = inputLength;
+        }
+    }
+}
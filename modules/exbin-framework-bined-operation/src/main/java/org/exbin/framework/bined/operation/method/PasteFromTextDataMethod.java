@@ -20,17 +20,17 @@ import java.awt.Toolkit;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.UnsupportedFlavorException;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
-import javax.swing.SwingUtilities;
 import org.exbin.auxiliary.binary_data.BinaryData;
-import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
-import org.exbin.bined.CodeAreaUtils;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
 import org.exbin.bined.CodeType;
 import org.exbin.bined.EditOperation;
 import org.exbin.bined.operation.swing.command.CodeAreaCommand;
@@ -41,6 +41,8 @@ import org.exbin.bined.swing.CodeAreaCore;
 import org.exbin.framework.App;
 import org.exbin.framework.language.api.LanguageModuleApi;
 import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.BinaryDataInsertOutputStream;
+import org.exbin.framework.bined.operation.PreviewExecutor;
 import org.exbin.framework.bined.operation.api.PasteFromDataMethod;
 import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
 import org.exbin.framework.bined.operation.method.gui.PasteFromTextDataPanel;
@@ -59,6 +61,7 @@ public class PasteFromTextDataMethod implements PasteFromDataMethod {
     private PreviewDataHandler previewDataHandler;
     private long previewLengthLimit = 0;
     private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
 
     @Nonnull
     @Override
@@ -87,12 +90,17 @@ public class PasteFromTextDataMethod implements PasteFromDataMethod {
         ((PasteFromTextDataPanel) component).initFocus();
     }
 
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
     @Nonnull
     @Override
     public CodeAreaCommand createPasteCommand(Component component, CodeAreaCore codeArea, long position, EditOperation editOperation) {
         PasteFromTextDataPanel panel = (PasteFromTextDataPanel) component;
         CodeType codeType = panel.getCodeType();
-        ResultData resultData = generateData(codeType);
+        ResultData resultData = generateData(codeType, Long.MAX_VALUE);
         if (resultData.errorText == null) {
             return pasteBinaryData(resultData.binaryData, codeArea);
         }
@@ -105,31 +113,30 @@ public class PasteFromTextDataMethod implements PasteFromDataMethod {
     public void requestPreview(PreviewDataHandler previewDataHandler, Component component, long lengthLimit) {
         this.previewDataHandler = previewDataHandler;
         this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
         PasteFromTextDataPanel panel = (PasteFromTextDataPanel) component;
         panel.setResultChangeListener(() -> {
             fillPreviewData(panel);
         });
         fillPreviewData(panel);
-
     }
 
     private void fillPreviewData(PasteFromTextDataPanel panel) {
-        previewPanel = new BinaryPreviewPanel();
-        previewDataHandler.setPreviewComponent(previewPanel);
-
-        SwingUtilities.invokeLater(() -> {
-            CodeType codeType = panel.getCodeType();
-            ResultData resultData = generateData(codeType);
+        CodeType codeType = panel.getCodeType();
+        BinaryPreviewPanel targetPanel = previewPanel;
+        long lengthLimit = previewLengthLimit;
+        previewExecutor.submit(() -> generateData(codeType, lengthLimit), (resultData) -> {
             if (resultData.errorText != null) {
-                previewPanel.setErrorMessage(resultData.errorText);
+                targetPanel.setErrorMessage(resultData.errorText);
             } else {
-                previewPanel.setPreviewData(resultData.binaryData);
+                targetPanel.setPreviewData(resultData.binaryData);
             }
         });
     }
 
     @Nonnull
-    private ResultData generateData(CodeType codeType) {
+    private ResultData generateData(CodeType codeType, long lengthLimit) {
         ResultData resultData = new ResultData();
         Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
         if (clipboard.isDataFlavorAvailable(DataFlavor.getTextPlainUnicodeFlavor())) {
@@ -139,15 +146,13 @@ public class PasteFromTextDataMethod implements PasteFromDataMethod {
 
                 DataFlavor textPlainUnicodeFlavor = DataFlavor.getTextPlainUnicodeFlavor();
                 String charsetName = textPlainUnicodeFlavor.getParameter(MIME_CHARSET);
-                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                byte[] dataBuffer = new byte[1024];
-                int length;
-                while ((length = insertedData.read(dataBuffer)) != -1) {
-                    outputStream.write(dataBuffer, 0, length);
+                // Text is parsed as stream directly into paged data
+                EditableBinaryData clipData = new ByteArrayPagedData();
+                BinaryDataInsertOutputStream output = new BinaryDataInsertOutputStream(clipData, 0);
+                try (Reader reader = new InputStreamReader(insertedData, charsetName)) {
+                    new TextCodeParser(codeType).parse(reader, output, lengthLimit);
                 }
-                String insertedString = outputStream.toString(charsetName);
-                ByteArrayEditableData clipData = new ByteArrayEditableData();
-                CodeAreaUtils.insertHexStringIntoData(insertedString, clipData, codeType);
+                output.close();
                 resultData.binaryData = clipData;
                 return resultData;
             } catch (UnsupportedFlavorException | IllegalStateException | IOException | IllegalArgumentException ex) {
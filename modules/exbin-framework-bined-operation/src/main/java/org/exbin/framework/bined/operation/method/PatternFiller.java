@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+
+/**
+ * Fills data range with repeated pattern using bulk replace calls.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class PatternFiller {
+
+    public static final int BLOCK_SIZE = 65536;
+
+    private PatternFiller() {
+    }
+
+    /**
+     * Replaces data range with repeated pattern.
+     * <p>
+     * Block of repeated pattern is prepared by doubling already filled part
+     * and then written repeatedly.
+     *
+     * @param binaryData target data
+     * @param position position
+     * @param length length
+     * @param pattern pattern
+     */
+    public static void fill(EditableBinaryData binaryData, long position, long length, byte[] pattern) {
+        if (length == 0) {
+            return;
+        }
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("Empty pattern");
+        }
+
+        int blockLength = (int) Math.min(length, (long) Math.max(BLOCK_SIZE / pattern.length, 1) * pattern.length);
+        byte[] block = new byte[blockLength];
+        int filled = Math.min(pattern.length, blockLength);
+        System.arraycopy(pattern, 0, block, 0, filled);
+        while (filled < blockLength) {
+            int copyLength = Math.min(filled, blockLength - filled);
+            System.arraycopy(block, 0, block, filled, copyLength);
+            filled += copyLength;
+        }
+
+        long targetPosition = position;
+        long remaining = length;
+        while (remaining > 0) {
+            int segmentLength = (int) Math.min(remaining, blockLength);
+            binaryData.replace(targetPosition, block, 0, segmentLength);
+            targetPosition += segmentLength;
+            remaining -= segmentLength;
+        }
+    }
+
+    /**
+     * Replaces data range with repeated single byte value.
+     *
+     * @param binaryData target data
+     * @param position position
+     * @param length length
+     * @param value byte value
+     */
+    public static void fill(EditableBinaryData binaryData, long position, long length, byte value) {
+        fill(binaryData, position, length, new byte[]{value});
+    }
+}
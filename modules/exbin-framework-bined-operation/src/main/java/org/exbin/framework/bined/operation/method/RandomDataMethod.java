@@ -16,10 +16,8 @@
 package org.exbin.framework.bined.operation.method;
 
 import java.awt.Component;
-import java.util.Random;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
-import javax.swing.SwingUtilities;
 import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
 import org.exbin.bined.CodeAreaUtils;
@@ -31,6 +29,7 @@ import org.exbin.framework.bined.operation.method.gui.RandomDataPanel;
 import org.exbin.framework.language.api.LanguageModuleApi;
 import org.exbin.framework.bined.operation.api.InsertDataMethod;
 import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
 import org.exbin.framework.bined.operation.command.InsertFromProviderCommand;
 import org.exbin.framework.bined.operation.InsertFromProviderOperation;
 import org.exbin.framework.bined.operation.ReplaceDataOperation;
@@ -46,11 +45,14 @@ import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
 @ParametersAreNonnullByDefault
 public class RandomDataMethod implements InsertDataMethod {
 
+    private static final int BLOCK_SIZE = 65536;
+
     private java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(RandomDataPanel.class);
 
     private PreviewDataHandler previewDataHandler;
     private long previewLengthLimit = 0;
     private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
 
     @Nonnull
     @Override
@@ -69,6 +71,11 @@ public class RandomDataMethod implements InsertDataMethod {
         ((RandomDataPanel) component).initFocus();
     }
 
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
     @Nonnull
     @Override
     public CodeAreaCommand createInsertCommand(Component component, CodeAreaCore codeArea, long position, EditOperation editOperation) {
@@ -88,30 +95,50 @@ public class RandomDataMethod implements InsertDataMethod {
     }
 
     public void generateData(EditableBinaryData binaryData, AlgorithmType algorithmType, long position, long length) throws IllegalStateException {
-        Random random = new Random();
-        for (long pos = position; pos < position + length; pos++) {
-            byte value;
-            switch (algorithmType) {
-                case FULL_BYTES:
-                    value = (byte) random.nextInt();
-                    break;
-                case LOWER_HALF: {
-                    value = (byte) random.nextInt(128);
-                    break;
+        generateData(binaryData, algorithmType, position, length, new XoshiroRandom());
+    }
+
+    public void generateData(EditableBinaryData binaryData, AlgorithmType algorithmType, long position, long length, XoshiroRandom random) throws IllegalStateException {
+        byte[] buffer = new byte[(int) Math.min(length, BLOCK_SIZE)];
+        long pos = position;
+        long remain = length;
+        while (remain > 0) {
+            int blockLength = (int) Math.min(remain, BLOCK_SIZE);
+            generateBlock(buffer, blockLength, algorithmType, random);
+            binaryData.replace(pos, buffer, 0, blockLength);
+            pos += blockLength;
+            remain -= blockLength;
+        }
+    }
+
+    private static void generateBlock(byte[] buffer, int length, AlgorithmType algorithmType, XoshiroRandom random) {
+        switch (algorithmType) {
+            case FULL_BYTES: {
+                random.nextBytes(buffer, 0, length);
+                break;
+            }
+            case LOWER_HALF: {
+                random.nextBytes(buffer, 0, length);
+                for (int i = 0; i < length; i++) {
+                    buffer[i] &= 0x7f;
                 }
-                case ALPHABET_ONLY: {
-                    value = (byte) random.nextInt(52);
-                    value += (value < 26) ? 'A' : 'a' - 26;
-                    break;
+                break;
+            }
+            case ALPHABET_ONLY: {
+                for (int i = 0; i < length; i++) {
+                    int value = random.nextInt(52);
+                    buffer[i] = (byte) (value + ((value < 26) ? 'A' : 'a' - 26));
                 }
-                case NUMBER_DIGITS: {
-                    value = (byte) (random.nextInt(10) + '0');
-                    break;
+                break;
+            }
+            case NUMBER_DIGITS: {
+                for (int i = 0; i < length; i++) {
+                    buffer[i] = (byte) (random.nextInt(10) + '0');
                 }
-                default:
-                    throw CodeAreaUtils.getInvalidTypeException(algorithmType);
+                break;
             }
-            binaryData.setByte(pos, value);
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(algorithmType);
         }
     }
 
@@ -119,6 +146,8 @@ public class RandomDataMethod implements InsertDataMethod {
     public void requestPreview(PreviewDataHandler previewDataHandler, Component component, long lengthLimit) {
         this.previewDataHandler = previewDataHandler;
         this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
         RandomDataPanel panel = (RandomDataPanel) component;
         panel.setResultChangeListener(() -> {
             fillPreviewData(panel);
@@ -127,20 +156,15 @@ public class RandomDataMethod implements InsertDataMethod {
     }
 
     private void fillPreviewData(RandomDataPanel panel) {
-        previewPanel = new BinaryPreviewPanel();
-        previewDataHandler.setPreviewComponent(previewPanel);
-        SwingUtilities.invokeLater(() -> {
-            AlgorithmType algorithmType = panel.getAlgorithmType();
-            long dataLength = panel.getDataLength();
-            if (dataLength > previewLengthLimit) {
-                dataLength = previewLengthLimit;
-            }
-
+        AlgorithmType algorithmType = panel.getAlgorithmType();
+        long dataLength = Math.min(panel.getDataLength(), previewLengthLimit);
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
             EditableBinaryData previewBinaryData = new ByteArrayEditableData();
             previewBinaryData.insertUninitialized(0, dataLength);
             generateData(previewBinaryData, algorithmType, 0, dataLength);
-            previewPanel.setPreviewData(previewBinaryData);
-        });
+            return previewBinaryData;
+        }, targetPanel::setPreviewData);
     }
 
     public enum AlgorithmType {
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.awt.Component;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.EditOperation;
+import org.exbin.bined.operation.swing.command.CodeAreaCommand;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.operation.method.gui.SequenceDataPanel;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.bined.operation.api.InsertDataMethod;
+import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
+import org.exbin.framework.bined.operation.command.InsertFromProviderCommand;
+import org.exbin.framework.bined.operation.InsertFromProviderOperation;
+import org.exbin.framework.bined.operation.ReplaceDataOperation;
+import org.exbin.framework.bined.operation.InsertionDataProvider;
+import org.exbin.framework.bined.operation.command.ReplaceDataCommand;
+import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
+
+/**
+ * Generate integer sequence, De Bruijn sequence or cyclic pattern method.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SequenceDataMethod implements InsertDataMethod {
+
+    private java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(SequenceDataPanel.class);
+
+    private PreviewDataHandler previewDataHandler;
+    private long previewLengthLimit = 0;
+    private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return resourceBundle.getString("method.name");
+    }
+
+    @Nonnull
+    @Override
+    public Component createComponent() {
+        return new SequenceDataPanel();
+    }
+
+    @Override
+    public void initFocus(Component component) {
+        ((SequenceDataPanel) component).initFocus();
+    }
+
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaCommand createInsertCommand(Component component, CodeAreaCore codeArea, long position, EditOperation editOperation) {
+        SequenceDataPanel panel = (SequenceDataPanel) component;
+        long length = panel.getDataLength();
+        SequenceGenerator generator = panel.createGenerator();
+
+        InsertionDataProvider dataOperationDataProvider = (EditableBinaryData binaryData, long insertPosition) -> {
+            generator.generate(binaryData, insertPosition, length);
+        };
+
+        if (editOperation == EditOperation.OVERWRITE) {
+            return new ReplaceDataCommand(codeArea, new ReplaceDataOperation(position, length, dataOperationDataProvider));
+        } else {
+            return new InsertFromProviderCommand(codeArea, new InsertFromProviderOperation(position, length, dataOperationDataProvider));
+        }
+    }
+
+    @Override
+    public void requestPreview(PreviewDataHandler previewDataHandler, Component component, long lengthLimit) {
+        this.previewDataHandler = previewDataHandler;
+        this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
+        SequenceDataPanel panel = (SequenceDataPanel) component;
+        panel.setResultChangeListener(() -> {
+            fillPreviewData(panel);
+        });
+        fillPreviewData(panel);
+    }
+
+    private void fillPreviewData(SequenceDataPanel panel) {
+        SequenceGenerator generator = panel.createGenerator();
+        long dataLength = Math.min(panel.getDataLength(), previewLengthLimit);
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
+            EditableBinaryData previewBinaryData = new ByteArrayEditableData();
+            previewBinaryData.insertUninitialized(0, dataLength);
+            generator.generate(previewBinaryData, 0, dataLength);
+            return previewBinaryData;
+        }, targetPanel::setPreviewData);
+    }
+
+    /**
+     * Sequence type in order of panel selection.
+     */
+    public enum SequenceType {
+        INTEGER,
+        DE_BRUIJN,
+        PWNTOOLS_PATTERN,
+        METASPLOIT_PATTERN
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.CodeAreaUtils;
+
+/**
+ * Generator of integer sequences and cyclic patterns.
+ * <p>
+ * Data are generated block by block into reused buffer and written using
+ * bulk replace calls, so whole output is never kept in memory.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SequenceGenerator {
+
+    public static final int BLOCK_SIZE = 65536;
+    public static final int MAX_DE_BRUIJN_ORDER = 16;
+
+    private static final byte[] PWNTOOLS_ALPHABET = "abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+    private static final int PWNTOOLS_ORDER = 4;
+
+    private final SequenceType sequenceType;
+    private final long startValue;
+    private final long step;
+    private final int width;
+    private final boolean bigEndian;
+    private final byte[] alphabet;
+    private final int order;
+
+    private SequenceGenerator(SequenceType sequenceType, long startValue, long step, int width, boolean bigEndian, byte[] alphabet, int order) {
+        this.sequenceType = sequenceType;
+        this.startValue = startValue;
+        this.step = step;
+        this.width = width;
+        this.bigEndian = bigEndian;
+        this.alphabet = alphabet;
+        this.order = order;
+    }
+
+    /**
+     * Creates generator of integer values increasing by given step.
+     * <p>
+     * Values overflowing given width wrap around.
+     *
+     * @param startValue first value
+     * @param step step added to each next value, can be negative
+     * @param width width of value in bytes, one of 1, 2, 4 or 8
+     * @param bigEndian true for big endian byte order
+     * @return generator
+     */
+    @Nonnull
+    public static SequenceGenerator createIntegerSequence(long startValue, long step, int width, boolean bigEndian) {
+        if (width != 1 && width != 2 && width != 4 && width != 8) {
+            throw new IllegalArgumentException("Unsupported width " + width);
+        }
+        return new SequenceGenerator(SequenceType.INTEGER, startValue, step, width, bigEndian, new byte[0], 0);
+    }
+
+    /**
+     * Creates generator of De Bruijn sequence with byte values from zero to
+     * alphabet size minus one.
+     * <p>
+     * Every possible subsequence of given order appears in the sequence
+     * exactly once. Sequence is repeated when requested length exceeds it.
+     *
+     * @param alphabetSize alphabet size from 2 to 256
+     * @param order order from 1 to {@link #MAX_DE_BRUIJN_ORDER}
+     * @return generator
+     */
+    @Nonnull
+    public static SequenceGenerator createDeBruijn(int alphabetSize, int order) {
+        if (alphabetSize < 2 || alphabetSize > 256) {
+            throw new IllegalArgumentException("Unsupported alphabet size " + alphabetSize);
+        }
+        if (order < 1 || order > MAX_DE_BRUIJN_ORDER) {
+            throw new IllegalArgumentException("Unsupported order " + order);
+        }
+        byte[] alphabet = new byte[alphabetSize];
+        for (int i = 0; i < alphabetSize; i++) {
+            alphabet[i] = (byte) i;
+        }
+        return new SequenceGenerator(SequenceType.DE_BRUIJN, 0, 0, 1, false, alphabet, order);
+    }
+
+    /**
+     * Creates generator of cyclic pattern for search of offsets.
+     *
+     * @param patternType pattern type
+     * @return generator
+     */
+    @Nonnull
+    public static SequenceGenerator createCyclicPattern(CyclicPatternType patternType) {
+        switch (patternType) {
+            case PWNTOOLS:
+                return new SequenceGenerator(SequenceType.DE_BRUIJN, 0, 0, 1, false, PWNTOOLS_ALPHABET, PWNTOOLS_ORDER);
+            case METASPLOIT:
+                return new SequenceGenerator(SequenceType.METASPLOIT, 0, 0, 1, false, new byte[0], 0);
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(patternType);
+        }
+    }
+
+    /**
+     * Replaces data range with generated sequence.
+     *
+     * @param binaryData target data
+     * @param position position
+     * @param length length
+     */
+    public void generate(EditableBinaryData binaryData, long position, long length) {
+        BlockGenerator blockGenerator = createBlockGenerator();
+        byte[] block = new byte[(int) Math.min(length, BLOCK_SIZE)];
+        long targetPosition = position;
+        long remaining = length;
+        while (remaining > 0) {
+            int blockLength = (int) Math.min(remaining, BLOCK_SIZE);
+            blockGenerator.nextBlock(block, blockLength);
+            binaryData.replace(targetPosition, block, 0, blockLength);
+            targetPosition += blockLength;
+            remaining -= blockLength;
+        }
+    }
+
+    @Nonnull
+    private BlockGenerator createBlockGenerator() {
+        switch (sequenceType) {
+            case INTEGER:
+                return new IntegerBlockGenerator();
+            case DE_BRUIJN:
+                return new DeBruijnBlockGenerator();
+            case METASPLOIT:
+                return new MetasploitBlockGenerator();
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(sequenceType);
+        }
+    }
+
+    private interface BlockGenerator {
+
+        /**
+         * Generates next part of sequence.
+         * <p>
+         * All blocks except the last one have length of {@link #BLOCK_SIZE}.
+         *
+         * @param block target block
+         * @param length length to generate
+         */
+        void nextBlock(byte[] block, int length);
+    }
+
+    private class IntegerBlockGenerator implements BlockGenerator {
+
+        private long value = startValue;
+
+        @Override
+        public void nextBlock(byte[] block, int length) {
+            int fullLength = length - length % width;
+            int offset = 0;
+            switch (width) {
+                case 1: {
+                    for (; offset < fullLength; offset++) {
+                        block[offset] = (byte) value;
+                        value += step;
+                    }
+                    break;
+                }
+                case 2: {
+                    int high = bigEndian ? 0 : 1;
+                    for (; offset < fullLength; offset += 2) {
+                        block[offset + high] = (byte) (value >> 8);
+                        block[offset + 1 - high] = (byte) value;
+                        value += step;
+                    }
+                    break;
+                }
+                default: {
+                    for (; offset < fullLength; offset += width) {
+                        writeValue(block, offset, width);
+                        value += step;
+                    }
+                }
+            }
+
+            if (offset < length) {
+                // Last value is truncated at the end of generated data
+                byte[] lastValue = new byte[width];
+                writeValue(lastValue, 0, width);
+                System.arraycopy(lastValue, 0, block, offset, length - offset);
+            }
+        }
+
+        private void writeValue(byte[] target, int offset, int valueWidth) {
+            for (int i = 0; i < valueWidth; i++) {
+                int shift = (bigEndian ? valueWidth - 1 - i : i) * 8;
+                target[offset + i] = (byte) (value >> shift);
+            }
+        }
+    }
+
+    /**
+     * Generates De Bruijn sequence as concatenation of Lyndon words with
+     * length dividing order, which are enumerated in lexicographic order.
+     */
+    private class DeBruijnBlockGenerator implements BlockGenerator {
+
+        private final int[] word = new int[order];
+        private int wordLength = 1;
+        private int emitted = 0;
+
+        @Override
+        public void nextBlock(byte[] block, int length) {
+            int offset = 0;
+            while (offset < length) {
+                if (emitted == wordLength) {
+                    nextWord();
+                }
+                int copyLength = Math.min(wordLength - emitted, length - offset);
+                for (int i = 0; i < copyLength; i++) {
+                    block[offset + i] = alphabet[word[emitted + i]];
+                }
+                emitted += copyLength;
+                offset += copyLength;
+            }
+        }
+
+        private void nextWord() {
+            int maxSymbol = alphabet.length - 1;
+            do {
+                // Extend word periodically and increment last symbol
+                int period = wordLength;
+                while (wordLength < order) {
+                    word[wordLength] = word[wordLength - period];
+                    wordLength++;
+                }
+                while (wordLength > 0 && word[wordLength - 1] == maxSymbol) {
+                    wordLength--;
+                }
+                if (wordLength == 0) {
+                    // Whole sequence was generated, start again
+                    word[0] = 0;
+                    wordLength = 1;
+                } else {
+                    word[wordLength - 1]++;
+                }
+            } while (order % wordLength != 0);
+            emitted = 0;
+        }
+    }
+
+    /**
+     * Generates pattern of upper case letter, lower case letter and digit
+     * triplets.
+     */
+    private static class MetasploitBlockGenerator implements BlockGenerator {
+
+        private int upper = 0;
+        private int lower = 0;
+        private int digit = 0;
+        private int phase = 0;
+
+        @Override
+        public void nextBlock(byte[] block, int length) {
+            for (int offset = 0; offset < length; offset++) {
+                switch (phase) {
+                    case 0:
+                        block[offset] = (byte) ('A' + upper);
+                        break;
+                    case 1:
+                        block[offset] = (byte) ('a' + lower);
+                        break;
+                    default:
+                        block[offset] = (byte) ('0' + digit);
+                        nextTriplet();
+                }
+                phase = (phase + 1) % 3;
+            }
+        }
+
+        private void nextTriplet() {
+            digit++;
+            if (digit == 10) {
+                digit = 0;
+                lower++;
+                if (lower == 26) {
+                    lower = 0;
+                    upper = (upper + 1) % 26;
+                }
+            }
+        }
+    }
+
+    private enum SequenceType {
+        INTEGER,
+        DE_BRUIJN,
+        METASPLOIT
+    }
+
+    /**
+     * Cyclic pattern type.
+     */
+    public enum CyclicPatternType {
+        /**
+         * De Bruijn sequence of lower case letters with order 4.
+         */
+        PWNTOOLS,
+        /**
+         * Pattern of upper case, lower case and digit triplets.
+         */
+        METASPLOIT
+    }
+}
@@ -18,9 +18,9 @@ package org.exbin.framework.bined.operation.method;
 import java.awt.Component;
 import java.awt.Dialog;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
 import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
@@ -39,6 +39,8 @@ import org.exbin.framework.window.api.gui.DefaultControlPanel;
 import org.exbin.framework.window.api.controller.DefaultControlController;
 import org.exbin.framework.bined.operation.api.InsertDataMethod;
 import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.FillBinaryData;
+import org.exbin.framework.bined.operation.PreviewExecutor;
 import org.exbin.framework.bined.operation.command.InsertFromProviderCommand;
 import org.exbin.framework.bined.operation.InsertFromProviderOperation;
 import org.exbin.framework.bined.operation.ReplaceDataOperation;
@@ -59,6 +61,7 @@ public class SimpleFillDataMethod implements InsertDataMethod {
 
     private PreviewDataHandler previewDataHandler;
     private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
     private long previewLengthLimit = 0;
 
     @Nonnull
@@ -116,6 +119,11 @@ public class SimpleFillDataMethod implements InsertDataMethod {
         ((SimpleFillDataPanel) component).initFocus();
     }
 
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
     @Nonnull
     @Override
     public CodeAreaCommand createInsertCommand(Component component, CodeAreaCore codeArea, long position, EditOperation editOperation) {
@@ -123,6 +131,15 @@ public class SimpleFillDataMethod implements InsertDataMethod {
         long length = panel.getDataLength();
         FillWithType fillWithType = panel.getFillWithType();
 
+        BinaryData fillData = createFillData(fillWithType, length, panel.getSampleBinaryData());
+        if (fillData != null) {
+            if (editOperation == EditOperation.OVERWRITE) {
+                return new ReplaceDataCommand(codeArea, new ReplaceDataOperation(position, fillData));
+            } else {
+                return new InsertFromProviderCommand(codeArea, new InsertFromProviderOperation(position, fillData));
+            }
+        }
+
         InsertionDataProvider dataOperationDataProvider = (EditableBinaryData binaryData, long insertPosition) -> {
             generateData(binaryData, fillWithType, insertPosition, length, panel.getSampleBinaryData());
         };
@@ -137,24 +154,22 @@ public class SimpleFillDataMethod implements InsertDataMethod {
     public void generateData(EditableBinaryData binaryData, FillWithType fillWithType, long position, long length, BinaryData sampleBinaryData) throws IllegalStateException {
         switch (fillWithType) {
             case EMPTY: {
-                for (long pos = position; pos < position + length; pos++) {
-                    binaryData.setByte(pos, (byte) 0x0);
-                }
+                PatternFiller.fill(binaryData, position, length, (byte) 0x0);
                 break;
             }
             case SPACE: {
-                for (long pos = position; pos < position + length; pos++) {
-                    binaryData.setByte(pos, (byte) 0x20);
-                }
+                PatternFiller.fill(binaryData, position, length, (byte) 0x20);
                 break;
             }
             case SAMPLE: {
-                if (sampleBinaryData.isEmpty()) {
-                    for (long pos = position; pos < position + length; pos++) {
-                        binaryData.setByte(pos, (byte) 0xff);
-                    }
+                long sampleDataSize = sampleBinaryData.getDataSize();
+                if (sampleDataSize == 0) {
+                    PatternFiller.fill(binaryData, position, length, (byte) 0xff);
+                } else if (sampleDataSize <= PatternFiller.BLOCK_SIZE) {
+                    byte[] pattern = new byte[(int) sampleDataSize];
+                    sampleBinaryData.copyToArray(0, pattern, 0, pattern.length);
+                    PatternFiller.fill(binaryData, position, length, pattern);
                 } else {
-                    long sampleDataSize = sampleBinaryData.getDataSize();
                     long pos = position;
                     long remain = length;
                     while (remain > 0) {
@@ -176,6 +191,8 @@ public class SimpleFillDataMethod implements InsertDataMethod {
     public void requestPreview(PreviewDataHandler previewDataHandler, Component component, long lengthLimit) {
         this.previewDataHandler = previewDataHandler;
         this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
         SimpleFillDataPanel panel = (SimpleFillDataPanel) component;
         panel.setResultChangeListener(() -> {
             fillPreviewData(panel);
@@ -184,21 +201,52 @@ public class SimpleFillDataMethod implements InsertDataMethod {
     }
 
     private void fillPreviewData(SimpleFillDataPanel panel) {
-        previewPanel = new BinaryPreviewPanel();
-        previewDataHandler.setPreviewComponent(previewPanel);
-        SwingUtilities.invokeLater(() -> {
-            FillWithType fillWithType = panel.getFillWithType();
-            long dataLength = panel.getDataLength();
-            if (dataLength > previewLengthLimit) {
-                dataLength = previewLengthLimit;
+        FillWithType fillWithType = panel.getFillWithType();
+        long dataLength = Math.min(panel.getDataLength(), previewLengthLimit);
+        EditableBinaryData sampleBinaryData = panel.getSampleBinaryData();
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
+            BinaryData fillData = createFillData(fillWithType, dataLength, sampleBinaryData);
+            if (fillData != null) {
+                return fillData;
             }
-            EditableBinaryData sampleBinaryData = panel.getSampleBinaryData();
 
             EditableBinaryData previewBinaryData = new ByteArrayEditableData();
             previewBinaryData.insertUninitialized(0, dataLength);
             generateData(previewBinaryData, fillWithType, 0, dataLength, sampleBinaryData);
-            previewPanel.setPreviewData(previewBinaryData);
-        });
+            return previewBinaryData;
+        }, targetPanel::setPreviewData);
+    }
+
+    /**
+     * Creates virtual data representing fill without materializing it.
+     *
+     * @param fillWithType fill type
+     * @param length length
+     * @param sampleBinaryData sample data
+     * @return fill data or null if sample is too large for pattern
+     */
+    @Nullable
+    public BinaryData createFillData(FillWithType fillWithType, long length, BinaryData sampleBinaryData) {
+        switch (fillWithType) {
+            case EMPTY:
+                return new FillBinaryData((byte) 0x0, length);
+            case SPACE:
+                return new FillBinaryData((byte) 0x20, length);
+            case SAMPLE: {
+                long sampleDataSize = sampleBinaryData.getDataSize();
+                if (sampleDataSize == 0) {
+                    return new FillBinaryData((byte) 0xff, length);
+                } else if (sampleDataSize <= PatternFiller.BLOCK_SIZE) {
+                    byte[] pattern = new byte[(int) sampleDataSize];
+                    sampleBinaryData.copyToArray(0, pattern, 0, pattern.length);
+                    return new FillBinaryData(pattern, length);
+                }
+                return null;
+            }
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(fillWithType);
+        }
     }
 
     public enum FillWithType {
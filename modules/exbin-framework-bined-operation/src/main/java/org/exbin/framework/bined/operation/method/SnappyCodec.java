@@ -0,0 +1,347 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.io.IOException;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Snappy raw format codec.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SnappyCodec {
+
+    private static final int FRAGMENT_SIZE = 65536;
+    private static final int INPUT_MARGIN = 15;
+    private static final int HASH_LOG = 14;
+    private static final int TAG_LITERAL = 0;
+    private static final int TAG_COPY_1 = 1;
+    private static final int TAG_COPY_2 = 2;
+    private static final int TAG_COPY_4 = 3;
+
+    private SnappyCodec() {
+    }
+
+    /**
+     * Returns maximum length of compressed data for given input length.
+     *
+     * @param length input length
+     * @return maximum compressed length
+     */
+    public static int maxCompressedLength(int length) {
+        return 32 + length + length / 6;
+    }
+
+    /**
+     * Compresses data to Snappy raw format.
+     *
+     * @param source source buffer
+     * @param sourceOffset source offset
+     * @param sourceLength source length
+     * @param target target buffer with at least maxCompressedLength space
+     * @param targetOffset target offset
+     * @return length of compressed data
+     */
+    public static int compress(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset) {
+        int targetPosition = writeVarInt(target, targetOffset, sourceLength);
+        int[] hashTable = new int[1 << HASH_LOG];
+        int sourceEnd = sourceOffset + sourceLength;
+        // Input is processed in independent fragments as in reference implementation
+        for (int fragmentStart = sourceOffset; fragmentStart < sourceEnd; fragmentStart += FRAGMENT_SIZE) {
+            int fragmentLength = Math.min(FRAGMENT_SIZE, sourceEnd - fragmentStart);
+            targetPosition = compressFragment(source, fragmentStart, fragmentLength, target, targetPosition, hashTable);
+        }
+        return targetPosition - targetOffset;
+    }
+
+    private static int compressFragment(byte[] source, int fragmentStart, int fragmentLength, byte[] target, int targetPosition, int[] hashTable) {
+        int fragmentEnd = fragmentStart + fragmentLength;
+        int anchor = fragmentStart;
+        if (fragmentLength >= INPUT_MARGIN) {
+            Arrays.fill(hashTable, -1);
+            int limit = fragmentEnd - INPUT_MARGIN;
+            int position = fragmentStart + 1;
+
+            search:
+            while (true) {
+                int candidate;
+                int skip = 32;
+                int nextPosition = position;
+                do {
+                    position = nextPosition;
+                    if (position > limit) {
+                        break search;
+                    }
+
+                    nextPosition = position + (skip++ >>> 5);
+                    int hash = hash(readInt(source, position));
+                    candidate = hashTable[hash];
+                    hashTable[hash] = position;
+                } while (candidate < 0 || readInt(source, candidate) != readInt(source, position));
+
+                targetPosition = emitLiteral(source, anchor, position - anchor, target, targetPosition);
+                do {
+                    int matchStart = position;
+                    position += 4;
+                    int reference = candidate + 4;
+                    while (position < fragmentEnd && source[position] == source[reference]) {
+                        position++;
+                        reference++;
+                    }
+                    targetPosition = emitCopy(target, targetPosition, matchStart - candidate, position - matchStart);
+                    anchor = position;
+                    if (position >= limit) {
+                        break search;
+                    }
+
+                    hashTable[hash(readInt(source, position - 1))] = position - 1;
+                    int hash = hash(readInt(source, position));
+                    candidate = hashTable[hash];
+                    hashTable[hash] = position;
+                } while (candidate >= 0 && readInt(source, candidate) == readInt(source, position));
+                position++;
+            }
+        }
+
+        return emitLiteral(source, anchor, fragmentEnd - anchor, target, targetPosition);
+    }
+
+    /**
+     * Returns declared length of uncompressed data.
+     *
+     * @param source source buffer
+     * @param sourceOffset source offset
+     * @param sourceLength source length
+     * @return uncompressed length
+     * @throws IOException when length header is malformed
+     */
+    public static int getUncompressedLength(byte[] source, int sourceOffset, int sourceLength) throws IOException {
+        long result = 0;
+        int sourceEnd = sourceOffset + sourceLength;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (sourceOffset >= sourceEnd) {
+                throw createMalformedException();
+            }
+            int value = source[sourceOffset++] & 0xff;
+            result |= (long) (value & 0x7f) << shift;
+            if ((value & 0x80) == 0) {
+                if (result > Integer.MAX_VALUE) {
+                    throw createMalformedException();
+                }
+                return (int) result;
+            }
+        }
+        throw createMalformedException();
+    }
+
+    /**
+     * Decompresses Snappy raw data.
+     * <p>
+     * When target is null, data is only validated, which allows to cheaply
+     * test whether data region is valid Snappy data.
+     *
+     * @param source source buffer
+     * @param sourceOffset source offset
+     * @param sourceLength source length
+     * @param target target buffer or null for validation only
+     * @param targetOffset target offset
+     * @return length of decompressed data
+     * @throws IOException when data is malformed
+     */
+    public static int decompress(byte[] source, int sourceOffset, int sourceLength, @Nullable byte[] target, int targetOffset) throws IOException {
+        int uncompressedLength = getUncompressedLength(source, sourceOffset, sourceLength);
+        if (target != null && target.length - targetOffset < uncompressedLength) {
+            throw new IOException("Insufficient target space");
+        }
+
+        int sourceEnd = sourceOffset + sourceLength;
+        int sourcePosition = sourceOffset;
+        while ((source[sourcePosition++] & 0x80) != 0) {
+            // Skip length header
+        }
+
+        int produced = 0;
+        while (sourcePosition < sourceEnd) {
+            int tag = source[sourcePosition++] & 0xff;
+            int length;
+            int offset;
+            switch (tag & 3) {
+                case TAG_LITERAL: {
+                    length = tag >>> 2;
+                    if (length >= 60) {
+                        int bytes = length - 59;
+                        if (sourceEnd - sourcePosition < bytes) {
+                            throw createMalformedException();
+                        }
+                        length = readUnsigned(source, sourcePosition, bytes);
+                        sourcePosition += bytes;
+                    }
+                    length++;
+                    if (length <= 0 || length > sourceEnd - sourcePosition || length > uncompressedLength - produced) {
+                        throw createMalformedException();
+                    }
+                    if (target != null) {
+                        System.arraycopy(source, sourcePosition, target, targetOffset + produced, length);
+                    }
+                    sourcePosition += length;
+                    produced += length;
+                    continue;
+                }
+                case TAG_COPY_1: {
+                    if (sourcePosition >= sourceEnd) {
+                        throw createMalformedException();
+                    }
+                    length = 4 + ((tag >>> 2) & 7);
+                    offset = (tag >>> 5) << 8 | (source[sourcePosition++] & 0xff);
+                    break;
+                }
+                case TAG_COPY_2: {
+                    if (sourceEnd - sourcePosition < 2) {
+                        throw createMalformedException();
+                    }
+                    length = 1 + (tag >>> 2);
+                    offset = readUnsigned(source, sourcePosition, 2);
+                    sourcePosition += 2;
+                    break;
+                }
+                case TAG_COPY_4: {
+                    if (sourceEnd - sourcePosition < 4) {
+                        throw createMalformedException();
+                    }
+                    length = 1 + (tag >>> 2);
+                    offset = readUnsigned(source, sourcePosition, 4);
+                    sourcePosition += 4;
+                    break;
+                }
+                default:
+                    throw new IllegalStateException();
+            }
+
+            if (offset <= 0 || offset > produced || length > uncompressedLength - produced) {
+                throw createMalformedException();
+            }
+            if (target != null) {
+                int targetPosition = targetOffset + produced;
+                int reference = targetPosition - offset;
+                int copyEnd = targetPosition + length;
+                // Overlapping copy repeats pattern doubling copied length
+                while (targetPosition < copyEnd) {
+                    int copyLength = Math.min(targetPosition - reference, copyEnd - targetPosition);
+                    System.arraycopy(target, reference, target, targetPosition, copyLength);
+                    targetPosition += copyLength;
+                }
+            }
+            produced += length;
+        }
+
+        if (produced != uncompressedLength) {
+            throw createMalformedException();
+        }
+        return produced;
+    }
+
+    /**
+     * Tests whether given data is valid Snappy raw data.
+     *
+     * @param source source buffer
+     * @param sourceOffset source offset
+     * @param sourceLength source length
+     * @return length of decompressed data or -1 if data is not valid
+     */
+    public static int getDecompressedLength(byte[] source, int sourceOffset, int sourceLength) {
+        try {
+            return decompress(source, sourceOffset, sourceLength, null, 0);
+        } catch (IOException ex) {
+            return -1;
+        }
+    }
+
+    private static int emitLiteral(byte[] source, int literalStart, int literalLength, byte[] target, int targetPosition) {
+        if (literalLength == 0) {
+            return targetPosition;
+        }
+
+        int value = literalLength - 1;
+        if (value < 60) {
+            target[targetPosition++] = (byte) (value << 2 | TAG_LITERAL);
+        } else {
+            int bytes = value < 0x100 ? 1 : value < 0x10000 ? 2 : value < 0x1000000 ? 3 : 4;
+            target[targetPosition++] = (byte) ((59 + bytes) << 2 | TAG_LITERAL);
+            for (int i = 0; i < bytes; i++) {
+                target[targetPosition++] = (byte) (value >>> (i * 8));
+            }
+        }
+        System.arraycopy(source, literalStart, target, targetPosition, literalLength);
+        return targetPosition + literalLength;
+    }
+
+    private static int emitCopy(byte[] target, int targetPosition, int offset, int length) {
+        while (length >= 68) {
+            targetPosition = emitCopy2(target, targetPosition, offset, 64);
+            length -= 64;
+        }
+        if (length > 64) {
+            targetPosition = emitCopy2(target, targetPosition, offset, 60);
+            length -= 60;
+        }
+        if (length < 12 && offset < 2048) {
+            target[targetPosition++] = (byte) (TAG_COPY_1 | (length - 4) << 2 | (offset >>> 8) << 5);
+            target[targetPosition++] = (byte) offset;
+            return targetPosition;
+        }
+        return emitCopy2(target, targetPosition, offset, length);
+    }
+
+    private static int emitCopy2(byte[] target, int targetPosition, int offset, int length) {
+        target[targetPosition++] = (byte) (TAG_COPY_2 | (length - 1) << 2);
+        target[targetPosition++] = (byte) offset;
+        target[targetPosition++] = (byte) (offset >>> 8);
+        return targetPosition;
+    }
+
+    private static int writeVarInt(byte[] target, int targetPosition, int value) {
+        while ((value & ~0x7f) != 0) {
+            target[targetPosition++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        target[targetPosition++] = (byte) value;
+        return targetPosition;
+    }
+
+    private static int readUnsigned(byte[] buffer, int offset, int bytes) {
+        int value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value |= (buffer[offset + i] & 0xff) << (i * 8);
+        }
+        return value;
+    }
+
+    private static int hash(int value) {
+        return (value * 0x1e35a7bd) >>> (32 - HASH_LOG);
+    }
+
+    private static int readInt(byte[] buffer, int offset) {
+        return (buffer[offset] & 0xff) | (buffer[offset + 1] & 0xff) << 8 | (buffer[offset + 2] & 0xff) << 16 | (buffer[offset + 3] & 0xff) << 24;
+    }
+
+    private static IOException createMalformedException() {
+        return new IOException("Malformed Snappy data");
+    }
+}
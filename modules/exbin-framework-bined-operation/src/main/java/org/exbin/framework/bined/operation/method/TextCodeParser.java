@@ -0,0 +1,341 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.CodeAreaUtils;
+import org.exbin.bined.CodeType;
+
+/**
+ * Single pass parser of text code into binary data.
+ * <p>
+ * Characters are classified using lookup table and processed as stream
+ * without intermediate strings. Hexadecimal code also accepts common dump
+ * layouts: offsets column ended by colon or matching count of parsed bytes,
+ * "0x" and "\x" prefixes, ASCII column after "|" or after two spaces in
+ * colon separated dumps. Odd digit at the end of hexadecimal token is
+ * parsed as separate byte.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class TextCodeParser {
+
+    private static final int BUFFER_SIZE = 65536;
+    private static final int MAX_OFFSET_DIGITS = 16;
+    private static final int MIN_UNTERMINATED_OFFSET_DIGITS = 6;
+    private static final int[] OFFSET_RADIXES = {16, 10, 8};
+
+    private static final byte SPACE = -1;
+    private static final byte NEWLINE = -2;
+    private static final byte SEPARATOR = -3;
+    private static final byte COLON = -4;
+    private static final byte ASCII_COLUMN = -5;
+    private static final byte PREFIX = -6;
+    private static final byte INVALID = -7;
+
+    private final int radix;
+    private final boolean hexadecimal;
+    private final byte[] charTable = new byte[128];
+
+    public TextCodeParser(CodeType codeType) {
+        switch (codeType) {
+            case BINARY:
+                radix = 2;
+                break;
+            case OCTAL:
+                radix = 8;
+                break;
+            case DECIMAL:
+                radix = 10;
+                break;
+            case HEXADECIMAL:
+                radix = 16;
+                break;
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(codeType);
+        }
+        hexadecimal = codeType == CodeType.HEXADECIMAL;
+
+        Arrays.fill(charTable, INVALID);
+        for (int i = 0; i < radix; i++) {
+            charTable[Character.forDigit(i, radix)] = (byte) i;
+            charTable[Character.toUpperCase(Character.forDigit(i, radix))] = (byte) i;
+        }
+        charTable[' '] = SPACE;
+        charTable['\t'] = SPACE;
+        charTable['\f'] = SPACE;
+        charTable['\n'] = NEWLINE;
+        charTable['\r'] = NEWLINE;
+        for (char separator : ",;(){}[]\"'\\".toCharArray()) {
+            charTable[separator] = SEPARATOR;
+        }
+        if (hexadecimal) {
+            charTable[':'] = COLON;
+            charTable['|'] = ASCII_COLUMN;
+            charTable['x'] = PREFIX;
+            charTable['X'] = PREFIX;
+        }
+    }
+
+    /**
+     * Parses text from reader and writes parsed bytes into output.
+     *
+     * @param reader text reader
+     * @param output output stream
+     * @param maxLength maximum number of bytes to parse, rest of the text is
+     * skipped
+     * @return number of written bytes
+     * @throws IOException on read or write error or on invalid character
+     */
+    public long parse(Reader reader, OutputStream output, long maxLength) throws IOException {
+        char[] input = new char[BUFFER_SIZE];
+        byte[] outputBuffer = new byte[BUFFER_SIZE];
+        int outputLength = 0;
+        long written = 0;
+
+        long line = 1;
+        int tokenDigits = 0;
+        int tokenValue = 0;
+        boolean prefixed = false;
+        boolean lineStart = true;
+        boolean skipLine = false;
+        boolean colonLayout = false;
+        boolean lineHasData = false;
+        int spaceRun = 0;
+        // First token of line is kept until it is known whether it is offset
+        boolean firstToken = false;
+        int[] firstDigits = new int[MAX_OFFSET_DIGITS];
+        boolean offsetFound = false;
+        long[] offsetBases = new long[OFFSET_RADIXES.length];
+
+        int length;
+        while ((length = reader.read(input, 0, BUFFER_SIZE)) >= 0) {
+            for (int i = 0; i < length; i++) {
+                char symbol = input[i];
+                int symbolClass = symbol < 128 ? charTable[symbol] : INVALID;
+                if (skipLine && symbolClass != NEWLINE) {
+                    continue;
+                }
+                if (colonLayout && lineHasData && spaceRun >= 2 && symbolClass != SPACE && symbolClass != NEWLINE) {
+                    // ASCII column of colon separated dump
+                    skipLine = true;
+                    continue;
+                }
+
+                if (symbolClass >= 0) {
+                    if (tokenDigits == 0) {
+                        // Start of new token
+                        if (lineStart && hexadecimal) {
+                            firstToken = true;
+                        }
+                        lineStart = false;
+                    }
+
+                    if (firstToken) {
+                        if (tokenDigits < MAX_OFFSET_DIGITS) {
+                            firstDigits[tokenDigits++] = symbolClass;
+                            continue;
+                        }
+
+                        // Token is too long for offset, flush as data
+                        firstToken = false;
+                        tokenDigits = 0;
+                        for (int digit = 0; digit < MAX_OFFSET_DIGITS; digit++) {
+                            if ((tokenDigits & 1) == 1) {
+                                outputBuffer[outputLength++] = (byte) (tokenValue << 4 | firstDigits[digit]);
+                            } else {
+                                tokenValue = firstDigits[digit];
+                            }
+                            tokenDigits++;
+                        }
+                        written += MAX_OFFSET_DIGITS / 2;
+                        lineHasData = true;
+                    }
+
+                    if (hexadecimal) {
+                        if ((tokenDigits & 1) == 1) {
+                            outputBuffer[outputLength++] = (byte) (tokenValue << 4 | symbolClass);
+                            written++;
+                            if (outputLength == BUFFER_SIZE) {
+                                output.write(outputBuffer, 0, outputLength);
+                                outputLength = 0;
+                            }
+                            if (written >= maxLength) {
+                                output.write(outputBuffer, 0, outputLength);
+                                return written;
+                            }
+                        } else {
+                            tokenValue = symbolClass;
+                        }
+                    } else {
+                        tokenValue = tokenValue * radix + symbolClass;
+                        if (tokenValue > 255) {
+                            throw new IOException("Value out of range on line " + line);
+                        }
+                    }
+                    tokenDigits++;
+                    spaceRun = 0;
+                    continue;
+                }
+
+                if (symbolClass == PREFIX && !prefixed && (tokenDigits == 0 || (tokenDigits == 1 && (firstToken ? firstDigits[0] : tokenValue) == 0))) {
+                    // Skip "0x" and "\x" prefix
+                    if (tokenDigits == 0) {
+                        lineStart = false;
+                    }
+                    tokenDigits = 0;
+                    tokenValue = 0;
+                    firstToken = false;
+                    prefixed = true;
+                    continue;
+                }
+
+                // End of token
+                if (firstToken) {
+                    firstToken = false;
+                    boolean offset = false;
+                    if (symbolClass == COLON) {
+                        offset = true;
+                        colonLayout = true;
+                    } else if ((symbolClass == SPACE || (symbolClass == NEWLINE && offsetFound)) && tokenDigits >= MIN_UNTERMINATED_OFFSET_DIGITS) {
+                        // Offset without colon must match count of already parsed bytes
+                        offset = isExpectedOffset(firstDigits, tokenDigits, offsetFound ? offsetBases : null, written);
+                    }
+
+                    if (offset) {
+                        if (!offsetFound) {
+                            offsetFound = true;
+                            for (int radixIndex = 0; radixIndex < OFFSET_RADIXES.length; radixIndex++) {
+                                offsetBases[radixIndex] = parseOffset(firstDigits, tokenDigits, OFFSET_RADIXES[radixIndex]) - written;
+                            }
+                        }
+                        tokenDigits = 0;
+                    } else {
+                        int digits = tokenDigits;
+                        tokenDigits = 0;
+                        for (int digit = 0; digit < digits; digit++) {
+                            if ((tokenDigits & 1) == 1) {
+                                outputBuffer[outputLength++] = (byte) (tokenValue << 4 | firstDigits[digit]);
+                                written++;
+                            } else {
+                                tokenValue = firstDigits[digit];
+                            }
+                            tokenDigits++;
+                        }
+                    }
+                }
+
+                if (tokenDigits > 0) {
+                    if (!hexadecimal || (tokenDigits & 1) == 1) {
+                        outputBuffer[outputLength++] = (byte) tokenValue;
+                        written++;
+                    }
+                    lineHasData = true;
+                    tokenDigits = 0;
+                    tokenValue = 0;
+                    if (outputLength > BUFFER_SIZE - MAX_OFFSET_DIGITS) {
+                        output.write(outputBuffer, 0, outputLength);
+                        outputLength = 0;
+                    }
+                    if (written >= maxLength) {
+                        output.write(outputBuffer, 0, (int) (outputLength - (written - maxLength)));
+                        return maxLength;
+                    }
+                } else if (prefixed && symbolClass != NEWLINE) {
+                    throw new IOException("Missing digits after prefix on line " + line);
+                }
+                prefixed = false;
+
+                switch (symbolClass) {
+                    case SPACE:
+                        spaceRun++;
+                        break;
+                    case NEWLINE:
+                        if (symbol == '\n') {
+                            line++;
+                        }
+                        lineStart = true;
+                        skipLine = false;
+                        lineHasData = false;
+                        spaceRun = 0;
+                        break;
+                    case SEPARATOR:
+                    case COLON:
+                        spaceRun = 0;
+                        break;
+                    case ASCII_COLUMN:
+                        skipLine = true;
+                        break;
+                    default:
+                        throw new IOException("Invalid character '" + symbol + "' on line " + line);
+                }
+            }
+        }
+
+        // Process end of last token, final offset of od dump is skipped
+        if (firstToken && offsetFound && tokenDigits >= MIN_UNTERMINATED_OFFSET_DIGITS && isExpectedOffset(firstDigits, tokenDigits, offsetBases, written)) {
+            tokenDigits = 0;
+        } else if (firstToken) {
+            for (int digit = 0; digit < tokenDigits; digit++) {
+                if ((digit & 1) == 1) {
+                    outputBuffer[outputLength++] = (byte) (tokenValue << 4 | firstDigits[digit]);
+                    written++;
+                } else {
+                    tokenValue = firstDigits[digit];
+                }
+            }
+        } else if (prefixed && tokenDigits == 0) {
+            throw new IOException("Missing digits after prefix on line " + line);
+        }
+        if (tokenDigits > 0 && (!hexadecimal || (tokenDigits & 1) == 1)) {
+            outputBuffer[outputLength++] = (byte) tokenValue;
+            written++;
+        }
+        if (written > maxLength) {
+            outputLength -= (int) (written - maxLength);
+            written = maxLength;
+        }
+        output.write(outputBuffer, 0, outputLength);
+        return written;
+    }
+
+    private static boolean isExpectedOffset(int[] digits, int count, @Nullable long[] offsetBases, long written) {
+        for (int radixIndex = 0; radixIndex < OFFSET_RADIXES.length; radixIndex++) {
+            long value = parseOffset(digits, count, OFFSET_RADIXES[radixIndex]);
+            if (value >= 0 && value - (offsetBases == null ? 0 : offsetBases[radixIndex]) == written) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long parseOffset(int[] digits, int count, int radix) {
+        long value = 0;
+        for (int i = 0; i < count; i++) {
+            if (digits[i] >= radix) {
+                return -1;
+            }
+            value = value * radix + digits[i];
+        }
+        return value;
+    }
+}
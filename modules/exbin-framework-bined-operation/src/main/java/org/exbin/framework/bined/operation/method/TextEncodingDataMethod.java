@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import java.awt.Component;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.CodeAreaUtils;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.capability.SelectionCapable;
+import org.exbin.bined.operation.swing.command.CodeAreaCommand;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.operation.api.ConvertDataMethod;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
+import org.exbin.framework.bined.operation.method.codec.Ascii85Codec;
+import org.exbin.framework.bined.operation.method.codec.Base32Codec;
+import org.exbin.framework.bined.operation.method.codec.HexCodec;
+import org.exbin.framework.bined.operation.method.codec.StreamingCodec;
+import org.exbin.framework.bined.operation.method.gui.TextEncodingDataPanel;
+import org.exbin.framework.bined.operation.ConversionDataProvider;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
+import org.exbin.framework.bined.operation.command.ConvertDataCommand;
+import org.exbin.framework.bined.operation.ConvertDataOperation;
+import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
+
+/**
+ * Text encoding data method for Base 32, Ascii85, Z85 and hexadecimal
+ * encodings.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class TextEncodingDataMethod implements ConvertDataMethod {
+
+    private java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(TextEncodingDataPanel.class);
+
+    private PreviewDataHandler previewDataHandler;
+    private long previewLengthLimit = 0;
+    private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return resourceBundle.getString("method.name");
+    }
+
+    @Nonnull
+    @Override
+    public Component createComponent() {
+        TextEncodingDataPanel component = new TextEncodingDataPanel();
+        return component;
+    }
+
+    @Override
+    public void initFocus(Component component) {
+        ((TextEncodingDataPanel) component).initFocus();
+    }
+
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaCommand createConvertCommand(Component component, CodeAreaCore codeArea) {
+        TextEncodingDataPanel panel = (TextEncodingDataPanel) component;
+        EncodingType encodingType = panel.getEncodingType();
+        boolean decode = panel.isDecode();
+
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        ConversionDataProvider conversionDataProvider = (BinaryData sourceData, long sourcePosition, long sourceLength, EditableBinaryData targetData, long targetPosition, @Nullable ConversionProgressListener progressListener) -> {
+            String message = convertData(sourceData, sourcePosition, sourceLength, encodingType, decode, targetData, targetPosition);
+            if (!message.isEmpty()) {
+                throw new IllegalStateException(message);
+            }
+        };
+
+        return new ConvertDataCommand(codeArea, new ConvertDataOperation(position, length, length, conversionDataProvider));
+    }
+
+    @Override
+    public BinaryData performDirectConvert(Component component, CodeAreaCore codeArea) {
+        TextEncodingDataPanel panel = (TextEncodingDataPanel) component;
+        EncodingType encodingType = panel.getEncodingType();
+        boolean decode = panel.isDecode();
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        EditableBinaryData binaryData = new ByteArrayPagedData();
+        String message = convertData(codeArea.getContentData(), position, length, encodingType, decode, binaryData, 0);
+        if (!message.isEmpty()) {
+            throw new IllegalStateException(message);
+        }
+        return binaryData;
+    }
+
+    /**
+     * Encodes or decodes data range.
+     * <p>
+     * On failure no data are inserted into target data.
+     *
+     * @param sourceBinaryData source binary data
+     * @param position starting position
+     * @param length data length
+     * @param encodingType encoding type
+     * @param decode true for decoding, false for encoding
+     * @param targetBinaryData target binary data
+     * @param targetPosition target position
+     * @return error message or empty string on success
+     */
+    @Nonnull
+    public String convertData(BinaryData sourceBinaryData, long position, long length, EncodingType encodingType, boolean decode, EditableBinaryData targetBinaryData, long targetPosition) {
+        return convertData(sourceBinaryData, position, length, encodingType, decode, true, targetBinaryData, targetPosition);
+    }
+
+    @Nonnull
+    private String convertData(BinaryData sourceBinaryData, long position, long length, EncodingType encodingType, boolean decode, boolean completeInput, EditableBinaryData targetBinaryData, long targetPosition) {
+        try {
+            createCodec(encodingType).convert(sourceBinaryData, position, length, decode, completeInput, targetBinaryData, targetPosition);
+        } catch (IOException ex) {
+            return "Error: " + (ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage());
+        }
+
+        return "";
+    }
+
+    @Nonnull
+    public static StreamingCodec createCodec(EncodingType encodingType) {
+        switch (encodingType) {
+            case BASE32:
+                return new Base32Codec();
+            case ASCII85:
+                return new Ascii85Codec(Ascii85Codec.Variant.ASCII85);
+            case Z85:
+                return new Ascii85Codec(Ascii85Codec.Variant.Z85);
+            case HEX_LOWER_CASE:
+                return new HexCodec(false);
+            case HEX_UPPER_CASE:
+                return new HexCodec(true);
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(encodingType);
+        }
+    }
+
+    @Override
+    public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
+        this.previewDataHandler = previewDataHandler;
+        this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
+        TextEncodingDataPanel panel = (TextEncodingDataPanel) component;
+        panel.setResultChangeListener(() -> {
+            fillPreviewData(panel, codeArea);
+        });
+        fillPreviewData(panel, codeArea);
+    }
+
+    private void fillPreviewData(TextEncodingDataPanel panel, CodeAreaCore codeArea) {
+        EncodingType encodingType = panel.getEncodingType();
+        boolean decode = panel.isDecode();
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+        BinaryData contentData = codeArea.getContentData();
+        long sampleLength = PreviewExecutor.getSampleLength(length);
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
+            PreviewResult result = new PreviewResult();
+            result.binaryData = new ByteArrayEditableData();
+            result.message = convertData(contentData, position, sampleLength, encodingType, decode, sampleLength == length, result.binaryData, 0);
+            long previewDataSize = result.binaryData.getDataSize();
+            if (previewDataSize > previewLengthLimit) {
+                result.binaryData.remove(previewLengthLimit, previewDataSize - previewLengthLimit);
+            }
+            return result;
+        }, (result) -> {
+            if (result.message.isEmpty()) {
+                targetPanel.setPreviewData(result.binaryData);
+            } else {
+                targetPanel.setErrorMessage(result.message);
+            }
+        });
+    }
+
+    private static class PreviewResult {
+
+        EditableBinaryData binaryData;
+        String message;
+    }
+
+    /**
+     * Encoding type in order of panel selection.
+     */
+    public enum EncodingType {
+        BASE32,
+        ASCII85,
+        Z85,
+        HEX_LOWER_CASE,
+        HEX_UPPER_CASE
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Fast seedable pseudo-random generator using xoshiro256++ algorithm.
+ * <p>
+ * State is initialized from seed using SplitMix64. Not suitable for
+ * cryptographic purposes.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class XoshiroRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    public XoshiroRandom() {
+        this(System.nanoTime() ^ System.identityHashCode(new Object()) * GOLDEN_GAMMA);
+    }
+
+    public XoshiroRandom(long seed) {
+        setSeed(seed);
+    }
+
+    public final void setSeed(long seed) {
+        long state = seed;
+        state += GOLDEN_GAMMA;
+        s0 = splitMix64(state);
+        state += GOLDEN_GAMMA;
+        s1 = splitMix64(state);
+        state += GOLDEN_GAMMA;
+        s2 = splitMix64(state);
+        state += GOLDEN_GAMMA;
+        s3 = splitMix64(state);
+    }
+
+    public long nextLong() {
+        long result = Long.rotateLeft(s0 + s3, 23) + s0;
+        long shifted = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= shifted;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Returns value in range from 0 (inclusive) to bound (exclusive).
+     *
+     * @param bound upper bound
+     * @return random value
+     */
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Fills buffer range with random bytes.
+     *
+     * @param buffer target buffer
+     * @param offset offset
+     * @param length length
+     */
+    public void nextBytes(byte[] buffer, int offset, int length) {
+        int position = offset;
+        int end = offset + length;
+        while (end - position >= 8) {
+            long value = nextLong();
+            buffer[position] = (byte) value;
+            buffer[position + 1] = (byte) (value >>> 8);
+            buffer[position + 2] = (byte) (value >>> 16);
+            buffer[position + 3] = (byte) (value >>> 24);
+            buffer[position + 4] = (byte) (value >>> 32);
+            buffer[position + 5] = (byte) (value >>> 40);
+            buffer[position + 6] = (byte) (value >>> 48);
+            buffer[position + 7] = (byte) (value >>> 56);
+            position += 8;
+        }
+        if (position < end) {
+            long value = nextLong();
+            while (position < end) {
+                buffer[position++] = (byte) value;
+                value >>>= 8;
+            }
+        }
+    }
+
+    private static long splitMix64(long value) {
+        long result = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        result = (result ^ (result >>> 27)) * 0x94d049bb133111ebL;
+        return result ^ (result >>> 31);
+    }
+}
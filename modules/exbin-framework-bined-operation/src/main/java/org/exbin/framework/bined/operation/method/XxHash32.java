@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Streaming xxHash32 checksum as used by LZ4 frame format.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class XxHash32 {
+
+    private static final int PRIME1 = 0x9E3779B1;
+    private static final int PRIME2 = 0x85EBCA77;
+    private static final int PRIME3 = 0xC2B2AE3D;
+    private static final int PRIME4 = 0x27D4EB2F;
+    private static final int PRIME5 = 0x165667B1;
+
+    private final int seed;
+    private final byte[] pending = new byte[16];
+    private int pendingLength;
+    private long totalLength;
+    private int v1;
+    private int v2;
+    private int v3;
+    private int v4;
+
+    public XxHash32() {
+        this(0);
+    }
+
+    public XxHash32(int seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    public final void reset() {
+        v1 = seed + PRIME1 + PRIME2;
+        v2 = seed + PRIME2;
+        v3 = seed;
+        v4 = seed - PRIME1;
+        pendingLength = 0;
+        totalLength = 0;
+    }
+
+    public void update(byte[] buffer, int offset, int length) {
+        totalLength += length;
+        int end = offset + length;
+        if (pendingLength > 0) {
+            int fill = Math.min(16 - pendingLength, length);
+            System.arraycopy(buffer, offset, pending, pendingLength, fill);
+            pendingLength += fill;
+            offset += fill;
+            if (pendingLength < 16) {
+                return;
+            }
+
+            processStripe(pending, 0);
+            pendingLength = 0;
+        }
+
+        while (end - offset >= 16) {
+            processStripe(buffer, offset);
+            offset += 16;
+        }
+
+        if (offset < end) {
+            System.arraycopy(buffer, offset, pending, 0, end - offset);
+            pendingLength = end - offset;
+        }
+    }
+
+    public int getValue() {
+        int hash;
+        if (totalLength >= 16) {
+            hash = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            hash = seed + PRIME5;
+        }
+        hash += (int) totalLength;
+
+        int offset = 0;
+        while (pendingLength - offset >= 4) {
+            hash += readInt(pending, offset) * PRIME3;
+            hash = Integer.rotateLeft(hash, 17) * PRIME4;
+            offset += 4;
+        }
+        while (offset < pendingLength) {
+            hash += (pending[offset] & 0xff) * PRIME5;
+            hash = Integer.rotateLeft(hash, 11) * PRIME1;
+            offset++;
+        }
+
+        hash ^= hash >>> 15;
+        hash *= PRIME2;
+        hash ^= hash >>> 13;
+        hash *= PRIME3;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    /**
+     * Computes checksum of given data.
+     *
+     * @param buffer data buffer
+     * @param offset data offset
+     * @param length data length
+     * @return checksum
+     */
+    public static int hash(byte[] buffer, int offset, int length) {
+        XxHash32 hash = new XxHash32();
+        hash.update(buffer, offset, length);
+        return hash.getValue();
+    }
+
+    private void processStripe(byte[] buffer, int offset) {
+        v1 = round(v1, readInt(buffer, offset));
+        v2 = round(v2, readInt(buffer, offset + 4));
+        v3 = round(v3, readInt(buffer, offset + 8));
+        v4 = round(v4, readInt(buffer, offset + 12));
+    }
+
+    private static int round(int accumulator, int input) {
+        return Integer.rotateLeft(accumulator + input * PRIME2, 13) * PRIME1;
+    }
+
+    private static int readInt(byte[] buffer, int offset) {
+        return (buffer[offset] & 0xff) | (buffer[offset + 1] & 0xff) << 8 | (buffer[offset + 2] & 0xff) << 16 | (buffer[offset + 3] & 0xff) << 24;
+    }
+}
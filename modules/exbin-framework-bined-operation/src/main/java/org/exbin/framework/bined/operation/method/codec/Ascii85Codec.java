@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method.codec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Streaming Ascii85 and Z85 codec.
+ * <p>
+ * Ascii85 encoder uses "z" abbreviation for zero groups, decoder accepts
+ * optional "&lt;~" and "~&gt;" delimiters. Final partial group is encoded as
+ * one more character than remaining bytes for both variants.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class Ascii85Codec extends StreamingCodec {
+
+    private static final byte[] Z85_ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ.-:+=^!/*?&<>()[]{}@%$#".getBytes(StandardCharsets.US_ASCII);
+    private static final byte INVALID = -1;
+    private static final byte SKIP = -2;
+    private static final byte ZERO_GROUP = -3;
+    private static final byte END = -4;
+    private static final long MAX_GROUP_VALUE = 0xffffffffL;
+
+    private final Variant variant;
+    private final byte[] alphabet = new byte[85];
+    private final byte[] decodeTable = new byte[256];
+
+    public Ascii85Codec(Variant variant) {
+        this.variant = variant;
+        if (variant == Variant.Z85) {
+            System.arraycopy(Z85_ALPHABET, 0, alphabet, 0, alphabet.length);
+        } else {
+            for (int i = 0; i < alphabet.length; i++) {
+                alphabet[i] = (byte) ('!' + i);
+            }
+        }
+        Arrays.fill(decodeTable, INVALID);
+        decodeTable[' '] = SKIP;
+        decodeTable['\t'] = SKIP;
+        decodeTable['\r'] = SKIP;
+        decodeTable['\n'] = SKIP;
+        for (int i = 0; i < alphabet.length; i++) {
+            decodeTable[alphabet[i]] = (byte) i;
+        }
+        if (variant == Variant.ASCII85) {
+            decodeTable['z'] = ZERO_GROUP;
+            decodeTable['~'] = END;
+        }
+    }
+
+    @Nonnull
+    public Variant getVariant() {
+        return variant;
+    }
+
+    @Nonnull
+    @Override
+    public Encoder createEncoder() {
+        return new Ascii85Encoder();
+    }
+
+    @Nonnull
+    @Override
+    public Decoder createDecoder() {
+        return new Ascii85Decoder();
+    }
+
+    @Override
+    public int getMaxEncodedLength(int length) {
+        return ((length + 3) / 4 + 1) * 5;
+    }
+
+    @Override
+    public int getMaxDecodedLength(int length) {
+        return variant == Variant.ASCII85 ? (length + 1) * 4 : (length / 5 + 1) * 4;
+    }
+
+    private class Ascii85Encoder implements Encoder {
+
+        private final byte[] pending = new byte[4];
+        private int pendingLength = 0;
+
+        @Override
+        public int update(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset) {
+            int sourcePosition = sourceOffset;
+            int sourceEnd = sourceOffset + sourceLength;
+            int targetPosition = targetOffset;
+            if (pendingLength > 0) {
+                while (pendingLength < 4 && sourcePosition < sourceEnd) {
+                    pending[pendingLength++] = source[sourcePosition++];
+                }
+                if (pendingLength < 4) {
+                    return 0;
+                }
+                targetPosition = writeGroup(readGroup(pending, 0), target, targetPosition);
+                pendingLength = 0;
+            }
+
+            while (sourceEnd - sourcePosition >= 4) {
+                targetPosition = writeGroup(readGroup(source, sourcePosition), target, targetPosition);
+                sourcePosition += 4;
+            }
+
+            while (sourcePosition < sourceEnd) {
+                pending[pendingLength++] = source[sourcePosition++];
+            }
+            return targetPosition - targetOffset;
+        }
+
+        @Override
+        public int finish(byte[] target, int targetOffset) {
+            if (pendingLength == 0) {
+                return 0;
+            }
+
+            Arrays.fill(pending, pendingLength, 4, (byte) 0);
+            long value = readGroup(pending, 0);
+            int length = pendingLength + 1;
+            for (int i = 4; i >= 0; i--) {
+                if (i < length) {
+                    target[targetOffset + i] = alphabet[(int) (value % 85)];
+                }
+                value /= 85;
+            }
+            pendingLength = 0;
+            return length;
+        }
+
+        private int writeGroup(long value, byte[] target, int targetPosition) {
+            if (value == 0 && variant == Variant.ASCII85) {
+                target[targetPosition] = 'z';
+                return targetPosition + 1;
+            }
+
+            for (int i = 4; i >= 0; i--) {
+                target[targetPosition + i] = alphabet[(int) (value % 85)];
+                value /= 85;
+            }
+            return targetPosition + 5;
+        }
+    }
+
+    private static long readGroup(byte[] source, int offset) {
+        return (source[offset] & 0xffL) << 24 | (source[offset + 1] & 0xffL) << 16 | (source[offset + 2] & 0xffL) << 8 | (source[offset + 3] & 0xffL);
+    }
+
+    private class Ascii85Decoder implements Decoder {
+
+        private long value = 0;
+        private int count = 0;
+        private boolean started = false;
+        private boolean ended = false;
+        private boolean closed = false;
+
+        @Override
+        public int update(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset) throws IOException {
+            byte[] table = decodeTable;
+            int targetPosition = targetOffset;
+            int sourceEnd = sourceOffset + sourceLength;
+            for (int sourcePosition = sourceOffset; sourcePosition < sourceEnd; sourcePosition++) {
+                byte symbol = source[sourcePosition];
+                int symbolValue = table[symbol & 0xff];
+                if (ended) {
+                    if (symbol == '>' && !closed) {
+                        closed = true;
+                    } else if (symbolValue != SKIP) {
+                        throw new IOException("Invalid data after end of Ascii85 data");
+                    }
+                    continue;
+                }
+
+                if (symbolValue >= 0) {
+                    value = value * 85 + symbolValue;
+                    count++;
+                    if (count > 1) {
+                        started = true;
+                    }
+                    if (count == 5) {
+                        if (value > MAX_GROUP_VALUE) {
+                            throw new IOException("Invalid Ascii85 group value");
+                        }
+                        target[targetPosition] = (byte) (value >> 24);
+                        target[targetPosition + 1] = (byte) (value >> 16);
+                        target[targetPosition + 2] = (byte) (value >> 8);
+                        target[targetPosition + 3] = (byte) value;
+                        targetPosition += 4;
+                        value = 0;
+                        count = 0;
+                    }
+                } else if (symbolValue == ZERO_GROUP) {
+                    if (count != 0) {
+                        throw new IOException("Invalid zero group inside of Ascii85 group");
+                    }
+                    Arrays.fill(target, targetPosition, targetPosition + 4, (byte) 0);
+                    targetPosition += 4;
+                    started = true;
+                } else if (symbolValue == END) {
+                    if (!started && count == 1 && value == '<' - '!') {
+                        // Skip "<~" prefix
+                        value = 0;
+                        count = 0;
+                        started = true;
+                    } else {
+                        targetPosition = writePartial(target, targetPosition);
+                        ended = true;
+                    }
+                } else if (symbolValue == INVALID) {
+                    throw new IOException("Invalid Ascii85 character 0x" + Integer.toHexString(symbol & 0xff));
+                }
+            }
+            return targetPosition - targetOffset;
+        }
+
+        @Override
+        public int finish(byte[] target, int targetOffset) throws IOException {
+            int targetPosition = ended ? targetOffset : writePartial(target, targetOffset);
+            started = false;
+            ended = false;
+            closed = false;
+            return targetPosition - targetOffset;
+        }
+
+        private int writePartial(byte[] target, int targetPosition) throws IOException {
+            if (count == 0) {
+                return targetPosition;
+            }
+            if (count == 1) {
+                throw new IOException("Incomplete Ascii85 data");
+            }
+
+            int length = count - 1;
+            for (int i = count; i < 5; i++) {
+                value = value * 85 + 84;
+            }
+            if (value > MAX_GROUP_VALUE) {
+                throw new IOException("Invalid Ascii85 group value");
+            }
+            for (int i = 0; i < length; i++) {
+                target[targetPosition + i] = (byte) (value >> (24 - i * 8));
+            }
+            value = 0;
+            count = 0;
+            return targetPosition + length;
+        }
+    }
+
+    /**
+     * Base85 variant.
+     */
+    public enum Variant {
+        ASCII85,
+        Z85
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method.codec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Streaming Base32 codec (RFC 4648).
+ * <p>
+ * Decoder accepts lower case letters, skips whitespace and tolerates
+ * missing padding.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class Base32Codec extends StreamingCodec {
+
+    private static final byte[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".getBytes(StandardCharsets.US_ASCII);
+    private static final byte PADDING = '=';
+    private static final byte INVALID = -1;
+    private static final byte SKIP = -2;
+    private static final byte PAD = -3;
+    private static final byte[] DECODE_TABLE = new byte[256];
+    private static final int[] PADDING_LENGTHS = {0, 6, 4, 3, 1};
+
+    static {
+        Arrays.fill(DECODE_TABLE, INVALID);
+        DECODE_TABLE[' '] = SKIP;
+        DECODE_TABLE['\t'] = SKIP;
+        DECODE_TABLE['\r'] = SKIP;
+        DECODE_TABLE['\n'] = SKIP;
+        DECODE_TABLE[PADDING] = PAD;
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE_TABLE[ALPHABET[i]] = (byte) i;
+            DECODE_TABLE[Character.toLowerCase(ALPHABET[i])] = (byte) i;
+        }
+    }
+
+    public Base32Codec() {
+    }
+
+    @Nonnull
+    @Override
+    public Encoder createEncoder() {
+        return new Base32Encoder();
+    }
+
+    @Nonnull
+    @Override
+    public Decoder createDecoder() {
+        return new Base32Decoder();
+    }
+
+    @Override
+    public int getMaxEncodedLength(int length) {
+        return ((length + 4) / 5 + 1) * 8;
+    }
+
+    @Override
+    public int getMaxDecodedLength(int length) {
+        // Up to 7 symbols can be pending from previous chunk
+        return ((length + 7) / 8 + 1) * 5;
+    }
+
+    private static class Base32Encoder implements Encoder {
+
+        private final byte[] pending = new byte[5];
+        private int pendingLength = 0;
+
+        @Override
+        public int update(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset) {
+            int sourcePosition = sourceOffset;
+            int sourceEnd = sourceOffset + sourceLength;
+            int targetPosition = targetOffset;
+            if (pendingLength > 0) {
+                while (pendingLength < 5 && sourcePosition < sourceEnd) {
+                    pending[pendingLength++] = source[sourcePosition++];
+                }
+                if (pendingLength < 5) {
+                    return 0;
+                }
+                writeGroup(readGroup(pending, 0), target, targetPosition, 8);
+                targetPosition += 8;
+                pendingLength = 0;
+            }
+
+            while (sourceEnd - sourcePosition >= 5) {
+                writeGroup(readGroup(source, sourcePosition), target, targetPosition, 8);
+                sourcePosition += 5;
+                targetPosition += 8;
+            }
+
+            while (sourcePosition < sourceEnd) {
+                pending[pendingLength++] = source[sourcePosition++];
+            }
+            return targetPosition - targetOffset;
+        }
+
+        @Override
+        public int finish(byte[] target, int targetOffset) {
+            if (pendingLength == 0) {
+                return 0;
+            }
+
+            Arrays.fill(pending, pendingLength, 5, (byte) 0);
+            int paddingLength = PADDING_LENGTHS[pendingLength];
+            writeGroup(readGroup(pending, 0), target, targetOffset, 8 - paddingLength);
+            Arrays.fill(target, targetOffset + 8 - paddingLength, targetOffset + 8, PADDING);
+            pendingLength = 0;
+            return 8;
+        }
+
+        private static long readGroup(byte[] source, int offset) {
+            return (source[offset] & 0xffL) << 32 | (source[offset + 1] & 0xffL) << 24 | (source[offset + 2] & 0xffL) << 16 | (source[offset + 3] & 0xffL) << 8 | (source[offset + 4] & 0xffL);
+        }
+
+        private static void writeGroup(long bits, byte[] target, int targetOffset, int symbols) {
+            for (int i = 0; i < symbols; i++) {
+                target[targetOffset + i] = ALPHABET[(int) (bits >>> (35 - i * 5)) & 0x1f];
+            }
+        }
+    }
+
+    private static class Base32Decoder implements Decoder {
+
+        private long bits = 0;
+        private int count = 0;
+        private boolean padded = false;
+
+        @Override
+        public int update(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset) throws IOException {
+            int targetPosition = targetOffset;
+            int sourceEnd = sourceOffset + sourceLength;
+            for (int sourcePosition = sourceOffset; sourcePosition < sourceEnd; sourcePosition++) {
+                int value = DECODE_TABLE[source[sourcePosition] & 0xff];
+                if (value >= 0) {
+                    if (padded) {
+                        throw new IOException("Invalid Base32 data after padding");
+                    }
+                    bits = bits << 5 | value;
+                    count++;
+                    if (count == 8) {
+                        target[targetPosition] = (byte) (bits >> 32);
+                        target[targetPosition + 1] = (byte) (bits >> 24);
+                        target[targetPosition + 2] = (byte) (bits >> 16);
+                        target[targetPosition + 3] = (byte) (bits >> 8);
+                        target[targetPosition + 4] = (byte) bits;
+                        targetPosition += 5;
+                        bits = 0;
+                        count = 0;
+                    }
+                } else if (value == PAD) {
+                    if (!padded) {
+                        targetPosition = writePartial(target, targetPosition);
+                        padded = true;
+                    }
+                } else if (value == INVALID) {
+                    throw new IOException("Invalid Base32 character 0x" + Integer.toHexString(source[sourcePosition] & 0xff));
+                }
+            }
+            return targetPosition - targetOffset;
+        }
+
+        @Override
+        public int finish(byte[] target, int targetOffset) throws IOException {
+            int targetPosition = writePartial(target, targetOffset);
+            padded = false;
+            return targetPosition - targetOffset;
+        }
+
+        private int writePartial(byte[] target, int targetPosition) throws IOException {
+            int length;
+            switch (count) {
+                case 0:
+                    length = 0;
+                    break;
+                case 2:
+                    length = 1;
+                    break;
+                case 4:
+                    length = 2;
+                    break;
+                case 5:
+                    length = 3;
+                    break;
+                case 7:
+                    length = 4;
+                    break;
+                default:
+                    throw new IOException("Incomplete Base32 data");
+            }
+
+            // Drop unused low bits of the last symbol
+            long value = bits >>> (count * 5 - length * 8);
+            for (int i = length - 1; i >= 0; i--) {
+                target[targetPosition + i] = (byte) value;
+                value >>>= 8;
+            }
+            bits = 0;
+            count = 0;
+            return targetPosition + length;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method.codec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Streaming Base64 codec.
+ * <p>
+ * Output matches java.util.Base64 encoders of the same variant. Decoder
+ * skips whitespace, MIME decoder skips all characters outside of alphabet.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class Base64Codec extends StreamingCodec {
+
+    private static final byte[] STANDARD_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] URL_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final int MIME_LINE_LENGTH = 76;
+    private static final byte PADDING = '=';
+    private static final byte INVALID = -1;
+    private static final byte SKIP = -2;
+    private static final byte PAD = -3;
+
+    private final Variant variant;
+    private final byte[] alphabet;
+    private final byte[] decodeTable = new byte[256];
+
+    public Base64Codec(Variant variant) {
+        this.variant = variant;
+        alphabet = variant == Variant.URL ? URL_ALPHABET : STANDARD_ALPHABET;
+        Arrays.fill(decodeTable, variant == Variant.MIME ? SKIP : INVALID);
+        decodeTable[' '] = SKIP;
+        decodeTable['\t'] = SKIP;
+        decodeTable['\r'] = SKIP;
+        decodeTable['\n'] = SKIP;
+        decodeTable[PADDING] = PAD;
+        for (int i = 0; i < alphabet.length; i++) {
+            decodeTable[alphabet[i]] = (byte) i;
+        }
+    }
+
+    @Nonnull
+    public Variant getVariant() {
+        return variant;
+    }
+
+    @Nonnull
+    @Override
+    public Encoder createEncoder() {
+        return new Base64Encoder();
+    }
+
+    @Nonnull
+    @Override
+    public Decoder createDecoder() {
+        return new Base64Decoder();
+    }
+
+    @Override
+    public int getMaxEncodedLength(int length) {
+        int encodedLength = ((length + 2) / 3 + 1) * 4;
+        if (variant == Variant.MIME) {
+            encodedLength += (encodedLength / MIME_LINE_LENGTH + 1) * 2;
+        }
+        return encodedLength;
+    }
+
+    @Override
+    public int getMaxDecodedLength(int length) {
+        return (length / 4 + 1) * 3;
+    }
+
+    private class Base64Encoder implements Encoder {
+
+        private final byte[] pending = new byte[3];
+        private int pendingLength = 0;
+        private int lineLength = 0;
+
+        @Override
+        public int update(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset) {
+            int sourcePosition = sourceOffset;
+            int sourceEnd = sourceOffset + sourceLength;
+            int targetPosition = targetOffset;
+            if (pendingLength > 0) {
+                while (pendingLength < 3 && sourcePosition < sourceEnd) {
+                    pending[pendingLength++] = source[sourcePosition++];
+                }
+                if (pendingLength < 3) {
+                    return 0;
+                }
+                targetPosition = writeGroup(pending, 0, target, targetPosition);
+                pendingLength = 0;
+            }
+
+            if (variant == Variant.MIME) {
+                while (sourceEnd - sourcePosition >= 3) {
+                    targetPosition = writeGroup(source, sourcePosition, target, targetPosition);
+                    sourcePosition += 3;
+                }
+            } else {
+                byte[] encodeTable = alphabet;
+                while (sourceEnd - sourcePosition >= 3) {
+                    int bits = (source[sourcePosition] & 0xff) << 16 | (source[sourcePosition + 1] & 0xff) << 8 | (source[sourcePosition + 2] & 0xff);
+                    sourcePosition += 3;
+                    target[targetPosition] = encodeTable[bits >>> 18];
+                    target[targetPosition + 1] = encodeTable[(bits >>> 12) & 0x3f];
+                    target[targetPosition + 2] = encodeTable[(bits >>> 6) & 0x3f];
+                    target[targetPosition + 3] = encodeTable[bits & 0x3f];
+                    targetPosition += 4;
+                }
+            }
+
+            while (sourcePosition < sourceEnd) {
+                pending[pendingLength++] = source[sourcePosition++];
+            }
+            return targetPosition - targetOffset;
+        }
+
+        @Override
+        public int finish(byte[] target, int targetOffset) {
+            if (pendingLength == 0) {
+                return 0;
+            }
+
+            int targetPosition = wrapLine(target, targetOffset);
+            int bits = (pending[0] & 0xff) << 16 | (pendingLength > 1 ? (pending[1] & 0xff) << 8 : 0);
+            target[targetPosition++] = alphabet[bits >>> 18];
+            target[targetPosition++] = alphabet[(bits >>> 12) & 0x3f];
+            target[targetPosition++] = pendingLength > 1 ? alphabet[(bits >>> 6) & 0x3f] : PADDING;
+            target[targetPosition++] = PADDING;
+            pendingLength = 0;
+            return targetPosition - targetOffset;
+        }
+
+        private int writeGroup(byte[] source, int sourceOffset, byte[] target, int targetPosition) {
+            targetPosition = wrapLine(target, targetPosition);
+            int bits = (source[sourceOffset] & 0xff) << 16 | (source[sourceOffset + 1] & 0xff) << 8 | (source[sourceOffset + 2] & 0xff);
+            target[targetPosition] = alphabet[bits >>> 18];
+            target[targetPosition + 1] = alphabet[(bits >>> 12) & 0x3f];
+            target[targetPosition + 2] = alphabet[(bits >>> 6) & 0x3f];
+            target[targetPosition + 3] = alphabet[bits & 0x3f];
+            return targetPosition + 4;
+        }
+
+        private int wrapLine(byte[] target, int targetPosition) {
+            if (variant != Variant.MIME) {
+                return targetPosition;
+            }
+
+            // Line separator is written only when another group follows
+            if (lineLength == MIME_LINE_LENGTH) {
+                target[targetPosition++] = '\r';
+                target[targetPosition++] = '\n';
+                lineLength = 0;
+            }
+            lineLength += 4;
+            return targetPosition;
+        }
+    }
+
+    private class Base64Decoder implements Decoder {
+
+        private int bits = 0;
+        private int count = 0;
+        private boolean padded = false;
+
+        @Override
+        public int update(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset) throws IOException {
+            byte[] table = decodeTable;
+            int sourcePosition = sourceOffset;
+            int sourceEnd = sourceOffset + sourceLength;
+            int targetPosition = targetOffset;
+            while (sourcePosition < sourceEnd) {
+                if (count == 0 && !padded) {
+                    while (sourceEnd - sourcePosition >= 4) {
+                        int first = table[source[sourcePosition] & 0xff];
+                        int second = table[source[sourcePosition + 1] & 0xff];
+                        int third = table[source[sourcePosition + 2] & 0xff];
+                        int fourth = table[source[sourcePosition + 3] & 0xff];
+                        if ((first | second | third | fourth) < 0) {
+                            break;
+                        }
+
+                        int value = first << 18 | second << 12 | third << 6 | fourth;
+                        target[targetPosition] = (byte) (value >> 16);
+                        target[targetPosition + 1] = (byte) (value >> 8);
+                        target[targetPosition + 2] = (byte) value;
+                        targetPosition += 3;
+                        sourcePosition += 4;
+                    }
+                    if (sourcePosition == sourceEnd) {
+                        break;
+                    }
+                }
+
+                int value = table[source[sourcePosition++] & 0xff];
+                if (value >= 0) {
+                    if (padded) {
+                        throw new IOException("Invalid Base64 data after padding");
+                    }
+                    bits = bits << 6 | value;
+                    count++;
+                    if (count == 4) {
+                        target[targetPosition] = (byte) (bits >> 16);
+                        target[targetPosition + 1] = (byte) (bits >> 8);
+                        target[targetPosition + 2] = (byte) bits;
+                        targetPosition += 3;
+                        bits = 0;
+                        count = 0;
+                    }
+                } else if (value == PAD) {
+                    if (!padded) {
+                        targetPosition = writePartial(target, targetPosition);
+                        padded = true;
+                    }
+                } else if (value == INVALID) {
+                    throw new IOException("Invalid Base64 character 0x" + Integer.toHexString(source[sourcePosition - 1] & 0xff));
+                }
+            }
+            return targetPosition - targetOffset;
+        }
+
+        @Override
+        public int finish(byte[] target, int targetOffset) throws IOException {
+            int targetPosition = writePartial(target, targetOffset);
+            padded = false;
+            return targetPosition - targetOffset;
+        }
+
+        private int writePartial(byte[] target, int targetPosition) throws IOException {
+            switch (count) {
+                case 0:
+                    break;
+                case 2:
+                    target[targetPosition++] = (byte) (bits >> 4);
+                    break;
+                case 3:
+                    target[targetPosition++] = (byte) (bits >> 10);
+                    target[targetPosition++] = (byte) (bits >> 2);
+                    break;
+                default:
+                    throw new IOException("Incomplete Base64 data");
+            }
+            bits = 0;
+            count = 0;
+            return targetPosition;
+        }
+    }
+
+    /**
+     * Base64 variant.
+     */
+    public enum Variant {
+        STANDARD,
+        URL,
+        MIME
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method.codec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Streaming hexadecimal codec.
+ * <p>
+ * Decoder accepts both letter cases and skips whitespace.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class HexCodec extends StreamingCodec {
+
+    private static final byte INVALID = -1;
+    private static final byte SKIP = -2;
+    private static final byte[] DECODE_TABLE = new byte[256];
+
+    static {
+        Arrays.fill(DECODE_TABLE, INVALID);
+        DECODE_TABLE[' '] = SKIP;
+        DECODE_TABLE['\t'] = SKIP;
+        DECODE_TABLE['\r'] = SKIP;
+        DECODE_TABLE['\n'] = SKIP;
+        for (int i = 0; i < 10; i++) {
+            DECODE_TABLE['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            DECODE_TABLE['a' + i] = (byte) (10 + i);
+            DECODE_TABLE['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private final boolean upperCase;
+    private final short[] encodeTable = new short[256];
+
+    public HexCodec(boolean upperCase) {
+        this.upperCase = upperCase;
+        byte[] digits = (upperCase ? "0123456789ABCDEF" : "0123456789abcdef").getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < 256; i++) {
+            encodeTable[i] = (short) (digits[i >> 4] << 8 | digits[i & 0xf]);
+        }
+    }
+
+    public boolean isUpperCase() {
+        return upperCase;
+    }
+
+    @Nonnull
+    @Override
+    public Encoder createEncoder() {
+        return new HexEncoder();
+    }
+
+    @Nonnull
+    @Override
+    public Decoder createDecoder() {
+        return new HexDecoder();
+    }
+
+    @Override
+    public int getMaxEncodedLength(int length) {
+        return length * 2;
+    }
+
+    @Override
+    public int getMaxDecodedLength(int length) {
+        return length / 2 + 1;
+    }
+
+    private class HexEncoder implements Encoder {
+
+        @Override
+        public int update(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset) {
+            short[] table = encodeTable;
+            int targetPosition = targetOffset;
+            int sourceEnd = sourceOffset + sourceLength;
+            for (int sourcePosition = sourceOffset; sourcePosition < sourceEnd; sourcePosition++) {
+                short digits = table[source[sourcePosition] & 0xff];
+                target[targetPosition] = (byte) (digits >> 8);
+                target[targetPosition + 1] = (byte) digits;
+                targetPosition += 2;
+            }
+            return targetPosition - targetOffset;
+        }
+
+        @Override
+        public int finish(byte[] target, int targetOffset) {
+            return 0;
+        }
+    }
+
+    private static class HexDecoder implements Decoder {
+
+        private int pendingDigit = -1;
+
+        @Override
+        public int update(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset) throws IOException {
+            int targetPosition = targetOffset;
+            int sourcePosition = sourceOffset;
+            int sourceEnd = sourceOffset + sourceLength;
+            while (sourcePosition < sourceEnd) {
+                if (pendingDigit < 0) {
+                    while (sourceEnd - sourcePosition >= 2) {
+                        int high = DECODE_TABLE[source[sourcePosition] & 0xff];
+                        int low = DECODE_TABLE[source[sourcePosition + 1] & 0xff];
+                        if ((high | low) < 0) {
+                            break;
+                        }
+                        target[targetPosition++] = (byte) (high << 4 | low);
+                        sourcePosition += 2;
+                    }
+                    if (sourcePosition == sourceEnd) {
+                        break;
+                    }
+                }
+
+                byte symbol = source[sourcePosition++];
+                int digit = DECODE_TABLE[symbol & 0xff];
+                if (digit >= 0) {
+                    if (pendingDigit < 0) {
+                        pendingDigit = digit;
+                    } else {
+                        target[targetPosition++] = (byte) (pendingDigit << 4 | digit);
+                        pendingDigit = -1;
+                    }
+                } else if (digit == INVALID) {
+                    throw new IOException("Invalid hexadecimal character 0x" + Integer.toHexString(symbol & 0xff));
+                }
+            }
+            return targetPosition - targetOffset;
+        }
+
+        @Override
+        public int finish(byte[] target, int targetOffset) throws IOException {
+            if (pendingDigit >= 0) {
+                pendingDigit = -1;
+                throw new IOException("Odd number of hexadecimal digits");
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method.codec;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.framework.bined.operation.BinaryDataInsertOutputStream;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
+
+/**
+ * Text encoding codec processing data in fixed-size chunks.
+ * <p>
+ * Encoder and decoder keep partial blocks between chunks, so memory usage
+ * does not depend on length of processed data.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public abstract class StreamingCodec {
+
+    public static final int CHUNK_SIZE = 65536;
+
+    /**
+     * Creates new encoder instance.
+     *
+     * @return encoder
+     */
+    @Nonnull
+    public abstract Encoder createEncoder();
+
+    /**
+     * Creates new decoder instance.
+     *
+     * @return decoder
+     */
+    @Nonnull
+    public abstract Decoder createDecoder();
+
+    /**
+     * Returns maximum length of encoder output for given input length
+     * including pending data.
+     *
+     * @param length input length
+     * @return maximum output length
+     */
+    public abstract int getMaxEncodedLength(int length);
+
+    /**
+     * Returns maximum length of decoder output for given input length
+     * including pending data.
+     *
+     * @param length input length
+     * @return maximum output length
+     */
+    public abstract int getMaxDecodedLength(int length);
+
+    /**
+     * Encodes data range into output stream.
+     *
+     * @param source source data
+     * @param position source position
+     * @param length source length
+     * @param output output stream
+     * @param progressListener progress listener
+     * @throws IOException on write error or when interrupted
+     */
+    public void encode(BinaryData source, long position, long length, OutputStream output, @Nullable ConversionProgressListener progressListener) throws IOException {
+        Encoder encoder = createEncoder();
+        byte[] input = new byte[(int) Math.min(CHUNK_SIZE, length)];
+        byte[] buffer = new byte[getMaxEncodedLength(input.length)];
+        long processed = 0;
+        while (processed < length) {
+            checkCancelled();
+            int chunkLength = (int) Math.min(CHUNK_SIZE, length - processed);
+            source.copyToArray(position + processed, input, 0, chunkLength);
+            output.write(buffer, 0, encoder.update(input, 0, chunkLength, buffer, 0));
+            processed += chunkLength;
+            if (progressListener != null) {
+                progressListener.progress(processed, length);
+            }
+        }
+        output.write(buffer, 0, encoder.finish(buffer, 0));
+    }
+
+    /**
+     * Decodes data range into output stream.
+     *
+     * @param source source data
+     * @param position source position
+     * @param length source length
+     * @param output output stream
+     * @param progressListener progress listener
+     * @throws IOException on invalid input, write error or when interrupted
+     */
+    public void decode(BinaryData source, long position, long length, OutputStream output, @Nullable ConversionProgressListener progressListener) throws IOException {
+        decode(source, position, length, true, output, progressListener);
+    }
+
+    private void decode(BinaryData source, long position, long length, boolean completeInput, OutputStream output, @Nullable ConversionProgressListener progressListener) throws IOException {
+        Decoder decoder = createDecoder();
+        byte[] input = new byte[(int) Math.min(CHUNK_SIZE, length)];
+        byte[] buffer = new byte[getMaxDecodedLength(input.length)];
+        long processed = 0;
+        while (processed < length) {
+            checkCancelled();
+            int chunkLength = (int) Math.min(CHUNK_SIZE, length - processed);
+            source.copyToArray(position + processed, input, 0, chunkLength);
+            output.write(buffer, 0, decoder.update(input, 0, chunkLength, buffer, 0));
+            processed += chunkLength;
+            if (progressListener != null) {
+                progressListener.progress(processed, length);
+            }
+        }
+        if (completeInput) {
+            output.write(buffer, 0, decoder.finish(buffer, 0));
+        }
+    }
+
+    /**
+     * Encodes or decodes data range and inserts result into target data.
+     * <p>
+     * On failure already inserted data are removed.
+     *
+     * @param source source data
+     * @param position source position
+     * @param length source length
+     * @param decode true for decoding, false for encoding
+     * @param target target data
+     * @param targetPosition target position
+     * @throws IOException on invalid input or when interrupted
+     */
+    public void convert(BinaryData source, long position, long length, boolean decode, EditableBinaryData target, long targetPosition) throws IOException {
+        convert(source, position, length, decode, true, target, targetPosition);
+    }
+
+    /**
+     * Encodes or decodes data range and inserts result into target data.
+     * <p>
+     * Incomplete input is used for preview of beginning of the data, where
+     * partial block at the end of the range is dropped when decoding.
+     *
+     * @param source source data
+     * @param position source position
+     * @param length source length
+     * @param decode true for decoding, false for encoding
+     * @param completeInput false if range is only beginning of the data
+     * @param target target data
+     * @param targetPosition target position
+     * @throws IOException on invalid input or when interrupted
+     */
+    public void convert(BinaryData source, long position, long length, boolean decode, boolean completeInput, EditableBinaryData target, long targetPosition) throws IOException {
+        BinaryDataInsertOutputStream output = new BinaryDataInsertOutputStream(target, targetPosition);
+        try {
+            if (decode) {
+                decode(source, position, length, completeInput, output, null);
+            } else {
+                encode(source, position, length, output, null);
+            }
+            output.close();
+        } catch (IOException | RuntimeException ex) {
+            output.flush();
+            target.remove(targetPosition, output.getInsertedLength());
+            throw ex;
+        }
+    }
+
+    private static void checkCancelled() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Conversion cancelled");
+        }
+    }
+
+    /**
+     * Stateful encoder.
+     */
+    public interface Encoder {
+
+        /**
+         * Encodes chunk of data.
+         *
+         * @param source source buffer
+         * @param sourceOffset source offset
+         * @param sourceLength source length
+         * @param target target buffer
+         * @param targetOffset target offset
+         * @return number of bytes written to target
+         */
+        int update(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset);
+
+        /**
+         * Encodes remaining pending data.
+         *
+         * @param target target buffer
+         * @param targetOffset target offset
+         * @return number of bytes written to target
+         */
+        int finish(byte[] target, int targetOffset);
+    }
+
+    /**
+     * Stateful decoder.
+     */
+    public interface Decoder {
+
+        /**
+         * Decodes chunk of data.
+         *
+         * @param source source buffer
+         * @param sourceOffset source offset
+         * @param sourceLength source length
+         * @param target target buffer
+         * @param targetOffset target offset
+         * @return number of bytes written to target
+         * @throws IOException on invalid input
+         */
+        int update(byte[] source, int sourceOffset, int sourceLength, byte[] target, int targetOffset) throws IOException;
+
+        /**
+         * Decodes remaining pending data.
+         *
+         * @param target target buffer
+         * @param targetOffset target offset
+         * @return number of bytes written to target
+         * @throws IOException on invalid input
+         */
+        int finish(byte[] target, int targetOffset) throws IOException;
+    }
+}
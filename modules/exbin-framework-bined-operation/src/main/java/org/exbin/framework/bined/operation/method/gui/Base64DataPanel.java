@@ -214,7 +214,18 @@ public class Base64DataPanel extends javax.swing.JPanel {
 
     @Nonnull
     public Base64DataMethod.OperationType getOperationType() {
-        return basicDecoderRadioButton.isSelected() ? Base64DataMethod.OperationType.BASIC_DECODER : Base64DataMethod.OperationType.BASIC_ENCODER;
+        if (basicDecoderRadioButton.isSelected()) {
+            return Base64DataMethod.OperationType.BASIC_DECODER;
+        } else if (mimeEncoderRadioButton.isSelected()) {
+            return Base64DataMethod.OperationType.MIME_ENCODER;
+        } else if (mimeDecoderRadioButton.isSelected()) {
+            return Base64DataMethod.OperationType.MIME_DECODER;
+        } else if (urlEncoderRadioButton.isSelected()) {
+            return Base64DataMethod.OperationType.URL_ENCODER;
+        } else if (urlDecoderRadioButton.isSelected()) {
+            return Base64DataMethod.OperationType.URL_DECODER;
+        }
+        return Base64DataMethod.OperationType.BASIC_ENCODER;
     }
 
     public void setOperationType(Base64DataMethod.OperationType operationType) {
@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method.gui;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.operation.method.ByteTransform;
+import org.exbin.framework.bined.operation.method.codec.HexCodec;
+import org.exbin.framework.bined.operation.method.codec.StreamingCodec;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.utils.TestApplication;
+import org.exbin.framework.utils.UtilsModule;
+import org.exbin.framework.utils.WindowUtils;
+
+/**
+ * Byte transform method panel.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ByteTransformDataPanel extends javax.swing.JPanel {
+
+    private final java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(ByteTransformDataPanel.class);
+
+    private ResultChangeListener resultChangeListener = null;
+
+    public ByteTransformDataPanel() {
+        initComponents();
+        init();
+    }
+
+    private void init() {
+        keyTextField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                resultChanged();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                resultChanged();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                resultChanged();
+            }
+        });
+        updateFields();
+    }
+
+    @Nonnull
+    public ResourceBundle getResourceBundle() {
+        return resourceBundle;
+    }
+
+    /**
+     * This method is called from within the constructor to initialize the form.
+     * WARNING: Do NOT modify this code. The content of this method is always
+     * regenerated by the Form Editor.
+     */
+    @SuppressWarnings("unchecked")
+    // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
+    private void initComponents() {
+
+        transformPanel = new javax.swing.JPanel();
+        transformTypeLabel = new javax.swing.JLabel();
+        transformTypeComboBox = new javax.swing.JComboBox<>();
+        keyLabel = new javax.swing.JLabel();
+        keyTextField = new javax.swing.JTextField();
+        rotationLabel = new javax.swing.JLabel();
+        rotationSpinner = new javax.swing.JSpinner();
+
+        setLayout(new java.awt.BorderLayout());
+
+        transformTypeLabel.setText(resourceBundle.getString("transformTypeLabel.text")); // NOI18N
+
+        transformTypeComboBox.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] {
+            resourceBundle.getString("transformType.xor"),
+            resourceBundle.getString("transformType.add"),
+            resourceBundle.getString("transformType.subtract"),
+            resourceBundle.getString("transformType.rotate_left"),
+            resourceBundle.getString("transformType.rotate_right"),
+            resourceBundle.getString("transformType.substitute")
+        }));
+        transformTypeComboBox.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                transformTypeComboBoxItemStateChanged(evt);
+            }
+        });
+
+        keyLabel.setText(resourceBundle.getString("keyLabel.text")); // NOI18N
+
+        rotationLabel.setText(resourceBundle.getString("rotationLabel.text")); // NOI18N
+
+        rotationSpinner.setModel(new javax.swing.SpinnerNumberModel(1, 1, 7, 1));
+        rotationSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                rotationSpinnerStateChanged(evt);
+            }
+        });
+
+        javax.swing.GroupLayout transformPanelLayout = new javax.swing.GroupLayout(transformPanel);
+        transformPanel.setLayout(transformPanelLayout);
+        transformPanelLayout.setHorizontalGroup(
+            transformPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(transformPanelLayout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(transformPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(transformTypeLabel)
+                    .addComponent(keyLabel)
+                    .addComponent(rotationLabel))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(transformPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(transformTypeComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, 200, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(keyTextField, javax.swing.GroupLayout.DEFAULT_SIZE, 300, Short.MAX_VALUE)
+                    .addComponent(rotationSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 60, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addContainerGap())
+        );
+        transformPanelLayout.setVerticalGroup(
+            transformPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(transformPanelLayout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(transformPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(transformTypeLabel)
+                    .addComponent(transformTypeComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(transformPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(keyLabel)
+                    .addComponent(keyTextField, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(transformPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(rotationLabel)
+                    .addComponent(rotationSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+        );
+
+        add(transformPanel, java.awt.BorderLayout.CENTER);
+    }// </editor-fold>//GEN-END:initComponents
+
+    private void transformTypeComboBoxItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_transformTypeComboBoxItemStateChanged
+        if (evt.getStateChange() == java.awt.event.ItemEvent.SELECTED) {
+            updateFields();
+            resultChanged();
+        }
+    }//GEN-LAST:event_transformTypeComboBoxItemStateChanged
+
+    private void rotationSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_rotationSpinnerStateChanged
+        resultChanged();
+    }//GEN-LAST:event_rotationSpinnerStateChanged
+
+    private void updateFields() {
+        ByteTransform.TransformType transformType = getTransformType();
+        boolean rotation = transformType == ByteTransform.TransformType.ROTATE_LEFT || transformType == ByteTransform.TransformType.ROTATE_RIGHT;
+        keyTextField.setEnabled(!rotation);
+        rotationSpinner.setEnabled(rotation);
+    }
+
+    private void resultChanged() {
+        if (resultChangeListener != null) {
+            resultChangeListener.resultChanged();
+        }
+    }
+
+    @Nonnull
+    public ByteTransform.TransformType getTransformType() {
+        return ByteTransform.TransformType.values()[transformTypeComboBox.getSelectedIndex()];
+    }
+
+    public void setTransformType(ByteTransform.TransformType transformType) {
+        transformTypeComboBox.setSelectedIndex(transformType.ordinal());
+    }
+
+    /**
+     * Returns transform parameter.
+     * <p>
+     * Invalid hexadecimal key is returned as empty key.
+     *
+     * @return count of bits for rotations, key or table otherwise
+     */
+    @Nonnull
+    public byte[] getParameter() {
+        ByteTransform.TransformType transformType = getTransformType();
+        if (transformType == ByteTransform.TransformType.ROTATE_LEFT || transformType == ByteTransform.TransformType.ROTATE_RIGHT) {
+            return new byte[]{((Integer) rotationSpinner.getValue()).byteValue()};
+        }
+
+        byte[] source = keyTextField.getText().getBytes(StandardCharsets.US_ASCII);
+        byte[] target = new byte[source.length / 2 + 1];
+        StreamingCodec.Decoder decoder = new HexCodec(false).createDecoder();
+        try {
+            int length = decoder.update(source, 0, source.length, target, 0);
+            length += decoder.finish(target, length);
+            return Arrays.copyOf(target, length);
+        } catch (IOException ex) {
+            return new byte[0];
+        }
+    }
+
+    @Nonnull
+    public ByteTransform createTransform() {
+        return new ByteTransform(getTransformType(), getParameter());
+    }
+
+    public void setResultChangeListener(ResultChangeListener resultChangeListener) {
+        this.resultChangeListener = resultChangeListener;
+    }
+
+    public void initFocus() {
+        transformTypeComboBox.requestFocus();
+    }
+
+    /**
+     * Test method for this panel.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        TestApplication testApplication = UtilsModule.createTestApplication();
+        testApplication.launch(() -> {
+            testApplication.addModule(org.exbin.framework.language.api.LanguageModuleApi.MODULE_ID, new org.exbin.framework.language.api.utils.TestLanguageModule());
+            WindowUtils.invokeWindow(new ByteTransformDataPanel());
+        });
+    }
+
+    // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JLabel keyLabel;
+    private javax.swing.JTextField keyTextField;
+    private javax.swing.JLabel rotationLabel;
+    private javax.swing.JSpinner rotationSpinner;
+    private javax.swing.JPanel transformPanel;
+    private javax.swing.JComboBox<String> transformTypeComboBox;
+    private javax.swing.JLabel transformTypeLabel;
+    // End of variables declaration//GEN-END:variables
+
+    public interface ResultChangeListener {
+
+        void resultChanged();
+    }
+}
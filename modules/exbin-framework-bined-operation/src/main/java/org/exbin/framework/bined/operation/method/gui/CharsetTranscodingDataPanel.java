@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method.gui;
+
+import java.nio.charset.Charset;
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.DefaultComboBoxModel;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.operation.method.CharsetTranscoder;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.utils.TestApplication;
+import org.exbin.framework.utils.UtilsModule;
+import org.exbin.framework.utils.WindowUtils;
+
+/**
+ * Charset transcoding method panel.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CharsetTranscodingDataPanel extends javax.swing.JPanel {
+
+    private static final String DEFAULT_SOURCE_CHARSET = "UTF-16LE";
+    private static final String DEFAULT_TARGET_CHARSET = "UTF-8";
+
+    private final java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(CharsetTranscodingDataPanel.class);
+
+    private ResultChangeListener resultChangeListener = null;
+
+    public CharsetTranscodingDataPanel() {
+        initComponents();
+        init();
+    }
+
+    private void init() {
+        String[] charsetNames = Charset.availableCharsets().keySet().toArray(new String[0]);
+        sourceCharsetComboBox.setModel(new DefaultComboBoxModel<>(charsetNames));
+        sourceCharsetComboBox.setSelectedItem(DEFAULT_SOURCE_CHARSET);
+        targetCharsetComboBox.setModel(new DefaultComboBoxModel<>(charsetNames));
+        targetCharsetComboBox.setSelectedItem(DEFAULT_TARGET_CHARSET);
+    }
+
+    @Nonnull
+    public ResourceBundle getResourceBundle() {
+        return resourceBundle;
+    }
+
+    /**
+     * This method is called from within the constructor to initialize the form.
+     * WARNING: Do NOT modify this code. The content of this method is always
+     * regenerated by the Form Editor.
+     */
+    @SuppressWarnings("unchecked")
+    // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
+    private void initComponents() {
+
+        operationPanel = new javax.swing.JPanel();
+        sourceCharsetLabel = new javax.swing.JLabel();
+        sourceCharsetComboBox = new javax.swing.JComboBox<>();
+        targetCharsetLabel = new javax.swing.JLabel();
+        targetCharsetComboBox = new javax.swing.JComboBox<>();
+        invalidInputLabel = new javax.swing.JLabel();
+        invalidInputComboBox = new javax.swing.JComboBox<>();
+
+        setLayout(new java.awt.BorderLayout());
+
+        sourceCharsetLabel.setText(resourceBundle.getString("sourceCharsetLabel.text")); // NOI18N
+
+        sourceCharsetComboBox.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                sourceCharsetComboBoxItemStateChanged(evt);
+            }
+        });
+
+        targetCharsetLabel.setText(resourceBundle.getString("targetCharsetLabel.text")); // NOI18N
+
+        targetCharsetComboBox.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                targetCharsetComboBoxItemStateChanged(evt);
+            }
+        });
+
+        invalidInputLabel.setText(resourceBundle.getString("invalidInputLabel.text")); // NOI18N
+
+        invalidInputComboBox.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] {
+            resourceBundle.getString("invalidInput.report"),
+            resourceBundle.getString("invalidInput.replace"),
+            resourceBundle.getString("invalidInput.skip")
+        }));
+        invalidInputComboBox.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                invalidInputComboBoxItemStateChanged(evt);
+            }
+        });
+
+        javax.swing.GroupLayout operationPanelLayout = new javax.swing.GroupLayout(operationPanel);
+        operationPanel.setLayout(operationPanelLayout);
+        operationPanelLayout.setHorizontalGroup(
+            operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(operationPanelLayout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(sourceCharsetLabel)
+                    .addComponent(targetCharsetLabel)
+                    .addComponent(invalidInputLabel))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(sourceCharsetComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, 200, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(targetCharsetComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, 200, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(invalidInputComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, 200, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+        );
+        operationPanelLayout.setVerticalGroup(
+            operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(operationPanelLayout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(sourceCharsetLabel)
+                    .addComponent(sourceCharsetComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(targetCharsetLabel)
+                    .addComponent(targetCharsetComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(invalidInputLabel)
+                    .addComponent(invalidInputComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+        );
+
+        add(operationPanel, java.awt.BorderLayout.CENTER);
+    }// </editor-fold>//GEN-END:initComponents
+
+    private void sourceCharsetComboBoxItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_sourceCharsetComboBoxItemStateChanged
+        if (evt.getStateChange() == java.awt.event.ItemEvent.SELECTED) {
+            resultChanged();
+        }
+    }//GEN-LAST:event_sourceCharsetComboBoxItemStateChanged
+
+    private void targetCharsetComboBoxItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_targetCharsetComboBoxItemStateChanged
+        if (evt.getStateChange() == java.awt.event.ItemEvent.SELECTED) {
+            resultChanged();
+        }
+    }//GEN-LAST:event_targetCharsetComboBoxItemStateChanged
+
+    private void invalidInputComboBoxItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_invalidInputComboBoxItemStateChanged
+        if (evt.getStateChange() == java.awt.event.ItemEvent.SELECTED) {
+            resultChanged();
+        }
+    }//GEN-LAST:event_invalidInputComboBoxItemStateChanged
+
+    private void resultChanged() {
+        if (resultChangeListener != null) {
+            resultChangeListener.resultChanged();
+        }
+    }
+
+    @Nonnull
+    public Charset getSourceCharset() {
+        return Charset.forName((String) sourceCharsetComboBox.getSelectedItem());
+    }
+
+    public void setSourceCharset(Charset charset) {
+        sourceCharsetComboBox.setSelectedItem(charset.name());
+    }
+
+    @Nonnull
+    public Charset getTargetCharset() {
+        return Charset.forName((String) targetCharsetComboBox.getSelectedItem());
+    }
+
+    public void setTargetCharset(Charset charset) {
+        targetCharsetComboBox.setSelectedItem(charset.name());
+    }
+
+    @Nonnull
+    public CharsetTranscoder.InvalidInputAction getInvalidInputAction() {
+        return CharsetTranscoder.InvalidInputAction.values()[invalidInputComboBox.getSelectedIndex()];
+    }
+
+    public void setInvalidInputAction(CharsetTranscoder.InvalidInputAction invalidInputAction) {
+        invalidInputComboBox.setSelectedIndex(invalidInputAction.ordinal());
+    }
+
+    public void setResultChangeListener(ResultChangeListener resultChangeListener) {
+        this.resultChangeListener = resultChangeListener;
+    }
+
+    public void initFocus() {
+        sourceCharsetComboBox.requestFocus();
+    }
+
+    /**
+     * Test method for this panel.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        TestApplication testApplication = UtilsModule.createTestApplication();
+        testApplication.launch(() -> {
+            testApplication.addModule(org.exbin.framework.language.api.LanguageModuleApi.MODULE_ID, new org.exbin.framework.language.api.utils.TestLanguageModule());
+            WindowUtils.invokeWindow(new CharsetTranscodingDataPanel());
+        });
+    }
+
+    // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JComboBox<String> invalidInputComboBox;
+    private javax.swing.JLabel invalidInputLabel;
+    private javax.swing.JPanel operationPanel;
+    private javax.swing.JComboBox<String> sourceCharsetComboBox;
+    private javax.swing.JLabel sourceCharsetLabel;
+    private javax.swing.JComboBox<String> targetCharsetComboBox;
+    private javax.swing.JLabel targetCharsetLabel;
+    // End of variables declaration//GEN-END:variables
+
+    public interface ResultChangeListener {
+
+        void resultChanged();
+    }
+}
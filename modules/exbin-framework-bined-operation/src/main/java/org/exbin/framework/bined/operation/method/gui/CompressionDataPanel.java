@@ -101,7 +101,8 @@ public class CompressionDataPanel extends javax.swing.JPanel {
         algorithmComboBox.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] {
             resourceBundle.getString("algorithm.gzip"),
             resourceBundle.getString("algorithm.zip"),
-            resourceBundle.getString("algorithm.deflate")
+            resourceBundle.getString("algorithm.deflate"),
+            resourceBundle.getString("algorithm.gzipParallel")
         }));
         algorithmComboBox.addItemListener(new java.awt.event.ItemListener() {
             public void itemStateChanged(java.awt.event.ItemEvent evt) {
@@ -269,6 +270,8 @@ public class CompressionDataPanel extends javax.swing.JPanel {
                 return CompressionDataMethod.CompressionAlgorithm.ZIP;
             case 2:
                 return CompressionDataMethod.CompressionAlgorithm.DEFLATE;
+            case 3:
+                return CompressionDataMethod.CompressionAlgorithm.GZIP_PARALLEL;
             default:
                 return CompressionDataMethod.CompressionAlgorithm.GZIP;
         }
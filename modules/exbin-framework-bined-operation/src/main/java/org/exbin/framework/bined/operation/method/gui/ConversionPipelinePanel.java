@@ -0,0 +1,411 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method.gui;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.DefaultListModel;
+import javax.swing.JList;
+import javax.swing.JOptionPane;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.operation.pipeline.ConversionPipeline;
+import org.exbin.framework.bined.operation.pipeline.ConversionPipelinePreset;
+import org.exbin.framework.bined.operation.pipeline.PipelineStage;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.utils.TestApplication;
+import org.exbin.framework.utils.UtilsModule;
+import org.exbin.framework.utils.WindowUtils;
+
+/**
+ * Conversion pipeline method panel.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ConversionPipelinePanel extends javax.swing.JPanel {
+
+    private final java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(ConversionPipelinePanel.class);
+
+    private final DefaultListModel<PipelineStage> availableStagesModel = new DefaultListModel<>();
+    private final DefaultListModel<PipelineStage> pipelineStagesModel = new DefaultListModel<>();
+    private final DefaultComboBoxModel<ConversionPipelinePreset> presetsModel = new DefaultComboBoxModel<>();
+    private ResultChangeListener resultChangeListener = null;
+    private PresetsChangeListener presetsChangeListener = null;
+
+    public ConversionPipelinePanel() {
+        initComponents();
+        init();
+    }
+
+    private void init() {
+        for (PipelineStage stage : PipelineStage.values()) {
+            availableStagesModel.addElement(stage);
+        }
+        DefaultListCellRenderer stageCellRenderer = new DefaultListCellRenderer() {
+            @Nonnull
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                return super.getListCellRendererComponent(list, getStageName((PipelineStage) value), index, isSelected, cellHasFocus);
+            }
+        };
+        availableStagesList.setModel(availableStagesModel);
+        availableStagesList.setCellRenderer(stageCellRenderer);
+        availableStagesList.addListSelectionListener((e) -> updateButtons());
+        pipelineStagesList.setModel(pipelineStagesModel);
+        pipelineStagesList.setCellRenderer(stageCellRenderer);
+        pipelineStagesList.addListSelectionListener((e) -> updateButtons());
+        presetComboBox.setModel(presetsModel);
+        updateButtons();
+    }
+
+    @Nonnull
+    public ResourceBundle getResourceBundle() {
+        return resourceBundle;
+    }
+
+    /**
+     * This method is called from within the constructor to initialize the form.
+     * WARNING: Do NOT modify this code. The content of this method is always
+     * regenerated by the Form Editor.
+     */
+    @SuppressWarnings("unchecked")
+    // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
+    private void initComponents() {
+
+        presetPanel = new javax.swing.JPanel();
+        presetLabel = new javax.swing.JLabel();
+        presetComboBox = new javax.swing.JComboBox<>();
+        savePresetButton = new javax.swing.JButton();
+        deletePresetButton = new javax.swing.JButton();
+        stagesPanel = new javax.swing.JPanel();
+        availableStagesPanel = new javax.swing.JPanel();
+        availableStagesLabel = new javax.swing.JLabel();
+        availableStagesScrollPane = new javax.swing.JScrollPane();
+        availableStagesList = new javax.swing.JList<>();
+        addStageButton = new javax.swing.JButton();
+        pipelineStagesPanel = new javax.swing.JPanel();
+        pipelineStagesLabel = new javax.swing.JLabel();
+        pipelineStagesScrollPane = new javax.swing.JScrollPane();
+        pipelineStagesList = new javax.swing.JList<>();
+        pipelineControlPanel = new javax.swing.JPanel();
+        removeStageButton = new javax.swing.JButton();
+        moveUpButton = new javax.swing.JButton();
+        moveDownButton = new javax.swing.JButton();
+
+        setLayout(new java.awt.BorderLayout());
+
+        presetPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.LEFT));
+
+        presetLabel.setText(resourceBundle.getString("presetLabel.text")); // NOI18N
+        presetPanel.add(presetLabel);
+
+        presetComboBox.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                presetComboBoxItemStateChanged(evt);
+            }
+        });
+        presetPanel.add(presetComboBox);
+
+        savePresetButton.setText(resourceBundle.getString("savePresetButton.text")); // NOI18N
+        savePresetButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                savePresetButtonActionPerformed(evt);
+            }
+        });
+        presetPanel.add(savePresetButton);
+
+        deletePresetButton.setText(resourceBundle.getString("deletePresetButton.text")); // NOI18N
+        deletePresetButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                deletePresetButtonActionPerformed(evt);
+            }
+        });
+        presetPanel.add(deletePresetButton);
+
+        add(presetPanel, java.awt.BorderLayout.NORTH);
+
+        stagesPanel.setLayout(new java.awt.GridLayout(1, 2, 5, 0));
+
+        availableStagesPanel.setLayout(new java.awt.BorderLayout());
+
+        availableStagesLabel.setText(resourceBundle.getString("availableStagesLabel.text")); // NOI18N
+        availableStagesPanel.add(availableStagesLabel, java.awt.BorderLayout.NORTH);
+
+        availableStagesList.setSelectionMode(javax.swing.ListSelectionModel.SINGLE_SELECTION);
+        availableStagesScrollPane.setViewportView(availableStagesList);
+
+        availableStagesPanel.add(availableStagesScrollPane, java.awt.BorderLayout.CENTER);
+
+        addStageButton.setText(resourceBundle.getString("addStageButton.text")); // NOI18N
+        addStageButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                addStageButtonActionPerformed(evt);
+            }
+        });
+        availableStagesPanel.add(addStageButton, java.awt.BorderLayout.SOUTH);
+
+        stagesPanel.add(availableStagesPanel);
+
+        pipelineStagesPanel.setLayout(new java.awt.BorderLayout());
+
+        pipelineStagesLabel.setText(resourceBundle.getString("pipelineStagesLabel.text")); // NOI18N
+        pipelineStagesPanel.add(pipelineStagesLabel, java.awt.BorderLayout.NORTH);
+
+        pipelineStagesList.setSelectionMode(javax.swing.ListSelectionModel.SINGLE_SELECTION);
+        pipelineStagesScrollPane.setViewportView(pipelineStagesList);
+
+        pipelineStagesPanel.add(pipelineStagesScrollPane, java.awt.BorderLayout.CENTER);
+
+        pipelineControlPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.LEFT));
+
+        removeStageButton.setText(resourceBundle.getString("removeStageButton.text")); // NOI18N
+        removeStageButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                removeStageButtonActionPerformed(evt);
+            }
+        });
+        pipelineControlPanel.add(removeStageButton);
+
+        moveUpButton.setText(resourceBundle.getString("moveUpButton.text")); // NOI18N
+        moveUpButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                moveUpButtonActionPerformed(evt);
+            }
+        });
+        pipelineControlPanel.add(moveUpButton);
+
+        moveDownButton.setText(resourceBundle.getString("moveDownButton.text")); // NOI18N
+        moveDownButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                moveDownButtonActionPerformed(evt);
+            }
+        });
+        pipelineControlPanel.add(moveDownButton);
+
+        pipelineStagesPanel.add(pipelineControlPanel, java.awt.BorderLayout.SOUTH);
+
+        stagesPanel.add(pipelineStagesPanel);
+
+        add(stagesPanel, java.awt.BorderLayout.CENTER);
+    }// </editor-fold>//GEN-END:initComponents
+
+    private void presetComboBoxItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_presetComboBoxItemStateChanged
+        if (evt.getStateChange() == java.awt.event.ItemEvent.SELECTED) {
+            setPipeline(((ConversionPipelinePreset) evt.getItem()).getPipeline());
+        }
+        updateButtons();
+    }//GEN-LAST:event_presetComboBoxItemStateChanged
+
+    private void savePresetButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_savePresetButtonActionPerformed
+        ConversionPipelinePreset selectedPreset = (ConversionPipelinePreset) presetComboBox.getSelectedItem();
+        String presetName = (String) JOptionPane.showInputDialog(this, resourceBundle.getString("presetName.text"), resourceBundle.getString("savePreset.title"), JOptionPane.QUESTION_MESSAGE, null, null, selectedPreset == null ? "" : selectedPreset.getName());
+        if (presetName == null || presetName.trim().isEmpty()) {
+            return;
+        }
+
+        ConversionPipelinePreset preset = new ConversionPipelinePreset(presetName.trim(), getPipeline());
+        int presetIndex = findPreset(preset.getName());
+        if (presetIndex >= 0) {
+            presetsModel.removeElementAt(presetIndex);
+            presetsModel.insertElementAt(preset, presetIndex);
+        } else {
+            presetsModel.addElement(preset);
+        }
+        presetsModel.setSelectedItem(preset);
+        presetsChanged();
+    }//GEN-LAST:event_savePresetButtonActionPerformed
+
+    private void deletePresetButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_deletePresetButtonActionPerformed
+        int presetIndex = presetComboBox.getSelectedIndex();
+        if (presetIndex >= 0) {
+            presetsModel.removeElementAt(presetIndex);
+            presetsChanged();
+        }
+    }//GEN-LAST:event_deletePresetButtonActionPerformed
+
+    private void addStageButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_addStageButtonActionPerformed
+        PipelineStage stage = availableStagesList.getSelectedValue();
+        if (stage != null) {
+            pipelineStagesModel.addElement(stage);
+            pipelineStagesList.setSelectedIndex(pipelineStagesModel.size() - 1);
+            resultChanged();
+        }
+    }//GEN-LAST:event_addStageButtonActionPerformed
+
+    private void removeStageButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_removeStageButtonActionPerformed
+        int stageIndex = pipelineStagesList.getSelectedIndex();
+        if (stageIndex >= 0) {
+            pipelineStagesModel.removeElementAt(stageIndex);
+            resultChanged();
+        }
+    }//GEN-LAST:event_removeStageButtonActionPerformed
+
+    private void moveUpButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_moveUpButtonActionPerformed
+        moveStage(-1);
+    }//GEN-LAST:event_moveUpButtonActionPerformed
+
+    private void moveDownButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_moveDownButtonActionPerformed
+        moveStage(1);
+    }//GEN-LAST:event_moveDownButtonActionPerformed
+
+    private void moveStage(int offset) {
+        int stageIndex = pipelineStagesList.getSelectedIndex();
+        int targetIndex = stageIndex + offset;
+        if (stageIndex < 0 || targetIndex < 0 || targetIndex >= pipelineStagesModel.size()) {
+            return;
+        }
+
+        PipelineStage stage = pipelineStagesModel.remove(stageIndex);
+        pipelineStagesModel.add(targetIndex, stage);
+        pipelineStagesList.setSelectedIndex(targetIndex);
+        resultChanged();
+    }
+
+    private int findPreset(String presetName) {
+        for (int i = 0; i < presetsModel.getSize(); i++) {
+            if (presetsModel.getElementAt(i).getName().equals(presetName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Nonnull
+    private String getStageName(PipelineStage stage) {
+        return resourceBundle.getString("stage." + stage.name().toLowerCase());
+    }
+
+    private void updateButtons() {
+        int stageIndex = pipelineStagesList.getSelectedIndex();
+        addStageButton.setEnabled(availableStagesList.getSelectedIndex() >= 0);
+        removeStageButton.setEnabled(stageIndex >= 0);
+        moveUpButton.setEnabled(stageIndex > 0);
+        moveDownButton.setEnabled(stageIndex >= 0 && stageIndex < pipelineStagesModel.size() - 1);
+        deletePresetButton.setEnabled(presetComboBox.getSelectedIndex() >= 0);
+    }
+
+    private void resultChanged() {
+        updateButtons();
+        if (resultChangeListener != null) {
+            resultChangeListener.resultChanged();
+        }
+    }
+
+    private void presetsChanged() {
+        updateButtons();
+        if (presetsChangeListener != null) {
+            presetsChangeListener.presetsChanged(getPresets());
+        }
+    }
+
+    @Nonnull
+    public ConversionPipeline getPipeline() {
+        List<PipelineStage> stages = new ArrayList<>();
+        for (int i = 0; i < pipelineStagesModel.size(); i++) {
+            stages.add(pipelineStagesModel.get(i));
+        }
+        return new ConversionPipeline(stages);
+    }
+
+    public void setPipeline(ConversionPipeline pipeline) {
+        pipelineStagesModel.clear();
+        for (PipelineStage stage : pipeline.getStages()) {
+            pipelineStagesModel.addElement(stage);
+        }
+        resultChanged();
+    }
+
+    @Nonnull
+    public List<ConversionPipelinePreset> getPresets() {
+        List<ConversionPipelinePreset> presets = new ArrayList<>();
+        for (int i = 0; i < presetsModel.getSize(); i++) {
+            presets.add(presetsModel.getElementAt(i));
+        }
+        return presets;
+    }
+
+    public void setPresets(List<ConversionPipelinePreset> presets) {
+        presetsModel.removeAllElements();
+        for (ConversionPipelinePreset preset : presets) {
+            presetsModel.addElement(preset);
+        }
+        presetsModel.setSelectedItem(null);
+        updateButtons();
+    }
+
+    public void setResultChangeListener(ResultChangeListener resultChangeListener) {
+        this.resultChangeListener = resultChangeListener;
+    }
+
+    public void setPresetsChangeListener(PresetsChangeListener presetsChangeListener) {
+        this.presetsChangeListener = presetsChangeListener;
+    }
+
+    public void initFocus() {
+        availableStagesList.requestFocus();
+    }
+
+    /**
+     * Test method for this panel.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        TestApplication testApplication = UtilsModule.createTestApplication();
+        testApplication.launch(() -> {
+            testApplication.addModule(org.exbin.framework.language.api.LanguageModuleApi.MODULE_ID, new org.exbin.framework.language.api.utils.TestLanguageModule());
+            WindowUtils.invokeWindow(new ConversionPipelinePanel());
+        });
+    }
+
+    // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JButton addStageButton;
+    private javax.swing.JLabel availableStagesLabel;
+    private javax.swing.JList<PipelineStage> availableStagesList;
+    private javax.swing.JPanel availableStagesPanel;
+    private javax.swing.JScrollPane availableStagesScrollPane;
+    private javax.swing.JButton deletePresetButton;
+    private javax.swing.JButton moveDownButton;
+    private javax.swing.JButton moveUpButton;
+    private javax.swing.JPanel pipelineControlPanel;
+    private javax.swing.JLabel pipelineStagesLabel;
+    private javax.swing.JList<PipelineStage> pipelineStagesList;
+    private javax.swing.JPanel pipelineStagesPanel;
+    private javax.swing.JScrollPane pipelineStagesScrollPane;
+    private javax.swing.JComboBox<ConversionPipelinePreset> presetComboBox;
+    private javax.swing.JLabel presetLabel;
+    private javax.swing.JPanel presetPanel;
+    private javax.swing.JButton removeStageButton;
+    private javax.swing.JButton savePresetButton;
+    private javax.swing.JPanel stagesPanel;
+    // End of variables declaration//GEN-END:variables
+
+    public interface ResultChangeListener {
+
+        void resultChanged();
+    }
+
+    public interface PresetsChangeListener {
+
+        void presetsChanged(List<ConversionPipelinePreset> presets);
+    }
+}
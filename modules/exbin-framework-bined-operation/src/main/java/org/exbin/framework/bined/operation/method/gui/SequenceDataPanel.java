@@ -0,0 +1,378 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method.gui;
+
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.CodeAreaUtils;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.operation.method.SequenceDataMethod;
+import org.exbin.framework.bined.operation.method.SequenceGenerator;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.utils.TestApplication;
+import org.exbin.framework.utils.UtilsModule;
+import org.exbin.framework.utils.WindowUtils;
+
+/**
+ * Sequence data method panel.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SequenceDataPanel extends javax.swing.JPanel {
+
+    private static final int[] WIDTHS = {1, 2, 4, 8};
+
+    private final java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(SequenceDataPanel.class);
+
+    private ResultChangeListener resultChangeListener = null;
+
+    public SequenceDataPanel() {
+        initComponents();
+        init();
+    }
+
+    private void init() {
+        updateFields();
+    }
+
+    @Nonnull
+    public ResourceBundle getResourceBundle() {
+        return resourceBundle;
+    }
+
+    /**
+     * This method is called from within the constructor to initialize the form.
+     * WARNING: Do NOT modify this code. The content of this method is always
+     * regenerated by the Form Editor.
+     */
+    @SuppressWarnings("unchecked")
+    // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
+    private void initComponents() {
+
+        lengthLabel = new javax.swing.JLabel();
+        lengthBaseSwitchableSpinnerPanel = new org.exbin.framework.bined.gui.BaseSwitchableSpinnerPanel();
+        sequenceTypeLabel = new javax.swing.JLabel();
+        sequenceTypeComboBox = new javax.swing.JComboBox<>();
+        startValueLabel = new javax.swing.JLabel();
+        startValueSpinner = new javax.swing.JSpinner();
+        stepLabel = new javax.swing.JLabel();
+        stepSpinner = new javax.swing.JSpinner();
+        widthLabel = new javax.swing.JLabel();
+        widthComboBox = new javax.swing.JComboBox<>();
+        endiannessLabel = new javax.swing.JLabel();
+        endiannessComboBox = new javax.swing.JComboBox<>();
+        alphabetSizeLabel = new javax.swing.JLabel();
+        alphabetSizeSpinner = new javax.swing.JSpinner();
+        orderLabel = new javax.swing.JLabel();
+        orderSpinner = new javax.swing.JSpinner();
+
+        lengthLabel.setText(resourceBundle.getString("lengthLabel.text")); // NOI18N
+
+        lengthBaseSwitchableSpinnerPanel.setValue(10L);
+        lengthBaseSwitchableSpinnerPanel.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                lengthBaseSwitchableSpinnerPanelStateChanged(evt);
+            }
+        });
+
+        sequenceTypeLabel.setText(resourceBundle.getString("sequenceTypeLabel.text")); // NOI18N
+
+        sequenceTypeComboBox.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] {
+            resourceBundle.getString("sequenceType.integer"),
+            resourceBundle.getString("sequenceType.deBruijn"),
+            resourceBundle.getString("sequenceType.pwntools"),
+            resourceBundle.getString("sequenceType.metasploit")
+        }));
+        sequenceTypeComboBox.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                sequenceTypeComboBoxItemStateChanged(evt);
+            }
+        });
+
+        startValueLabel.setText(resourceBundle.getString("startValueLabel.text")); // NOI18N
+
+        startValueSpinner.setModel(new javax.swing.SpinnerNumberModel(Long.valueOf(0L), null, null, Long.valueOf(1L)));
+        startValueSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                startValueSpinnerStateChanged(evt);
+            }
+        });
+
+        stepLabel.setText(resourceBundle.getString("stepLabel.text")); // NOI18N
+
+        stepSpinner.setModel(new javax.swing.SpinnerNumberModel(Long.valueOf(1L), null, null, Long.valueOf(1L)));
+        stepSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                stepSpinnerStateChanged(evt);
+            }
+        });
+
+        widthLabel.setText(resourceBundle.getString("widthLabel.text")); // NOI18N
+
+        widthComboBox.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] {
+            resourceBundle.getString("width.8bit"),
+            resourceBundle.getString("width.16bit"),
+            resourceBundle.getString("width.32bit"),
+            resourceBundle.getString("width.64bit")
+        }));
+        widthComboBox.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                widthComboBoxItemStateChanged(evt);
+            }
+        });
+
+        endiannessLabel.setText(resourceBundle.getString("endiannessLabel.text")); // NOI18N
+
+        endiannessComboBox.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] {
+            resourceBundle.getString("endianness.bigEndian"),
+            resourceBundle.getString("endianness.littleEndian")
+        }));
+        endiannessComboBox.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                endiannessComboBoxItemStateChanged(evt);
+            }
+        });
+
+        alphabetSizeLabel.setText(resourceBundle.getString("alphabetSizeLabel.text")); // NOI18N
+
+        alphabetSizeSpinner.setModel(new javax.swing.SpinnerNumberModel(256, 2, 256, 1));
+        alphabetSizeSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                alphabetSizeSpinnerStateChanged(evt);
+            }
+        });
+
+        orderLabel.setText(resourceBundle.getString("orderLabel.text")); // NOI18N
+
+        orderSpinner.setModel(new javax.swing.SpinnerNumberModel(2, 1, 16, 1));
+        orderSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                orderSpinnerStateChanged(evt);
+            }
+        });
+
+        javax.swing.GroupLayout layout = new javax.swing.GroupLayout(this);
+        this.setLayout(layout);
+        layout.setHorizontalGroup(
+            layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(layout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(lengthLabel)
+                    .addComponent(sequenceTypeLabel)
+                    .addComponent(startValueLabel)
+                    .addComponent(stepLabel)
+                    .addComponent(widthLabel)
+                    .addComponent(endiannessLabel)
+                    .addComponent(alphabetSizeLabel)
+                    .addComponent(orderLabel))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(lengthBaseSwitchableSpinnerPanel, javax.swing.GroupLayout.DEFAULT_SIZE, 300, Short.MAX_VALUE)
+                    .addComponent(sequenceTypeComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, 200, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(startValueSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 200, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(stepSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 200, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(widthComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, 200, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(endiannessComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, 200, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(alphabetSizeSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 200, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(orderSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 200, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addContainerGap())
+        );
+        layout.setVerticalGroup(
+            layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(layout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.CENTER)
+                    .addComponent(lengthLabel)
+                    .addComponent(lengthBaseSwitchableSpinnerPanel, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(sequenceTypeLabel)
+                    .addComponent(sequenceTypeComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(startValueLabel)
+                    .addComponent(startValueSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(stepLabel)
+                    .addComponent(stepSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(widthLabel)
+                    .addComponent(widthComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(endiannessLabel)
+                    .addComponent(endiannessComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(alphabetSizeLabel)
+                    .addComponent(alphabetSizeSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(orderLabel)
+                    .addComponent(orderSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+        );
+    }// </editor-fold>//GEN-END:initComponents
+
+    private void lengthBaseSwitchableSpinnerPanelStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_lengthBaseSwitchableSpinnerPanelStateChanged
+        resultChanged();
+    }//GEN-LAST:event_lengthBaseSwitchableSpinnerPanelStateChanged
+
+    private void sequenceTypeComboBoxItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_sequenceTypeComboBoxItemStateChanged
+        if (evt.getStateChange() == java.awt.event.ItemEvent.SELECTED) {
+            updateFields();
+            resultChanged();
+        }
+    }//GEN-LAST:event_sequenceTypeComboBoxItemStateChanged
+
+    private void startValueSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_startValueSpinnerStateChanged
+        resultChanged();
+    }//GEN-LAST:event_startValueSpinnerStateChanged
+
+    private void stepSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_stepSpinnerStateChanged
+        resultChanged();
+    }//GEN-LAST:event_stepSpinnerStateChanged
+
+    private void widthComboBoxItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_widthComboBoxItemStateChanged
+        if (evt.getStateChange() == java.awt.event.ItemEvent.SELECTED) {
+            resultChanged();
+        }
+    }//GEN-LAST:event_widthComboBoxItemStateChanged
+
+    private void endiannessComboBoxItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_endiannessComboBoxItemStateChanged
+        if (evt.getStateChange() == java.awt.event.ItemEvent.SELECTED) {
+            resultChanged();
+        }
+    }//GEN-LAST:event_endiannessComboBoxItemStateChanged
+
+    private void alphabetSizeSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_alphabetSizeSpinnerStateChanged
+        resultChanged();
+    }//GEN-LAST:event_alphabetSizeSpinnerStateChanged
+
+    private void orderSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_orderSpinnerStateChanged
+        resultChanged();
+    }//GEN-LAST:event_orderSpinnerStateChanged
+    private void resultChanged() {
+        if (resultChangeListener != null) {
+            resultChangeListener.resultChanged();
+        }
+    }
+
+    private void updateFields() {
+        SequenceDataMethod.SequenceType sequenceType = getSequenceType();
+        boolean integerSequence = sequenceType == SequenceDataMethod.SequenceType.INTEGER;
+        boolean deBruijn = sequenceType == SequenceDataMethod.SequenceType.DE_BRUIJN;
+        startValueSpinner.setEnabled(integerSequence);
+        stepSpinner.setEnabled(integerSequence);
+        widthComboBox.setEnabled(integerSequence);
+        endiannessComboBox.setEnabled(integerSequence);
+        alphabetSizeSpinner.setEnabled(deBruijn);
+        orderSpinner.setEnabled(deBruijn);
+    }
+
+    @Nonnull
+    public SequenceDataMethod.SequenceType getSequenceType() {
+        return SequenceDataMethod.SequenceType.values()[sequenceTypeComboBox.getSelectedIndex()];
+    }
+
+    public void setSequenceType(SequenceDataMethod.SequenceType sequenceType) {
+        sequenceTypeComboBox.setSelectedIndex(sequenceType.ordinal());
+    }
+
+    /**
+     * Creates generator for currently selected sequence and its parameters.
+     *
+     * @return sequence generator
+     */
+    @Nonnull
+    public SequenceGenerator createGenerator() {
+        SequenceDataMethod.SequenceType sequenceType = getSequenceType();
+        switch (sequenceType) {
+            case INTEGER:
+                return SequenceGenerator.createIntegerSequence((Long) startValueSpinner.getValue(), (Long) stepSpinner.getValue(), WIDTHS[widthComboBox.getSelectedIndex()], endiannessComboBox.getSelectedIndex() == 0);
+            case DE_BRUIJN:
+                return SequenceGenerator.createDeBruijn((Integer) alphabetSizeSpinner.getValue(), (Integer) orderSpinner.getValue());
+            case PWNTOOLS_PATTERN:
+                return SequenceGenerator.createCyclicPattern(SequenceGenerator.CyclicPatternType.PWNTOOLS);
+            case METASPLOIT_PATTERN:
+                return SequenceGenerator.createCyclicPattern(SequenceGenerator.CyclicPatternType.METASPLOIT);
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(sequenceType);
+        }
+    }
+
+    public long getDataLength() {
+        return lengthBaseSwitchableSpinnerPanel.getValue();
+    }
+
+    public void setDataLength(long dataLength) {
+        lengthBaseSwitchableSpinnerPanel.setValue(dataLength);
+    }
+
+    public void setResultChangeListener(ResultChangeListener resultChangeListener) {
+        this.resultChangeListener = resultChangeListener;
+    }
+
+    public void initFocus() {
+        lengthBaseSwitchableSpinnerPanel.initFocus();
+    }
+
+    public void acceptInput() {
+        lengthBaseSwitchableSpinnerPanel.acceptInput();
+    }
+
+    /**
+     * Test method for this panel.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        TestApplication testApplication = UtilsModule.createTestApplication();
+        testApplication.launch(() -> {
+            testApplication.addModule(org.exbin.framework.language.api.LanguageModuleApi.MODULE_ID, new org.exbin.framework.language.api.utils.TestLanguageModule());
+            WindowUtils.invokeWindow(new SequenceDataPanel());
+        });
+    }
+
+    // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JLabel alphabetSizeLabel;
+    private javax.swing.JSpinner alphabetSizeSpinner;
+    private javax.swing.JComboBox<String> endiannessComboBox;
+    private javax.swing.JLabel endiannessLabel;
+    private org.exbin.framework.bined.gui.BaseSwitchableSpinnerPanel lengthBaseSwitchableSpinnerPanel;
+    private javax.swing.JLabel lengthLabel;
+    private javax.swing.JLabel orderLabel;
+    private javax.swing.JSpinner orderSpinner;
+    private javax.swing.JComboBox<String> sequenceTypeComboBox;
+    private javax.swing.JLabel sequenceTypeLabel;
+    private javax.swing.JLabel startValueLabel;
+    private javax.swing.JSpinner startValueSpinner;
+    private javax.swing.JLabel stepLabel;
+    private javax.swing.JSpinner stepSpinner;
+    private javax.swing.JComboBox<String> widthComboBox;
+    private javax.swing.JLabel widthLabel;
+    // End of variables declaration//GEN-END:variables
+
+    public interface ResultChangeListener {
+
+        void resultChanged();
+    }
+}
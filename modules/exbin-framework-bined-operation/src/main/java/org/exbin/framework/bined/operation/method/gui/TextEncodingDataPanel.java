@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method.gui;
+
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.operation.method.TextEncodingDataMethod;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.utils.TestApplication;
+import org.exbin.framework.utils.UtilsModule;
+import org.exbin.framework.utils.WindowUtils;
+
+/**
+ * Text encoding method panel.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class TextEncodingDataPanel extends javax.swing.JPanel {
+
+    private final java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(TextEncodingDataPanel.class);
+
+    private ResultChangeListener resultChangeListener = null;
+
+    public TextEncodingDataPanel() {
+        initComponents();
+        init();
+    }
+
+    private void init() {
+    }
+
+    @Nonnull
+    public ResourceBundle getResourceBundle() {
+        return resourceBundle;
+    }
+
+    /**
+     * This method is called from within the constructor to initialize the form.
+     * WARNING: Do NOT modify this code. The content of this method is always
+     * regenerated by the Form Editor.
+     */
+    @SuppressWarnings("unchecked")
+    // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
+    private void initComponents() {
+
+        operationButtonGroup = new javax.swing.ButtonGroup();
+        operationPanel = new javax.swing.JPanel();
+        operationLabel = new javax.swing.JLabel();
+        encodeRadioButton = new javax.swing.JRadioButton();
+        decodeRadioButton = new javax.swing.JRadioButton();
+        encodingLabel = new javax.swing.JLabel();
+        encodingComboBox = new javax.swing.JComboBox<>();
+
+        setLayout(new java.awt.BorderLayout());
+
+        operationLabel.setText(resourceBundle.getString("operationLabel.text")); // NOI18N
+
+        operationButtonGroup.add(encodeRadioButton);
+        encodeRadioButton.setSelected(true);
+        encodeRadioButton.setText(resourceBundle.getString("encodeRadioButton.text")); // NOI18N
+        encodeRadioButton.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                encodeRadioButtonItemStateChanged(evt);
+            }
+        });
+
+        operationButtonGroup.add(decodeRadioButton);
+        decodeRadioButton.setText(resourceBundle.getString("decodeRadioButton.text")); // NOI18N
+        decodeRadioButton.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                decodeRadioButtonItemStateChanged(evt);
+            }
+        });
+
+        encodingLabel.setText(resourceBundle.getString("encodingLabel.text")); // NOI18N
+
+        encodingComboBox.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] {
+            resourceBundle.getString("encoding.base32"),
+            resourceBundle.getString("encoding.ascii85"),
+            resourceBundle.getString("encoding.z85"),
+            resourceBundle.getString("encoding.hexLowerCase"),
+            resourceBundle.getString("encoding.hexUpperCase")
+        }));
+        encodingComboBox.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                encodingComboBoxItemStateChanged(evt);
+            }
+        });
+
+        javax.swing.GroupLayout operationPanelLayout = new javax.swing.GroupLayout(operationPanel);
+        operationPanel.setLayout(operationPanelLayout);
+        operationPanelLayout.setHorizontalGroup(
+            operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(operationPanelLayout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(operationLabel)
+                    .addComponent(encodingLabel))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(encodingComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, 200, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addGroup(operationPanelLayout.createSequentialGroup()
+                        .addComponent(encodeRadioButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(decodeRadioButton)))
+                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+        );
+        operationPanelLayout.setVerticalGroup(
+            operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(operationPanelLayout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(operationLabel)
+                    .addComponent(encodeRadioButton)
+                    .addComponent(decodeRadioButton))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(operationPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(encodingLabel)
+                    .addComponent(encodingComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+        );
+
+        add(operationPanel, java.awt.BorderLayout.CENTER);
+    }// </editor-fold>//GEN-END:initComponents
+
+    private void encodeRadioButtonItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_encodeRadioButtonItemStateChanged
+        if (evt.getStateChange() == java.awt.event.ItemEvent.SELECTED) {
+            resultChanged();
+        }
+    }//GEN-LAST:event_encodeRadioButtonItemStateChanged
+
+    private void decodeRadioButtonItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_decodeRadioButtonItemStateChanged
+        if (evt.getStateChange() == java.awt.event.ItemEvent.SELECTED) {
+            resultChanged();
+        }
+    }//GEN-LAST:event_decodeRadioButtonItemStateChanged
+
+    private void encodingComboBoxItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_encodingComboBoxItemStateChanged
+        if (evt.getStateChange() == java.awt.event.ItemEvent.SELECTED) {
+            resultChanged();
+        }
+    }//GEN-LAST:event_encodingComboBoxItemStateChanged
+
+    private void resultChanged() {
+        if (resultChangeListener != null) {
+            resultChangeListener.resultChanged();
+        }
+    }
+
+    public boolean isDecode() {
+        return decodeRadioButton.isSelected();
+    }
+
+    @Nonnull
+    public TextEncodingDataMethod.EncodingType getEncodingType() {
+        return TextEncodingDataMethod.EncodingType.values()[encodingComboBox.getSelectedIndex()];
+    }
+
+    public void setEncodingType(TextEncodingDataMethod.EncodingType encodingType) {
+        encodingComboBox.setSelectedIndex(encodingType.ordinal());
+    }
+
+    public void setResultChangeListener(ResultChangeListener resultChangeListener) {
+        this.resultChangeListener = resultChangeListener;
+    }
+
+    public void initFocus() {
+        encodeRadioButton.requestFocus();
+    }
+
+    /**
+     * Test method for this panel.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        TestApplication testApplication = UtilsModule.createTestApplication();
+        testApplication.launch(() -> {
+            testApplication.addModule(org.exbin.framework.language.api.LanguageModuleApi.MODULE_ID, new org.exbin.framework.language.api.utils.TestLanguageModule());
+            WindowUtils.invokeWindow(new TextEncodingDataPanel());
+        });
+    }
+
+    // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JRadioButton decodeRadioButton;
+    private javax.swing.JRadioButton encodeRadioButton;
+    private javax.swing.JComboBox<String> encodingComboBox;
+    private javax.swing.JLabel encodingLabel;
+    private javax.swing.ButtonGroup operationButtonGroup;
+    private javax.swing.JLabel operationLabel;
+    private javax.swing.JPanel operationPanel;
+    // End of variables declaration//GEN-END:variables
+
+    public interface ResultChangeListener {
+
+        void resultChanged();
+    }
+}
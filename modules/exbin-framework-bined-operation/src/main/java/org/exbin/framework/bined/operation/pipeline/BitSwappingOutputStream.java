@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.pipeline;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.framework.bined.operation.method.BitSwappingDataMethod;
+
+/**
+ * Output stream applying bit swapping operation on written data.
+ * <p>
+ * Only operations working on individual bytes are supported, as chunks
+ * written to the stream are not aligned to words.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BitSwappingOutputStream extends FilterOutputStream {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final BitSwappingDataMethod.OperationType operationType;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    public BitSwappingOutputStream(BitSwappingDataMethod.OperationType operationType, OutputStream output) {
+        super(output);
+        switch (operationType) {
+            case INVERT_BITS:
+            case REVERSE_BITS:
+            case SWAP_NIBBLES:
+                break;
+            default:
+                throw new IllegalArgumentException("Operation is not byte oriented: " + operationType);
+        }
+        this.operationType = operationType;
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        write(new byte[]{(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        while (length > 0) {
+            int chunkLength = Math.min(length, BUFFER_SIZE);
+            System.arraycopy(data, offset, buffer, 0, chunkLength);
+            BitSwappingDataMethod.transformBlock(buffer, chunkLength, operationType);
+            out.write(buffer, 0, chunkLength);
+            offset += chunkLength;
+            length -= chunkLength;
+        }
+    }
+}
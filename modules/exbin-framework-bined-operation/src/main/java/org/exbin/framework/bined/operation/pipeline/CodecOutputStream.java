@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.pipeline;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.framework.bined.operation.method.codec.StreamingCodec;
+
+/**
+ * Output stream encoding or decoding written data using streaming codec.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CodecOutputStream extends OutputStream {
+
+    private final OutputStream output;
+    private final StreamingCodec.Encoder encoder;
+    private final StreamingCodec.Decoder decoder;
+    private final byte[] buffer;
+    private boolean closed = false;
+
+    public CodecOutputStream(StreamingCodec codec, boolean decode, OutputStream output) {
+        this.output = output;
+        encoder = decode ? null : codec.createEncoder();
+        decoder = decode ? codec.createDecoder() : null;
+        buffer = new byte[decode ? codec.getMaxDecodedLength(StreamingCodec.CHUNK_SIZE) : codec.getMaxEncodedLength(StreamingCodec.CHUNK_SIZE)];
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        write(new byte[]{(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        while (length > 0) {
+            int chunkLength = Math.min(length, StreamingCodec.CHUNK_SIZE);
+            int outputLength = decoder != null ? decoder.update(data, offset, chunkLength, buffer, 0) : encoder.update(data, offset, chunkLength, buffer, 0);
+            output.write(buffer, 0, outputLength);
+            offset += chunkLength;
+            length -= chunkLength;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        int outputLength = decoder != null ? decoder.finish(buffer, 0) : encoder.finish(buffer, 0);
+        output.write(buffer, 0, outputLength);
+        output.close();
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.pipeline;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterOutputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.bined.CodeAreaUtils;
+import org.exbin.framework.bined.operation.BinaryDataInsertOutputStream;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
+import org.exbin.framework.bined.operation.method.BitSwappingDataMethod;
+import org.exbin.framework.bined.operation.method.codec.Ascii85Codec;
+import org.exbin.framework.bined.operation.method.codec.Base32Codec;
+import org.exbin.framework.bined.operation.method.codec.Base64Codec;
+import org.exbin.framework.bined.operation.method.codec.HexCodec;
+
+/**
+ * Chain of conversion stages processed as single stream.
+ * <p>
+ * Each stage pushes output into next stage through its own fixed-size
+ * buffer, so memory usage does not depend on length of processed data.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ConversionPipeline {
+
+    public static final int BUFFER_SIZE = 65536;
+    private static final String STAGES_SEPARATOR = ",";
+
+    private final List<PipelineStage> stages;
+
+    public ConversionPipeline(List<PipelineStage> stages) {
+        this.stages = Collections.unmodifiableList(new ArrayList<>(stages));
+    }
+
+    @Nonnull
+    public List<PipelineStage> getStages() {
+        return stages;
+    }
+
+    /**
+     * Converts data range through all stages and inserts result into target
+     * data.
+     * <p>
+     * On failure already inserted data are removed.
+     *
+     * @param source source data
+     * @param position source position
+     * @param length source length
+     * @param target target data
+     * @param targetPosition target position
+     * @throws IOException on invalid input for some stage or when interrupted
+     */
+    public void convert(BinaryData source, long position, long length, EditableBinaryData target, long targetPosition) throws IOException {
+        convert(source, position, length, target, targetPosition, -1, null);
+    }
+
+    /**
+     * Converts data range through all stages and inserts result into target
+     * data reporting progress.
+     * <p>
+     * On failure already inserted data are removed.
+     *
+     * @param source source data
+     * @param position source position
+     * @param length source length
+     * @param target target data
+     * @param targetPosition target position
+     * @param progressListener progress listener
+     * @throws IOException on invalid input for some stage or when interrupted
+     */
+    public void convert(BinaryData source, long position, long length, EditableBinaryData target, long targetPosition, @Nullable ConversionProgressListener progressListener) throws IOException {
+        convert(source, position, length, target, targetPosition, -1, progressListener);
+    }
+
+    /**
+     * Converts data range through all stages until at least given amount of
+     * output is produced.
+     * <p>
+     * Reading of source data stops once output limit is reached and stages
+     * are not finished, so that stages requiring complete input are not fed
+     * with truncated data. On failure already inserted data are removed.
+     *
+     * @param source source data
+     * @param position source position
+     * @param length source length
+     * @param target target data
+     * @param targetPosition target position
+     * @param outputLimit output length limit or -1 for no limit
+     * @return true if whole source range was converted
+     * @throws IOException on invalid input for some stage or when interrupted
+     */
+    public boolean convert(BinaryData source, long position, long length, EditableBinaryData target, long targetPosition, long outputLimit) throws IOException {
+        return convert(source, position, length, target, targetPosition, outputLimit, null);
+    }
+
+    private boolean convert(BinaryData source, long position, long length, EditableBinaryData target, long targetPosition, long outputLimit, @Nullable ConversionProgressListener progressListener) throws IOException {
+        BinaryDataInsertOutputStream output = new BinaryDataInsertOutputStream(target, targetPosition);
+        List<Inflater> inflaters = new ArrayList<>();
+        List<Deflater> deflaters = new ArrayList<>();
+        OutputStream chain = output;
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            chain = createStageStream(stages.get(i), chain, inflaters, deflaters);
+        }
+
+        try {
+            byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, length)];
+            long processed = 0;
+            while (processed < length) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Conversion cancelled");
+                }
+                int chunkLength = (int) Math.min(BUFFER_SIZE, length - processed);
+                source.copyToArray(position + processed, buffer, 0, chunkLength);
+                chain.write(buffer, 0, chunkLength);
+                processed += chunkLength;
+                if (progressListener != null) {
+                    progressListener.progress(processed, length);
+                }
+
+                if (outputLimit >= 0 && processed < length) {
+                    chain.flush();
+                    if (output.getInsertedLength() >= outputLimit) {
+                        return false;
+                    }
+                }
+            }
+            chain.close();
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            try {
+                chain.close();
+            } catch (IOException | RuntimeException closeEx) {
+                // ignore
+            }
+            output.flush();
+            target.remove(targetPosition, output.getInsertedLength());
+            throw ex;
+        } finally {
+            for (Inflater inflater : inflaters) {
+                inflater.end();
+            }
+            for (Deflater deflater : deflaters) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Returns true if some stage requires complete input data to produce
+     * valid output.
+     *
+     * @return true if input must not be truncated
+     */
+    public boolean requiresCompleteInput() {
+        for (PipelineStage stage : stages) {
+            if (stage.requiresCompleteInput()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nonnull
+    private static OutputStream createStageStream(PipelineStage stage, OutputStream output, List<Inflater> inflaters, List<Deflater> deflaters) throws IOException {
+        switch (stage) {
+            case BASE64_ENCODE:
+                return new CodecOutputStream(new Base64Codec(Base64Codec.Variant.STANDARD), false, output);
+            case BASE64_DECODE:
+                return new CodecOutputStream(new Base64Codec(Base64Codec.Variant.STANDARD), true, output);
+            case BASE32_ENCODE:
+                return new CodecOutputStream(new Base32Codec(), false, output);
+            case BASE32_DECODE:
+                return new CodecOutputStream(new Base32Codec(), true, output);
+            case ASCII85_ENCODE:
+                return new CodecOutputStream(new Ascii85Codec(Ascii85Codec.Variant.ASCII85), false, output);
+            case ASCII85_DECODE:
+                return new CodecOutputStream(new Ascii85Codec(Ascii85Codec.Variant.ASCII85), true, output);
+            case Z85_ENCODE:
+                return new CodecOutputStream(new Ascii85Codec(Ascii85Codec.Variant.Z85), false, output);
+            case Z85_DECODE:
+                return new CodecOutputStream(new Ascii85Codec(Ascii85Codec.Variant.Z85), true, output);
+            case HEX_ENCODE:
+                return new CodecOutputStream(new HexCodec(false), false, output);
+            case HEX_DECODE:
+                return new CodecOutputStream(new HexCodec(false), true, output);
+            case DEFLATE_COMPRESS: {
+                Deflater deflater = new Deflater();
+                deflaters.add(deflater);
+                return new DeflaterOutputStream(output, deflater, BUFFER_SIZE);
+            }
+            case DEFLATE_DECOMPRESS: {
+                Inflater inflater = new Inflater();
+                inflaters.add(inflater);
+                return new InflaterOutputStream(output, inflater, BUFFER_SIZE);
+            }
+            case GZIP_COMPRESS:
+                return new GZIPOutputStream(output, BUFFER_SIZE);
+            case GZIP_DECOMPRESS:
+                return new GzipInflaterOutputStream(output);
+            case INVERT_BITS:
+                return new BitSwappingOutputStream(BitSwappingDataMethod.OperationType.INVERT_BITS, output);
+            case REVERSE_BITS:
+                return new BitSwappingOutputStream(BitSwappingDataMethod.OperationType.REVERSE_BITS, output);
+            case SWAP_NIBBLES:
+                return new BitSwappingOutputStream(BitSwappingDataMethod.OperationType.SWAP_NIBBLES, output);
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(stage);
+        }
+    }
+
+    /**
+     * Returns stages in textual form suitable for storing in options.
+     *
+     * @return stages separated by comma
+     */
+    @Nonnull
+    public String toStagesString() {
+        StringBuilder builder = new StringBuilder();
+        for (PipelineStage stage : stages) {
+            if (builder.length() > 0) {
+                builder.append(STAGES_SEPARATOR);
+            }
+            builder.append(stage.name());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Parses pipeline from textual form, unknown stages are skipped.
+     *
+     * @param stagesString stages separated by comma
+     * @return conversion pipeline
+     */
+    @Nonnull
+    public static ConversionPipeline fromStagesString(String stagesString) {
+        List<PipelineStage> stages = new ArrayList<>();
+        for (String stageName : stagesString.split(STAGES_SEPARATOR)) {
+            try {
+                stages.add(PipelineStage.valueOf(stageName.trim()));
+            } catch (IllegalArgumentException ex) {
+                // ignore
+            }
+        }
+        return new ConversionPipeline(stages);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.pipeline;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Named conversion pipeline preset.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ConversionPipelinePreset {
+
+    private final String name;
+    private final ConversionPipeline pipeline;
+
+    public ConversionPipelinePreset(String name, ConversionPipeline pipeline) {
+        this.name = name;
+        this.pipeline = pipeline;
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    @Nonnull
+    public ConversionPipeline getPipeline() {
+        return pipeline;
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.pipeline;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Output stream decompressing written GZIP data.
+ * <p>
+ * Counterpart of GZIPInputStream for push processing, supports multiple
+ * members.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class GzipInflaterOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 65536;
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+    private static final int FLAG_HCRC = 2;
+    private static final int FLAG_EXTRA = 4;
+    private static final int FLAG_NAME = 8;
+    private static final int FLAG_COMMENT = 16;
+    private static final int TRAILER_LENGTH = 8;
+
+    private final OutputStream output;
+    private final Inflater inflater = new Inflater(true);
+    private final CRC32 crc = new CRC32();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final ByteArrayOutputStream header = new ByteArrayOutputStream();
+    private final byte[] trailer = new byte[TRAILER_LENGTH];
+    private int trailerLength = 0;
+    private long memberSize = 0;
+    private State state = State.HEADER;
+    private boolean closed = false;
+
+    public GzipInflaterOutputStream(OutputStream output) {
+        this.output = output;
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        write(new byte[]{(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        while (length > 0) {
+            int consumed;
+            switch (state) {
+                case HEADER:
+                    consumed = consumeHeader(data, offset, length);
+                    break;
+                case BODY:
+                    consumed = consumeBody(data, offset, length);
+                    break;
+                case TRAILER:
+                    consumed = consumeTrailer(data, offset, length);
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected state " + state);
+            }
+            offset += consumed;
+            length -= consumed;
+        }
+    }
+
+    private int consumeHeader(byte[] data, int offset, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            header.write(data[offset + i]);
+            int headerSize = header.size();
+            if (headerSize <= 2) {
+                int expected = headerSize == 1 ? GZIP_MAGIC_1 : GZIP_MAGIC_2;
+                if ((data[offset + i] & 0xff) != expected) {
+                    throw new IOException("Not in GZIP format");
+                }
+            } else if (isHeaderComplete(header.toByteArray())) {
+                header.reset();
+                inflater.reset();
+                crc.reset();
+                memberSize = 0;
+                state = State.BODY;
+                return i + 1;
+            }
+        }
+        return length;
+    }
+
+    private static boolean isHeaderComplete(byte[] headerData) throws IOException {
+        if (headerData.length < 10) {
+            return false;
+        }
+        if (headerData[2] != 8) {
+            throw new IOException("Unsupported GZIP compression method");
+        }
+
+        int flags = headerData[3] & 0xff;
+        int position = 10;
+        if ((flags & FLAG_EXTRA) != 0) {
+            if (headerData.length < position + 2) {
+                return false;
+            }
+            position += 2 + ((headerData[position] & 0xff) | (headerData[position + 1] & 0xff) << 8);
+        }
+        if ((flags & FLAG_NAME) != 0) {
+            position = skipZeroTerminated(headerData, position);
+            if (position < 0) {
+                return false;
+            }
+        }
+        if ((flags & FLAG_COMMENT) != 0) {
+            position = skipZeroTerminated(headerData, position);
+            if (position < 0) {
+                return false;
+            }
+        }
+        if ((flags & FLAG_HCRC) != 0) {
+            position += 2;
+        }
+        return headerData.length >= position;
+    }
+
+    private static int skipZeroTerminated(byte[] headerData, int position) {
+        for (int i = position; i < headerData.length; i++) {
+            if (headerData[i] == 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private int consumeBody(byte[] data, int offset, int length) throws IOException {
+        inflater.setInput(data, offset, length);
+        try {
+            while (!inflater.finished()) {
+                int inflatedLength = inflater.inflate(buffer);
+                if (inflatedLength > 0) {
+                    crc.update(buffer, 0, inflatedLength);
+                    memberSize += inflatedLength;
+                    output.write(buffer, 0, inflatedLength);
+                } else if (inflater.needsInput()) {
+                    break;
+                } else if (inflater.needsDictionary()) {
+                    throw new IOException("Invalid GZIP data");
+                }
+            }
+        } catch (DataFormatException ex) {
+            throw new IOException("Invalid GZIP data", ex);
+        }
+
+        if (inflater.finished()) {
+            trailerLength = 0;
+            state = State.TRAILER;
+            return length - inflater.getRemaining();
+        }
+        return length;
+    }
+
+    private int consumeTrailer(byte[] data, int offset, int length) throws IOException {
+        int copyLength = Math.min(length, TRAILER_LENGTH - trailerLength);
+        System.arraycopy(data, offset, trailer, trailerLength, copyLength);
+        trailerLength += copyLength;
+        if (trailerLength == TRAILER_LENGTH) {
+            long expectedCrc = readInt(trailer, 0);
+            long expectedSize = readInt(trailer, 4);
+            if (expectedCrc != crc.getValue() || expectedSize != (memberSize & 0xffffffffL)) {
+                throw new IOException("Corrupted GZIP data");
+            }
+            state = State.HEADER;
+        }
+        return copyLength;
+    }
+
+    private static long readInt(byte[] data, int offset) {
+        return (data[offset] & 0xffL) | (data[offset + 1] & 0xffL) << 8 | (data[offset + 2] & 0xffL) << 16 | (data[offset + 3] & 0xffL) << 24;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        inflater.end();
+        if (state != State.HEADER || header.size() > 0) {
+            throw new IOException("Unexpected end of GZIP data");
+        }
+        output.close();
+    }
+
+    private enum State {
+        HEADER,
+        BODY,
+        TRAILER
+    }
+}
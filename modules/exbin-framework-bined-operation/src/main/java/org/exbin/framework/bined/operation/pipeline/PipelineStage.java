@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.pipeline;
+
+/**
+ * Conversion pipeline stage.
+ * <p>
+ * Stages are fixed set of streaming transformations instead of registered
+ * convert data methods, because methods convert whole range of editable
+ * data with options taken from their panels, while stages are chained as
+ * output streams with bounded buffers and are stored in presets by name.
+ * Stages delegate to the same codecs and bit operations as the methods.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+public enum PipelineStage {
+    BASE64_ENCODE,
+    BASE64_DECODE,
+    BASE32_ENCODE,
+    BASE32_DECODE,
+    ASCII85_ENCODE,
+    ASCII85_DECODE,
+    Z85_ENCODE,
+    Z85_DECODE,
+    HEX_ENCODE,
+    HEX_DECODE,
+    DEFLATE_COMPRESS,
+    DEFLATE_DECOMPRESS,
+    GZIP_COMPRESS,
+    GZIP_DECOMPRESS,
+    INVERT_BITS,
+    REVERSE_BITS,
+    SWAP_NIBBLES;
+
+    /**
+     * Returns true if stage fails on truncated input data.
+     *
+     * @return true for decompressing stages
+     */
+    public boolean requiresCompleteInput() {
+        return this == DEFLATE_DECOMPRESS || this == GZIP_DECOMPRESS;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.settings;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.framework.bined.operation.pipeline.ConversionPipeline;
+import org.exbin.framework.bined.operation.pipeline.ConversionPipelinePreset;
+import org.exbin.framework.options.api.OptionsStorage;
+import org.exbin.framework.options.settings.api.SettingsOptions;
+
+/**
+ * Conversion pipeline presets options.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ConversionPipelineOptions implements SettingsOptions {
+
+    public static final String KEY_PRESETS_COUNT = "conversionPipeline.presetsCount";
+    public static final String KEY_PRESET_NAME_PREFIX = "conversionPipeline.presetName.";
+    public static final String KEY_PRESET_STAGES_PREFIX = "conversionPipeline.presetStages.";
+
+    private final OptionsStorage storage;
+
+    public ConversionPipelineOptions(OptionsStorage storage) {
+        this.storage = storage;
+    }
+
+    @Nonnull
+    public List<ConversionPipelinePreset> getPresets() {
+        List<ConversionPipelinePreset> presets = new ArrayList<>();
+        int presetsCount = storage.getInt(KEY_PRESETS_COUNT, 0);
+        for (int i = 0; i < presetsCount; i++) {
+            String presetName = storage.get(KEY_PRESET_NAME_PREFIX + String.valueOf(i), "");
+            String presetStages = storage.get(KEY_PRESET_STAGES_PREFIX + String.valueOf(i), "");
+            presets.add(new ConversionPipelinePreset(presetName, ConversionPipeline.fromStagesString(presetStages)));
+        }
+        return presets;
+    }
+
+    public void setPresets(List<ConversionPipelinePreset> presets) {
+        int oldPresetsCount = storage.getInt(KEY_PRESETS_COUNT, 0);
+        int presetsCount = presets.size();
+        storage.putInt(KEY_PRESETS_COUNT, presetsCount);
+        for (int i = 0; i < presetsCount; i++) {
+            ConversionPipelinePreset preset = presets.get(i);
+            storage.put(KEY_PRESET_NAME_PREFIX + String.valueOf(i), preset.getName());
+            storage.put(KEY_PRESET_STAGES_PREFIX + String.valueOf(i), preset.getPipeline().toStagesString());
+        }
+        for (int i = presetsCount; i < oldPresetsCount; i++) {
+            storage.remove(KEY_PRESET_NAME_PREFIX + String.valueOf(i));
+            storage.remove(KEY_PRESET_STAGES_PREFIX + String.valueOf(i));
+        }
+    }
+
+    @Override
+    public void copyTo(SettingsOptions options) {
+        ConversionPipelineOptions with = (ConversionPipelineOptions) options;
+        with.setPresets(getPresets());
+    }
+}
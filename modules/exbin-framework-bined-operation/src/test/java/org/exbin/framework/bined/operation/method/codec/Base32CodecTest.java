@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.operation.method.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for Base32Codec.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class Base32CodecTest {
+
+    private static final int[] CHUNK_LENGTHS = {7, 15, 2, 1, 9, 23, 3, 8, 31, 5};
+
+    @Test
+    public void testDecodePendingSymbolsWithPadding() throws IOException {
+        Base32Codec codec = new Base32Codec();
+        byte[] data = "0123456789abc".getBytes(StandardCharsets.US_ASCII);
+        byte[] encoded = encode(codec, data);
+        Assert.assertEquals(24, encoded.length);
+
+        // Second chunk completes pending group and includes partial group
+        Assert.assertArrayEquals(data, decode(codec, encoded, new int[]{7, 15, 2}));
+    }
+
+    @Test
+    public void testDecodeUnalignedChunks() throws IOException {
+        Base32Codec codec = new Base32Codec();
+        Random random = new Random(32);
+        for (int length = 0; length < 200; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            byte[] encoded = encode(codec, data);
+            for (int offset = 0; offset < CHUNK_LENGTHS.length; offset++) {
+                int[] chunkLengths = new int[CHUNK_LENGTHS.length];
+                for (int i = 0; i < chunkLengths.length; i++) {
+                    chunkLengths[i] = CHUNK_LENGTHS[(offset + i) % CHUNK_LENGTHS.length];
+                }
+                Assert.assertArrayEquals(data, decode(codec, encoded, chunkLengths));
+            }
+        }
+    }
+
+    @Nonnull
+    private static byte[] encode(Base32Codec codec, byte[] data) {
+        StreamingCodec.Encoder encoder = codec.createEncoder();
+        byte[] buffer = new byte[codec.getMaxEncodedLength(data.length)];
+        int length = encoder.update(data, 0, data.length, buffer, 0);
+        length += encoder.finish(buffer, length);
+        byte[] result = new byte[length];
+        System.arraycopy(buffer, 0, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Decodes data in chunks of given lengths repeated until end of data.
+     * <p>
+     * Output buffer for each chunk has exactly maximum decoded length.
+     */
+    @Nonnull
+    private static byte[] decode(Base32Codec codec, byte[] encoded, int[] chunkLengths) throws IOException {
+        StreamingCodec.Decoder decoder = codec.createDecoder();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int position = 0;
+        int chunkIndex = 0;
+        while (position < encoded.length) {
+            int chunkLength = Math.min(chunkLengths[chunkIndex % chunkLengths.length], encoded.length - position);
+            byte[] buffer = new byte[codec.getMaxDecodedLength(chunkLength)];
+            output.write(buffer, 0, decoder.update(encoded, position, chunkLength, buffer, 0));
+            position += chunkLength;
+            chunkIndex++;
+        }
+        byte[] buffer = new byte[codec.getMaxDecodedLength(0)];
+        output.write(buffer, 0, decoder.finish(buffer, 0));
+        return output.toByteArray();
+    }
+}
@@ -18,6 +18,7 @@ package org.exbin.framework.bined.search;
 import java.awt.Dialog;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.ResourceBundle;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -76,21 +77,25 @@ public class BinarySearch {
             @Override
             public void setStatus(@Nonnull BinarySearchService.FoundMatches foundMatches, @Nonnull SearchParameters.MatchMode matchMode) {
                 BinarySearch.this.foundMatches = foundMatches;
+                String statusText;
                 switch (foundMatches.getMatchesCount()) {
                     case 0:
-                        binarySearchPanel.setInfoLabel(resourceBundle.getString("searchStatus.noMatch"));
+                        statusText = resourceBundle.getString("searchStatus.noMatch");
                         break;
                     case 1:
-                        binarySearchPanel.setInfoLabel(
-                                matchMode == SearchParameters.MatchMode.MULTIPLE ? resourceBundle.getString("searchStatus.singleMatch") : resourceBundle.getString("searchStatus.matchFound")
-                        );
+                        statusText = matchMode == SearchParameters.MatchMode.MULTIPLE ? resourceBundle.getString("searchStatus.singleMatch") : resourceBundle.getString("searchStatus.matchFound");
                         break;
                     default:
-                        binarySearchPanel.setInfoLabel(
-                                java.text.MessageFormat.format(resourceBundle.getString("searchStatus.foundMatches"), foundMatches.getMatchIndex() + 1, foundMatches.getMatchesCount())
-                        );
+                        statusText = java.text.MessageFormat.format(resourceBundle.getString("searchStatus.foundMatches"), foundMatches.getMatchIndex() + 1, foundMatches.getMatchesCount());
                         break;
                 }
+                if (foundMatches.getMatchesCount() > 0) {
+                    Optional<String> matchDetail = binarySearchService.getCurrentMatchDetail();
+                    if (matchDetail.isPresent()) {
+                        statusText = java.text.MessageFormat.format(resourceBundle.getString("searchStatus.matchDetail"), statusText, matchDetail.get());
+                    }
+                }
+                binarySearchPanel.setInfoLabel(statusText);
                 updateMatchStatus();
             }
 
@@ -185,6 +190,9 @@ public class BinarySearch {
 
                 switch (updatedSearchCondition.getSearchMode()) {
                     case REGEX:
+                    case BINARY_REGEX:
+                    case NUMERIC:
+                    case OBFUSCATED_TEXT:
                     case TEXT: {
                         String searchText = updatedSearchCondition.getSearchText();
                         if (searchText.isEmpty()) {
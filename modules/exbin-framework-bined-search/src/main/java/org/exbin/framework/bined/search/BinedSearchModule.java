@@ -28,6 +28,9 @@ import org.exbin.framework.toolbar.api.ToolBarManagement;
 import org.exbin.framework.bined.BinEdFileManager;
 import org.exbin.framework.bined.BinedModule;
 import org.exbin.framework.bined.gui.BinEdComponentPanel;
+import org.exbin.framework.bined.search.action.CarveFilesAction;
+import org.exbin.framework.bined.search.action.ExtractStringsAction;
+import org.exbin.framework.bined.search.action.FindDuplicatesAction;
 import org.exbin.framework.bined.search.action.FindReplaceActions;
 import org.exbin.framework.contribution.api.GroupSequenceContributionRule;
 import org.exbin.framework.contribution.api.PositionSequenceContributionRule;
@@ -80,6 +83,30 @@ public class BinedSearchModule implements Module {
         return findReplaceActions;
     }
 
+    @Nonnull
+    public CarveFilesAction createCarveFilesAction() {
+        ensureSetup();
+        CarveFilesAction carveFilesAction = new CarveFilesAction();
+        carveFilesAction.setup(resourceBundle);
+        return carveFilesAction;
+    }
+
+    @Nonnull
+    public ExtractStringsAction createExtractStringsAction() {
+        ensureSetup();
+        ExtractStringsAction extractStringsAction = new ExtractStringsAction();
+        extractStringsAction.setup(resourceBundle);
+        return extractStringsAction;
+    }
+
+    @Nonnull
+    public FindDuplicatesAction createFindDuplicatesAction() {
+        ensureSetup();
+        FindDuplicatesAction findDuplicatesAction = new FindDuplicatesAction();
+        findDuplicatesAction.setup(resourceBundle);
+        return findDuplicatesAction;
+    }
+
     public void registerEditFindMenuActions() {
         getFindReplaceActions();
         MenuModuleApi menuModule = App.getModule(MenuModuleApi.class);
@@ -92,6 +119,12 @@ public class BinedSearchModule implements Module {
         mgmt.registerMenuRule(contribution, new GroupSequenceContributionRule(groupId));
         contribution = mgmt.registerMenuItem(findReplaceActions.createEditReplaceAction());
         mgmt.registerMenuRule(contribution, new GroupSequenceContributionRule(groupId));
+        contribution = mgmt.registerMenuItem(createCarveFilesAction());
+        mgmt.registerMenuRule(contribution, new GroupSequenceContributionRule(groupId));
+        contribution = mgmt.registerMenuItem(createExtractStringsAction());
+        mgmt.registerMenuRule(contribution, new GroupSequenceContributionRule(groupId));
+        contribution = mgmt.registerMenuItem(createFindDuplicatesAction());
+        mgmt.registerMenuRule(contribution, new GroupSequenceContributionRule(groupId));
     }
 
     public void registerEditFindPopupMenuActions() {
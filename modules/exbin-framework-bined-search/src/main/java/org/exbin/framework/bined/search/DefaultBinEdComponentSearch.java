@@ -71,6 +71,8 @@ public class DefaultBinEdComponentSearch implements BinEdComponentSearch {
 
     @Override
     public void onClose() {
+        binarySearch.cancelSearch();
+        binarySearchService.dispose();
     }
 
     @Override
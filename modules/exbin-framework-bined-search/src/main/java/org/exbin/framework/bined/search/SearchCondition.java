@@ -84,6 +84,9 @@ public class SearchCondition {
         switch (searchMode) {
             case TEXT:
             case REGEX:
+            case BINARY_REGEX:
+            case NUMERIC:
+            case OBFUSCATED_TEXT:
                 return searchText == null || searchText.isEmpty();
             case BINARY:
                 return binaryData == null || binaryData.isEmpty();
@@ -128,6 +131,6 @@ public class SearchCondition {
     }
 
     public enum SearchMode {
-        TEXT, REGEX, BINARY
+        TEXT, REGEX, BINARY, BINARY_REGEX, NUMERIC, OBFUSCATED_TEXT
     }
 }
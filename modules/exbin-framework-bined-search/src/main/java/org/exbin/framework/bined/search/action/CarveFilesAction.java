@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.action;
+
+import java.awt.Dialog;
+import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.AbstractAction;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.swing.section.SectCodeArea;
+import org.exbin.framework.App;
+import org.exbin.framework.action.api.ActionContextChange;
+import org.exbin.framework.action.api.ActionConsts;
+import org.exbin.framework.action.api.ActionContextChangeManager;
+import org.exbin.framework.action.api.ActionModuleApi;
+import org.exbin.framework.bined.BackgroundTaskRunner;
+import org.exbin.framework.bined.BinEdFileHandler;
+import org.exbin.framework.bined.DataRangeFileWriter;
+import org.exbin.framework.bined.SharedRangeBinaryData;
+import org.exbin.framework.bined.search.gui.CarvingPanel;
+import org.exbin.framework.bined.search.service.CarvedPayload;
+import org.exbin.framework.bined.search.service.impl.CarvingScanner;
+import org.exbin.framework.file.api.FileHandler;
+import org.exbin.framework.window.api.WindowHandler;
+import org.exbin.framework.window.api.WindowModuleApi;
+import org.exbin.framework.window.api.gui.CloseControlPanel;
+
+/**
+ * Carve embedded files action.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CarveFilesAction extends AbstractAction implements ActionContextChange {
+
+    public static final String ACTION_ID = "carveFilesAction";
+
+    private BinEdFileHandler fileHandler;
+
+    public CarveFilesAction() {
+    }
+
+    public void setup(ResourceBundle resourceBundle) {
+        ActionModuleApi actionModule = App.getModule(ActionModuleApi.class);
+        actionModule.initAction(this, resourceBundle, ACTION_ID);
+        putValue(ActionConsts.ACTION_DIALOG_MODE, true);
+        putValue(ActionConsts.ACTION_CONTEXT_CHANGE, this);
+        setEnabled(false);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        SectCodeArea codeArea = fileHandler.getCodeArea();
+        // Scan works on shared range which is detached by undo redo if data
+        // are modified while dialog is open
+        BinaryData contentData = codeArea.getContentData();
+        SharedRangeBinaryData data = SharedRangeBinaryData.share(contentData, 0, contentData.getDataSize());
+        CarvingPanel carvingPanel = new CarvingPanel();
+        ResourceBundle panelResourceBundle = carvingPanel.getResourceBundle();
+        CloseControlPanel controlPanel = new CloseControlPanel();
+        WindowModuleApi windowModule = App.getModule(WindowModuleApi.class);
+        final WindowHandler dialog = windowModule.createDialog(codeArea, Dialog.ModalityType.MODELESS, carvingPanel, controlPanel);
+        windowModule.addHeaderPanel(dialog.getWindow(), carvingPanel.getClass(), carvingPanel.getResourceBundle());
+        windowModule.setWindowTitle(dialog, carvingPanel.getResourceBundle());
+
+        Thread scanThread = new Thread(() -> {
+            long dataSize = data.getDataSize();
+            List<CarvedPayload> foundPayloads = new ArrayList<>();
+            new CarvingScanner().scan(data, new CarvingScanner.ScanListener() {
+                private int lastProgress = -1;
+
+                @Override
+                public void payloadFound(CarvedPayload payload) {
+                    foundPayloads.add(payload);
+                }
+
+                @Override
+                public void progress(long position) {
+                    int progress = (int) (dataSize > Integer.MAX_VALUE ? position / (dataSize / 1000) : (position * 1000) / dataSize);
+                    if (progress == lastProgress && foundPayloads.isEmpty()) {
+                        return;
+                    }
+
+                    lastProgress = progress;
+                    List<CarvedPayload> payloads = new ArrayList<>(foundPayloads);
+                    foundPayloads.clear();
+                    SwingUtilities.invokeLater(() -> {
+                        carvingPanel.addPayloads(payloads);
+                        carvingPanel.setProgress(progress);
+                    });
+                }
+            });
+            if (!Thread.currentThread().isInterrupted()) {
+                SwingUtilities.invokeLater(carvingPanel::setScanFinished);
+            }
+        }, "CarvingThread");
+
+        carvingPanel.setController(new CarvingPanel.Controller() {
+            @Override
+            public void selectPayload(CarvedPayload payload) {
+                long endPosition = payload.getPosition() + payload.getLength();
+                codeArea.setSelection(new SelectionRange(payload.getPosition(), endPosition));
+                codeArea.setActiveCaretPosition(endPosition);
+                codeArea.revealPosition(payload.getPosition(), 0, codeArea.getActiveSection());
+            }
+
+            @Override
+            public void savePayload(CarvedPayload payload) {
+                JFileChooser exportFileChooser = new JFileChooser();
+                exportFileChooser.setAcceptAllFileFilterUsed(true);
+                if (exportFileChooser.showSaveDialog(dialog.getWindow()) != JFileChooser.APPROVE_OPTION) {
+                    return;
+                }
+
+                File targetFile = exportFileChooser.getSelectedFile();
+                if (targetFile.exists()) {
+                    String message = MessageFormat.format(panelResourceBundle.getString("overwriteQuestion.text"), targetFile.getName());
+                    if (JOptionPane.showConfirmDialog(dialog.getWindow(), message, panelResourceBundle.getString("dialog.title"), JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE) != JOptionPane.YES_OPTION) {
+                        return;
+                    }
+                }
+
+                // Payload is streamed from snapshot without intermediate copy
+                try {
+                    BackgroundTaskRunner.execute(dialog.getWindow(), panelResourceBundle.getString("savingPayload.text"), (progressListener) -> {
+                        DataRangeFileWriter.write(data, payload.getPosition(), payload.getLength(), targetFile, progressListener);
+                        return null;
+                    });
+                } catch (CancellationException ex) {
+                    // Incomplete file was removed by writer
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    Logger.getLogger(CarveFilesAction.class.getName()).log(Level.SEVERE, null, cause);
+                    JOptionPane.showMessageDialog(dialog.getWindow(), cause.getMessage(), panelResourceBundle.getString("saveFailed.text"), JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
+        controlPanel.setController(() -> {
+            dialog.close();
+            dialog.dispose();
+        });
+        dialog.getWindow().addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                scanThread.interrupt();
+                boolean interrupted = false;
+                while (scanThread.isAlive()) {
+                    try {
+                        scanThread.join();
+                    } catch (InterruptedException ex) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                data.release();
+            }
+        });
+        scanThread.start();
+        dialog.showCentered(codeArea);
+    }
+
+    @Override
+    public void register(ActionContextChangeManager manager) {
+        manager.registerUpdateListener(FileHandler.class, (instance) -> {
+            fileHandler = instance instanceof BinEdFileHandler ? (BinEdFileHandler) instance : null;
+            setEnabled(fileHandler != null);
+        });
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.action;
+
+import java.awt.Dialog;
+import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ResourceBundle;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.AbstractAction;
+import javax.swing.SwingUtilities;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.swing.section.SectCodeArea;
+import org.exbin.framework.App;
+import org.exbin.framework.action.api.ActionContextChange;
+import org.exbin.framework.action.api.ActionConsts;
+import org.exbin.framework.action.api.ActionContextChangeManager;
+import org.exbin.framework.action.api.ActionModuleApi;
+import org.exbin.framework.bined.BinEdFileHandler;
+import org.exbin.framework.bined.search.gui.StringsPanel;
+import org.exbin.framework.bined.search.service.ExtractedStrings;
+import org.exbin.framework.bined.search.service.StringEncoding;
+import org.exbin.framework.bined.search.service.impl.StringsScanner;
+import org.exbin.framework.file.api.FileHandler;
+import org.exbin.framework.window.api.WindowHandler;
+import org.exbin.framework.window.api.WindowModuleApi;
+import org.exbin.framework.window.api.gui.CloseControlPanel;
+
+/**
+ * Extract strings action.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ExtractStringsAction extends AbstractAction implements ActionContextChange {
+
+    public static final String ACTION_ID = "extractStringsAction";
+
+    private BinEdFileHandler fileHandler;
+
+    public ExtractStringsAction() {
+    }
+
+    public void setup(ResourceBundle resourceBundle) {
+        ActionModuleApi actionModule = App.getModule(ActionModuleApi.class);
+        actionModule.initAction(this, resourceBundle, ACTION_ID);
+        putValue(ActionConsts.ACTION_DIALOG_MODE, true);
+        putValue(ActionConsts.ACTION_CONTEXT_CHANGE, this);
+        setEnabled(false);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        SectCodeArea codeArea = fileHandler.getCodeArea();
+        StringsPanel stringsPanel = new StringsPanel();
+        stringsPanel.setData(codeArea.getContentData());
+        CloseControlPanel controlPanel = new CloseControlPanel();
+        WindowModuleApi windowModule = App.getModule(WindowModuleApi.class);
+        final WindowHandler dialog = windowModule.createDialog(codeArea, Dialog.ModalityType.MODELESS, stringsPanel, controlPanel);
+        windowModule.addHeaderPanel(dialog.getWindow(), stringsPanel.getClass(), stringsPanel.getResourceBundle());
+        windowModule.setWindowTitle(dialog, stringsPanel.getResourceBundle());
+
+        ScanController scanController = new ScanController(codeArea, stringsPanel);
+        stringsPanel.setController(scanController);
+        controlPanel.setController(() -> {
+            dialog.close();
+            dialog.dispose();
+        });
+        dialog.getWindow().addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                scanController.stopScan();
+            }
+        });
+        stringsPanel.startScan();
+        dialog.showCentered(codeArea);
+    }
+
+    @Override
+    public void register(ActionContextChangeManager manager) {
+        manager.registerUpdateListener(FileHandler.class, (instance) -> {
+            fileHandler = instance instanceof BinEdFileHandler ? (BinEdFileHandler) instance : null;
+            setEnabled(fileHandler != null);
+        });
+    }
+
+    @ParametersAreNonnullByDefault
+    private static class ScanController implements StringsPanel.Controller {
+
+        private final SectCodeArea codeArea;
+        private final StringsPanel stringsPanel;
+        @Nullable
+        private Thread scanThread = null;
+
+        public ScanController(SectCodeArea codeArea, StringsPanel stringsPanel) {
+            this.codeArea = codeArea;
+            this.stringsPanel = stringsPanel;
+        }
+
+        @Override
+        public void startScan(int minimumLength, Set<StringEncoding> encodings) {
+            stopScan();
+            BinaryData data = codeArea.getContentData();
+            scanThread = new Thread(() -> {
+                Thread currentThread = Thread.currentThread();
+                long dataSize = data.getDataSize();
+                ExtractedStrings foundStrings = new ExtractedStrings();
+                new StringsScanner().scan(data, minimumLength, encodings, new StringsScanner.ScanListener() {
+                    private int lastProgress = -1;
+
+                    @Override
+                    public void stringFound(long position, int length, StringEncoding encoding) {
+                        foundStrings.add(position, length, encoding);
+                    }
+
+                    @Override
+                    public void progress(long position) {
+                        int progress = (int) (dataSize > Integer.MAX_VALUE ? position / (dataSize / 1000) : (position * 1000) / dataSize);
+                        if (progress == lastProgress && foundStrings.isEmpty()) {
+                            return;
+                        }
+
+                        lastProgress = progress;
+                        ExtractedStrings strings = new ExtractedStrings();
+                        strings.addAll(foundStrings);
+                        foundStrings.clear();
+                        SwingUtilities.invokeLater(() -> {
+                            if (scanThread == currentThread) {
+                                stringsPanel.addStrings(strings);
+                                stringsPanel.setProgress(progress);
+                            }
+                        });
+                    }
+                });
+                ExtractedStrings strings = new ExtractedStrings();
+                strings.addAll(foundStrings);
+                SwingUtilities.invokeLater(() -> {
+                    if (scanThread == currentThread) {
+                        stringsPanel.addStrings(strings);
+                        stringsPanel.setScanFinished();
+                        scanThread = null;
+                    }
+                });
+            }, "StringsScanThread");
+            scanThread.start();
+        }
+
+        @Override
+        public void selectString(long position, int length) {
+            long endPosition = position + length;
+            codeArea.setSelection(new SelectionRange(position, endPosition));
+            codeArea.setActiveCaretPosition(endPosition);
+            codeArea.revealPosition(position, 0, codeArea.getActiveSection());
+        }
+
+        public void stopScan() {
+            if (scanThread != null) {
+                scanThread.interrupt();
+                scanThread = null;
+            }
+        }
+    }
+}
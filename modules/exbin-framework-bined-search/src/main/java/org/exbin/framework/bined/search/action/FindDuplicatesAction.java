@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.action;
+
+import java.awt.Dialog;
+import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+import java.util.ResourceBundle;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.AbstractAction;
+import javax.swing.SwingUtilities;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.swing.section.SectCodeArea;
+import org.exbin.framework.App;
+import org.exbin.framework.action.api.ActionContextChange;
+import org.exbin.framework.action.api.ActionConsts;
+import org.exbin.framework.action.api.ActionContextChangeManager;
+import org.exbin.framework.action.api.ActionModuleApi;
+import org.exbin.framework.bined.BinEdFileHandler;
+import org.exbin.framework.bined.search.gui.DuplicatesPanel;
+import org.exbin.framework.bined.search.service.DuplicateRange;
+import org.exbin.framework.bined.search.service.impl.DuplicatesAnalyzer;
+import org.exbin.framework.file.api.FileHandler;
+import org.exbin.framework.window.api.WindowHandler;
+import org.exbin.framework.window.api.WindowModuleApi;
+import org.exbin.framework.window.api.gui.CloseControlPanel;
+
+/**
+ * Find duplicates action.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class FindDuplicatesAction extends AbstractAction implements ActionContextChange {
+
+    public static final String ACTION_ID = "findDuplicatesAction";
+
+    private BinEdFileHandler fileHandler;
+
+    public FindDuplicatesAction() {
+    }
+
+    public void setup(ResourceBundle resourceBundle) {
+        ActionModuleApi actionModule = App.getModule(ActionModuleApi.class);
+        actionModule.initAction(this, resourceBundle, ACTION_ID);
+        putValue(ActionConsts.ACTION_DIALOG_MODE, true);
+        putValue(ActionConsts.ACTION_CONTEXT_CHANGE, this);
+        setEnabled(false);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        SectCodeArea codeArea = fileHandler.getCodeArea();
+        DuplicatesPanel duplicatesPanel = new DuplicatesPanel();
+        duplicatesPanel.setSelectionAvailable(!codeArea.getSelection().isEmpty());
+        CloseControlPanel controlPanel = new CloseControlPanel();
+        WindowModuleApi windowModule = App.getModule(WindowModuleApi.class);
+        final WindowHandler dialog = windowModule.createDialog(codeArea, Dialog.ModalityType.MODELESS, duplicatesPanel, controlPanel);
+        windowModule.addHeaderPanel(dialog.getWindow(), duplicatesPanel.getClass(), duplicatesPanel.getResourceBundle());
+        windowModule.setWindowTitle(dialog, duplicatesPanel.getResourceBundle());
+
+        AnalysisController analysisController = new AnalysisController(codeArea, duplicatesPanel);
+        duplicatesPanel.setController(analysisController);
+        controlPanel.setController(() -> {
+            dialog.close();
+            dialog.dispose();
+        });
+        dialog.getWindow().addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                analysisController.stopAnalysis();
+            }
+        });
+        dialog.showCentered(codeArea);
+    }
+
+    @Override
+    public void register(ActionContextChangeManager manager) {
+        manager.registerUpdateListener(FileHandler.class, (instance) -> {
+            fileHandler = instance instanceof BinEdFileHandler ? (BinEdFileHandler) instance : null;
+            setEnabled(fileHandler != null);
+        });
+    }
+
+    @ParametersAreNonnullByDefault
+    private static class AnalysisController implements DuplicatesPanel.Controller {
+
+        private final SectCodeArea codeArea;
+        private final DuplicatesPanel duplicatesPanel;
+        @Nullable
+        private Thread analysisThread = null;
+
+        public AnalysisController(SectCodeArea codeArea, DuplicatesPanel duplicatesPanel) {
+            this.codeArea = codeArea;
+            this.duplicatesPanel = duplicatesPanel;
+        }
+
+        @Override
+        public void analyze(int blockSize, int minimumRepeatLength, boolean selectionOnly) {
+            stopAnalysis();
+            BinaryData data = codeArea.getContentData();
+            long start;
+            long length;
+            SelectionRange selection = codeArea.getSelection();
+            if (selectionOnly && !selection.isEmpty()) {
+                start = selection.getFirst();
+                length = selection.getLength();
+            } else {
+                start = 0;
+                length = data.getDataSize();
+            }
+
+            analysisThread = new Thread(() -> {
+                Thread currentThread = Thread.currentThread();
+                List<DuplicateRange> ranges = new DuplicatesAnalyzer().analyze(data, start, length, blockSize, minimumRepeatLength, new DuplicatesAnalyzer.ProgressListener() {
+                    private int lastProgress = -1;
+
+                    @Override
+                    public void progress(long processed) {
+                        int progress = (int) (length > Integer.MAX_VALUE ? processed / (length / 1000) : (processed * 1000) / length);
+                        if (progress != lastProgress) {
+                            lastProgress = progress;
+                            SwingUtilities.invokeLater(() -> {
+                                if (analysisThread == currentThread) {
+                                    duplicatesPanel.setProgress(progress);
+                                }
+                            });
+                        }
+                    }
+                });
+                SwingUtilities.invokeLater(() -> {
+                    if (analysisThread == currentThread) {
+                        duplicatesPanel.setAnalysisFinished(ranges);
+                        analysisThread = null;
+                    }
+                });
+            }, "DuplicatesAnalysisThread");
+            analysisThread.start();
+        }
+
+        @Override
+        public void selectRange(long position, long length) {
+            long endPosition = position + length;
+            codeArea.setSelection(new SelectionRange(position, endPosition));
+            codeArea.setActiveCaretPosition(endPosition);
+            codeArea.revealPosition(position, 0, codeArea.getActiveSection());
+        }
+
+        public void stopAnalysis() {
+            if (analysisThread != null) {
+                analysisThread.interrupt();
+                analysisThread = null;
+            }
+        }
+    }
+}
@@ -113,6 +113,9 @@ public class BinarySearchComboBoxPanel extends JPanel {
         switch (item.getSearchMode()) {
             case TEXT:
             case REGEX:
+            case BINARY_REGEX:
+            case NUMERIC:
+            case OBFUSCATED_TEXT:
                 item.setSearchText(textField.getText());
                 break;
             case BINARY:
@@ -140,7 +143,10 @@ public class BinarySearchComboBoxPanel extends JPanel {
                 revalidate();
                 break;
             }
-            case REGEX: {
+            case REGEX:
+            case BINARY_REGEX:
+            case NUMERIC:
+            case OBFUSCATED_TEXT: {
                 this.item.setSearchText(item.getSearchText());
                 this.item.setBinaryData(null);
                 runningUpdate = true;
@@ -173,6 +179,9 @@ public class BinarySearchComboBoxPanel extends JPanel {
         switch (item.getSearchMode()) {
             case TEXT:
             case REGEX:
+            case BINARY_REGEX:
+            case NUMERIC:
+            case OBFUSCATED_TEXT:
                 textField.selectAll();
                 break;
             case BINARY:
@@ -202,6 +211,9 @@ public class BinarySearchComboBoxPanel extends JPanel {
         switch (item.getSearchMode()) {
             case TEXT:
             case REGEX:
+            case BINARY_REGEX:
+            case NUMERIC:
+            case OBFUSCATED_TEXT:
                 textField.requestFocus();
                 break;
             case BINARY:
@@ -250,6 +262,9 @@ public class BinarySearchComboBoxPanel extends JPanel {
         switch (item.getSearchMode()) {
             case TEXT:
             case REGEX:
+            case BINARY_REGEX:
+            case NUMERIC:
+            case OBFUSCATED_TEXT:
                 String text = textField.getText();
                 if (!"".equals(text)) {
                     textField.setText("");
@@ -740,6 +740,7 @@ public class BinarySearchPanel extends javax.swing.JPanel {
                 matchCaseToggleButton.setEnabled(true);
                 break;
             case REGEX:
+            case BINARY_REGEX:
                 matchCaseToggleButton.setEnabled(true);
                 break;
             default:
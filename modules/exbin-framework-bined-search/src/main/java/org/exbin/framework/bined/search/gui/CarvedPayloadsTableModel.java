@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.table.AbstractTableModel;
+import org.exbin.framework.bined.search.service.CarvedPayload;
+
+/**
+ * Table model for carved payloads.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CarvedPayloadsTableModel extends AbstractTableModel {
+
+    private final ResourceBundle resourceBundle;
+    private final List<CarvedPayload> payloads = new ArrayList<>();
+
+    public CarvedPayloadsTableModel(ResourceBundle resourceBundle) {
+        this.resourceBundle = resourceBundle;
+    }
+
+    @Override
+    public int getRowCount() {
+        return payloads.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return 3;
+    }
+
+    @Nonnull
+    @Override
+    public String getColumnName(int columnIndex) {
+        switch (columnIndex) {
+            case 0:
+                return resourceBundle.getString("payloadsTable.positionColumn");
+            case 1:
+                return resourceBundle.getString("payloadsTable.typeColumn");
+            case 2:
+                return resourceBundle.getString("payloadsTable.lengthColumn");
+            default:
+                throw new IllegalArgumentException("Unexpected column " + columnIndex);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnIndex == 1 ? String.class : Long.class;
+    }
+
+    @Nullable
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        CarvedPayload payload = payloads.get(rowIndex);
+        switch (columnIndex) {
+            case 0:
+                return payload.getPosition();
+            case 1:
+                return resourceBundle.getString("payloadType." + payload.getPayloadType().name().toLowerCase());
+            case 2:
+                return payload.getLength();
+            default:
+                throw new IllegalArgumentException("Unexpected column " + columnIndex);
+        }
+    }
+
+    @Nonnull
+    public CarvedPayload getPayload(int rowIndex) {
+        return payloads.get(rowIndex);
+    }
+
+    public void addPayloads(List<CarvedPayload> newPayloads) {
+        if (newPayloads.isEmpty()) {
+            return;
+        }
+
+        int firstRow = payloads.size();
+        payloads.addAll(newPayloads);
+        fireTableRowsInserted(firstRow, payloads.size() - 1);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.gui;
+
+import java.util.List;
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.ListSelectionModel;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.search.service.CarvedPayload;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.utils.TestApplication;
+import org.exbin.framework.utils.UtilsModule;
+import org.exbin.framework.utils.WindowUtils;
+
+/**
+ * Panel for listing of embedded files found by carving.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CarvingPanel extends javax.swing.JPanel {
+
+    private final java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(CarvingPanel.class);
+    private final CarvedPayloadsTableModel payloadsTableModel = new CarvedPayloadsTableModel(resourceBundle);
+    private Controller controller = null;
+
+    public CarvingPanel() {
+        initComponents();
+        init();
+    }
+
+    private void init() {
+        payloadsTable.setModel(payloadsTableModel);
+        payloadsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        payloadsTable.getSelectionModel().addListSelectionListener((e) -> updateButtons());
+        updateButtons();
+    }
+
+    @Nonnull
+    public ResourceBundle getResourceBundle() {
+        return resourceBundle;
+    }
+
+    /**
+     * This method is called from within the constructor to initialize the form.
+     * WARNING: Do NOT modify this code. The content of this method is always
+     * regenerated by the Form Editor.
+     */
+    @SuppressWarnings("unchecked")
+    // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
+    private void initComponents() {
+
+        payloadsScrollPane = new javax.swing.JScrollPane();
+        payloadsTable = new javax.swing.JTable();
+        controlPanel = new javax.swing.JPanel();
+        progressBar = new javax.swing.JProgressBar();
+        selectButton = new javax.swing.JButton();
+        saveButton = new javax.swing.JButton();
+
+        setLayout(new java.awt.BorderLayout());
+
+        payloadsScrollPane.setViewportView(payloadsTable);
+
+        add(payloadsScrollPane, java.awt.BorderLayout.CENTER);
+
+        controlPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.RIGHT));
+
+        progressBar.setMaximum(1000);
+        progressBar.setStringPainted(true);
+        controlPanel.add(progressBar);
+
+        selectButton.setText(resourceBundle.getString("selectButton.text")); // NOI18N
+        selectButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                selectButtonActionPerformed(evt);
+            }
+        });
+        controlPanel.add(selectButton);
+
+        saveButton.setText(resourceBundle.getString("saveButton.text")); // NOI18N
+        saveButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                saveButtonActionPerformed(evt);
+            }
+        });
+        controlPanel.add(saveButton);
+
+        add(controlPanel, java.awt.BorderLayout.SOUTH);
+    }// </editor-fold>//GEN-END:initComponents
+
+    private void selectButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_selectButtonActionPerformed
+        int selectedRow = payloadsTable.getSelectedRow();
+        if (selectedRow >= 0) {
+            controller.selectPayload(payloadsTableModel.getPayload(payloadsTable.convertRowIndexToModel(selectedRow)));
+        }
+    }//GEN-LAST:event_selectButtonActionPerformed
+
+    private void saveButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_saveButtonActionPerformed
+        int selectedRow = payloadsTable.getSelectedRow();
+        if (selectedRow >= 0) {
+            controller.savePayload(payloadsTableModel.getPayload(payloadsTable.convertRowIndexToModel(selectedRow)));
+        }
+    }//GEN-LAST:event_saveButtonActionPerformed
+
+    /**
+     * Test method for this panel.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        TestApplication testApplication = UtilsModule.createTestApplication();
+        testApplication.launch(() -> {
+            testApplication.addModule(org.exbin.framework.language.api.LanguageModuleApi.MODULE_ID, new org.exbin.framework.language.api.utils.TestLanguageModule());
+            WindowUtils.invokeWindow(new CarvingPanel());
+        });
+    }
+
+    // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JPanel controlPanel;
+    private javax.swing.JScrollPane payloadsScrollPane;
+    private javax.swing.JTable payloadsTable;
+    private javax.swing.JProgressBar progressBar;
+    private javax.swing.JButton saveButton;
+    private javax.swing.JButton selectButton;
+    // End of variables declaration//GEN-END:variables
+
+    public void setController(Controller controller) {
+        this.controller = controller;
+    }
+
+    public void addPayloads(List<CarvedPayload> payloads) {
+        payloadsTableModel.addPayloads(payloads);
+    }
+
+    public void setProgress(int progress) {
+        progressBar.setValue(progress);
+    }
+
+    public void setScanFinished() {
+        progressBar.setValue(progressBar.getMaximum());
+        progressBar.setString(java.text.MessageFormat.format(resourceBundle.getString("scanFinished.text"), payloadsTableModel.getRowCount()));
+    }
+
+    private void updateButtons() {
+        boolean payloadSelected = payloadsTable.getSelectedRow() >= 0;
+        selectButton.setEnabled(payloadSelected);
+        saveButton.setEnabled(payloadSelected);
+    }
+
+    public interface Controller {
+
+        /**
+         * Selects payload range in the editor.
+         *
+         * @param payload payload
+         */
+        void selectPayload(CarvedPayload payload);
+
+        /**
+         * Saves payload to file.
+         *
+         * @param payload payload
+         */
+        void savePayload(CarvedPayload payload);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.table.AbstractTableModel;
+import org.exbin.framework.bined.search.service.DuplicateRange;
+
+/**
+ * Table model for duplicate ranges.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DuplicateRangesTableModel extends AbstractTableModel {
+
+    private final ResourceBundle resourceBundle;
+    private final List<DuplicateRange> ranges = new ArrayList<>();
+
+    public DuplicateRangesTableModel(ResourceBundle resourceBundle) {
+        this.resourceBundle = resourceBundle;
+    }
+
+    @Override
+    public int getRowCount() {
+        return ranges.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return 4;
+    }
+
+    @Nonnull
+    @Override
+    public String getColumnName(int columnIndex) {
+        switch (columnIndex) {
+            case 0:
+                return resourceBundle.getString("rangesTable.typeColumn");
+            case 1:
+                return resourceBundle.getString("rangesTable.positionColumn");
+            case 2:
+                return resourceBundle.getString("rangesTable.sourcePositionColumn");
+            case 3:
+                return resourceBundle.getString("rangesTable.lengthColumn");
+            default:
+                throw new IllegalArgumentException("Unexpected column " + columnIndex);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnIndex == 0 ? String.class : Long.class;
+    }
+
+    @Nullable
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        DuplicateRange range = ranges.get(rowIndex);
+        switch (columnIndex) {
+            case 0:
+                return resourceBundle.getString("duplicateType." + range.getDuplicateType().name().toLowerCase());
+            case 1:
+                return range.getPosition();
+            case 2:
+                return range.getSourcePosition();
+            case 3:
+                return range.getLength();
+            default:
+                throw new IllegalArgumentException("Unexpected column " + columnIndex);
+        }
+    }
+
+    @Nonnull
+    public DuplicateRange getRange(int rowIndex) {
+        return ranges.get(rowIndex);
+    }
+
+    public void setRanges(List<DuplicateRange> ranges) {
+        this.ranges.clear();
+        this.ranges.addAll(ranges);
+        fireTableDataChanged();
+    }
+}
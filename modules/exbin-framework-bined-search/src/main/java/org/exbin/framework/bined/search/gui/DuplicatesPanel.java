@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.gui;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.ListSelectionModel;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.search.service.DuplicateRange;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.utils.TestApplication;
+import org.exbin.framework.utils.UtilsModule;
+import org.exbin.framework.utils.WindowUtils;
+
+/**
+ * Panel for listing of repeated sequences and duplicated blocks.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DuplicatesPanel extends javax.swing.JPanel {
+
+    private final java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(DuplicatesPanel.class);
+    private final DuplicateRangesTableModel rangesTableModel = new DuplicateRangesTableModel(resourceBundle);
+    private Controller controller = null;
+
+    public DuplicatesPanel() {
+        initComponents();
+        init();
+    }
+
+    private void init() {
+        rangesTable.setModel(rangesTableModel);
+        rangesTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        rangesTable.getSelectionModel().addListSelectionListener((e) -> updateButtons());
+        updateButtons();
+    }
+
+    @Nonnull
+    public ResourceBundle getResourceBundle() {
+        return resourceBundle;
+    }
+
+    /**
+     * This method is called from within the constructor to initialize the form.
+     * WARNING: Do NOT modify this code. The content of this method is always
+     * regenerated by the Form Editor.
+     */
+    @SuppressWarnings("unchecked")
+    // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
+    private void initComponents() {
+
+        optionsPanel = new javax.swing.JPanel();
+        blockSizeLabel = new javax.swing.JLabel();
+        blockSizeSpinner = new javax.swing.JSpinner();
+        minimumRepeatLengthLabel = new javax.swing.JLabel();
+        minimumRepeatLengthSpinner = new javax.swing.JSpinner();
+        selectionOnlyCheckBox = new javax.swing.JCheckBox();
+        analyzeButton = new javax.swing.JButton();
+        rangesScrollPane = new javax.swing.JScrollPane();
+        rangesTable = new javax.swing.JTable();
+        controlPanel = new javax.swing.JPanel();
+        progressBar = new javax.swing.JProgressBar();
+        selectButton = new javax.swing.JButton();
+        selectSourceButton = new javax.swing.JButton();
+
+        setLayout(new java.awt.BorderLayout());
+
+        optionsPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.LEFT));
+
+        blockSizeLabel.setText(resourceBundle.getString("blockSizeLabel.text")); // NOI18N
+        optionsPanel.add(blockSizeLabel);
+
+        blockSizeSpinner.setModel(new javax.swing.SpinnerNumberModel(4096, 16, 16777216, 1));
+        optionsPanel.add(blockSizeSpinner);
+
+        minimumRepeatLengthLabel.setText(resourceBundle.getString("minimumRepeatLengthLabel.text")); // NOI18N
+        optionsPanel.add(minimumRepeatLengthLabel);
+
+        minimumRepeatLengthSpinner.setModel(new javax.swing.SpinnerNumberModel(64, 16, 16777216, 1));
+        optionsPanel.add(minimumRepeatLengthSpinner);
+
+        selectionOnlyCheckBox.setText(resourceBundle.getString("selectionOnlyCheckBox.text")); // NOI18N
+        optionsPanel.add(selectionOnlyCheckBox);
+
+        analyzeButton.setText(resourceBundle.getString("analyzeButton.text")); // NOI18N
+        analyzeButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                analyzeButtonActionPerformed(evt);
+            }
+        });
+        optionsPanel.add(analyzeButton);
+
+        add(optionsPanel, java.awt.BorderLayout.NORTH);
+
+        rangesScrollPane.setViewportView(rangesTable);
+
+        add(rangesScrollPane, java.awt.BorderLayout.CENTER);
+
+        controlPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.RIGHT));
+
+        progressBar.setMaximum(1000);
+        progressBar.setStringPainted(true);
+        controlPanel.add(progressBar);
+
+        selectButton.setText(resourceBundle.getString("selectButton.text")); // NOI18N
+        selectButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                selectButtonActionPerformed(evt);
+            }
+        });
+        controlPanel.add(selectButton);
+
+        selectSourceButton.setText(resourceBundle.getString("selectSourceButton.text")); // NOI18N
+        selectSourceButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                selectSourceButtonActionPerformed(evt);
+            }
+        });
+        controlPanel.add(selectSourceButton);
+
+        add(controlPanel, java.awt.BorderLayout.SOUTH);
+    }// </editor-fold>//GEN-END:initComponents
+
+    private void analyzeButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_analyzeButtonActionPerformed
+        rangesTableModel.setRanges(Collections.emptyList());
+        progressBar.setValue(0);
+        progressBar.setString(null);
+        controller.analyze((Integer) blockSizeSpinner.getValue(), (Integer) minimumRepeatLengthSpinner.getValue(), selectionOnlyCheckBox.isSelected());
+    }//GEN-LAST:event_analyzeButtonActionPerformed
+
+    private void selectButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_selectButtonActionPerformed
+        DuplicateRange range = getSelectedRange();
+        if (range != null) {
+            controller.selectRange(range.getPosition(), range.getLength());
+        }
+    }//GEN-LAST:event_selectButtonActionPerformed
+
+    private void selectSourceButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_selectSourceButtonActionPerformed
+        DuplicateRange range = getSelectedRange();
+        if (range != null) {
+            controller.selectRange(range.getSourcePosition(), range.getLength());
+        }
+    }//GEN-LAST:event_selectSourceButtonActionPerformed
+
+    /**
+     * Test method for this panel.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        TestApplication testApplication = UtilsModule.createTestApplication();
+        testApplication.launch(() -> {
+            testApplication.addModule(org.exbin.framework.language.api.LanguageModuleApi.MODULE_ID, new org.exbin.framework.language.api.utils.TestLanguageModule());
+            WindowUtils.invokeWindow(new DuplicatesPanel());
+        });
+    }
+
+    // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JButton analyzeButton;
+    private javax.swing.JLabel blockSizeLabel;
+    private javax.swing.JSpinner blockSizeSpinner;
+    private javax.swing.JPanel controlPanel;
+    private javax.swing.JLabel minimumRepeatLengthLabel;
+    private javax.swing.JSpinner minimumRepeatLengthSpinner;
+    private javax.swing.JPanel optionsPanel;
+    private javax.swing.JProgressBar progressBar;
+    private javax.swing.JScrollPane rangesScrollPane;
+    private javax.swing.JTable rangesTable;
+    private javax.swing.JButton selectButton;
+    private javax.swing.JButton selectSourceButton;
+    private javax.swing.JCheckBox selectionOnlyCheckBox;
+    // End of variables declaration//GEN-END:variables
+
+    public void setController(Controller controller) {
+        this.controller = controller;
+    }
+
+    public void setSelectionAvailable(boolean selectionAvailable) {
+        selectionOnlyCheckBox.setEnabled(selectionAvailable);
+        selectionOnlyCheckBox.setSelected(selectionAvailable);
+    }
+
+    public void setProgress(int progress) {
+        progressBar.setValue(progress);
+    }
+
+    public void setAnalysisFinished(List<DuplicateRange> ranges) {
+        rangesTableModel.setRanges(ranges);
+        progressBar.setValue(progressBar.getMaximum());
+        progressBar.setString(java.text.MessageFormat.format(resourceBundle.getString("analysisFinished.text"), ranges.size()));
+    }
+
+    @Nullable
+    private DuplicateRange getSelectedRange() {
+        int selectedRow = rangesTable.getSelectedRow();
+        return selectedRow >= 0 ? rangesTableModel.getRange(rangesTable.convertRowIndexToModel(selectedRow)) : null;
+    }
+
+    private void updateButtons() {
+        boolean rangeSelected = rangesTable.getSelectedRow() >= 0;
+        selectButton.setEnabled(rangeSelected);
+        selectSourceButton.setEnabled(rangeSelected);
+    }
+
+    public interface Controller {
+
+        /**
+         * Starts analysis.
+         *
+         * @param blockSize block size
+         * @param minimumRepeatLength minimum length of repeated sequence
+         * @param selectionOnly analyze only selected range
+         */
+        void analyze(int blockSize, int minimumRepeatLength, boolean selectionOnly);
+
+        /**
+         * Selects range in the editor.
+         *
+         * @param position range position
+         * @param length range length
+         */
+        void selectRange(long position, long length);
+    }
+}
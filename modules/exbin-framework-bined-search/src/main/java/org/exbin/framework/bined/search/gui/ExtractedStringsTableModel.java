@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.gui;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.framework.bined.search.service.ExtractedStrings;
+
+/**
+ * Table model for extracted strings.
+ * <p>
+ * Text of the string is decoded from the document only for rows which are
+ * requested. Filtering runs in background thread and when filter text only
+ * gets more specific, only rows matching previous filter are checked.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ExtractedStringsTableModel extends AbstractTableModel {
+
+    /**
+     * Maximum number of bytes decoded for the displayed and filtered text.
+     */
+    private static final int MAX_TEXT_LENGTH = 1024;
+
+    private final ResourceBundle resourceBundle;
+    private ExtractedStrings strings = new ExtractedStrings();
+    private final byte[] textBuffer = new byte[MAX_TEXT_LENGTH];
+    private BinaryData data;
+
+    private String filter = "";
+    private String appliedFilter = "";
+    private int[] filteredRows = null;
+    private int filteredRowsCount = 0;
+    private int filterGeneration = 0;
+    private Thread filterThread = null;
+
+    public ExtractedStringsTableModel(ResourceBundle resourceBundle) {
+        this.resourceBundle = resourceBundle;
+    }
+
+    @Override
+    public int getRowCount() {
+        return filteredRows == null ? strings.size() : filteredRowsCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return 3;
+    }
+
+    @Nonnull
+    @Override
+    public String getColumnName(int columnIndex) {
+        switch (columnIndex) {
+            case 0:
+                return resourceBundle.getString("stringsTable.positionColumn");
+            case 1:
+                return resourceBundle.getString("stringsTable.encodingColumn");
+            case 2:
+                return resourceBundle.getString("stringsTable.textColumn");
+            default:
+                throw new IllegalArgumentException("Unexpected column " + columnIndex);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnIndex == 0 ? Long.class : String.class;
+    }
+
+    @Nullable
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int index = getStringIndex(rowIndex);
+        switch (columnIndex) {
+            case 0:
+                return strings.getPosition(index);
+            case 1:
+                return resourceBundle.getString("encoding." + strings.getEncoding(index).name().toLowerCase());
+            case 2:
+                return getText(strings, index, textBuffer);
+            default:
+                throw new IllegalArgumentException("Unexpected column " + columnIndex);
+        }
+    }
+
+    /**
+     * Returns index of the string for given row.
+     *
+     * @param rowIndex row index
+     * @return string index
+     */
+    public int getStringIndex(int rowIndex) {
+        return filteredRows == null ? rowIndex : filteredRows[rowIndex];
+    }
+
+    public int getStringsCount() {
+        return strings.size();
+    }
+
+    public long getPosition(int index) {
+        return strings.getPosition(index);
+    }
+
+    public int getLength(int index) {
+        return strings.getLength(index);
+    }
+
+    public void setData(BinaryData data) {
+        this.data = data;
+    }
+
+    public void clear() {
+        stopFilter();
+        // Storage might be still used by stopped filter thread
+        strings = new ExtractedStrings();
+        if (filteredRows != null) {
+            filteredRowsCount = 0;
+            appliedFilter = filter;
+        }
+        fireTableDataChanged();
+    }
+
+    public void addStrings(ExtractedStrings newStrings) {
+        if (newStrings.isEmpty()) {
+            return;
+        }
+
+        int firstIndex = strings.size();
+        strings.addAll(newStrings);
+        if (filteredRows == null) {
+            fireTableRowsInserted(firstIndex, strings.size() - 1);
+            return;
+        }
+
+        int firstRow = filteredRowsCount;
+        String filterText = filter.toLowerCase(Locale.ROOT);
+        for (int index = firstIndex; index < strings.size(); index++) {
+            if (matches(strings, index, filterText, textBuffer)) {
+                addFilteredRow(index);
+            }
+        }
+        if (filteredRowsCount > firstRow) {
+            fireTableRowsInserted(firstRow, filteredRowsCount - 1);
+        }
+    }
+
+    /**
+     * Sets filter text.
+     *
+     * @param filter filter text, empty for no filtering
+     */
+    public void setFilter(String filter) {
+        if (this.filter.equals(filter)) {
+            return;
+        }
+
+        stopFilter();
+        this.filter = filter;
+        if (filter.isEmpty()) {
+            filteredRows = null;
+            appliedFilter = "";
+            fireTableDataChanged();
+            return;
+        }
+
+        // Rows added after this point are matched against new filter directly
+        int stringsCount = strings.size();
+        int[] sourceRows = null;
+        int sourceRowsCount = stringsCount;
+        if (filteredRows != null && filter.toLowerCase(Locale.ROOT).contains(appliedFilter.toLowerCase(Locale.ROOT))) {
+            sourceRowsCount = filteredRowsCount;
+            while (sourceRowsCount > 0 && filteredRows[sourceRowsCount - 1] >= stringsCount) {
+                sourceRowsCount--;
+            }
+            sourceRows = Arrays.copyOf(filteredRows, sourceRowsCount);
+        }
+
+        if (filteredRows == null) {
+            filteredRows = new int[0];
+            filteredRowsCount = 0;
+            appliedFilter = filter;
+            fireTableDataChanged();
+        }
+
+        int generation = filterGeneration;
+        String filterText = filter.toLowerCase(Locale.ROOT);
+        ExtractedStrings stringsView = strings.createView();
+        int[] rows = sourceRows;
+        int rowsCount = sourceRowsCount;
+        filterThread = new Thread(() -> {
+            byte[] buffer = new byte[MAX_TEXT_LENGTH];
+            Thread currentThread = Thread.currentThread();
+            int[] matchedRows = new int[Math.max(Math.min(rowsCount, 1024), 1)];
+            int matchedRowsCount = 0;
+            for (int row = 0; row < rowsCount; row++) {
+                if ((row & 0xfff) == 0 && currentThread.isInterrupted()) {
+                    return;
+                }
+
+                int index = rows == null ? row : rows[row];
+                if (matches(stringsView, index, filterText, buffer)) {
+                    if (matchedRowsCount == matchedRows.length) {
+                        matchedRows = Arrays.copyOf(matchedRows, matchedRows.length * 2);
+                    }
+                    matchedRows[matchedRowsCount++] = index;
+                }
+            }
+
+            int[] resultRows = matchedRows;
+            int resultRowsCount = matchedRowsCount;
+            SwingUtilities.invokeLater(() -> {
+                if (generation == filterGeneration) {
+                    applyFilterResult(filter, resultRows, resultRowsCount, stringsCount);
+                }
+            });
+        }, "StringsFilterThread");
+        filterThread.start();
+    }
+
+    private void applyFilterResult(String filter, int[] resultRows, int resultRowsCount, int stringsCount) {
+        int[] previousRows = filteredRows;
+        int previousRowsCount = filteredRowsCount;
+        filteredRows = resultRows;
+        filteredRowsCount = resultRowsCount;
+        // Keep rows added and matched during filtering
+        for (int row = 0; row < previousRowsCount; row++) {
+            if (previousRows[row] >= stringsCount) {
+                addFilteredRow(previousRows[row]);
+            }
+        }
+        appliedFilter = filter;
+        filterThread = null;
+        fireTableDataChanged();
+    }
+
+    private void stopFilter() {
+        filterGeneration++;
+        if (filterThread != null) {
+            filterThread.interrupt();
+            filterThread = null;
+        }
+    }
+
+    private void addFilteredRow(int index) {
+        if (filteredRowsCount == filteredRows.length) {
+            filteredRows = Arrays.copyOf(filteredRows, Math.max(1024, filteredRows.length * 2));
+        }
+        filteredRows[filteredRowsCount++] = index;
+    }
+
+    private boolean matches(ExtractedStrings strings, int index, String filterText, byte[] buffer) {
+        return getText(strings, index, buffer).toLowerCase(Locale.ROOT).contains(filterText);
+    }
+
+    @Nonnull
+    private String getText(ExtractedStrings strings, int index, byte[] buffer) {
+        int length = Math.min(strings.getLength(index), buffer.length);
+        data.copyToArray(strings.getPosition(index), buffer, 0, length);
+        return new String(buffer, 0, length, strings.getEncoding(index).getCharset());
+    }
+}
@@ -489,6 +489,7 @@ public class FindBinaryPanel extends javax.swing.JPanel {
                 matchCaseCheckBox.setEnabled(true);
                 break;
             case REGEX:
+            case BINARY_REGEX:
                 matchCaseCheckBox.setEnabled(true);
                 break;
             default:
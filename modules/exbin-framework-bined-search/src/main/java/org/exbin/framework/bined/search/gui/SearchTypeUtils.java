@@ -52,6 +52,15 @@ public class SearchTypeUtils {
                         listener.searchTypeChanged(SearchCondition.SearchMode.REGEX);
                         break;
                     case REGEX:
+                        listener.searchTypeChanged(SearchCondition.SearchMode.BINARY_REGEX);
+                        break;
+                    case BINARY_REGEX:
+                        listener.searchTypeChanged(SearchCondition.SearchMode.NUMERIC);
+                        break;
+                    case NUMERIC:
+                        listener.searchTypeChanged(SearchCondition.SearchMode.OBFUSCATED_TEXT);
+                        break;
+                    case OBFUSCATED_TEXT:
                         listener.searchTypeChanged(SearchCondition.SearchMode.BINARY);
                         break;
                     case BINARY:
@@ -77,6 +86,27 @@ public class SearchTypeUtils {
                 }
             };
             searchTypeMenu.add(new JMenuItem(regExSearchType));
+            Action binaryRegExSearchType = new AbstractAction(resourceBundle.getString("searchType.binaryRegex.name")) {
+                @Override
+                public void actionPerformed(ActionEvent ae) {
+                    listener.searchTypeChanged(SearchCondition.SearchMode.BINARY_REGEX);
+                }
+            };
+            searchTypeMenu.add(new JMenuItem(binaryRegExSearchType));
+            Action numericSearchType = new AbstractAction(resourceBundle.getString("searchType.numeric.name")) {
+                @Override
+                public void actionPerformed(ActionEvent ae) {
+                    listener.searchTypeChanged(SearchCondition.SearchMode.NUMERIC);
+                }
+            };
+            searchTypeMenu.add(new JMenuItem(numericSearchType));
+            Action obfuscatedTextSearchType = new AbstractAction(resourceBundle.getString("searchType.obfuscatedText.name")) {
+                @Override
+                public void actionPerformed(ActionEvent ae) {
+                    listener.searchTypeChanged(SearchCondition.SearchMode.OBFUSCATED_TEXT);
+                }
+            };
+            searchTypeMenu.add(new JMenuItem(obfuscatedTextSearchType));
             Action binarySearchType = new AbstractAction(resourceBundle.getString("searchType.binary.name")) {
                 @Override
                 public void actionPerformed(ActionEvent ae) {
@@ -98,6 +128,18 @@ public class SearchTypeUtils {
                 searchTypeButton.setActionText(resourceBundle.getString("searchType.regex.code"));
                 searchTypeButton.setActionTooltip(resourceBundle.getString("searchType.regex.code") + " - " + resourceBundle.getString("searchType.regex.name"));
                 break;
+            case BINARY_REGEX:
+                searchTypeButton.setActionText(resourceBundle.getString("searchType.binaryRegex.code"));
+                searchTypeButton.setActionTooltip(resourceBundle.getString("searchType.binaryRegex.code") + " - " + resourceBundle.getString("searchType.binaryRegex.name"));
+                break;
+            case NUMERIC:
+                searchTypeButton.setActionText(resourceBundle.getString("searchType.numeric.code"));
+                searchTypeButton.setActionTooltip(resourceBundle.getString("searchType.numeric.code") + " - " + resourceBundle.getString("searchType.numeric.name"));
+                break;
+            case OBFUSCATED_TEXT:
+                searchTypeButton.setActionText(resourceBundle.getString("searchType.obfuscatedText.code"));
+                searchTypeButton.setActionTooltip(resourceBundle.getString("searchType.obfuscatedText.code") + " - " + resourceBundle.getString("searchType.obfuscatedText.name"));
+                break;
             default:
                 searchTypeButton.setActionText(resourceBundle.getString("searchType.binary.code"));
                 searchTypeButton.setActionTooltip(resourceBundle.getString("searchType.binary.code") + " - " + resourceBundle.getString("searchType.binary.name"));
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.gui;
+
+import java.util.EnumSet;
+import java.util.ResourceBundle;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.ListSelectionModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.search.service.ExtractedStrings;
+import org.exbin.framework.bined.search.service.StringEncoding;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.utils.TestApplication;
+import org.exbin.framework.utils.UtilsModule;
+import org.exbin.framework.utils.WindowUtils;
+
+/**
+ * Panel for listing of strings extracted from document.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class StringsPanel extends javax.swing.JPanel {
+
+    private final java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(StringsPanel.class);
+    private final ExtractedStringsTableModel stringsTableModel = new ExtractedStringsTableModel(resourceBundle);
+    private Controller controller = null;
+
+    public StringsPanel() {
+        initComponents();
+        init();
+    }
+
+    private void init() {
+        stringsTable.setModel(stringsTableModel);
+        stringsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        stringsTable.getColumnModel().getColumn(2).setPreferredWidth(400);
+        stringsTable.getSelectionModel().addListSelectionListener((e) -> updateButtons());
+        filterTextField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                stringsTableModel.setFilter(filterTextField.getText());
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                stringsTableModel.setFilter(filterTextField.getText());
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                stringsTableModel.setFilter(filterTextField.getText());
+            }
+        });
+        updateButtons();
+    }
+
+    @Nonnull
+    public ResourceBundle getResourceBundle() {
+        return resourceBundle;
+    }
+
+    /**
+     * This method is called from within the constructor to initialize the form.
+     * WARNING: Do NOT modify this code. The content of this method is always
+     * regenerated by the Form Editor.
+     */
+    @SuppressWarnings("unchecked")
+    // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
+    private void initComponents() {
+
+        optionsPanel = new javax.swing.JPanel();
+        minimumLengthLabel = new javax.swing.JLabel();
+        minimumLengthSpinner = new javax.swing.JSpinner();
+        asciiCheckBox = new javax.swing.JCheckBox();
+        utf8CheckBox = new javax.swing.JCheckBox();
+        utf16LeCheckBox = new javax.swing.JCheckBox();
+        utf16BeCheckBox = new javax.swing.JCheckBox();
+        scanButton = new javax.swing.JButton();
+        stringsScrollPane = new javax.swing.JScrollPane();
+        stringsTable = new javax.swing.JTable();
+        controlPanel = new javax.swing.JPanel();
+        filterLabel = new javax.swing.JLabel();
+        filterTextField = new javax.swing.JTextField();
+        progressBar = new javax.swing.JProgressBar();
+        selectButton = new javax.swing.JButton();
+
+        setLayout(new java.awt.BorderLayout());
+
+        optionsPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.LEFT));
+
+        minimumLengthLabel.setText(resourceBundle.getString("minimumLengthLabel.text")); // NOI18N
+        optionsPanel.add(minimumLengthLabel);
+
+        minimumLengthSpinner.setModel(new javax.swing.SpinnerNumberModel(4, 1, 1000, 1));
+        optionsPanel.add(minimumLengthSpinner);
+
+        asciiCheckBox.setSelected(true);
+        asciiCheckBox.setText(resourceBundle.getString("asciiCheckBox.text")); // NOI18N
+        optionsPanel.add(asciiCheckBox);
+
+        utf8CheckBox.setSelected(true);
+        utf8CheckBox.setText(resourceBundle.getString("utf8CheckBox.text")); // NOI18N
+        optionsPanel.add(utf8CheckBox);
+
+        utf16LeCheckBox.setSelected(true);
+        utf16LeCheckBox.setText(resourceBundle.getString("utf16LeCheckBox.text")); // NOI18N
+        optionsPanel.add(utf16LeCheckBox);
+
+        utf16BeCheckBox.setSelected(true);
+        utf16BeCheckBox.setText(resourceBundle.getString("utf16BeCheckBox.text")); // NOI18N
+        optionsPanel.add(utf16BeCheckBox);
+
+        scanButton.setText(resourceBundle.getString("scanButton.text")); // NOI18N
+        scanButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                scanButtonActionPerformed(evt);
+            }
+        });
+        optionsPanel.add(scanButton);
+
+        add(optionsPanel, java.awt.BorderLayout.NORTH);
+
+        stringsScrollPane.setViewportView(stringsTable);
+
+        add(stringsScrollPane, java.awt.BorderLayout.CENTER);
+
+        controlPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.RIGHT));
+
+        filterLabel.setText(resourceBundle.getString("filterLabel.text")); // NOI18N
+        controlPanel.add(filterLabel);
+
+        filterTextField.setColumns(20);
+        controlPanel.add(filterTextField);
+
+        progressBar.setMaximum(1000);
+        progressBar.setStringPainted(true);
+        controlPanel.add(progressBar);
+
+        selectButton.setText(resourceBundle.getString("selectButton.text")); // NOI18N
+        selectButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                selectButtonActionPerformed(evt);
+            }
+        });
+        controlPanel.add(selectButton);
+
+        add(controlPanel, java.awt.BorderLayout.SOUTH);
+    }// </editor-fold>//GEN-END:initComponents
+
+    private void scanButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_scanButtonActionPerformed
+        startScan();
+    }//GEN-LAST:event_scanButtonActionPerformed
+
+    private void selectButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_selectButtonActionPerformed
+        int selectedRow = stringsTable.getSelectedRow();
+        if (selectedRow >= 0) {
+            int index = stringsTableModel.getStringIndex(stringsTable.convertRowIndexToModel(selectedRow));
+            controller.selectString(stringsTableModel.getPosition(index), stringsTableModel.getLength(index));
+        }
+    }//GEN-LAST:event_selectButtonActionPerformed
+
+    /**
+     * Test method for this panel.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        TestApplication testApplication = UtilsModule.createTestApplication();
+        testApplication.launch(() -> {
+            testApplication.addModule(org.exbin.framework.language.api.LanguageModuleApi.MODULE_ID, new org.exbin.framework.language.api.utils.TestLanguageModule());
+            WindowUtils.invokeWindow(new StringsPanel());
+        });
+    }
+
+    // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JCheckBox asciiCheckBox;
+    private javax.swing.JPanel controlPanel;
+    private javax.swing.JLabel filterLabel;
+    private javax.swing.JTextField filterTextField;
+    private javax.swing.JLabel minimumLengthLabel;
+    private javax.swing.JSpinner minimumLengthSpinner;
+    private javax.swing.JPanel optionsPanel;
+    private javax.swing.JProgressBar progressBar;
+    private javax.swing.JButton scanButton;
+    private javax.swing.JButton selectButton;
+    private javax.swing.JScrollPane stringsScrollPane;
+    private javax.swing.JTable stringsTable;
+    private javax.swing.JCheckBox utf16BeCheckBox;
+    private javax.swing.JCheckBox utf16LeCheckBox;
+    private javax.swing.JCheckBox utf8CheckBox;
+    // End of variables declaration//GEN-END:variables
+
+    public void setController(Controller controller) {
+        this.controller = controller;
+    }
+
+    public void setData(BinaryData data) {
+        stringsTableModel.setData(data);
+    }
+
+    /**
+     * Clears current strings and requests scan with current options.
+     */
+    public void startScan() {
+        stringsTableModel.clear();
+        progressBar.setValue(0);
+        progressBar.setString(null);
+        controller.startScan((Integer) minimumLengthSpinner.getValue(), getEncodings());
+    }
+
+    public void addStrings(ExtractedStrings strings) {
+        stringsTableModel.addStrings(strings);
+    }
+
+    public void setProgress(int progress) {
+        progressBar.setValue(progress);
+    }
+
+    public void setScanFinished() {
+        progressBar.setValue(progressBar.getMaximum());
+        progressBar.setString(java.text.MessageFormat.format(resourceBundle.getString("scanFinished.text"), stringsTableModel.getStringsCount()));
+    }
+
+    @Nonnull
+    private Set<StringEncoding> getEncodings() {
+        Set<StringEncoding> encodings = EnumSet.noneOf(StringEncoding.class);
+        if (asciiCheckBox.isSelected()) {
+            encodings.add(StringEncoding.ASCII);
+        }
+        if (utf8CheckBox.isSelected()) {
+            encodings.add(StringEncoding.UTF8);
+        }
+        if (utf16LeCheckBox.isSelected()) {
+            encodings.add(StringEncoding.UTF16LE);
+        }
+        if (utf16BeCheckBox.isSelected()) {
+            encodings.add(StringEncoding.UTF16BE);
+        }
+        return encodings;
+    }
+
+    private void updateButtons() {
+        selectButton.setEnabled(stringsTable.getSelectedRow() >= 0);
+    }
+
+    public interface Controller {
+
+        /**
+         * Starts scanning for strings.
+         *
+         * @param minimumLength minimum length of string in characters
+         * @param encodings enabled encodings
+         */
+        void startScan(int minimumLength, Set<StringEncoding> encodings);
+
+        /**
+         * Selects string range in the editor.
+         *
+         * @param position string position
+         * @param length string length in bytes
+         */
+        void selectString(long position, int length);
+    }
+}
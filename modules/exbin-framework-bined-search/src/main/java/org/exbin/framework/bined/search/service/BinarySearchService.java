@@ -15,6 +15,7 @@
  */
 package org.exbin.framework.bined.search.service;
 
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 import org.exbin.framework.bined.search.ReplaceParameters;
@@ -39,8 +40,21 @@ public interface BinarySearchService {
     @Nonnull
     SearchParameters getLastSearchParameters();
 
+    /**
+     * Returns additional detail of the current match, such as recovered key.
+     *
+     * @return match detail or empty if not available
+     */
+    @Nonnull
+    Optional<String> getCurrentMatchDetail();
+
     void clearMatches();
 
+    /**
+     * Stops highlighting and releases resources bound to code area.
+     */
+    void dispose();
+
     @ParametersAreNonnullByDefault
     public interface SearchStatusListener {
 
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Embedded payload found by carving.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CarvedPayload {
+
+    private final long position;
+    private final long length;
+    private final PayloadType payloadType;
+
+    public CarvedPayload(long position, long length, PayloadType payloadType) {
+        this.position = position;
+        this.length = length;
+        this.payloadType = payloadType;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    @Nonnull
+    public PayloadType getPayloadType() {
+        return payloadType;
+    }
+
+    public enum PayloadType {
+        ZIP, PNG, JPEG, ELF, PE, PDF, SQLITE
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Range of data which is duplicate of data at other position.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DuplicateRange {
+
+    private final long position;
+    private final long sourcePosition;
+    private final long length;
+    private final DuplicateType duplicateType;
+
+    public DuplicateRange(long position, long sourcePosition, long length, DuplicateType duplicateType) {
+        this.position = position;
+        this.sourcePosition = sourcePosition;
+        this.length = length;
+        this.duplicateType = duplicateType;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns position of the previous occurrence of the same data.
+     *
+     * @return source position
+     */
+    public long getSourcePosition() {
+        return sourcePosition;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    @Nonnull
+    public DuplicateType getDuplicateType() {
+        return duplicateType;
+    }
+
+    public enum DuplicateType {
+        /**
+         * Maximal repeated sequence at any position.
+         */
+        REPEAT,
+        /**
+         * Sequence of duplicated blocks aligned to block size.
+         */
+        BLOCKS
+    }
+}
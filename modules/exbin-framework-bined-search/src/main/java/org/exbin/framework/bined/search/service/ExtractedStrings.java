@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Compact list of extracted strings.
+ * <p>
+ * Only position, length and encoding are stored, text is decoded from the
+ * document on demand.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ExtractedStrings {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final StringEncoding[] ENCODINGS = StringEncoding.values();
+
+    private long[] positions = new long[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private byte[] encodings = new byte[INITIAL_CAPACITY];
+    private int size = 0;
+
+    public ExtractedStrings() {
+    }
+
+    private ExtractedStrings(long[] positions, int[] lengths, byte[] encodings) {
+        this.positions = positions;
+        this.lengths = lengths;
+        this.encodings = encodings;
+    }
+
+    public void add(long position, int length, StringEncoding encoding) {
+        ensureCapacity(size + 1);
+        positions[size] = position;
+        lengths[size] = length;
+        encodings[size] = (byte) encoding.ordinal();
+        size++;
+    }
+
+    public void addAll(ExtractedStrings strings) {
+        ensureCapacity(size + strings.size);
+        System.arraycopy(strings.positions, 0, positions, size, strings.size);
+        System.arraycopy(strings.lengths, 0, lengths, size, strings.size);
+        System.arraycopy(strings.encodings, 0, encodings, size, strings.size);
+        size += strings.size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns view of current strings sharing the storage.
+     * <p>
+     * View can be read from other thread while strings are only appended.
+     *
+     * @return view
+     */
+    @Nonnull
+    public ExtractedStrings createView() {
+        ExtractedStrings view = new ExtractedStrings(positions, lengths, encodings);
+        view.size = size;
+        return view;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getPosition(int index) {
+        return positions[index];
+    }
+
+    /**
+     * Returns length of the string in bytes.
+     *
+     * @param index string index
+     * @return length in bytes
+     */
+    public int getLength(int index) {
+        return lengths[index];
+    }
+
+    @Nonnull
+    public StringEncoding getEncoding(int index) {
+        return ENCODINGS[encodings[index]];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= positions.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, positions.length + (positions.length >> 1));
+        positions = Arrays.copyOf(positions, newCapacity);
+        lengths = Arrays.copyOf(lengths, newCapacity);
+        encodings = Arrays.copyOf(encodings, newCapacity);
+    }
+}
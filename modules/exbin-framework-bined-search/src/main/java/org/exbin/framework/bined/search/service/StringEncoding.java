@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Encoding of extracted string.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public enum StringEncoding {
+    ASCII(StandardCharsets.US_ASCII),
+    UTF8(StandardCharsets.UTF_8),
+    UTF16LE(StandardCharsets.UTF_16LE),
+    UTF16BE(StandardCharsets.UTF_16BE);
+
+    private final Charset charset;
+
+    private StringEncoding(Charset charset) {
+        this.charset = charset;
+    }
+
+    @Nonnull
+    public Charset getCharset() {
+        return charset;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service.impl;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+
+/**
+ * Interface for matcher scanning binary data forward in blocks.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface BinaryDataMatcher {
+
+    /**
+     * Finds next match within given range.
+     *
+     * @param data searched data
+     * @param fromPosition start position (inclusive)
+     * @param toPosition end position (exclusive)
+     * @return true if match was found, false if not found or thread was
+     * interrupted
+     */
+    boolean find(BinaryData data, long fromPosition, long toPosition);
+
+    /**
+     * Returns start position of the last found match.
+     *
+     * @return start position
+     */
+    long start();
+
+    /**
+     * Returns end position (exclusive) of the last found match.
+     *
+     * @return end position
+     */
+    long end();
+
+    /**
+     * Sets listener for reporting of scanning progress.
+     *
+     * @param progressListener progress listener
+     */
+    void setProgressListener(@Nullable ProgressListener progressListener);
+
+    /**
+     * Listener for scanning progress.
+     */
+    public interface ProgressListener {
+
+        void progress(long position);
+    }
+}
@@ -0,0 +1,504 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+
+/**
+ * Matcher for binary regular expression using lazily built deterministic
+ * automaton.
+ * <p>
+ * Search runs without backtracking: unanchored automaton finds end of the
+ * earliest match in single forward pass and reverse automaton locates start
+ * of the match ending there. Match starting before it can still end later,
+ * so anchored automaton is then simulated with tracking of thread start
+ * positions up to that start to find the leftmost start and forward anchored
+ * automaton extends it to the longest match.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinaryRegexMatcher implements BinaryDataMatcher {
+
+    private static final int BLOCK_SIZE = 65536;
+    private static final int MAX_CACHED_STATES = 2048;
+
+    private final Dfa unanchoredDfa;
+    private final Dfa forwardDfa;
+    private final Dfa reverseDfa;
+    private final BinaryRegexPattern.Nfa anchoredNfa;
+    private final long[] firstBytes = new long[4];
+    private final boolean startReentrant;
+    private final int[] threadMarks;
+    private int threadGeneration = 0;
+    private ThreadList threads = new ThreadList();
+    private ThreadList nextThreads = new ThreadList();
+    private int[] closureStack = new int[64];
+
+    private BinaryData data;
+    private long dataSize;
+    private final byte[] window = new byte[BLOCK_SIZE];
+    private long windowStart = 0;
+    private int windowLength = 0;
+
+    private long matchStart = -1;
+    private long matchEnd = -1;
+    private ProgressListener progressListener = null;
+
+    BinaryRegexMatcher(BinaryRegexPattern pattern) {
+        unanchoredDfa = new Dfa(pattern.getUnanchoredNfa());
+        forwardDfa = new Dfa(pattern.getForwardNfa());
+        reverseDfa = new Dfa(pattern.getReverseNfa());
+        anchoredNfa = pattern.getForwardNfa();
+        threadMarks = new int[anchoredNfa.statesCount];
+        for (int nfaState : forwardDfa.startState.nfaStates) {
+            if (anchoredNfa.types[nfaState] == BinaryRegexPattern.STATE_BYTES) {
+                for (int i = 0; i < 4; i++) {
+                    firstBytes[i] |= anchoredNfa.byteSets[nfaState * 4 + i];
+                }
+            }
+        }
+        startReentrant = isStartReentrant(anchoredNfa, forwardDfa.startState.nfaStates);
+    }
+
+    /**
+     * Checks whether states of the pattern start are reachable after reading
+     * some input, which happens for patterns starting with repetition.
+     */
+    private static boolean isStartReentrant(BinaryRegexPattern.Nfa nfa, int[] startStates) {
+        // States leading to start states without input
+        boolean[] leadsToStart = new boolean[nfa.statesCount];
+        for (int state : startStates) {
+            leadsToStart[state] = true;
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int state = 0; state < nfa.statesCount; state++) {
+                if (!leadsToStart[state] && nfa.types[state] == BinaryRegexPattern.STATE_SPLIT && (leadsToStart[nfa.out1[state]] || leadsToStart[nfa.out2[state]])) {
+                    leadsToStart[state] = true;
+                    changed = true;
+                }
+            }
+        }
+        for (int state = 0; state < nfa.statesCount; state++) {
+            if (nfa.types[state] == BinaryRegexPattern.STATE_BYTES && leadsToStart[nfa.out1[state]]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void setProgressListener(@Nullable ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public boolean find(BinaryData data, long fromPosition, long toPosition) {
+        if (this.data != data || this.dataSize != data.getDataSize()) {
+            this.data = data;
+            dataSize = data.getDataSize();
+            windowLength = 0;
+        }
+        matchStart = -1;
+        matchEnd = -1;
+        long limit = Math.min(toPosition, dataSize);
+        Thread currentThread = Thread.currentThread();
+
+        // Find end of the earliest match
+        DfaState state = unanchoredDfa.startState;
+        long position = fromPosition;
+        long earliestEnd = -1;
+        // No match can start before position where only new threads are alive
+        long quietPosition = fromPosition;
+        while (position < limit) {
+            if (currentThread.isInterrupted()) {
+                return false;
+            }
+
+            loadWindow(position);
+            int offset = (int) (position - windowStart);
+            int blockEnd = (int) Math.min(windowLength, limit - windowStart);
+            while (offset < blockEnd) {
+                state = unanchoredDfa.next(state, window[offset] & 0xff);
+                offset++;
+                if (state.accepting) {
+                    earliestEnd = windowStart + offset;
+                    break;
+                }
+                if (state == unanchoredDfa.startState && !startReentrant) {
+                    quietPosition = windowStart + offset;
+                }
+            }
+            position = windowStart + offset;
+            if (earliestEnd >= 0) {
+                break;
+            }
+
+            if (progressListener != null) {
+                progressListener.progress(position);
+            }
+        }
+        if (earliestEnd < 0) {
+            return false;
+        }
+
+        // Find start of the match ending there
+        state = reverseDfa.startState;
+        long start = -1;
+        for (position = earliestEnd - 1; position >= fromPosition; position--) {
+            state = reverseDfa.next(state, byteAt(position));
+            if (state.isDead()) {
+                break;
+            }
+            if (state.accepting) {
+                start = position;
+            }
+            if ((position & (BLOCK_SIZE - 1)) == 0 && currentThread.isInterrupted()) {
+                return false;
+            }
+        }
+        if (start < 0) {
+            throw new IllegalStateException("Reverse automaton failed to locate match start");
+        }
+
+        // Find leftmost start of any match, it can end after the earliest end
+        start = findLeftmostStart(quietPosition, start, limit);
+        if (start < 0) {
+            return false;
+        }
+
+        // Extend to the longest match from the start
+        state = forwardDfa.startState;
+        long end = -1;
+        for (position = start; position < limit; position++) {
+            state = forwardDfa.next(state, byteAt(position));
+            if (state.isDead()) {
+                break;
+            }
+            if (state.accepting) {
+                end = position + 1;
+            }
+            if ((position & (BLOCK_SIZE - 1)) == 0 && currentThread.isInterrupted()) {
+                return false;
+            }
+        }
+
+        if (end < 0) {
+            throw new IllegalStateException("Forward automaton failed to locate match end");
+        }
+
+        matchStart = start;
+        matchEnd = end;
+        return true;
+    }
+
+    /**
+     * Finds leftmost start of match starting not later than known start.
+     * <p>
+     * Threads of anchored automaton are simulated together with their start
+     * positions. When more threads reach the same state, the one with the
+     * earliest start is kept as their continuations are the same.
+     *
+     * @param fromPosition start position of the search
+     * @param knownStart start of already located match
+     * @param limit end position (exclusive)
+     * @return leftmost start or -1 if thread was interrupted
+     */
+    private long findLeftmostStart(long fromPosition, long knownStart, long limit) {
+        Thread currentThread = Thread.currentThread();
+        long leftmostStart = knownStart;
+        threads.count = 0;
+        threadGeneration++;
+        long position = fromPosition;
+        while (position < limit) {
+            if (threads.count == 0) {
+                // Skip positions where no match can start
+                while (position < leftmostStart && !containsFirstByte(byteAt(position))) {
+                    position++;
+                }
+                if (position >= leftmostStart) {
+                    break;
+                }
+            }
+
+            if (position < leftmostStart) {
+                addThread(threads, anchoredNfa.startState, position);
+            }
+
+            int value = byteAt(position);
+            threadGeneration++;
+            nextThreads.count = 0;
+            for (int i = 0; i < threads.count; i++) {
+                long threadStart = threads.starts[i];
+                int nfaState = threads.states[i];
+                if (threadStart < leftmostStart && anchoredNfa.types[nfaState] == BinaryRegexPattern.STATE_BYTES && anchoredNfa.containsByte(nfaState, value)) {
+                    if (addThread(nextThreads, anchoredNfa.out1[nfaState], threadStart)) {
+                        // Threads are ordered by start, so this is the leftmost match so far
+                        leftmostStart = threadStart;
+                    }
+                }
+            }
+            ThreadList swap = threads;
+            threads = nextThreads;
+            nextThreads = swap;
+            position++;
+
+            if ((position & (BLOCK_SIZE - 1)) == 0 && currentThread.isInterrupted()) {
+                return -1;
+            }
+        }
+        return leftmostStart;
+    }
+
+    /**
+     * Adds thread for given state and states reachable without input.
+     *
+     * @return true if match state was reached
+     */
+    private boolean addThread(ThreadList list, int nfaState, long threadStart) {
+        boolean matched = false;
+        int stackSize = 0;
+        closureStack[stackSize++] = nfaState;
+        while (stackSize > 0) {
+            int state = closureStack[--stackSize];
+            if (threadMarks[state] == threadGeneration) {
+                continue;
+            }
+            threadMarks[state] = threadGeneration;
+            switch (anchoredNfa.types[state]) {
+                case BinaryRegexPattern.STATE_SPLIT:
+                    closureStack = Dfa.push(closureStack, stackSize++, anchoredNfa.out2[state]);
+                    closureStack = Dfa.push(closureStack, stackSize++, anchoredNfa.out1[state]);
+                    break;
+                case BinaryRegexPattern.STATE_MATCH:
+                    matched = true;
+                    break;
+                default:
+                    list.add(state, threadStart);
+                    break;
+            }
+        }
+        return matched;
+    }
+
+    private boolean containsFirstByte(int value) {
+        return (firstBytes[value >> 6] & (1L << (value & 63))) != 0;
+    }
+
+    @Override
+    public long start() {
+        return matchStart;
+    }
+
+    @Override
+    public long end() {
+        return matchEnd;
+    }
+
+    private int byteAt(long position) {
+        if (position < windowStart || position >= windowStart + windowLength) {
+            loadWindow(position);
+        }
+        return window[(int) (position - windowStart)] & 0xff;
+    }
+
+    private void loadWindow(long position) {
+        if (position >= windowStart && position < windowStart + windowLength) {
+            return;
+        }
+        windowStart = position - (position % BLOCK_SIZE);
+        windowLength = (int) Math.min(BLOCK_SIZE, dataSize - windowStart);
+        data.copyToArray(windowStart, window, 0, windowLength);
+    }
+
+    /**
+     * Lazily constructed deterministic automaton.
+     */
+    private static final class Dfa {
+
+        private final BinaryRegexPattern.Nfa nfa;
+        private final Map<DfaState, DfaState> states = new HashMap<>();
+        private final DfaState startState;
+
+        private final int[] marks;
+        private int markGeneration = 0;
+        private int[] stack = new int[64];
+        private int[] collected = new int[64];
+
+        Dfa(BinaryRegexPattern.Nfa nfa) {
+            this.nfa = nfa;
+            marks = new int[nfa.statesCount];
+            startState = intern(closure(new int[]{nfa.startState}, 1));
+        }
+
+        @Nonnull
+        DfaState next(DfaState state, int value) {
+            DfaState nextState = state.next[value];
+            if (nextState == null) {
+                nextState = computeNext(state, value);
+            }
+            return nextState;
+        }
+
+        @Nonnull
+        private DfaState computeNext(DfaState state, int value) {
+            int[] targets = new int[state.nfaStates.length];
+            int targetsCount = 0;
+            for (int nfaState : state.nfaStates) {
+                if (nfa.types[nfaState] == BinaryRegexPattern.STATE_BYTES && nfa.containsByte(nfaState, value)) {
+                    targets[targetsCount++] = nfa.out1[nfaState];
+                }
+            }
+
+            DfaState nextState = closure(targets, targetsCount);
+            if (!states.containsKey(nextState) && states.size() >= MAX_CACHED_STATES) {
+                flushCache(state);
+            }
+            nextState = intern(nextState);
+            state.next[value] = nextState;
+            return nextState;
+        }
+
+        @Nonnull
+        private DfaState closure(int[] initialStates, int initialCount) {
+            markGeneration++;
+            int stackSize = 0;
+            int collectedCount = 0;
+            boolean accepting = false;
+            for (int i = 0; i < initialCount; i++) {
+                stack = push(stack, stackSize++, initialStates[i]);
+            }
+            while (stackSize > 0) {
+                int nfaState = stack[--stackSize];
+                if (marks[nfaState] == markGeneration) {
+                    continue;
+                }
+                marks[nfaState] = markGeneration;
+                switch (nfa.types[nfaState]) {
+                    case BinaryRegexPattern.STATE_SPLIT:
+                        stack = push(stack, stackSize++, nfa.out2[nfaState]);
+                        stack = push(stack, stackSize++, nfa.out1[nfaState]);
+                        break;
+                    case BinaryRegexPattern.STATE_MATCH:
+                        accepting = true;
+                        collected = push(collected, collectedCount++, nfaState);
+                        break;
+                    default:
+                        collected = push(collected, collectedCount++, nfaState);
+                        break;
+                }
+            }
+
+            int[] nfaStates = Arrays.copyOf(collected, collectedCount);
+            Arrays.sort(nfaStates);
+            return new DfaState(nfaStates, accepting);
+        }
+
+        @Nonnull
+        private DfaState intern(DfaState state) {
+            DfaState existing = states.get(state);
+            if (existing != null) {
+                return existing;
+            }
+            states.put(state, state);
+            return state;
+        }
+
+        /**
+         * Drops cached states to keep memory bounded, only start state and
+         * currently processed state are kept.
+         */
+        private void flushCache(DfaState currentState) {
+            for (DfaState state : states.values()) {
+                Arrays.fill(state.next, null);
+            }
+            states.clear();
+            states.put(startState, startState);
+            states.put(currentState, currentState);
+        }
+
+        @Nonnull
+        private static int[] push(int[] array, int index, int value) {
+            if (index == array.length) {
+                array = Arrays.copyOf(array, array.length * 2);
+            }
+            array[index] = value;
+            return array;
+        }
+    }
+
+    /**
+     * List of simulated automaton threads ordered by start position.
+     */
+    private static final class ThreadList {
+
+        int[] states = new int[64];
+        long[] starts = new long[64];
+        int count = 0;
+
+        void add(int state, long start) {
+            if (count == states.length) {
+                states = Arrays.copyOf(states, count * 2);
+                starts = Arrays.copyOf(starts, count * 2);
+            }
+            states[count] = state;
+            starts[count] = start;
+            count++;
+        }
+    }
+
+    private static final class DfaState {
+
+        final int[] nfaStates;
+        final boolean accepting;
+        final DfaState[] next = new DfaState[256];
+        private final int hashCode;
+
+        DfaState(int[] nfaStates, boolean accepting) {
+            this.nfaStates = nfaStates;
+            this.accepting = accepting;
+            hashCode = Arrays.hashCode(nfaStates);
+        }
+
+        boolean isDead() {
+            return nfaStates.length == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            return Arrays.equals(nfaStates, ((DfaState) obj).nfaStates);
+        }
+    }
+}
@@ -0,0 +1,693 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Regular expression over raw bytes.
+ * <p>
+ * Pattern is compiled into nondeterministic automaton over 256 symbols
+ * alphabet which is then lazily turned into deterministic automaton by
+ * {@link BinaryRegexMatcher}.
+ * <p>
+ * Supported syntax: literals (characters above 0x7f are encoded as UTF-8),
+ * {@code \xHH}, {@code \n \r \t \f \v \e \0}, {@code \d \D \w \W \s \S},
+ * {@code .} (any byte), classes {@code [...]} and {@code [^...]} with ranges,
+ * groups {@code (...)} and {@code (?:...)}, alternation {@code |} and
+ * quantifiers {@code * + ? {n} {n,} {n,m}}. Lazy quantifier suffix is
+ * accepted, but matches are always leftmost-longest. Anchors and
+ * back-references are not supported.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinaryRegexPattern {
+
+    static final int STATE_BYTES = 0;
+    static final int STATE_SPLIT = 1;
+    static final int STATE_MATCH = 2;
+
+    private static final int MAX_REPEAT = 1000;
+    private static final int MAX_STATES = 1 << 18;
+
+    private final String pattern;
+    private final Nfa forwardNfa;
+    private final Nfa unanchoredNfa;
+    private final Nfa reverseNfa;
+
+    private BinaryRegexPattern(String pattern, Node rootNode) {
+        this.pattern = pattern;
+        forwardNfa = new Nfa(rootNode, false);
+        unanchoredNfa = new Nfa(rootNode, true);
+        reverseNfa = new Nfa(rootNode.reverse(), false);
+    }
+
+    /**
+     * Compiles binary regular expression.
+     *
+     * @param pattern pattern
+     * @param matchCase false for ASCII case insensitive matching
+     * @return compiled pattern
+     * @throws PatternSyntaxException on invalid pattern
+     */
+    @Nonnull
+    public static BinaryRegexPattern compile(String pattern, boolean matchCase) throws PatternSyntaxException {
+        Parser parser = new Parser(pattern, matchCase);
+        Node rootNode = parser.parse();
+        if (rootNode.isNullable()) {
+            throw new PatternSyntaxException("Pattern matches empty sequence", pattern, 0);
+        }
+
+        return new BinaryRegexPattern(pattern, rootNode);
+    }
+
+    @Nonnull
+    public String getPattern() {
+        return pattern;
+    }
+
+    @Nonnull
+    public BinaryRegexMatcher matcher() {
+        return new BinaryRegexMatcher(this);
+    }
+
+    @Nonnull
+    Nfa getForwardNfa() {
+        return forwardNfa;
+    }
+
+    @Nonnull
+    Nfa getUnanchoredNfa() {
+        return unanchoredNfa;
+    }
+
+    @Nonnull
+    Nfa getReverseNfa() {
+        return reverseNfa;
+    }
+
+    /**
+     * Thompson automaton stored in flat arrays.
+     */
+    static final class Nfa {
+
+        int statesCount = 0;
+        int[] types = new int[64];
+        int[] out1 = new int[64];
+        int[] out2 = new int[64];
+        long[] byteSets = new long[64 * 4];
+        final int startState;
+
+        private Nfa(Node rootNode, boolean unanchored) {
+            int matchState = addState(STATE_MATCH, -1, -1, null);
+            int start = compile(rootNode, matchState);
+            if (unanchored) {
+                // Implicit leading loop over any byte
+                int loopState = addState(STATE_SPLIT, -1, start, null);
+                int anyByteState = addState(STATE_BYTES, loopState, -1, ByteSet.full());
+                out1[loopState] = anyByteState;
+                start = loopState;
+            }
+            startState = start;
+        }
+
+        boolean containsByte(int state, int value) {
+            return (byteSets[state * 4 + (value >> 6)] & (1L << (value & 63))) != 0;
+        }
+
+        private int compile(Node node, int next) {
+            switch (node.type) {
+                case BYTES:
+                    return addState(STATE_BYTES, next, -1, node.byteSet);
+                case CONCAT: {
+                    int state = next;
+                    for (int i = node.children.size() - 1; i >= 0; i--) {
+                        state = compile(node.children.get(i), state);
+                    }
+                    return state;
+                }
+                case ALTERNATION: {
+                    int state = compile(node.children.get(node.children.size() - 1), next);
+                    for (int i = node.children.size() - 2; i >= 0; i--) {
+                        state = addState(STATE_SPLIT, compile(node.children.get(i), next), state, null);
+                    }
+                    return state;
+                }
+                case REPEAT: {
+                    Node child = node.children.get(0);
+                    int state = next;
+                    if (node.maxCount < 0) {
+                        int loopState = addState(STATE_SPLIT, -1, next, null);
+                        out1[loopState] = compile(child, loopState);
+                        state = loopState;
+                    } else {
+                        for (int i = node.minCount; i < node.maxCount; i++) {
+                            state = addState(STATE_SPLIT, compile(child, state), next, null);
+                        }
+                    }
+                    for (int i = 0; i < node.minCount; i++) {
+                        state = compile(child, state);
+                    }
+                    return state;
+                }
+                default:
+                    throw new IllegalStateException("Unexpected node type " + node.type);
+            }
+        }
+
+        private int addState(int type, int firstOut, int secondOut, long[] byteSet) {
+            if (statesCount == MAX_STATES) {
+                throw new PatternSyntaxException("Pattern is too complex", "", -1);
+            }
+            if (statesCount == types.length) {
+                int newLength = types.length * 2;
+                types = Arrays.copyOf(types, newLength);
+                out1 = Arrays.copyOf(out1, newLength);
+                out2 = Arrays.copyOf(out2, newLength);
+                byteSets = Arrays.copyOf(byteSets, newLength * 4);
+            }
+            int state = statesCount++;
+            types[state] = type;
+            out1[state] = firstOut;
+            out2[state] = secondOut;
+            if (byteSet != null) {
+                System.arraycopy(byteSet, 0, byteSets, state * 4, 4);
+            }
+            return state;
+        }
+    }
+
+    private enum NodeType {
+        BYTES, CONCAT, ALTERNATION, REPEAT
+    }
+
+    private static final class Node {
+
+        final NodeType type;
+        final List<Node> children;
+        long[] byteSet;
+        int minCount;
+        int maxCount;
+
+        Node(NodeType type, List<Node> children) {
+            this.type = type;
+            this.children = children;
+        }
+
+        @Nonnull
+        static Node bytes(long[] byteSet) {
+            Node node = new Node(NodeType.BYTES, Collections.emptyList());
+            node.byteSet = byteSet;
+            return node;
+        }
+
+        @Nonnull
+        static Node repeat(Node child, int minCount, int maxCount) {
+            List<Node> children = new ArrayList<>(1);
+            children.add(child);
+            Node node = new Node(NodeType.REPEAT, children);
+            node.minCount = minCount;
+            node.maxCount = maxCount;
+            return node;
+        }
+
+        boolean isNullable() {
+            switch (type) {
+                case BYTES:
+                    return false;
+                case CONCAT:
+                    for (Node child : children) {
+                        if (!child.isNullable()) {
+                            return false;
+                        }
+                    }
+                    return true;
+                case ALTERNATION:
+                    for (Node child : children) {
+                        if (child.isNullable()) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case REPEAT:
+                    return minCount == 0 || children.get(0).isNullable();
+                default:
+                    throw new IllegalStateException("Unexpected node type " + type);
+            }
+        }
+
+        @Nonnull
+        Node reverse() {
+            switch (type) {
+                case BYTES:
+                    return this;
+                case CONCAT: {
+                    List<Node> reversed = new ArrayList<>(children.size());
+                    for (int i = children.size() - 1; i >= 0; i--) {
+                        reversed.add(children.get(i).reverse());
+                    }
+                    return new Node(NodeType.CONCAT, reversed);
+                }
+                case ALTERNATION: {
+                    List<Node> reversed = new ArrayList<>(children.size());
+                    for (Node child : children) {
+                        reversed.add(child.reverse());
+                    }
+                    return new Node(NodeType.ALTERNATION, reversed);
+                }
+                case REPEAT:
+                    return repeat(children.get(0).reverse(), minCount, maxCount);
+                default:
+                    throw new IllegalStateException("Unexpected node type " + type);
+            }
+        }
+    }
+
+    private static final class ByteSet {
+
+        private ByteSet() {
+        }
+
+        @Nonnull
+        static long[] empty() {
+            return new long[4];
+        }
+
+        @Nonnull
+        static long[] full() {
+            return new long[]{-1L, -1L, -1L, -1L};
+        }
+
+        @Nonnull
+        static long[] single(int value) {
+            long[] set = empty();
+            add(set, value);
+            return set;
+        }
+
+        static void add(long[] set, int value) {
+            set[value >> 6] |= 1L << (value & 63);
+        }
+
+        static void addRange(long[] set, int from, int to) {
+            for (int value = from; value <= to; value++) {
+                add(set, value);
+            }
+        }
+
+        static void addAll(long[] set, long[] other) {
+            for (int i = 0; i < 4; i++) {
+                set[i] |= other[i];
+            }
+        }
+
+        @Nonnull
+        static long[] complement(long[] set) {
+            return new long[]{~set[0], ~set[1], ~set[2], ~set[3]};
+        }
+
+        static void foldCase(long[] set) {
+            for (int value = 'A'; value <= 'Z'; value++) {
+                int lower = value + ('a' - 'A');
+                boolean present = (set[value >> 6] & (1L << (value & 63))) != 0 || (set[lower >> 6] & (1L << (lower & 63))) != 0;
+                if (present) {
+                    add(set, value);
+                    add(set, lower);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recursive descent parser of the pattern.
+     */
+    private static final class Parser {
+
+        private final String pattern;
+        private final boolean matchCase;
+        private int offset = 0;
+
+        Parser(String pattern, boolean matchCase) {
+            this.pattern = pattern;
+            this.matchCase = matchCase;
+        }
+
+        @Nonnull
+        Node parse() {
+            Node node = parseAlternation();
+            if (offset < pattern.length()) {
+                throw error(pattern.charAt(offset) == ')' ? "Unmatched closing ')'" : "Unexpected character");
+            }
+            return node;
+        }
+
+        @Nonnull
+        private Node parseAlternation() {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseConcatenation());
+            while (offset < pattern.length() && pattern.charAt(offset) == '|') {
+                offset++;
+                alternatives.add(parseConcatenation());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0) : new Node(NodeType.ALTERNATION, alternatives);
+        }
+
+        @Nonnull
+        private Node parseConcatenation() {
+            List<Node> sequence = new ArrayList<>();
+            while (offset < pattern.length()) {
+                char character = pattern.charAt(offset);
+                if (character == '|' || character == ')') {
+                    break;
+                }
+                sequence.add(parseRepetition());
+            }
+            return sequence.size() == 1 ? sequence.get(0) : new Node(NodeType.CONCAT, sequence);
+        }
+
+        @Nonnull
+        private Node parseRepetition() {
+            Node node = parseAtom();
+            while (offset < pattern.length()) {
+                char character = pattern.charAt(offset);
+                int minCount;
+                int maxCount;
+                if (character == '*') {
+                    offset++;
+                    minCount = 0;
+                    maxCount = -1;
+                } else if (character == '+') {
+                    offset++;
+                    minCount = 1;
+                    maxCount = -1;
+                } else if (character == '?') {
+                    offset++;
+                    minCount = 0;
+                    maxCount = 1;
+                } else if (character == '{' && isCountedRepetition()) {
+                    offset++;
+                    minCount = parseNumber();
+                    maxCount = minCount;
+                    if (pattern.charAt(offset) == ',') {
+                        offset++;
+                        maxCount = pattern.charAt(offset) == '}' ? -1 : parseNumber();
+                    }
+                    offset++;
+                    if (maxCount >= 0 && maxCount < minCount) {
+                        throw error("Illegal repetition range");
+                    }
+                } else {
+                    break;
+                }
+
+                // Lazy suffix has no meaning for leftmost-longest matching
+                if (offset < pattern.length() && pattern.charAt(offset) == '?') {
+                    offset++;
+                }
+                node = Node.repeat(node, minCount, maxCount);
+            }
+            return node;
+        }
+
+        private boolean isCountedRepetition() {
+            int position = offset + 1;
+            int digits = 0;
+            while (position < pattern.length() && Character.isDigit(pattern.charAt(position))) {
+                position++;
+                digits++;
+            }
+            if (digits == 0 || position >= pattern.length()) {
+                return false;
+            }
+            if (pattern.charAt(position) == ',') {
+                position++;
+                while (position < pattern.length() && Character.isDigit(pattern.charAt(position))) {
+                    position++;
+                }
+            }
+            return position < pattern.length() && pattern.charAt(position) == '}';
+        }
+
+        private int parseNumber() {
+            int value = 0;
+            while (Character.isDigit(pattern.charAt(offset))) {
+                value = value * 10 + (pattern.charAt(offset) - '0');
+                if (value > MAX_REPEAT) {
+                    throw error("Repetition count exceeds " + MAX_REPEAT);
+                }
+                offset++;
+            }
+            return value;
+        }
+
+        @Nonnull
+        private Node parseAtom() {
+            char character = pattern.charAt(offset);
+            switch (character) {
+                case '(': {
+                    offset++;
+                    if (pattern.startsWith("?:", offset)) {
+                        offset += 2;
+                    } else if (offset < pattern.length() && pattern.charAt(offset) == '?') {
+                        throw error("Unsupported group construct");
+                    }
+                    Node node = parseAlternation();
+                    if (offset >= pattern.length() || pattern.charAt(offset) != ')') {
+                        throw error("Unclosed group");
+                    }
+                    offset++;
+                    return node;
+                }
+                case '[': {
+                    offset++;
+                    return Node.bytes(parseClass());
+                }
+                case '.': {
+                    offset++;
+                    return Node.bytes(ByteSet.full());
+                }
+                case '\\': {
+                    offset++;
+                    return Node.bytes(parseEscape());
+                }
+                case '*':
+                case '+':
+                case '?':
+                    throw error("Dangling meta character '" + character + "'");
+                case '^':
+                case '$':
+                    throw error("Anchors are not supported");
+                default: {
+                    offset++;
+                    if (character < 0x80) {
+                        return Node.bytes(literal(character));
+                    }
+
+                    // Non-ASCII characters are matched as UTF-8 sequence
+                    String characterText;
+                    if (Character.isHighSurrogate(character) && offset < pattern.length()) {
+                        characterText = new String(new char[]{character, pattern.charAt(offset)});
+                        offset++;
+                    } else {
+                        characterText = String.valueOf(character);
+                    }
+                    byte[] encoded = characterText.getBytes(StandardCharsets.UTF_8);
+                    List<Node> sequence = new ArrayList<>(encoded.length);
+                    for (byte value : encoded) {
+                        sequence.add(Node.bytes(ByteSet.single(value & 0xff)));
+                    }
+                    return new Node(NodeType.CONCAT, sequence);
+                }
+            }
+        }
+
+        @Nonnull
+        private long[] parseClass() {
+            boolean negated = false;
+            if (offset < pattern.length() && pattern.charAt(offset) == '^') {
+                negated = true;
+                offset++;
+            }
+
+            long[] set = ByteSet.empty();
+            boolean first = true;
+            while (true) {
+                if (offset >= pattern.length()) {
+                    throw error("Unclosed character class");
+                }
+                char character = pattern.charAt(offset);
+                if (character == ']' && !first) {
+                    offset++;
+                    break;
+                }
+                first = false;
+
+                int fromValue = parseClassValue(set);
+                if (fromValue < 0) {
+                    continue;
+                }
+                if (offset + 1 < pattern.length() && pattern.charAt(offset) == '-' && pattern.charAt(offset + 1) != ']') {
+                    offset++;
+                    int toValue = parseClassValue(null);
+                    if (toValue < fromValue) {
+                        throw error("Illegal character range");
+                    }
+                    ByteSet.addRange(set, fromValue, toValue);
+                } else {
+                    ByteSet.add(set, fromValue);
+                }
+            }
+
+            if (!matchCase) {
+                ByteSet.foldCase(set);
+            }
+            return negated ? ByteSet.complement(set) : set;
+        }
+
+        /**
+         * Parses single class value.
+         *
+         * @param set target set for predefined classes or null if not allowed
+         * @return byte value or -1 if predefined class was added to set
+         */
+        private int parseClassValue(long[] set) {
+            char character = pattern.charAt(offset);
+            offset++;
+            if (character == '\\') {
+                if (offset >= pattern.length()) {
+                    throw error("Trailing escape");
+                }
+                char escaped = pattern.charAt(offset);
+                long[] predefined = predefinedClass(escaped);
+                if (predefined != null) {
+                    if (set == null) {
+                        throw error("Illegal character range");
+                    }
+                    offset++;
+                    ByteSet.addAll(set, predefined);
+                    return -1;
+                }
+                return escapedValue();
+            }
+            if (character > 0xff) {
+                throw error("Character out of byte range");
+            }
+            return character;
+        }
+
+        @Nonnull
+        private long[] parseEscape() {
+            if (offset >= pattern.length()) {
+                throw error("Trailing escape");
+            }
+            long[] predefined = predefinedClass(pattern.charAt(offset));
+            if (predefined != null) {
+                offset++;
+                return predefined;
+            }
+            int value = escapedValue();
+            return literal(value);
+        }
+
+        private int escapedValue() {
+            char character = pattern.charAt(offset);
+            offset++;
+            switch (character) {
+                case 'x': {
+                    if (offset + 2 > pattern.length()) {
+                        throw error("Illegal hexadecimal escape sequence");
+                    }
+                    int high = Character.digit(pattern.charAt(offset), 16);
+                    int low = Character.digit(pattern.charAt(offset + 1), 16);
+                    if (high < 0 || low < 0) {
+                        throw error("Illegal hexadecimal escape sequence");
+                    }
+                    offset += 2;
+                    return (high << 4) | low;
+                }
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 't':
+                    return '\t';
+                case 'f':
+                    return '\f';
+                case 'v':
+                    return 0x0b;
+                case 'e':
+                    return 0x1b;
+                case '0':
+                    return 0;
+                default:
+                    if (Character.isLetterOrDigit(character) || character > 0x7f) {
+                        throw error("Unsupported escape sequence");
+                    }
+                    return character;
+            }
+        }
+
+        private static long[] predefinedClass(char character) {
+            long[] set;
+            switch (character) {
+                case 'd':
+                case 'D':
+                    set = ByteSet.empty();
+                    ByteSet.addRange(set, '0', '9');
+                    break;
+                case 'w':
+                case 'W':
+                    set = ByteSet.empty();
+                    ByteSet.addRange(set, '0', '9');
+                    ByteSet.addRange(set, 'A', 'Z');
+                    ByteSet.addRange(set, 'a', 'z');
+                    ByteSet.add(set, '_');
+                    break;
+                case 's':
+                case 'S':
+                    set = ByteSet.empty();
+                    ByteSet.addRange(set, 0x09, 0x0d);
+                    ByteSet.add(set, ' ');
+                    break;
+                default:
+                    return null;
+            }
+            return Character.isUpperCase(character) ? ByteSet.complement(set) : set;
+        }
+
+        @Nonnull
+        private long[] literal(int value) {
+            long[] set = ByteSet.single(value);
+            if (!matchCase) {
+                ByteSet.foldCase(set);
+            }
+            return set;
+        }
+
+        @Nonnull
+        private PatternSyntaxException error(String description) {
+            return new PatternSyntaxException(description, pattern, offset);
+        }
+    }
+}
@@ -23,10 +23,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.Scanner;
+import java.util.function.Supplier;
 import java.util.regex.MatchResult;
+import java.util.regex.PatternSyntaxException;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import org.exbin.bined.swing.section.SectCodeArea;
 import org.exbin.framework.bined.search.ReplaceParameters;
@@ -36,10 +40,16 @@ import org.exbin.framework.bined.search.service.BinarySearchService;
 import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.BinaryDataRangeInputStream;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
+import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
 import org.exbin.bined.CharsetStreamTranslator;
 import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.highlight.swing.SearchCodeAreaColorAssessor;
 import org.exbin.bined.highlight.swing.SearchMatch;
+import org.exbin.bined.operation.swing.CodeAreaOperationCommandHandler;
+import org.exbin.bined.operation.swing.command.CodeAreaCompoundCommand;
+import org.exbin.bined.operation.swing.command.InsertDataCommand;
+import org.exbin.bined.operation.swing.command.RemoveDataCommand;
+import org.exbin.bined.swing.CodeAreaCommandHandler;
 import org.exbin.bined.swing.CodeAreaSwingUtils;
 import org.exbin.bined.swing.capability.ColorAssessorPainterCapable;
 
@@ -54,9 +64,11 @@ public class BinarySearchServiceImpl implements BinarySearchService {
     private static final int MAX_MATCHES_COUNT = 100;
     private final SectCodeArea codeArea;
     private final SearchParameters lastSearchParameters = new SearchParameters();
+    private final VisibleMatchesColorAssessor visibleMatchesAssessor;
 
     public BinarySearchServiceImpl(SectCodeArea codeArea) {
         this.codeArea = codeArea;
+        visibleMatchesAssessor = new VisibleMatchesColorAssessor(codeArea);
     }
 
     @Override
@@ -66,6 +78,7 @@ public class BinarySearchServiceImpl implements BinarySearchService {
         searchStatusListener.clearStatus();
         if (condition.isEmpty()) {
             searchAssessor.clearMatches();
+            visibleMatchesAssessor.setMatcherSupplier(null);
             codeArea.repaint();
             return;
         }
@@ -93,6 +106,12 @@ public class BinarySearchServiceImpl implements BinarySearchService {
                         case REGEX: {
                             throw new UnsupportedOperationException("Not supported yet.");
                         }
+                        case BINARY_REGEX:
+                        case NUMERIC:
+                        case OBFUSCATED_TEXT: {
+                            searchDataSize = 0;
+                            break;
+                        }
                         case BINARY: {
                             searchDataSize = condition.getBinaryData().getDataSize();
                             break;
@@ -116,6 +135,15 @@ public class BinarySearchServiceImpl implements BinarySearchService {
             case REGEX:
                 searchRegEx(searchParameters, searchStatusListener);
                 break;
+            case BINARY_REGEX:
+                searchBinaryRegEx(searchParameters, searchStatusListener);
+                break;
+            case NUMERIC:
+                searchNumericValue(searchParameters, searchStatusListener);
+                break;
+            case OBFUSCATED_TEXT:
+                searchObfuscatedText(searchParameters, searchStatusListener);
+                break;
             case BINARY:
                 searchForBinaryData(searchParameters, searchStatusListener);
                 break;
@@ -138,6 +166,9 @@ public class BinarySearchServiceImpl implements BinarySearchService {
         }
         long searchDataSize = searchData.getDataSize();
         BinaryData data = codeArea.getContentData();
+        byte[] searchBytes = new byte[(int) searchDataSize];
+        searchData.copyToArray(0, searchBytes, 0, searchBytes.length);
+        startHighlighting(searchParameters, searchBytes.length == 0 ? null : () -> new ExactBytesMatcher(searchBytes, true));
 
         List<SearchMatch> foundMatches = new ArrayList<>();
 
@@ -239,6 +270,12 @@ public class BinarySearchServiceImpl implements BinarySearchService {
         List<SearchMatch> foundMatches = new ArrayList<>();
 
         Charset charset = codeArea.getCharset();
+        if (searchParameters.isMatchCase() || isAscii(findText)) {
+            byte[] findBytes = findText.getBytes(charset);
+            startHighlighting(searchParameters, () -> new ExactBytesMatcher(findBytes, searchParameters.isMatchCase()));
+        } else {
+            startHighlighting(searchParameters, null);
+        }
         int maxBytesPerChar;
         try {
             CharsetEncoder encoder = charset.newEncoder();
@@ -355,6 +392,7 @@ public class BinarySearchServiceImpl implements BinarySearchService {
         SearchCondition condition = searchParameters.getCondition();
         int flags = searchParameters.isMatchCase() ? 0 : Pattern.CASE_INSENSITIVE;
         Pattern textPattern = Pattern.compile(condition.getSearchText(), flags | Pattern.DOTALL);
+        startHighlighting(searchParameters, null);
         long position = searchParameters.getStartPosition();
 
         List<SearchMatch> foundMatches = new ArrayList<>();
@@ -407,6 +445,151 @@ public class BinarySearchServiceImpl implements BinarySearchService {
         codeArea.repaint();
     }
 
+    /**
+     * Performs search by binary regular expression.
+     */
+    private void searchBinaryRegEx(SearchParameters searchParameters, SearchStatusListener searchStatusListener) {
+        SearchCondition condition = searchParameters.getCondition();
+        BinaryRegexPattern pattern;
+        try {
+            pattern = BinaryRegexPattern.compile(condition.getSearchText(), searchParameters.isMatchCase());
+        } catch (PatternSyntaxException ex) {
+            reportInvalidCondition(searchParameters, searchStatusListener);
+            return;
+        }
+
+        searchByMatcher(pattern::matcher, searchParameters, searchStatusListener);
+    }
+
+    /**
+     * Performs search by numeric value or range of values.
+     */
+    private void searchNumericValue(SearchParameters searchParameters, SearchStatusListener searchStatusListener) {
+        SearchCondition condition = searchParameters.getCondition();
+        String valueText = condition.getSearchText();
+        try {
+            NumericValueMatcher.parse(valueText);
+        } catch (NumberFormatException ex) {
+            reportInvalidCondition(searchParameters, searchStatusListener);
+            return;
+        }
+
+        searchByMatcher(() -> NumericValueMatcher.parse(valueText), searchParameters, searchStatusListener);
+    }
+
+    /**
+     * Performs search by text obfuscated using single byte key.
+     */
+    private void searchObfuscatedText(SearchParameters searchParameters, SearchStatusListener searchStatusListener) {
+        SearchCondition condition = searchParameters.getCondition();
+        byte[] pattern = condition.getSearchText().getBytes(codeArea.getCharset());
+        if (pattern.length < 2) {
+            reportInvalidCondition(searchParameters, searchStatusListener);
+            return;
+        }
+
+        searchByMatcher(() -> new ObfuscatedTextMatcher(pattern), searchParameters, searchStatusListener);
+    }
+
+    /**
+     * Reports condition which cannot be searched for as no match.
+     */
+    private void reportInvalidCondition(SearchParameters searchParameters, SearchStatusListener searchStatusListener) {
+        SearchCodeAreaColorAssessor searchAssessor = CodeAreaSwingUtils.findColorAssessor((ColorAssessorPainterCapable) codeArea.getPainter(), SearchCodeAreaColorAssessor.class);
+        searchAssessor.clearMatches();
+        visibleMatchesAssessor.setMatcherSupplier(null);
+        lastSearchParameters.setFromParameters(searchParameters);
+        searchStatusListener.setStatus(new FoundMatches(), searchParameters.getMatchMode());
+        codeArea.repaint();
+    }
+
+    /**
+     * Starts highlighting of all matches in visible area while search
+     * continues.
+     *
+     * @param matcherSupplier supplier of matcher or null if mode cannot be
+     * highlighted lazily
+     */
+    private void startHighlighting(SearchParameters searchParameters, @Nullable Supplier<BinaryDataMatcher> matcherSupplier) {
+        if (matcherSupplier != null && searchParameters.getMatchMode() == SearchParameters.MatchMode.MULTIPLE) {
+            visibleMatchesAssessor.setMatcherSupplier(matcherSupplier);
+        } else {
+            visibleMatchesAssessor.setMatcherSupplier(null);
+        }
+        codeArea.repaint();
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Performs search using forward scanning matcher.
+     */
+    private void searchByMatcher(Supplier<BinaryDataMatcher> matcherSupplier, SearchParameters searchParameters, SearchStatusListener searchStatusListener) {
+        SearchCodeAreaColorAssessor searchAssessor = CodeAreaSwingUtils.findColorAssessor((ColorAssessorPainterCapable) codeArea.getPainter(), SearchCodeAreaColorAssessor.class);
+        startHighlighting(searchParameters, matcherSupplier);
+        BinaryDataMatcher matcher = matcherSupplier.get();
+        List<SearchMatch> foundMatches = new ArrayList<>();
+        BinaryData data = codeArea.getContentData();
+        long dataSize = data.getDataSize();
+        long position = searchParameters.getStartPosition();
+        int matchesLimit = searchParameters.getMatchMode() == SearchParameters.MatchMode.SINGLE ? 1 : MAX_MATCHES_COUNT;
+        boolean backward = searchParameters.getSearchDirection() == SearchParameters.SearchDirection.BACKWARD;
+        matcher.setProgressListener((long scannedPosition) -> {
+            searchStatusListener.setProgress((int) (dataSize > Integer.MAX_VALUE ? scannedPosition / (dataSize / 1000) : (scannedPosition * 1000) / dataSize));
+        });
+
+        // Matcher only scans forward, backward search keeps last matches starting before position
+        long scanPosition = backward ? 0 : Math.max(position, 0);
+        while (matcher.find(data, scanPosition, dataSize)) {
+            if (backward && matcher.start() > position) {
+                break;
+            }
+
+            SearchMatch match;
+            if (matcher instanceof ObfuscatedTextMatcher) {
+                match = ((ObfuscatedTextMatcher) matcher).createMatch();
+            } else {
+                match = new SearchMatch();
+                match.setPosition(matcher.start());
+                match.setLength(matcher.end() - matcher.start());
+            }
+            foundMatches.add(match);
+            if (foundMatches.size() > matchesLimit) {
+                foundMatches.remove(0);
+            }
+            if (!backward && foundMatches.size() == matchesLimit) {
+                break;
+            }
+            scanPosition = matcher.end();
+        }
+
+        if (Thread.interrupted()) {
+            searchStatusListener.setCancelled();
+            return;
+        }
+
+        searchAssessor.setMatches(foundMatches);
+        if (!foundMatches.isEmpty()) {
+            if (backward) {
+                searchAssessor.setCurrentMatchIndex(foundMatches.size() - 1);
+            } else {
+                searchAssessor.setCurrentMatchIndex(0);
+            }
+            SearchMatch firstMatch = Objects.requireNonNull(searchAssessor.getCurrentMatch());
+            codeArea.revealPosition(firstMatch.getPosition(), 0, codeArea.getActiveSection());
+        }
+        lastSearchParameters.setFromParameters(searchParameters);
+        searchStatusListener.setStatus(new FoundMatches(foundMatches.size(), foundMatches.isEmpty() ? -1 : searchAssessor.getCurrentMatchIndex()), searchParameters.getMatchMode());
+        codeArea.repaint();
+    }
+
     @Override
     public void setMatchIndex(int matchIndex) {
         SearchCodeAreaColorAssessor searchAssessor = CodeAreaSwingUtils.findColorAssessor((ColorAssessorPainterCapable) codeArea.getPainter(), SearchCodeAreaColorAssessor.class);
@@ -453,6 +636,15 @@ public class BinarySearchServiceImpl implements BinarySearchService {
                     case REGEX:
                         searchRegEx(lastSearchParameters, searchStatusListener);
                         break;
+                    case BINARY_REGEX:
+                        searchBinaryRegEx(lastSearchParameters, searchStatusListener);
+                        break;
+                    case NUMERIC:
+                        searchNumericValue(lastSearchParameters, searchStatusListener);
+                        break;
+                    case OBFUSCATED_TEXT:
+                        searchObfuscatedText(lastSearchParameters, searchStatusListener);
+                        break;
                     case BINARY:
                         searchForBinaryData(lastSearchParameters, searchStatusListener);
                         break;
@@ -469,12 +661,24 @@ public class BinarySearchServiceImpl implements BinarySearchService {
         SearchCodeAreaColorAssessor searchAssessor = CodeAreaSwingUtils.findColorAssessor((ColorAssessorPainterCapable) codeArea.getPainter(), SearchCodeAreaColorAssessor.class);
         SearchMatch currentMatch = searchAssessor.getCurrentMatch();
         if (currentMatch != null) {
-            EditableBinaryData editableData = ((EditableBinaryData) codeArea.getContentData());
-            editableData.remove(currentMatch.getPosition(), currentMatch.getLength());
+            EditableBinaryData replacementData = new ByteArrayEditableData();
             if (replaceCondition.getSearchMode() == SearchCondition.SearchMode.BINARY) {
-                editableData.insert(currentMatch.getPosition(), replaceCondition.getBinaryData());
+                replacementData.insert(0, replaceCondition.getBinaryData());
+            } else {
+                replacementData.insert(0, replaceCondition.getSearchText().getBytes(codeArea.getCharset()));
+            }
+
+            // Replacement is executed as command so that it is undoable and shared ranges of data are detached
+            CodeAreaCompoundCommand command = new CodeAreaCompoundCommand(codeArea);
+            command.addCommand(new RemoveDataCommand(codeArea, currentMatch.getPosition(), 0, currentMatch.getLength()));
+            if (!replacementData.isEmpty()) {
+                command.addCommand(new InsertDataCommand(codeArea, currentMatch.getPosition(), 0, replacementData));
+            }
+            CodeAreaCommandHandler commandHandler = codeArea.getCommandHandler();
+            if (commandHandler instanceof CodeAreaOperationCommandHandler) {
+                ((CodeAreaOperationCommandHandler) commandHandler).getUndoRedo().execute(command);
             } else {
-                editableData.insert(currentMatch.getPosition(), replaceCondition.getSearchText().getBytes(codeArea.getCharset()));
+                command.execute();
             }
             searchAssessor.getMatches().remove(currentMatch);
             codeArea.repaint();
@@ -487,9 +691,26 @@ public class BinarySearchServiceImpl implements BinarySearchService {
         return lastSearchParameters;
     }
 
+    @Nonnull
+    @Override
+    public Optional<String> getCurrentMatchDetail() {
+        SearchCodeAreaColorAssessor searchAssessor = CodeAreaSwingUtils.findColorAssessor((ColorAssessorPainterCapable) codeArea.getPainter(), SearchCodeAreaColorAssessor.class);
+        SearchMatch currentMatch = searchAssessor.getCurrentMatch();
+        if (currentMatch instanceof ObfuscatedSearchMatch) {
+            return Optional.of(((ObfuscatedSearchMatch) currentMatch).getKeyDescription());
+        }
+        return Optional.empty();
+    }
+
     @Override
     public void clearMatches() {
         SearchCodeAreaColorAssessor searchAssessor = CodeAreaSwingUtils.findColorAssessor((ColorAssessorPainterCapable) codeArea.getPainter(), SearchCodeAreaColorAssessor.class);
         searchAssessor.clearMatches();
+        visibleMatchesAssessor.setMatcherSupplier(null);
+    }
+
+    @Override
+    public void dispose() {
+        visibleMatchesAssessor.dispose();
     }
 }
@@ -0,0 +1,593 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.bined.CodeAreaUtils;
+import org.exbin.framework.bined.search.service.CarvedPayload;
+import org.exbin.framework.bined.search.service.CarvedPayload.PayloadType;
+
+/**
+ * Scanner for embedded files.
+ * <p>
+ * Data is read once in blocks and every position is checked only against
+ * signatures starting with its byte. Candidate header is validated and length
+ * of the payload is estimated by walking its format structure using bounded
+ * window, so memory use doesn't depend on the size of the data.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CarvingScanner {
+
+    private static final int BLOCK_SIZE = 65536;
+    private static final int WINDOW_SIZE = 65536;
+    /**
+     * Maximum distance to search for end marker of formats without length
+     * information.
+     */
+    private static final long MAX_TRAILER_SEARCH = 256L * 1024 * 1024;
+
+    private static final byte[] ZIP_LOCAL_HEADER = {'P', 'K', 3, 4};
+    private static final byte[] ZIP_CENTRAL_HEADER = {'P', 'K', 1, 2};
+    private static final byte[] ZIP_END_OF_CENTRAL_DIRECTORY = {'P', 'K', 5, 6};
+    private static final byte[] ZIP64_END_OF_CENTRAL_DIRECTORY = {'P', 'K', 6, 6};
+    private static final byte[] ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR = {'P', 'K', 6, 7};
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', 0x0d, 0x0a, 0x1a, 0x0a};
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xff, (byte) 0xd8, (byte) 0xff};
+    private static final byte[] ELF_SIGNATURE = {0x7f, 'E', 'L', 'F'};
+    private static final byte[] PE_DOS_SIGNATURE = {'M', 'Z'};
+    private static final byte[] PDF_SIGNATURE = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PDF_END_OF_FILE = "%%EOF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SQLITE_SIGNATURE = "SQLite format 3\0".getBytes(StandardCharsets.US_ASCII);
+
+    private static final Signature[] SIGNATURES = {
+        new Signature(ZIP_LOCAL_HEADER, PayloadType.ZIP),
+        new Signature(PNG_SIGNATURE, PayloadType.PNG),
+        new Signature(JPEG_SIGNATURE, PayloadType.JPEG),
+        new Signature(ELF_SIGNATURE, PayloadType.ELF),
+        new Signature(PE_DOS_SIGNATURE, PayloadType.PE),
+        new Signature(PDF_SIGNATURE, PayloadType.PDF),
+        new Signature(SQLITE_SIGNATURE, PayloadType.SQLITE)
+    };
+    private static final int MAX_SIGNATURE_LENGTH = 16;
+
+    private final Signature[][] signaturesByFirstByte = new Signature[256][];
+    private final byte[] block = new byte[BLOCK_SIZE + MAX_SIGNATURE_LENGTH - 1];
+    private final byte[] window = new byte[WINDOW_SIZE];
+    private BinaryData data;
+    private long dataSize;
+    private long windowStart = 0;
+    private int windowLength = 0;
+
+    public CarvingScanner() {
+        for (Signature signature : SIGNATURES) {
+            int firstByte = signature.bytes[0] & 0xff;
+            Signature[] signatures = signaturesByFirstByte[firstByte];
+            if (signatures == null) {
+                signatures = new Signature[]{signature};
+            } else {
+                signatures = Arrays.copyOf(signatures, signatures.length + 1);
+                signatures[signatures.length - 1] = signature;
+            }
+            signaturesByFirstByte[firstByte] = signatures;
+        }
+    }
+
+    /**
+     * Scans data for embedded payloads.
+     * <p>
+     * Scanning stops when current thread is interrupted.
+     *
+     * @param data data to scan
+     * @param listener scan listener
+     */
+    public void scan(BinaryData data, ScanListener listener) {
+        this.data = data;
+        dataSize = data.getDataSize();
+        windowLength = 0;
+        Thread currentThread = Thread.currentThread();
+        long zipEnd = 0;
+        long position = 0;
+        while (position < dataSize) {
+            if (currentThread.isInterrupted()) {
+                return;
+            }
+
+            int blockLength = (int) Math.min(BLOCK_SIZE, dataSize - position);
+            int loadLength = (int) Math.min(block.length, dataSize - position);
+            data.copyToArray(position, block, 0, loadLength);
+            for (int offset = 0; offset < blockLength; offset++) {
+                Signature[] signatures = signaturesByFirstByte[block[offset] & 0xff];
+                if (signatures == null) {
+                    continue;
+                }
+
+                for (Signature signature : signatures) {
+                    if (offset + signature.bytes.length <= loadLength && matchesSignature(offset, signature.bytes)) {
+                        long payloadPosition = position + offset;
+                        if (signature.payloadType == PayloadType.ZIP && payloadPosition < zipEnd) {
+                            // Skip local headers of already found archive
+                            continue;
+                        }
+                        long length = estimateLength(payloadPosition, signature.payloadType);
+                        if (length > 0) {
+                            if (signature.payloadType == PayloadType.ZIP) {
+                                zipEnd = payloadPosition + length;
+                            }
+                            listener.payloadFound(new CarvedPayload(payloadPosition, length, signature.payloadType));
+                        }
+                    }
+                }
+            }
+
+            position += blockLength;
+            listener.progress(position);
+        }
+    }
+
+    private boolean matchesSignature(int offset, byte[] signature) {
+        for (int i = 1; i < signature.length; i++) {
+            if (block[offset + i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates header and estimates length of payload.
+     *
+     * @param position payload position
+     * @param payloadType payload type
+     * @return payload length or -1 if header is not valid
+     */
+    private long estimateLength(long position, PayloadType payloadType) {
+        long end;
+        switch (payloadType) {
+            case ZIP:
+                end = findZipEnd(position);
+                break;
+            case PNG:
+                end = findPngEnd(position);
+                break;
+            case JPEG:
+                end = findJpegEnd(position);
+                break;
+            case ELF:
+                end = findElfEnd(position);
+                break;
+            case PE:
+                end = findPeEnd(position);
+                break;
+            case PDF:
+                end = findPdfEnd(position);
+                break;
+            case SQLITE:
+                end = findSqliteEnd(position);
+                break;
+            default:
+                throw CodeAreaUtils.getInvalidTypeException(payloadType);
+        }
+        return end < 0 || end > dataSize ? -1 : end - position;
+    }
+
+    private long findZipEnd(long position) {
+        if (readU16Le(position + 4) >= 100 || readU16Le(position + 8) > 99) {
+            return -1;
+        }
+        int nameLength = readU16Le(position + 26);
+        if (nameLength == 0 || nameLength > 1024) {
+            return -1;
+        }
+
+        long recordPosition = position;
+        while (matchesAt(recordPosition, ZIP_LOCAL_HEADER)) {
+            int flags = readU16Le(recordPosition + 6);
+            long compressedSize = readU32Le(recordPosition + 18);
+            if ((flags & 8) != 0 || compressedSize == 0xffffffffL) {
+                // Sizes are stored after data or in extra field, locate end record instead
+                long endRecord = findSequence(recordPosition + 30, ZIP_END_OF_CENTRAL_DIRECTORY);
+                return endRecord < 0 ? -1 : endRecord + 22 + readU16Le(endRecord + 20);
+            }
+            recordPosition += 30 + readU16Le(recordPosition + 26) + readU16Le(recordPosition + 28) + compressedSize;
+        }
+        while (matchesAt(recordPosition, ZIP_CENTRAL_HEADER)) {
+            recordPosition += 46 + readU16Le(recordPosition + 28) + readU16Le(recordPosition + 30) + readU16Le(recordPosition + 32);
+        }
+        if (matchesAt(recordPosition, ZIP64_END_OF_CENTRAL_DIRECTORY)) {
+            long recordSize = readU64Le(recordPosition + 4);
+            if (recordSize < 0 || recordSize > dataSize) {
+                return -1;
+            }
+            recordPosition += 12 + recordSize;
+        }
+        if (matchesAt(recordPosition, ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR)) {
+            recordPosition += 20;
+        }
+        if (!matchesAt(recordPosition, ZIP_END_OF_CENTRAL_DIRECTORY)) {
+            return -1;
+        }
+        return recordPosition + 22 + readU16Le(recordPosition + 20);
+    }
+
+    private long findPngEnd(long position) {
+        long chunkPosition = position + PNG_SIGNATURE.length;
+        if (readU32Be(chunkPosition) != 13 || readU32Be(chunkPosition + 4) != 0x49484452L) {
+            return -1;
+        }
+
+        while (chunkPosition + 12 <= dataSize) {
+            long chunkLength = readU32Be(chunkPosition);
+            if (chunkLength > 0x7fffffffL) {
+                return -1;
+            }
+            for (int i = 4; i < 8; i++) {
+                int typeChar = readByte(chunkPosition + i);
+                if (!((typeChar >= 'A' && typeChar <= 'Z') || (typeChar >= 'a' && typeChar <= 'z'))) {
+                    return -1;
+                }
+            }
+            boolean endChunk = readU32Be(chunkPosition + 4) == 0x49454e44L;
+            chunkPosition += 12 + chunkLength;
+            if (endChunk) {
+                return chunkPosition;
+            }
+        }
+        return -1;
+    }
+
+    private long findJpegEnd(long position) {
+        int firstMarker = readByte(position + 3);
+        if (!(firstMarker >= 0xe0 || firstMarker == 0xdb || firstMarker == 0xc4 || (firstMarker >= 0xc0 && firstMarker <= 0xcf))) {
+            return -1;
+        }
+
+        long segmentPosition = position + 2;
+        while (segmentPosition + 2 <= dataSize) {
+            if (readByte(segmentPosition) != 0xff) {
+                return -1;
+            }
+            int marker = readByte(segmentPosition + 1);
+            if (marker == 0xff) {
+                // Fill byte
+                segmentPosition++;
+                continue;
+            }
+            if (marker == 0xd9) {
+                return segmentPosition + 2;
+            }
+            if (marker == 0x01 || (marker >= 0xd0 && marker <= 0xd7)) {
+                segmentPosition += 2;
+                continue;
+            }
+
+            int segmentLength = readU16Be(segmentPosition + 2);
+            if (segmentLength < 2) {
+                return -1;
+            }
+            segmentPosition += 2 + segmentLength;
+            if (marker == 0xda) {
+                segmentPosition = findJpegMarkerAfterScan(segmentPosition);
+                if (segmentPosition < 0) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Skips entropy coded data up to the next marker.
+     */
+    private long findJpegMarkerAfterScan(long position) {
+        long limit = Math.min(dataSize - 1, position + MAX_TRAILER_SEARCH);
+        long scanPosition = position;
+        while ((scanPosition = findByte(scanPosition, limit, 0xff)) >= 0) {
+            int nextByte = readByte(scanPosition + 1);
+            if (nextByte != 0 && nextByte != 0xff && !(nextByte >= 0xd0 && nextByte <= 0xd7)) {
+                return scanPosition;
+            }
+            scanPosition++;
+        }
+        return -1;
+    }
+
+    private long findElfEnd(long position) {
+        int elfClass = readByte(position + 4);
+        int elfData = readByte(position + 5);
+        if ((elfClass != 1 && elfClass != 2) || (elfData != 1 && elfData != 2) || readByte(position + 6) != 1) {
+            return -1;
+        }
+
+        boolean wide = elfClass == 2;
+        boolean bigEndian = elfData == 2;
+        long programHeadersOffset = wide ? readU64(position + 0x20, bigEndian) : readU32(position + 0x1c, bigEndian);
+        long sectionHeadersOffset = wide ? readU64(position + 0x28, bigEndian) : readU32(position + 0x20, bigEndian);
+        int headerBase = wide ? 0x34 : 0x28;
+        int headerSize = readU16(position + headerBase, bigEndian);
+        int programHeaderSize = readU16(position + headerBase + 2, bigEndian);
+        int programHeadersCount = readU16(position + headerBase + 4, bigEndian);
+        int sectionHeaderSize = readU16(position + headerBase + 6, bigEndian);
+        int sectionHeadersCount = readU16(position + headerBase + 8, bigEndian);
+        if (headerSize != (wide ? 64 : 52) || programHeadersOffset < 0 || programHeadersOffset > dataSize || sectionHeadersOffset < 0 || sectionHeadersOffset > dataSize) {
+            return -1;
+        }
+
+        long length = headerSize;
+        if (programHeadersCount > 0) {
+            length = Math.max(length, programHeadersOffset + (long) programHeadersCount * programHeaderSize);
+            for (int i = 0; i < programHeadersCount; i++) {
+                long header = position + programHeadersOffset + (long) i * programHeaderSize;
+                long offset = wide ? readU64(header + 8, bigEndian) : readU32(header + 4, bigEndian);
+                long fileSize = wide ? readU64(header + 32, bigEndian) : readU32(header + 16, bigEndian);
+                if (offset < 0 || fileSize < 0 || offset + fileSize > dataSize) {
+                    return -1;
+                }
+                length = Math.max(length, offset + fileSize);
+            }
+        }
+        if (sectionHeadersCount > 0) {
+            length = Math.max(length, sectionHeadersOffset + (long) sectionHeadersCount * sectionHeaderSize);
+            for (int i = 0; i < sectionHeadersCount; i++) {
+                long header = position + sectionHeadersOffset + (long) i * sectionHeaderSize;
+                long sectionType = readU32(header + 4, bigEndian);
+                if (sectionType == 8) {
+                    // SHT_NOBITS occupies no space in file
+                    continue;
+                }
+                long offset = wide ? readU64(header + 24, bigEndian) : readU32(header + 16, bigEndian);
+                long size = wide ? readU64(header + 32, bigEndian) : readU32(header + 20, bigEndian);
+                if (offset < 0 || size < 0 || offset + size > dataSize) {
+                    return -1;
+                }
+                length = Math.max(length, offset + size);
+            }
+        }
+        return position + length;
+    }
+
+    private long findPeEnd(long position) {
+        long peOffset = readU32Le(position + 0x3c);
+        if (peOffset < 0x40 || peOffset > 0x10000 || readU32Le(position + peOffset) != 0x00004550L) {
+            return -1;
+        }
+
+        long peHeader = position + peOffset;
+        int sectionsCount = readU16Le(peHeader + 6);
+        int optionalHeaderSize = readU16Le(peHeader + 20);
+        if (sectionsCount == 0 || sectionsCount > 96) {
+            return -1;
+        }
+
+        long optionalHeader = peHeader + 24;
+        long sectionTable = optionalHeader + optionalHeaderSize;
+        long end = sectionTable + sectionsCount * 40L;
+        if (optionalHeaderSize >= 64) {
+            end = Math.max(end, position + readU32Le(optionalHeader + 60));
+        }
+        for (int i = 0; i < sectionsCount; i++) {
+            long section = sectionTable + i * 40L;
+            long rawSize = readU32Le(section + 16);
+            long rawPointer = readU32Le(section + 20);
+            if (rawSize > 0) {
+                end = Math.max(end, position + rawPointer + rawSize);
+            }
+        }
+
+        // Certificate table is stored after the sections
+        int magic = readU16Le(optionalHeader);
+        int directoriesOffset = magic == 0x20b ? 112 : 96;
+        if ((magic == 0x10b || magic == 0x20b) && optionalHeaderSize >= directoriesOffset + 5 * 8) {
+            long certificateOffset = readU32Le(optionalHeader + directoriesOffset + 4 * 8);
+            long certificateSize = readU32Le(optionalHeader + directoriesOffset + 4 * 8 + 4);
+            if (certificateSize > 0) {
+                end = Math.max(end, position + certificateOffset + certificateSize);
+            }
+        }
+        return end;
+    }
+
+    private long findPdfEnd(long position) {
+        int majorVersion = readByte(position + 5);
+        if ((majorVersion != '1' && majorVersion != '2') || readByte(position + 6) != '.') {
+            return -1;
+        }
+
+        // Incrementally updated document has multiple end markers, use the last one before next document
+        long limit = Math.min(dataSize, position + MAX_TRAILER_SEARCH);
+        long end = -1;
+        long scanPosition = position + PDF_SIGNATURE.length;
+        while ((scanPosition = findByte(scanPosition, limit, '%')) >= 0) {
+            if (matchesAt(scanPosition, PDF_END_OF_FILE)) {
+                end = scanPosition + PDF_END_OF_FILE.length;
+                if (readByte(end) == '\r') {
+                    end++;
+                }
+                if (readByte(end) == '\n') {
+                    end++;
+                }
+            } else if (matchesAt(scanPosition, PDF_SIGNATURE)) {
+                break;
+            }
+            scanPosition++;
+        }
+        return end;
+    }
+
+    private long findSqliteEnd(long position) {
+        int pageSize = readU16Be(position + 16);
+        if (pageSize == 1) {
+            pageSize = 65536;
+        }
+        if (pageSize < 512 || (pageSize & (pageSize - 1)) != 0) {
+            return -1;
+        }
+
+        long pagesCount = readU32Be(position + 28);
+        // In-header database size is valid only if change counter matches
+        if (pagesCount == 0 || readU32Be(position + 24) != readU32Be(position + 92)) {
+            return -1;
+        }
+        return position + pagesCount * pageSize;
+    }
+
+    private long findSequence(long position, byte[] sequence) {
+        long limit = Math.min(dataSize - sequence.length + 1, position + MAX_TRAILER_SEARCH);
+        long scanPosition = position;
+        while ((scanPosition = findByte(scanPosition, limit, sequence[0] & 0xff)) >= 0) {
+            if (matchesAt(scanPosition, sequence)) {
+                return scanPosition;
+            }
+            scanPosition++;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds next occurrence of byte value searching window blocks directly.
+     * <p>
+     * Search is stopped when current thread is interrupted.
+     *
+     * @param position start position
+     * @param limit end position (exclusive)
+     * @param value byte value
+     * @return position or -1 if not found
+     */
+    private long findByte(long position, long limit, int value) {
+        byte byteValue = (byte) value;
+        Thread currentThread = Thread.currentThread();
+        while (position < limit) {
+            if (currentThread.isInterrupted()) {
+                return -1;
+            }
+
+            loadWindow(position);
+            int offset = (int) (position - windowStart);
+            int endOffset = (int) Math.min(windowLength, limit - windowStart);
+            for (; offset < endOffset; offset++) {
+                if (window[offset] == byteValue) {
+                    return windowStart + offset;
+                }
+            }
+            position = windowStart + endOffset;
+        }
+        return -1;
+    }
+
+    private boolean matchesAt(long position, byte[] sequence) {
+        if (position < 0 || position + sequence.length > dataSize) {
+            return false;
+        }
+        for (int i = 0; i < sequence.length; i++) {
+            if (readByte(position + i) != (sequence[i] & 0xff)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads byte using window.
+     *
+     * @param position position
+     * @return byte value or -1 if out of data
+     */
+    private int readByte(long position) {
+        if (position < windowStart || position >= windowStart + windowLength) {
+            if (position < 0 || position >= dataSize) {
+                return -1;
+            }
+            loadWindow(position);
+        }
+        return window[(int) (position - windowStart)] & 0xff;
+    }
+
+    private void loadWindow(long position) {
+        if (position >= windowStart && position < windowStart + windowLength) {
+            return;
+        }
+        windowStart = position;
+        windowLength = (int) Math.min(WINDOW_SIZE, dataSize - position);
+        data.copyToArray(windowStart, window, 0, windowLength);
+    }
+
+    private int readU16(long position, boolean bigEndian) {
+        return bigEndian ? readU16Be(position) : readU16Le(position);
+    }
+
+    private long readU32(long position, boolean bigEndian) {
+        return bigEndian ? readU32Be(position) : readU32Le(position);
+    }
+
+    private long readU64(long position, boolean bigEndian) {
+        return bigEndian ? (readU32Be(position) << 32) | readU32Be(position + 4) : readU64Le(position);
+    }
+
+    private int readU16Le(long position) {
+        return (readByte(position) & 0xff) | ((readByte(position + 1) & 0xff) << 8);
+    }
+
+    private int readU16Be(long position) {
+        return ((readByte(position) & 0xff) << 8) | (readByte(position + 1) & 0xff);
+    }
+
+    private long readU32Le(long position) {
+        return readU16Le(position) | ((long) readU16Le(position + 2) << 16);
+    }
+
+    private long readU32Be(long position) {
+        return ((long) readU16Be(position) << 16) | readU16Be(position + 2);
+    }
+
+    private long readU64Le(long position) {
+        return readU32Le(position) | (readU32Le(position + 4) << 32);
+    }
+
+    /**
+     * Listener for scanning results.
+     */
+    public interface ScanListener {
+
+        /**
+         * Reports found payload.
+         *
+         * @param payload payload
+         */
+        void payloadFound(CarvedPayload payload);
+
+        /**
+         * Reports scanning progress.
+         *
+         * @param position position processed so far
+         */
+        void progress(long position);
+    }
+
+    private static final class Signature {
+
+        final byte[] bytes;
+        final PayloadType payloadType;
+
+        Signature(byte[] bytes, PayloadType payloadType) {
+            this.bytes = bytes;
+            this.payloadType = payloadType;
+        }
+    }
+}
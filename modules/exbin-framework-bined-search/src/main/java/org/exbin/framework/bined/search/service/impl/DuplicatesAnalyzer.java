@@ -0,0 +1,370 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.framework.bined.search.service.DuplicateRange;
+import org.exbin.framework.bined.search.service.DuplicateRange.DuplicateType;
+
+/**
+ * Analyzer for repeated sequences and duplicated blocks.
+ * <p>
+ * Data is read once. Hash of each aligned block is stored and rolling hash of
+ * every position is reduced by winnowing to anchors, so that any repeat longer
+ * than hash window plus winnowing window shares anchor with its previous
+ * occurrence. Fingerprints are sorted and candidates are verified and extended
+ * by comparing the data. Fingerprints with colliding hash are chained, so each
+ * is verified against the nearest previous one with equal data. Number of
+ * fingerprints is limited, for larger data block size and winnowing window are
+ * increased instead.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DuplicatesAnalyzer {
+
+    private static final int BUFFER_SIZE = 65536;
+    private static final int MIN_COMPARE_SIZE = 64;
+    /**
+     * Maximum number of fingerprints of each kind, each takes 8 bytes.
+     */
+    private static final int MAX_FINGERPRINTS = 4 * 1024 * 1024;
+    private static final int MIN_WINNOWING_WINDOW = 16;
+    private static final int MIN_HASH_WINDOW = 16;
+    private static final int MAX_REPEATS = 1000;
+    private static final int MAX_BLOCK_RANGES = 10000;
+    /**
+     * Maximum number of previous fingerprints with equal hash compared.
+     */
+    private static final int MAX_COLLISION_CHECKS = 16;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long ROLLING_MULTIPLIER = 0x5bd1e995L;
+    private static final int POSITION_BITS = 40;
+    private static final long POSITION_MASK = (1L << POSITION_BITS) - 1;
+    private static final long BLOCK_INDEX_MASK = 0xffffffffL;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final byte[] firstBuffer = new byte[BUFFER_SIZE];
+    private final byte[] secondBuffer = new byte[BUFFER_SIZE];
+    private BinaryData data;
+
+    public DuplicatesAnalyzer() {
+    }
+
+    /**
+     * Analyzes given range of data.
+     * <p>
+     * Analysis stops when current thread is interrupted.
+     *
+     * @param data data
+     * @param start start position of the range
+     * @param length length of the range, must be less than 1 TiB
+     * @param blockSize block size, duplicated blocks smaller than this are not
+     * reported
+     * @param minimumRepeatLength minimum length of reported repeats
+     * @param listener progress listener
+     * @return repeats sorted from the longest followed by duplicated blocks
+     * sorted by position
+     */
+    @Nonnull
+    public List<DuplicateRange> analyze(BinaryData data, long start, long length, int blockSize, int minimumRepeatLength, ProgressListener listener) {
+        this.data = data;
+        int effectiveBlockSize = blockSize;
+        while (length / effectiveBlockSize > MAX_FINGERPRINTS) {
+            effectiveBlockSize *= 2;
+        }
+        int winnowingWindow = (int) Math.max(MIN_WINNOWING_WINDOW, 2 * length / MAX_FINGERPRINTS + 1);
+        int hashWindow = Math.min(minimumRepeatLength, Math.max(MIN_HASH_WINDOW, minimumRepeatLength - winnowingWindow + 1));
+
+        int blocksCount = (int) (length / effectiveBlockSize);
+        long[] blockKeys = new long[blocksCount];
+        long[] anchorKeys = new long[(int) Math.min(MAX_FINGERPRINTS, Math.max(16, 2 * length / winnowingWindow + 16))];
+        int anchorsCount = 0;
+
+        long rollingPower = 1;
+        for (int i = 0; i < hashWindow; i++) {
+            rollingPower *= ROLLING_MULTIPLIER;
+        }
+        byte[] hashWindowBytes = new byte[hashWindow];
+        int hashWindowIndex = 0;
+        long[] windowHashes = new long[winnowingWindow];
+        int windowHashIndex = 0;
+        long selectedHash = 0;
+        long selectedPosition = -1;
+        long lastAnchorPosition = -1;
+
+        Thread currentThread = Thread.currentThread();
+        long rollingHash = 0;
+        long blockHash = FNV_OFFSET;
+        int blockOffset = 0;
+        int blockIndex = 0;
+        long offset = 0;
+        while (offset < length) {
+            if (currentThread.isInterrupted()) {
+                return new ArrayList<>();
+            }
+
+            int bufferLength = (int) Math.min(BUFFER_SIZE, length - offset);
+            data.copyToArray(start + offset, buffer, 0, bufferLength);
+            for (int i = 0; i < bufferLength; i++) {
+                byte value = buffer[i];
+                if (blockIndex < blocksCount) {
+                    blockHash = (blockHash ^ (value & 0xff)) * FNV_PRIME;
+                    blockOffset++;
+                    if (blockOffset == effectiveBlockSize) {
+                        blockKeys[blockIndex] = (blockHash & ~BLOCK_INDEX_MASK) | blockIndex;
+                        blockIndex++;
+                        blockHash = FNV_OFFSET;
+                        blockOffset = 0;
+                    }
+                }
+
+                long position = offset + i;
+                rollingHash = rollingHash * ROLLING_MULTIPLIER + (value & 0xff) - rollingPower * (hashWindowBytes[hashWindowIndex] & 0xff);
+                hashWindowBytes[hashWindowIndex] = value;
+                hashWindowIndex = hashWindowIndex + 1 == hashWindow ? 0 : hashWindowIndex + 1;
+                if (position < hashWindow - 1) {
+                    continue;
+                }
+
+                // Winnowing keeps minimal hash of each window, on tie previous is kept
+                long windowPosition = position - hashWindow + 1;
+                windowHashes[windowHashIndex] = rollingHash;
+                if (selectedPosition < 0 || rollingHash < selectedHash) {
+                    selectedHash = rollingHash;
+                    selectedPosition = windowPosition;
+                } else if (selectedPosition <= windowPosition - winnowingWindow) {
+                    // Selected hash left the window, search the whole window again
+                    selectedHash = rollingHash;
+                    selectedPosition = windowPosition;
+                    int index = windowHashIndex;
+                    for (int j = 1; j < winnowingWindow; j++) {
+                        index = index == 0 ? winnowingWindow - 1 : index - 1;
+                        if (windowHashes[index] < selectedHash) {
+                            selectedHash = windowHashes[index];
+                            selectedPosition = windowPosition - j;
+                        }
+                    }
+                } else {
+                    windowHashIndex = windowHashIndex + 1 == winnowingWindow ? 0 : windowHashIndex + 1;
+                    continue;
+                }
+                windowHashIndex = windowHashIndex + 1 == winnowingWindow ? 0 : windowHashIndex + 1;
+                if (selectedPosition == lastAnchorPosition) {
+                    continue;
+                }
+
+                lastAnchorPosition = selectedPosition;
+                if (anchorsCount == anchorKeys.length) {
+                    if (anchorsCount == MAX_FINGERPRINTS) {
+                        continue;
+                    }
+                    anchorKeys = Arrays.copyOf(anchorKeys, (int) Math.min(MAX_FINGERPRINTS, anchorKeys.length * 2L));
+                }
+                anchorKeys[anchorsCount++] = ((mix(selectedHash) >>> POSITION_BITS) << POSITION_BITS) | selectedPosition;
+            }
+
+            offset += bufferLength;
+            listener.progress(offset);
+        }
+
+        List<DuplicateRange> result = findRepeats(anchorKeys, anchorsCount, start, hashWindow, minimumRepeatLength, length);
+        if (currentThread.isInterrupted()) {
+            return result;
+        }
+        result.addAll(findDuplicateBlocks(blockKeys, start, effectiveBlockSize));
+        return result;
+    }
+
+    @Nonnull
+    private List<DuplicateRange> findRepeats(long[] anchorKeys, int anchorsCount, long start, int hashWindow, int minimumRepeatLength, long length) {
+        Arrays.sort(anchorKeys, 0, anchorsCount);
+        List<DuplicateRange> repeats = new ArrayList<>();
+        // Found repeats by distance to the source to skip other anchors in them
+        Map<Long, List<DuplicateRange>> repeatsByDistance = new HashMap<>();
+        Thread currentThread = Thread.currentThread();
+        for (int i = 1; i < anchorsCount; i++) {
+            if ((i & 0x3ff) == 0 && currentThread.isInterrupted()) {
+                break;
+            }
+
+            long hash = anchorKeys[i] >>> POSITION_BITS;
+            long position = start + (anchorKeys[i] & POSITION_MASK);
+            long sourcePosition = -1;
+            boolean covered = false;
+            for (int j = i - 1; j >= 0 && i - j <= MAX_COLLISION_CHECKS && (anchorKeys[j] >>> POSITION_BITS) == hash; j--) {
+                long candidatePosition = start + (anchorKeys[j] & POSITION_MASK);
+                List<DuplicateRange> distanceRepeats = repeatsByDistance.get(position - candidatePosition);
+                if (distanceRepeats != null && isCovered(distanceRepeats, position)) {
+                    covered = true;
+                    break;
+                }
+                if (matchForward(candidatePosition, position, position + hashWindow) == hashWindow) {
+                    sourcePosition = candidatePosition;
+                    break;
+                }
+            }
+            if (covered || sourcePosition < 0) {
+                continue;
+            }
+
+            long distance = position - sourcePosition;
+            long backward = matchBackward(sourcePosition, position, start);
+            long forward = matchForward(sourcePosition, position, start + length);
+            long repeatLength = backward + forward;
+            if (repeatLength < minimumRepeatLength) {
+                continue;
+            }
+
+            DuplicateRange repeat = new DuplicateRange(position - backward, sourcePosition - backward, repeatLength, DuplicateType.REPEAT);
+            List<DuplicateRange> distanceRepeats = repeatsByDistance.get(distance);
+            if (distanceRepeats == null) {
+                distanceRepeats = new ArrayList<>();
+                repeatsByDistance.put(distance, distanceRepeats);
+            }
+            distanceRepeats.add(repeat);
+            repeats.add(repeat);
+        }
+
+        repeats.sort((first, second) -> Long.compare(second.getLength(), first.getLength()));
+        return repeats.size() > MAX_REPEATS ? new ArrayList<>(repeats.subList(0, MAX_REPEATS)) : repeats;
+    }
+
+    private static boolean isCovered(List<DuplicateRange> repeats, long position) {
+        for (DuplicateRange repeat : repeats) {
+            if (position >= repeat.getPosition() && position < repeat.getPosition() + repeat.getLength()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nonnull
+    private List<DuplicateRange> findDuplicateBlocks(long[] blockKeys, long start, int blockSize) {
+        Arrays.sort(blockKeys);
+        // Pairs of block index and index of its previous occurrence
+        long[] pairs = new long[16];
+        int pairsCount = 0;
+        Thread currentThread = Thread.currentThread();
+        for (int i = 1; i < blockKeys.length; i++) {
+            if ((i & 0x3ff) == 0 && currentThread.isInterrupted()) {
+                return new ArrayList<>();
+            }
+
+            long hash = blockKeys[i] & ~BLOCK_INDEX_MASK;
+            long index = blockKeys[i] & BLOCK_INDEX_MASK;
+            for (int j = i - 1; j >= 0 && i - j <= MAX_COLLISION_CHECKS && (blockKeys[j] & ~BLOCK_INDEX_MASK) == hash; j--) {
+                long sourceIndex = blockKeys[j] & BLOCK_INDEX_MASK;
+                if (matchForward(start + sourceIndex * blockSize, start + index * blockSize, start + (index + 1) * blockSize) == blockSize) {
+                    if (pairsCount == pairs.length) {
+                        pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                    }
+                    pairs[pairsCount++] = (index << 32) | sourceIndex;
+                    break;
+                }
+            }
+        }
+
+        // Consecutive duplicated blocks are joined to single range
+        Arrays.sort(pairs, 0, pairsCount);
+        List<DuplicateRange> ranges = new ArrayList<>();
+        int i = 0;
+        while (i < pairsCount && ranges.size() < MAX_BLOCK_RANGES) {
+            long index = pairs[i] >>> 32;
+            long sourceIndex = pairs[i] & BLOCK_INDEX_MASK;
+            int runLength = 1;
+            while (i + runLength < pairsCount && pairs[i + runLength] == (((index + runLength) << 32) | (sourceIndex + runLength))) {
+                runLength++;
+            }
+            ranges.add(new DuplicateRange(start + index * blockSize, start + sourceIndex * blockSize, (long) runLength * blockSize, DuplicateType.BLOCKS));
+            i += runLength;
+        }
+        return ranges;
+    }
+
+    /**
+     * Returns length of equal data starting at given positions.
+     */
+    private long matchForward(long first, long second, long limit) {
+        long matched = 0;
+        int compareSize = MIN_COMPARE_SIZE;
+        while (second + matched < limit) {
+            int length = (int) Math.min(compareSize, limit - second - matched);
+            data.copyToArray(first + matched, firstBuffer, 0, length);
+            data.copyToArray(second + matched, secondBuffer, 0, length);
+            for (int i = 0; i < length; i++) {
+                if (firstBuffer[i] != secondBuffer[i]) {
+                    return matched + i;
+                }
+            }
+            matched += length;
+            compareSize = Math.min(compareSize * 2, BUFFER_SIZE);
+        }
+        return matched;
+    }
+
+    /**
+     * Returns length of equal data ending before given positions.
+     */
+    private long matchBackward(long first, long second, long limit) {
+        long matched = 0;
+        int compareSize = MIN_COMPARE_SIZE;
+        while (first - matched > limit) {
+            int length = (int) Math.min(compareSize, first - matched - limit);
+            data.copyToArray(first - matched - length, firstBuffer, 0, length);
+            data.copyToArray(second - matched - length, secondBuffer, 0, length);
+            for (int i = length - 1; i >= 0; i--) {
+                if (firstBuffer[i] != secondBuffer[i]) {
+                    return matched + length - 1 - i;
+                }
+            }
+            matched += length;
+            compareSize = Math.min(compareSize * 2, BUFFER_SIZE);
+        }
+        return matched;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Listener for analysis progress.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Reports analysis progress.
+         *
+         * @param processed length of data already read
+         */
+        void progress(long processed);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service.impl;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+
+/**
+ * Matcher for exact sequence of bytes.
+ * <p>
+ * When case is ignored, only ASCII letters are folded.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ExactBytesMatcher implements BinaryDataMatcher {
+
+    private static final int BLOCK_SIZE = 65536;
+
+    private final byte[] pattern;
+    private final boolean matchCase;
+    private final byte[] block;
+
+    private long matchStart = -1;
+    private ProgressListener progressListener = null;
+
+    public ExactBytesMatcher(byte[] pattern, boolean matchCase) {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("Pattern cannot be empty");
+        }
+
+        this.matchCase = matchCase;
+        this.pattern = new byte[pattern.length];
+        for (int i = 0; i < pattern.length; i++) {
+            this.pattern[i] = matchCase ? pattern[i] : toLowerCase(pattern[i]);
+        }
+        block = new byte[BLOCK_SIZE + pattern.length - 1];
+    }
+
+    @Override
+    public void setProgressListener(@Nullable ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public boolean find(BinaryData data, long fromPosition, long toPosition) {
+        matchStart = -1;
+        long limit = Math.min(toPosition, data.getDataSize());
+        Thread currentThread = Thread.currentThread();
+        int patternLength = pattern.length;
+        byte firstByte = pattern[0];
+        long position = fromPosition;
+        while (position + patternLength <= limit) {
+            if (currentThread.isInterrupted()) {
+                return false;
+            }
+
+            int blockLength = (int) Math.min(BLOCK_SIZE, limit - position - patternLength + 1);
+            data.copyToArray(position, block, 0, blockLength + patternLength - 1);
+            if (!matchCase) {
+                for (int i = 0; i < blockLength + patternLength - 1; i++) {
+                    block[i] = toLowerCase(block[i]);
+                }
+            }
+            for (int offset = 0; offset < blockLength; offset++) {
+                if (block[offset] == firstByte && matchesAt(offset)) {
+                    matchStart = position + offset;
+                    return true;
+                }
+            }
+
+            position += blockLength;
+            if (progressListener != null) {
+                progressListener.progress(position);
+            }
+        }
+
+        return false;
+    }
+
+    private boolean matchesAt(int offset) {
+        for (int i = 1; i < pattern.length; i++) {
+            if (block[offset + i] != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long start() {
+        return matchStart;
+    }
+
+    @Override
+    public long end() {
+        return matchStart < 0 ? -1 : matchStart + pattern.length;
+    }
+
+    private static byte toLowerCase(byte value) {
+        return value >= 'A' && value <= 'Z' ? (byte) (value + ('a' - 'A')) : value;
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+
+/**
+ * Matcher for numeric value or range of values.
+ * <p>
+ * Signed and unsigned integers of 8, 16, 32 and 64 bits and IEEE 754 floats
+ * of 32 and 64 bits are matched in both little and big endian at once. Each
+ * position is decoded only once from little and big endian 64-bit lanes
+ * from which all narrower values are derived by shifts and masks. When
+ * multiple encodings match at the same position, the narrowest one is
+ * reported.
+ * <p>
+ * Value syntax is either single number or range {@code min..max}. Integers
+ * can be given as hexadecimal with {@code 0x} prefix. Decimal fraction
+ * matches floating point values rounding to the given number of decimal
+ * places.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class NumericValueMatcher implements BinaryDataMatcher {
+
+    private static final int BLOCK_SIZE = 65536;
+    private static final int LANE_SIZE = 8;
+    private static final String RANGE_SEPARATOR = "..";
+
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final long minInteger;
+    private final long maxInteger;
+    private final double minFloat;
+    private final double maxFloat;
+    private final boolean[] integerWidths = new boolean[LANE_SIZE + 1];
+    private final boolean float32;
+    private final boolean float64;
+
+    private final byte[] block = new byte[BLOCK_SIZE + LANE_SIZE];
+    private final ByteBuffer littleEndianBuffer = ByteBuffer.wrap(block).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer bigEndianBuffer = ByteBuffer.wrap(block).order(ByteOrder.BIG_ENDIAN);
+
+    private long matchStart = -1;
+    private long matchEnd = -1;
+    private ProgressListener progressListener = null;
+
+    private NumericValueMatcher(BigDecimal minValue, BigDecimal maxValue) {
+        minFloat = minValue.doubleValue();
+        maxFloat = maxValue.doubleValue();
+        float64 = true;
+        float32 = minFloat <= Float.MAX_VALUE && maxFloat >= -Float.MAX_VALUE;
+
+        BigDecimal minIntegral = minValue.setScale(0, RoundingMode.CEILING);
+        BigDecimal maxIntegral = maxValue.setScale(0, RoundingMode.FLOOR);
+        boolean integerSearch = minIntegral.compareTo(maxIntegral) <= 0 && minIntegral.compareTo(LONG_MAX) <= 0 && maxIntegral.compareTo(LONG_MIN) >= 0;
+        minInteger = integerSearch ? minIntegral.max(LONG_MIN).longValueExact() : 0;
+        maxInteger = integerSearch ? maxIntegral.min(LONG_MAX).longValueExact() : -1;
+        if (integerSearch) {
+            for (int width = 1; width <= LANE_SIZE; width <<= 1) {
+                integerWidths[width] = width == LANE_SIZE || isWidthApplicable(width);
+            }
+        }
+    }
+
+    /**
+     * Parses value or range of values.
+     *
+     * @param text value text
+     * @return numeric matcher
+     * @throws NumberFormatException on invalid value
+     */
+    @Nonnull
+    public static NumericValueMatcher parse(String text) throws NumberFormatException {
+        String trimmedText = text.trim();
+        int separatorPosition = trimmedText.indexOf(RANGE_SEPARATOR);
+        if (separatorPosition < 0) {
+            BigDecimal value = parseValue(trimmedText);
+            if (value.scale() <= 0) {
+                return new NumericValueMatcher(value, value);
+            }
+
+            // Match values rounding to the same number of decimal places
+            BigDecimal halfUnit = BigDecimal.ONE.movePointLeft(value.scale()).divide(BigDecimal.valueOf(2));
+            return new NumericValueMatcher(value.subtract(halfUnit), value.add(halfUnit));
+        }
+
+        BigDecimal minValue = parseValue(trimmedText.substring(0, separatorPosition).trim());
+        BigDecimal maxValue = parseValue(trimmedText.substring(separatorPosition + RANGE_SEPARATOR.length()).trim());
+        if (minValue.compareTo(maxValue) > 0) {
+            return new NumericValueMatcher(maxValue, minValue);
+        }
+        return new NumericValueMatcher(minValue, maxValue);
+    }
+
+    @Nonnull
+    private static BigDecimal parseValue(String text) throws NumberFormatException {
+        if (text.isEmpty()) {
+            throw new NumberFormatException("Missing value");
+        }
+        boolean negative = text.startsWith("-");
+        String unsignedText = negative || text.startsWith("+") ? text.substring(1) : text;
+        if (unsignedText.startsWith("0x") || unsignedText.startsWith("0X")) {
+            BigInteger value = new BigInteger(unsignedText.substring(2), 16);
+            return new BigDecimal(negative ? value.negate() : value);
+        }
+        return new BigDecimal(text);
+    }
+
+    private boolean isWidthApplicable(int width) {
+        int bits = width * 8;
+        long signedMin = -(1L << (bits - 1));
+        long unsignedMax = (1L << bits) - 1;
+        return maxInteger >= signedMin && minInteger <= unsignedMax;
+    }
+
+    @Override
+    public void setProgressListener(@Nullable ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public boolean find(BinaryData data, long fromPosition, long toPosition) {
+        matchStart = -1;
+        matchEnd = -1;
+        long limit = Math.min(toPosition, data.getDataSize());
+        Thread currentThread = Thread.currentThread();
+        long position = fromPosition;
+        while (position < limit) {
+            if (currentThread.isInterrupted()) {
+                return false;
+            }
+
+            // Load block with lane sized overlap so that values crossing block boundary are decoded
+            int blockLength = (int) Math.min(BLOCK_SIZE, limit - position);
+            int loadLength = (int) Math.min(BLOCK_SIZE + LANE_SIZE, limit - position);
+            data.copyToArray(position, block, 0, loadLength);
+            if (loadLength < block.length) {
+                Arrays.fill(block, loadLength, block.length, (byte) 0);
+            }
+
+            for (int offset = 0; offset < blockLength; offset++) {
+                long littleEndian = littleEndianBuffer.getLong(offset);
+                long bigEndian = bigEndianBuffer.getLong(offset);
+                int matchLength = matchLength(littleEndian, bigEndian, loadLength - offset);
+                if (matchLength > 0) {
+                    matchStart = position + offset;
+                    matchEnd = matchStart + matchLength;
+                    return true;
+                }
+            }
+
+            position += blockLength;
+            if (progressListener != null) {
+                progressListener.progress(position);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns length of the narrowest matching encoding.
+     * <p>
+     * Big endian integer is skipped when its lower half matches too as it is
+     * then reported at the later position of its significant part.
+     *
+     * @param littleEndian little endian lane
+     * @param bigEndian big endian lane
+     * @param available count of bytes available in lane
+     * @return matching width or 0 if no encoding matches
+     */
+    private int matchLength(long littleEndian, long bigEndian, int available) {
+        if (integerWidths[1] && isInIntegerRange((byte) littleEndian, 0xffL)) {
+            return 1;
+        }
+        if (available >= 2 && integerWidths[2]) {
+            short bigValue = (short) (bigEndian >>> 48);
+            if (isInIntegerRange((short) littleEndian, 0xffffL)
+                    || (isInIntegerRange(bigValue, 0xffffL) && !isInIntegerRange((byte) bigValue, 0xffL))) {
+                return 2;
+            }
+        }
+        if (available >= 4) {
+            int littleValue = (int) littleEndian;
+            int bigValue = (int) (bigEndian >>> 32);
+            if (integerWidths[4] && (isInIntegerRange(littleValue, 0xffffffffL)
+                    || (isInIntegerRange(bigValue, 0xffffffffL) && !isInIntegerRange((short) bigValue, 0xffffL)))) {
+                return 4;
+            }
+            if (float32 && (isInFloatRange(Float.intBitsToFloat(littleValue)) || isInFloatRange(Float.intBitsToFloat(bigValue)))) {
+                return 4;
+            }
+        }
+        if (available >= 8) {
+            if (integerWidths[8] && (isInIntegerRange(littleEndian) || isInUnsignedRange(littleEndian)
+                    || ((isInIntegerRange(bigEndian) || isInUnsignedRange(bigEndian)) && !isInIntegerRange((int) bigEndian, 0xffffffffL)))) {
+                return 8;
+            }
+            if (float64 && (isInFloatRange(Double.longBitsToDouble(littleEndian)) || isInFloatRange(Double.longBitsToDouble(bigEndian)))) {
+                return 8;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Tests signed and unsigned interpretation of the value.
+     *
+     * @param value sign extended value
+     * @param mask mask of value width
+     * @return true if value is in range
+     */
+    private boolean isInIntegerRange(long value, long mask) {
+        return isInIntegerRange(value) || isInIntegerRange(value & mask);
+    }
+
+    private boolean isInIntegerRange(long value) {
+        return value >= minInteger && value <= maxInteger;
+    }
+
+    private boolean isInUnsignedRange(long value) {
+        return minInteger >= 0 && Long.compareUnsigned(value, minInteger) >= 0 && Long.compareUnsigned(value, maxInteger) <= 0;
+    }
+
+    private boolean isInFloatRange(double value) {
+        return value >= minFloat && value <= maxFloat;
+    }
+
+    @Override
+    public long start() {
+        return matchStart;
+    }
+
+    @Override
+    public long end() {
+        return matchEnd;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service.impl;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.highlight.swing.SearchMatch;
+
+/**
+ * Search match of obfuscated data with recovered key.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ObfuscatedSearchMatch extends SearchMatch {
+
+    private final ObfuscatedTextMatcher.KeyTransform transform;
+    private final int key;
+
+    public ObfuscatedSearchMatch(ObfuscatedTextMatcher.KeyTransform transform, int key) {
+        this.transform = transform;
+        this.key = key;
+    }
+
+    @Nonnull
+    public ObfuscatedTextMatcher.KeyTransform getTransform() {
+        return transform;
+    }
+
+    public int getKey() {
+        return key;
+    }
+
+    @Nonnull
+    public String getKeyDescription() {
+        if (transform == ObfuscatedTextMatcher.KeyTransform.ROL) {
+            return transform.name() + " " + key;
+        }
+        return String.format("%s 0x%02X", transform.name(), key);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service.impl;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+
+/**
+ * Matcher for data obfuscated by single byte key.
+ * <p>
+ * All 256 keys of XOR and ADD transformations are searched at once by
+ * matching key invariant differences of consecutive bytes, key is then
+ * recovered from the first byte. Bit rotations are matched by lookup of
+ * the first byte and verified against rotated pattern.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ObfuscatedTextMatcher implements BinaryDataMatcher {
+
+    private static final int BLOCK_SIZE = 65536;
+
+    private final byte[] pattern;
+    private final int[] xorDifferences;
+    private final int[] addDifferences;
+    private final byte[][] rotatedPatterns = new byte[8][];
+    private final int[] rotationCandidates = new int[256];
+    private final byte[] block;
+
+    private long matchStart = -1;
+    private KeyTransform matchTransform = null;
+    private int matchKey = 0;
+    private ProgressListener progressListener = null;
+
+    /**
+     * Creates matcher for given plain pattern.
+     *
+     * @param pattern plain pattern, at least two bytes long
+     */
+    public ObfuscatedTextMatcher(byte[] pattern) {
+        if (pattern.length < 2) {
+            throw new IllegalArgumentException("Pattern must be at least two bytes long");
+        }
+
+        this.pattern = pattern;
+        xorDifferences = new int[pattern.length - 1];
+        addDifferences = new int[pattern.length - 1];
+        for (int i = 0; i < pattern.length - 1; i++) {
+            int value = pattern[i] & 0xff;
+            int nextValue = pattern[i + 1] & 0xff;
+            xorDifferences[i] = value ^ nextValue;
+            addDifferences[i] = (value - nextValue) & 0xff;
+        }
+
+        for (int rotation = 1; rotation < 8; rotation++) {
+            byte[] rotatedPattern = new byte[pattern.length];
+            for (int i = 0; i < pattern.length; i++) {
+                rotatedPattern[i] = rotateLeft(pattern[i], rotation);
+            }
+            rotatedPatterns[rotation] = rotatedPattern;
+            rotationCandidates[rotatedPattern[0] & 0xff] |= 1 << rotation;
+        }
+        block = new byte[BLOCK_SIZE + pattern.length - 1];
+    }
+
+    @Override
+    public void setProgressListener(@Nullable ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public boolean find(BinaryData data, long fromPosition, long toPosition) {
+        matchStart = -1;
+        matchTransform = null;
+        long limit = Math.min(toPosition, data.getDataSize());
+        Thread currentThread = Thread.currentThread();
+        int patternLength = pattern.length;
+        int firstXorDifference = xorDifferences[0];
+        int firstAddDifference = addDifferences[0];
+        long position = fromPosition;
+        while (position + patternLength <= limit) {
+            if (currentThread.isInterrupted()) {
+                return false;
+            }
+
+            int blockLength = (int) Math.min(BLOCK_SIZE, limit - position - patternLength + 1);
+            data.copyToArray(position, block, 0, blockLength + patternLength - 1);
+            for (int offset = 0; offset < blockLength; offset++) {
+                int value = block[offset] & 0xff;
+                int nextValue = block[offset + 1] & 0xff;
+                if ((value ^ nextValue) == firstXorDifference && matchesDifferences(offset, xorDifferences, false)) {
+                    return setMatch(position + offset, KeyTransform.XOR, value ^ (pattern[0] & 0xff));
+                }
+                if (((value - nextValue) & 0xff) == firstAddDifference && matchesDifferences(offset, addDifferences, true)) {
+                    return setMatch(position + offset, KeyTransform.ADD, (value - (pattern[0] & 0xff)) & 0xff);
+                }
+                int rotations = rotationCandidates[value];
+                if (rotations != 0) {
+                    for (int rotation = 1; rotation < 8; rotation++) {
+                        if ((rotations & (1 << rotation)) != 0 && matchesRotation(offset, rotatedPatterns[rotation])) {
+                            return setMatch(position + offset, KeyTransform.ROL, rotation);
+                        }
+                    }
+                }
+            }
+
+            position += blockLength;
+            if (progressListener != null) {
+                progressListener.progress(position);
+            }
+        }
+
+        return false;
+    }
+
+    private boolean matchesDifferences(int offset, int[] differences, boolean subtract) {
+        for (int i = 1; i < differences.length; i++) {
+            int value = block[offset + i] & 0xff;
+            int nextValue = block[offset + i + 1] & 0xff;
+            int difference = subtract ? (value - nextValue) & 0xff : value ^ nextValue;
+            if (difference != differences[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matchesRotation(int offset, byte[] rotatedPattern) {
+        for (int i = 1; i < rotatedPattern.length; i++) {
+            if (block[offset + i] != rotatedPattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean setMatch(long position, KeyTransform transform, int key) {
+        matchStart = position;
+        matchTransform = transform;
+        matchKey = key;
+        return true;
+    }
+
+    @Override
+    public long start() {
+        return matchStart;
+    }
+
+    @Override
+    public long end() {
+        return matchStart < 0 ? -1 : matchStart + pattern.length;
+    }
+
+    /**
+     * Creates search match for the last found match including recovered key.
+     *
+     * @return search match
+     */
+    @Nonnull
+    public ObfuscatedSearchMatch createMatch() {
+        ObfuscatedSearchMatch match = new ObfuscatedSearchMatch(matchTransform, matchKey);
+        match.setPosition(matchStart);
+        match.setLength(pattern.length);
+        return match;
+    }
+
+    private static byte rotateLeft(byte value, int rotation) {
+        int unsignedValue = value & 0xff;
+        return (byte) ((unsignedValue << rotation) | (unsignedValue >>> (8 - rotation)));
+    }
+
+    /**
+     * Transformation applied to plain data using key.
+     */
+    public enum KeyTransform {
+        XOR, ADD, ROL
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service.impl;
+
+import java.util.Set;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.framework.bined.search.service.StringEncoding;
+
+/**
+ * Scanner for printable strings.
+ * <p>
+ * Data is read once in blocks and each byte is classified using lookup table.
+ * Single byte / UTF-8 runs and UTF-16 runs of both byte orders and alignments
+ * are tracked by independent state machines, so no data is read twice.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class StringsScanner {
+
+    private static final int BLOCK_SIZE = 65536;
+    /**
+     * Longer runs are split into multiple strings.
+     */
+    private static final int MAX_STRING_LENGTH = 1024 * 1024;
+
+    private static final int CLASS_PRINTABLE = 1;
+    private static final int CLASS_LATIN1 = 2;
+    private static final int CLASS_CONTINUATION = 4;
+    private static final int CLASS_LEAD_2 = 8;
+    private static final int CLASS_LEAD_3 = 16;
+    private static final int CLASS_LEAD_4 = 32;
+    private static final int CLASS_UTF16_UNIT = CLASS_PRINTABLE | CLASS_LATIN1;
+
+    private static final byte[] BYTE_CLASSES = new byte[256];
+
+    static {
+        BYTE_CLASSES['\t'] = CLASS_PRINTABLE;
+        for (int i = 0x20; i < 0x7f; i++) {
+            BYTE_CLASSES[i] = CLASS_PRINTABLE;
+        }
+        for (int i = 0x80; i < 0xc0; i++) {
+            BYTE_CLASSES[i] = CLASS_CONTINUATION;
+        }
+        for (int i = 0xa0; i < 0x100; i++) {
+            BYTE_CLASSES[i] |= CLASS_LATIN1;
+        }
+        for (int i = 0xc2; i < 0xe0; i++) {
+            BYTE_CLASSES[i] |= CLASS_LEAD_2;
+        }
+        for (int i = 0xe0; i < 0xf0; i++) {
+            BYTE_CLASSES[i] |= CLASS_LEAD_3;
+        }
+        for (int i = 0xf0; i < 0xf5; i++) {
+            BYTE_CLASSES[i] |= CLASS_LEAD_4;
+        }
+    }
+
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private final Utf16Run[] utf16Runs = new Utf16Run[4];
+    private int minimumLength;
+    private boolean asciiEnabled;
+    private boolean utf8Enabled;
+    private ScanListener listener;
+
+    private long runStart;
+    private int runCharacters;
+    private boolean runMultibyte;
+    private long characterStart;
+    private int pendingContinuations;
+
+    private long pendingUtf16Position;
+    private long pendingUtf16End;
+    private StringEncoding pendingUtf16Encoding;
+
+    public StringsScanner() {
+    }
+
+    /**
+     * Scans data for strings.
+     * <p>
+     * Scanning stops when current thread is interrupted.
+     *
+     * @param data data to scan
+     * @param minimumLength minimum length of string in characters
+     * @param encodings enabled encodings
+     * @param listener scan listener
+     */
+    public void scan(BinaryData data, int minimumLength, Set<StringEncoding> encodings, ScanListener listener) {
+        this.minimumLength = minimumLength;
+        this.listener = listener;
+        asciiEnabled = encodings.contains(StringEncoding.ASCII);
+        utf8Enabled = encodings.contains(StringEncoding.UTF8);
+        boolean utf16LeEnabled = encodings.contains(StringEncoding.UTF16LE);
+        boolean utf16BeEnabled = encodings.contains(StringEncoding.UTF16BE);
+        boolean singleByteEnabled = asciiEnabled || utf8Enabled;
+        boolean utf16Enabled = utf16LeEnabled || utf16BeEnabled;
+        // Runs for even and odd alignment of code units
+        utf16Runs[0] = new Utf16Run(StringEncoding.UTF16LE);
+        utf16Runs[1] = new Utf16Run(StringEncoding.UTF16LE);
+        utf16Runs[2] = new Utf16Run(StringEncoding.UTF16BE);
+        utf16Runs[3] = new Utf16Run(StringEncoding.UTF16BE);
+        resetRun();
+        pendingUtf16Encoding = null;
+
+        long dataSize = data.getDataSize();
+        Thread currentThread = Thread.currentThread();
+        int previousByte = 0;
+        long position = 0;
+        while (position < dataSize) {
+            if (currentThread.isInterrupted()) {
+                return;
+            }
+
+            int blockLength = (int) Math.min(BLOCK_SIZE, dataSize - position);
+            data.copyToArray(position, block, 0, blockLength);
+            for (int offset = 0; offset < blockLength; offset++) {
+                int value = block[offset] & 0xff;
+                long bytePosition = position + offset;
+                if (singleByteEnabled) {
+                    processSingleByte(bytePosition, BYTE_CLASSES[value]);
+                }
+
+                if (utf16Enabled && bytePosition > 0) {
+                    long unitPosition = bytePosition - 1;
+                    int alignment = (int) (unitPosition & 1);
+                    if (utf16LeEnabled) {
+                        Utf16Run run = utf16Runs[alignment];
+                        boolean printable = value == 0 && (BYTE_CLASSES[previousByte] & CLASS_UTF16_UNIT) != 0;
+                        if (printable || run.start >= 0) {
+                            processUtf16Unit(run, unitPosition, printable);
+                        }
+                    }
+                    if (utf16BeEnabled) {
+                        Utf16Run run = utf16Runs[2 + alignment];
+                        boolean printable = previousByte == 0 && (BYTE_CLASSES[value] & CLASS_UTF16_UNIT) != 0;
+                        if (printable || run.start >= 0) {
+                            processUtf16Unit(run, unitPosition, printable);
+                        }
+                    }
+                }
+                previousByte = value;
+            }
+
+            position += blockLength;
+            listener.progress(position);
+        }
+
+        if (singleByteEnabled) {
+            finishRun(pendingContinuations > 0 ? characterStart : dataSize);
+        }
+        for (Utf16Run utf16Run : utf16Runs) {
+            if (utf16Run.start >= 0) {
+                finishUtf16Run(utf16Run, utf16Run.start + utf16Run.characters * 2L);
+            }
+        }
+        flushPendingUtf16();
+    }
+
+    private void processSingleByte(long position, int byteClass) {
+        if (pendingContinuations > 0) {
+            if ((byteClass & CLASS_CONTINUATION) != 0) {
+                pendingContinuations--;
+                if (pendingContinuations == 0) {
+                    runCharacters++;
+                    runMultibyte = true;
+                }
+                return;
+            }
+
+            // Incomplete sequence is not part of the string
+            finishRun(characterStart);
+        }
+
+        if ((byteClass & CLASS_PRINTABLE) != 0) {
+            if (runStart < 0) {
+                runStart = position;
+            } else if (position - runStart >= MAX_STRING_LENGTH) {
+                finishRun(position);
+                runStart = position;
+            }
+            runCharacters++;
+        } else if (utf8Enabled && (byteClass & (CLASS_LEAD_2 | CLASS_LEAD_3 | CLASS_LEAD_4)) != 0) {
+            if (runStart < 0) {
+                runStart = position;
+            } else if (position - runStart >= MAX_STRING_LENGTH) {
+                finishRun(position);
+                runStart = position;
+            }
+            characterStart = position;
+            pendingContinuations = (byteClass & CLASS_LEAD_2) != 0 ? 1 : (byteClass & CLASS_LEAD_3) != 0 ? 2 : 3;
+        } else if (runStart >= 0) {
+            finishRun(position);
+        }
+    }
+
+    private void finishRun(long endPosition) {
+        if (runStart >= 0 && runCharacters >= minimumLength && (runMultibyte ? utf8Enabled : asciiEnabled)) {
+            if (pendingUtf16Encoding != null && pendingUtf16End <= runStart) {
+                flushPendingUtf16();
+            }
+            listener.stringFound(runStart, (int) (endPosition - runStart), runMultibyte ? StringEncoding.UTF8 : StringEncoding.ASCII);
+        }
+        resetRun();
+    }
+
+    private void resetRun() {
+        runStart = -1;
+        runCharacters = 0;
+        runMultibyte = false;
+        pendingContinuations = 0;
+    }
+
+    private void processUtf16Unit(Utf16Run run, long unitPosition, boolean printable) {
+        if (printable) {
+            if (run.start < 0) {
+                run.start = unitPosition;
+            } else if (run.characters * 2L >= MAX_STRING_LENGTH) {
+                finishUtf16Run(run, unitPosition);
+                run.start = unitPosition;
+            }
+            run.characters++;
+        } else if (run.start >= 0) {
+            finishUtf16Run(run, unitPosition);
+        }
+    }
+
+    private void finishUtf16Run(Utf16Run run, long endPosition) {
+        if (run.characters >= minimumLength) {
+            reportUtf16(run.start, endPosition, run.encoding);
+        }
+        run.start = -1;
+        run.characters = 0;
+    }
+
+    /**
+     * Reports UTF-16 string.
+     * <p>
+     * Text of one byte order is also valid text of the other byte order
+     * shifted by one byte, so from overlapping strings of different byte order
+     * only the one starting first is reported.
+     */
+    private void reportUtf16(long position, long endPosition, StringEncoding encoding) {
+        if (pendingUtf16Encoding != null) {
+            if (pendingUtf16Encoding != encoding && position < pendingUtf16End && pendingUtf16Position < endPosition) {
+                if (position < pendingUtf16Position) {
+                    setPendingUtf16(position, endPosition, encoding);
+                }
+                return;
+            }
+
+            flushPendingUtf16();
+        }
+        setPendingUtf16(position, endPosition, encoding);
+    }
+
+    private void setPendingUtf16(long position, long endPosition, StringEncoding encoding) {
+        pendingUtf16Position = position;
+        pendingUtf16End = endPosition;
+        pendingUtf16Encoding = encoding;
+    }
+
+    private void flushPendingUtf16() {
+        if (pendingUtf16Encoding != null) {
+            listener.stringFound(pendingUtf16Position, (int) (pendingUtf16End - pendingUtf16Position), pendingUtf16Encoding);
+            pendingUtf16Encoding = null;
+        }
+    }
+
+    private static class Utf16Run {
+
+        private final StringEncoding encoding;
+        private long start = -1;
+        private int characters = 0;
+
+        public Utf16Run(StringEncoding encoding) {
+            this.encoding = encoding;
+        }
+    }
+
+    /**
+     * Listener for scanning results.
+     */
+    public interface ScanListener {
+
+        /**
+         * Reports found string.
+         *
+         * @param position position of the string
+         * @param length length of the string in bytes
+         * @param encoding string encoding
+         */
+        void stringFound(long position, int length, StringEncoding encoding);
+
+        /**
+         * Reports scanning progress.
+         *
+         * @param position position up to which data was scanned
+         */
+        void progress(long position);
+    }
+}
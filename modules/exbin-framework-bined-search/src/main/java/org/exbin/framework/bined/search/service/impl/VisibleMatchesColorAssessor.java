@@ -0,0 +1,317 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.search.service.impl;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.SwingUtilities;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.bined.CodeAreaSection;
+import org.exbin.bined.DataChangedListener;
+import org.exbin.bined.highlight.swing.SearchCodeAreaColorAssessor;
+import org.exbin.bined.highlight.swing.SearchMatch;
+import org.exbin.bined.highlight.swing.color.CodeAreaMatchColorType;
+import org.exbin.bined.swing.CodeAreaColorAssessor;
+import org.exbin.bined.swing.CodeAreaPaintState;
+import org.exbin.bined.swing.CodeAreaSwingUtils;
+import org.exbin.bined.swing.capability.ColorAssessorPainterCapable;
+import org.exbin.bined.swing.section.SectCodeArea;
+import org.exbin.bined.swing.section.color.SectionCodeAreaColorProfile;
+import org.exbin.framework.bined.BinEdCodeAreaAssessor;
+
+/**
+ * Color assessor highlighting matches of visible rows only.
+ * <p>
+ * When painted position falls into block which was not yet scanned, scan of
+ * the block is queued on background thread and code area is repainted once
+ * matches of the block are known. Found matches are cached per block.
+ * <p>
+ * Assessor is registered to code area only while highlighting is active and
+ * each data change starts over with new matcher and empty cache.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class VisibleMatchesColorAssessor implements CodeAreaColorAssessor {
+
+    private static final int BLOCK_SIZE = 65536;
+    private static final int MAX_CACHED_BLOCKS = 256;
+    private static final long[] NO_MATCHES = new long[0];
+    private static final long[] PENDING_SCAN = new long[0];
+
+    private final SectCodeArea codeArea;
+    private final DataChangedListener dataChangedListener = this::invalidate;
+    private final ThreadPoolExecutor scanExecutor;
+    private Supplier<BinaryDataMatcher> matcherSupplier = null;
+    private volatile HighlightState highlightState = null;
+
+    private HighlightState paintState = null;
+    private SearchMatch currentMatch = null;
+    private Color matchColor;
+    private Color matchBackground;
+
+    public VisibleMatchesColorAssessor(SectCodeArea codeArea) {
+        this.codeArea = codeArea;
+        scanExecutor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), (runnable) -> {
+            Thread thread = new Thread(runnable, "HighlightMatchesThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scanExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Sets supplier of matchers to use for highlighting or null to stop
+     * highlighting.
+     * <p>
+     * Assessor registers itself to code area painter and data changes when
+     * highlighting starts and unregisters when it stops.
+     *
+     * @param matcherSupplier supplier of matchers dedicated for highlighting
+     */
+    public void setMatcherSupplier(@Nullable Supplier<BinaryDataMatcher> matcherSupplier) {
+        if (matcherSupplier != null && this.matcherSupplier == null) {
+            BinEdCodeAreaAssessor codeAreaAssessor = CodeAreaSwingUtils.findColorAssessor((ColorAssessorPainterCapable) codeArea.getPainter(), BinEdCodeAreaAssessor.class);
+            if (codeAreaAssessor != null) {
+                codeAreaAssessor.addColorModifier(this);
+            }
+            codeArea.addDataChangedListener(dataChangedListener);
+        } else if (matcherSupplier == null && this.matcherSupplier != null) {
+            BinEdCodeAreaAssessor codeAreaAssessor = CodeAreaSwingUtils.findColorAssessor((ColorAssessorPainterCapable) codeArea.getPainter(), BinEdCodeAreaAssessor.class);
+            if (codeAreaAssessor != null) {
+                codeAreaAssessor.removeColorModifier(this);
+            }
+            codeArea.removeDataChangedListener(dataChangedListener);
+        }
+
+        this.matcherSupplier = matcherSupplier;
+        invalidate();
+    }
+
+    /**
+     * Drops matches found so far as data was changed.
+     * <p>
+     * New matcher is created, so that no state of matcher created for
+     * previous data is reused.
+     */
+    public void invalidate() {
+        highlightState = matcherSupplier == null ? null : new HighlightState(matcherSupplier.get());
+    }
+
+    /**
+     * Stops highlighting and releases scanning thread.
+     */
+    public void dispose() {
+        setMatcherSupplier(null);
+        scanExecutor.shutdownNow();
+    }
+
+    @Override
+    public void startPaint(CodeAreaPaintState codeAreaPaintState) {
+        paintState = highlightState;
+        if (paintState == null) {
+            return;
+        }
+
+        SearchCodeAreaColorAssessor searchAssessor = CodeAreaSwingUtils.findColorAssessor((ColorAssessorPainterCapable) codeArea.getPainter(), SearchCodeAreaColorAssessor.class);
+        currentMatch = searchAssessor == null ? null : searchAssessor.getCurrentMatch();
+        SectionCodeAreaColorProfile colorsProfile = (SectionCodeAreaColorProfile) codeArea.getColorsProfile();
+        matchColor = colorsProfile.getColor(CodeAreaMatchColorType.MATCH_COLOR);
+        matchBackground = colorsProfile.getColor(CodeAreaMatchColorType.MATCH_BACKGROUND);
+    }
+
+    @Nullable
+    @Override
+    public Color getPositionBackgroundColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section, boolean inSelection) {
+        return isMatched(rowDataPosition + byteOnRow) ? matchBackground : null;
+    }
+
+    @Nullable
+    @Override
+    public Color getPositionTextColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section, boolean inSelection) {
+        return isMatched(rowDataPosition + byteOnRow) ? matchColor : null;
+    }
+
+    @Nonnull
+    @Override
+    public Optional<CodeAreaColorAssessor> getParentColorAssessor() {
+        return Optional.empty();
+    }
+
+    private boolean isMatched(long position) {
+        if (paintState == null) {
+            return false;
+        }
+        // Current match is painted by search assessor
+        if (currentMatch != null && position >= currentMatch.getPosition() && position < currentMatch.getPosition() + currentMatch.getLength()) {
+            return false;
+        }
+
+        BinaryData data = codeArea.getContentData();
+        if (position >= data.getDataSize()) {
+            return false;
+        }
+
+        long blockIndex = position / BLOCK_SIZE;
+        if (isInMatches(getBlockMatches(paintState, data, blockIndex), position)) {
+            return true;
+        }
+        // Match started in previous block can reach into this block
+        return blockIndex > 0 && isInMatches(getBlockMatches(paintState, data, blockIndex - 1), position);
+    }
+
+    /**
+     * Returns cached matches of the block or requests its scan.
+     *
+     * @return matches or empty array if block is not scanned yet
+     */
+    @Nonnull
+    private long[] getBlockMatches(HighlightState state, BinaryData data, long blockIndex) {
+        if (blockIndex == state.lastBlockIndex) {
+            return state.lastBlockMatches;
+        }
+
+        long[] matches = state.requestBlockMatches(blockIndex);
+        if (matches == null) {
+            scanExecutor.execute(() -> {
+                if (state != highlightState) {
+                    return;
+                }
+
+                long[] blockMatches;
+                try {
+                    blockMatches = state.scanBlock(data, blockIndex);
+                } catch (RuntimeException ex) {
+                    // Data was modified during scan, change invalidates state
+                    return;
+                }
+                state.putBlockMatches(blockIndex, blockMatches);
+                if (!Thread.currentThread().isInterrupted()) {
+                    SwingUtilities.invokeLater(() -> {
+                        if (state == highlightState) {
+                            codeArea.repaint();
+                        }
+                    });
+                }
+            });
+            return NO_MATCHES;
+        }
+        if (matches == PENDING_SCAN) {
+            return NO_MATCHES;
+        }
+
+        state.lastBlockIndex = blockIndex;
+        state.lastBlockMatches = matches;
+        return matches;
+    }
+
+    private static boolean isInMatches(long[] matches, long position) {
+        int low = 0;
+        int high = matches.length / 2 - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long start = matches[middle * 2];
+            if (position < start) {
+                high = middle - 1;
+            } else if (position >= matches[middle * 2 + 1]) {
+                low = middle + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Matcher with cache of matches per block.
+     * <p>
+     * Matcher is used by scanning thread only, cache is shared with painting
+     * thread.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class HighlightState {
+
+        private final BinaryDataMatcher matcher;
+        private final Map<Long, long[]> blocks = new LinkedHashMap<Long, long[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+                return size() > MAX_CACHED_BLOCKS;
+            }
+        };
+        private long lastBlockIndex = -1;
+        private long[] lastBlockMatches = NO_MATCHES;
+
+        HighlightState(BinaryDataMatcher matcher) {
+            this.matcher = matcher;
+            matcher.setProgressListener(null);
+        }
+
+        /**
+         * Returns cached matches of the block, marks block as pending if it
+         * was not requested yet.
+         *
+         * @return matches, pending marker or null if scan should be started
+         */
+        @Nullable
+        synchronized long[] requestBlockMatches(long blockIndex) {
+            long[] matches = blocks.get(blockIndex);
+            if (matches == null) {
+                blocks.put(blockIndex, PENDING_SCAN);
+            }
+            return matches;
+        }
+
+        synchronized void putBlockMatches(long blockIndex, long[] matches) {
+            blocks.put(blockIndex, matches);
+        }
+
+        /**
+         * Scans block for matches starting in it, matches can extend up to
+         * the end of the following block.
+         *
+         * @return pairs of match start and end positions
+         */
+        @Nonnull
+        long[] scanBlock(BinaryData data, long blockIndex) {
+            long blockStart = blockIndex * BLOCK_SIZE;
+            long blockEnd = blockStart + BLOCK_SIZE;
+            long scanLimit = Math.min(data.getDataSize(), blockEnd + BLOCK_SIZE);
+            long[] matches = NO_MATCHES;
+            int matchesCount = 0;
+            long position = blockStart;
+            while (position < blockEnd && matcher.find(data, position, scanLimit) && matcher.start() < blockEnd) {
+                if (matchesCount * 2 == matches.length) {
+                    matches = Arrays.copyOf(matches, Math.max(16, matches.length * 2));
+                }
+                matches[matchesCount * 2] = matcher.start();
+                matches[matchesCount * 2 + 1] = matcher.end();
+                matchesCount++;
+                position = Math.max(matcher.end(), matcher.start() + 1);
+            }
+            return matchesCount == 0 ? NO_MATCHES : Arrays.copyOf(matches, matchesCount * 2);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined;
+
+import java.awt.Component;
+import java.awt.Dialog;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.SwingUtilities;
+import org.exbin.framework.App;
+import org.exbin.framework.bined.gui.TaskProgressPanel;
+import org.exbin.framework.window.api.WindowHandler;
+import org.exbin.framework.window.api.WindowModuleApi;
+
+/**
+ * Runner of long running task outside of event dispatch thread.
+ * <p>
+ * Modal dialog with progress and cancel button is shown while the task is
+ * running, so that the user cannot modify processed data. Task is cancelled
+ * by interrupting its thread.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public final class BackgroundTaskRunner {
+
+    private BackgroundTaskRunner() {
+    }
+
+    /**
+     * Executes task and waits for its completion.
+     * <p>
+     * Must be called on event dispatch thread.
+     *
+     * @param <T> result type
+     * @param parentComponent parent component
+     * @param message message describing the task
+     * @param task task
+     * @return task result
+     * @throws CancellationException when cancelled by user
+     * @throws ExecutionException when task failed
+     */
+    @Nullable
+    public static <T> T execute(Component parentComponent, String message, Task<T> task) throws ExecutionException {
+        TaskProgressPanel progressPanel = new TaskProgressPanel();
+        progressPanel.setMessage(message);
+        WindowModuleApi windowModule = App.getModule(WindowModuleApi.class);
+        final WindowHandler dialog = windowModule.createDialog(parentComponent, Dialog.ModalityType.APPLICATION_MODAL, progressPanel);
+        windowModule.setWindowTitle(dialog, progressPanel.getResourceBundle());
+
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Thread taskThread = new Thread(() -> {
+            try {
+                result.set(task.run(new ProgressListener() {
+                    private int lastProgress = -1;
+
+                    @Override
+                    public void progress(long processed, long length) {
+                        int progress = length == 0 ? 1000 : (int) (processed / (double) length * 1000);
+                        if (progress != lastProgress) {
+                            lastProgress = progress;
+                            SwingUtilities.invokeLater(() -> progressPanel.setProgress(progress));
+                        }
+                    }
+                }));
+            } catch (Throwable ex) {
+                failure.set(ex);
+            }
+            SwingUtilities.invokeLater(() -> {
+                dialog.close();
+                dialog.dispose();
+            });
+        }, "BackgroundTaskThread");
+        progressPanel.setCancelListener(() -> {
+            cancelled.set(true);
+            taskThread.interrupt();
+        });
+        dialog.getWindow().addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                cancelled.set(true);
+                taskThread.interrupt();
+            }
+        });
+
+        taskThread.start();
+        dialog.showCentered(parentComponent);
+
+        if (taskThread.isAlive()) {
+            cancelled.set(true);
+            taskThread.interrupt();
+        }
+        // Task must not touch data after return
+        boolean interrupted = false;
+        while (taskThread.isAlive()) {
+            try {
+                taskThread.join();
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (cancelled.get()) {
+            throw new CancellationException();
+        }
+        if (failure.get() != null) {
+            throw new ExecutionException(failure.get());
+        }
+        return result.get();
+    }
+
+    /**
+     * Long running task.
+     *
+     * @param <T> result type
+     */
+    public interface Task<T> {
+
+        /**
+         * Runs the task.
+         * <p>
+         * Task should check interrupted state of current thread periodically
+         * and stop when interrupted.
+         *
+         * @param progressListener progress listener
+         * @return result
+         * @throws Exception on failure
+         */
+        @Nullable
+        T run(ProgressListener progressListener) throws Exception;
+    }
+
+    /**
+     * Listener for progress of task.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Reports progress of task.
+         *
+         * @param processed processed amount
+         * @param length total amount
+         */
+        void progress(long processed, long length);
+    }
+}
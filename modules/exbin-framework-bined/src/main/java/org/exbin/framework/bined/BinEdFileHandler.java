@@ -40,7 +40,7 @@ import org.exbin.auxiliary.binary_data.delta.file.FileDataSource;
 import org.exbin.auxiliary.binary_data.delta.SegmentsRepository;
 import org.exbin.auxiliary.binary_data.paged.PagedData;
 import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
-import org.exbin.bined.operation.swing.CodeAreaUndoRedo;
+import org.exbin.framework.bined.handler.BinEdCodeAreaUndoRedo;
 import org.exbin.bined.operation.command.BinaryDataUndoRedo;
 import org.exbin.bined.swing.section.SectCodeArea;
 import org.exbin.bined.swing.section.color.SectionCodeAreaColorProfile;
@@ -107,7 +107,7 @@ public class BinEdFileHandler implements EditableFileHandler, EditorFileHandler,
     }
 
     public void registerUndoHandler() {
-        setUndoHandler(new CodeAreaUndoRedo(editorComponent.getCodeArea()));
+        setUndoHandler(new BinEdCodeAreaUndoRedo(editorComponent.getCodeArea()));
     }
 
     public void setUndoHandler(BinaryDataUndoRedo undoRedo) {
@@ -138,6 +138,7 @@ public class BinEdFileHandler implements EditableFileHandler, EditorFileHandler,
 
         try {
             BinaryData oldData = editorComponent.getContentData();
+            detachShares(oldData);
             if (fileHandlingMode == FileHandlingMode.DELTA) {
                 FileDataSource openFileSource = new FileDataSource(file);
                 segmentsRepository.addDataSource(openFileSource);
@@ -223,6 +224,7 @@ public class BinEdFileHandler implements EditableFileHandler, EditorFileHandler,
             // TODO: stream to binary data
         }
 
+        detachShares(contentData);
         EditableBinaryData data = Objects.requireNonNull((EditableBinaryData) contentData);
         data.loadFromStream(stream);
         editorComponent.setContentData(contentData);
@@ -234,6 +236,7 @@ public class BinEdFileHandler implements EditableFileHandler, EditorFileHandler,
             contentData = new ByteArrayEditableData();
         }
 
+        detachShares(contentData);
         EditableBinaryData data = Objects.requireNonNull((EditableBinaryData) contentData);
         data.clear();
         data.insert(0, stream, dataSize);
@@ -339,6 +342,7 @@ public class BinEdFileHandler implements EditableFileHandler, EditorFileHandler,
     public void closeData() {
         SectCodeArea codeArea = editorComponent.getCodeArea();
         BinaryData data = codeArea.getContentData();
+        detachShares(data);
         editorComponent.setContentData(EmptyBinaryData.getInstance());
         if (data instanceof DeltaDocument) {
             FileDataSource fileSource = (FileDataSource) ((DeltaDocument) data).getDataSource();
@@ -378,6 +382,7 @@ public class BinEdFileHandler implements EditableFileHandler, EditorFileHandler,
                     undoRedo.clear();
                 }
 
+                detachShares(oldData);
                 oldData.dispose();
             }
         }
@@ -495,6 +500,13 @@ public class BinEdFileHandler implements EditableFileHandler, EditorFileHandler,
         this.dialogParentComponent = dialogParentComponent;
     }
 
+    private void detachShares(BinaryData data) {
+        if (!SharedRangeBinaryData.detachShares(editorComponent.getComponent(), data)) {
+            // Data are replaced anyway, copied ranges are no longer available
+            SharedRangeBinaryData.releaseShares(data);
+        }
+    }
+
     private void notifyUndoChanged() {
         if (undoRedo != null) {
             if (componentActivationListener != null) {
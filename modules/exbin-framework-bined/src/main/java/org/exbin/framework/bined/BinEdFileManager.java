@@ -30,6 +30,7 @@ import org.exbin.bined.swing.capability.ColorAssessorPainterCapable;
 import org.exbin.bined.swing.section.SectCodeArea;
 import org.exbin.framework.App;
 import org.exbin.framework.bined.gui.BinEdComponentPanel;
+import org.exbin.framework.bined.handler.BinEdCodeAreaCommandHandler;
 import org.exbin.framework.bined.gui.BinaryStatusPanel;
 import org.exbin.framework.bined.settings.StatusOptions;
 import org.exbin.framework.editor.api.EditorProvider;
@@ -92,7 +93,7 @@ public class BinEdFileManager {
         if (commandHandlerProvider != null) {
             commandHandler = commandHandlerProvider.createCommandHandler(codeArea, componentPanel.getUndoRedo().orElse(null));
         } else {
-            commandHandler = new CodeAreaOperationCommandHandler(codeArea, componentPanel.getUndoRedo().orElse(null));
+            commandHandler = new BinEdCodeAreaCommandHandler(codeArea, componentPanel.getUndoRedo().orElse(null));
         }
         codeArea.setCommandHandler(commandHandler);
     }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.delta.DataSegment;
+import org.exbin.auxiliary.binary_data.delta.DeltaDocument;
+import org.exbin.auxiliary.binary_data.delta.MemorySegment;
+import org.exbin.auxiliary.binary_data.delta.SourceSegment;
+import org.exbin.auxiliary.binary_data.delta.file.FileDataSource;
+
+/**
+ * Writer of data range into file.
+ * <p>
+ * Data are streamed from the source without intermediate copy. Parts of
+ * delta document which are unmodified regions of the underlying file are
+ * transferred directly between file channels.
+ * <p>
+ * Writing checks for interruption of the current thread between blocks and
+ * reports progress if listener is provided.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DataRangeFileWriter {
+
+    public static final int BUFFER_SIZE = 65536;
+    public static final long TRANSFER_SIZE = 8 * 1024 * 1024;
+
+    private DataRangeFileWriter() {
+    }
+
+    /**
+     * Writes data range into target file.
+     *
+     * @param data source data
+     * @param position range position
+     * @param length range length
+     * @param targetFile target file
+     * @throws IOException if writing fails or target is file of the source
+     * document
+     */
+    public static void write(BinaryData data, long position, long length, File targetFile) throws IOException {
+        write(data, position, length, targetFile, null);
+    }
+
+    /**
+     * Writes data range into target file reporting progress.
+     * <p>
+     * When the thread is interrupted, incomplete target file is deleted.
+     *
+     * @param data source data
+     * @param position range position
+     * @param length range length
+     * @param targetFile target file
+     * @param progressListener progress listener
+     * @throws IOException if writing fails or target is file of the source
+     * document
+     * @throws InterruptedIOException if current thread was interrupted
+     * between blocks
+     */
+    public static void write(BinaryData data, long position, long length, File targetFile, @Nullable BackgroundTaskRunner.ProgressListener progressListener) throws IOException {
+        if (position < 0 || length < 0 || position + length > data.getDataSize()) {
+            throw new IndexOutOfBoundsException("Range out of bounds");
+        }
+
+        File sourceFile = getSourceFile(data);
+        if (sourceFile != null && targetFile.exists() && Files.isSameFile(sourceFile.toPath(), targetFile.toPath())) {
+            throw new IOException("Unable to save data into the file of the source document");
+        }
+
+        try (FileOutputStream targetStream = new FileOutputStream(targetFile)) {
+            FileChannel targetChannel = targetStream.getChannel();
+            if (sourceFile != null) {
+                try (FileInputStream sourceStream = new FileInputStream(sourceFile)) {
+                    writeSegments((DeltaDocument) data, position, length, sourceStream.getChannel(), targetChannel, new WriteProgress(length, progressListener));
+                }
+            } else {
+                writeData(data, position, length, targetChannel, null, new WriteProgress(length, progressListener));
+            }
+        } catch (InterruptedIOException | ClosedByInterruptException ex) {
+            // Incomplete file is not kept
+            Files.deleteIfExists(targetFile.toPath());
+            throw ex;
+        }
+    }
+
+    @Nullable
+    private static File getSourceFile(BinaryData data) {
+        if (data instanceof DeltaDocument) {
+            Object dataSource = ((DeltaDocument) data).getDataSource();
+            if (dataSource instanceof FileDataSource) {
+                return ((FileDataSource) dataSource).getFile();
+            }
+        }
+
+        return null;
+    }
+
+    private static void writeSegments(DeltaDocument document, long position, long length, FileChannel sourceChannel, FileChannel targetChannel, WriteProgress progress) throws IOException {
+        long endPosition = position + length;
+        long segmentPosition = 0;
+        byte[] buffer = null;
+        DataSegment segment = document.getSegments().first();
+        while (segment != null && segmentPosition < endPosition) {
+            long segmentLength = segment instanceof SourceSegment ? ((SourceSegment) segment).getLength() : ((MemorySegment) segment).getLength();
+            long segmentEnd = segmentPosition + segmentLength;
+            if (segmentEnd > position) {
+                long rangePosition = Math.max(position, segmentPosition);
+                long rangeLength = Math.min(endPosition, segmentEnd) - rangePosition;
+                if (segment instanceof SourceSegment) {
+                    long sourcePosition = ((SourceSegment) segment).getStartPosition() + rangePosition - segmentPosition;
+                    transferData(sourceChannel, sourcePosition, rangeLength, targetChannel, progress);
+                } else {
+                    if (buffer == null) {
+                        buffer = new byte[BUFFER_SIZE];
+                    }
+                    writeData(document, rangePosition, rangeLength, targetChannel, buffer, progress);
+                }
+            }
+
+            segmentPosition = segmentEnd;
+            segment = segment.getNext();
+        }
+    }
+
+    private static void transferData(FileChannel sourceChannel, long position, long length, FileChannel targetChannel, WriteProgress progress) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            long transferred = sourceChannel.transferTo(position, Math.min(remaining, TRANSFER_SIZE), targetChannel);
+            if (transferred <= 0 && position >= sourceChannel.size()) {
+                throw new EOFException("Source file is shorter than expected");
+            }
+            position += transferred;
+            remaining -= transferred;
+            progress.advance(transferred);
+        }
+    }
+
+    private static void writeData(BinaryData data, long position, long length, FileChannel targetChannel, @Nullable byte[] buffer, WriteProgress progress) throws IOException {
+        if (buffer == null) {
+            buffer = new byte[(int) Math.min(length, BUFFER_SIZE)];
+        }
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        long offset = 0;
+        while (offset < length) {
+            int blockLength = (int) Math.min(length - offset, buffer.length);
+            data.copyToArray(position + offset, buffer, 0, blockLength);
+            byteBuffer.clear();
+            byteBuffer.limit(blockLength);
+            while (byteBuffer.hasRemaining()) {
+                targetChannel.write(byteBuffer);
+            }
+            offset += blockLength;
+            progress.advance(blockLength);
+        }
+    }
+
+    private static final class WriteProgress {
+
+        private final long length;
+        private final BackgroundTaskRunner.ProgressListener progressListener;
+        private long processed = 0;
+
+        WriteProgress(long length, @Nullable BackgroundTaskRunner.ProgressListener progressListener) {
+            this.length = length;
+            this.progressListener = progressListener;
+        }
+
+        void advance(long count) throws InterruptedIOException {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Writing was interrupted");
+            }
+            processed += count;
+            if (progressListener != null) {
+                progressListener.progress(processed, length);
+            }
+        }
+    }
+}
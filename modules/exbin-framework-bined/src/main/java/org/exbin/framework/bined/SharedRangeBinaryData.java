@@ -0,0 +1,375 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined;
+
+import java.awt.Component;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.SwingUtilities;
+import org.exbin.auxiliary.binary_data.BinaryData;
+import org.exbin.auxiliary.binary_data.BinaryDataRangeInputStream;
+import org.exbin.auxiliary.binary_data.array.paged.ByteArrayPagedData;
+import org.exbin.framework.App;
+import org.exbin.framework.language.api.LanguageModuleApi;
+
+/**
+ * Read-only view of data range shared between editors.
+ * <p>
+ * Data are read directly from source until the source is about to be
+ * modified, then the range is copied so the view keeps its content. Owners
+ * of source data have to call {@link #detachShares(Component, BinaryData)}
+ * before modifying or disposing it. Small ranges are copied to memory, larger
+ * ranges are written to temporary file on background thread.
+ * <p>
+ * View stays registered until released, which should be done when clipboard
+ * holding it loses ownership. View can be read from other thread, detaching
+ * switches to the copy atomically.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SharedRangeBinaryData implements BinaryData {
+
+    public static final int BLOCK_SIZE = 65536;
+
+    /**
+     * Length of range above which detached data are stored in temporary file.
+     */
+    public static final long SPILL_THRESHOLD = 1024 * 1024;
+
+    private static final Set<SharedRangeBinaryData> SHARES = Collections.newSetFromMap(new WeakHashMap<>());
+
+    @Nullable
+    private BinaryData data;
+    private long position;
+    private final long length;
+    private File spillFile = null;
+    private RandomAccessFile spillAccess = null;
+    private boolean spillCopied = false;
+
+    private SharedRangeBinaryData(BinaryData data, long position, long length) {
+        this.data = data;
+        this.position = position;
+        this.length = length;
+    }
+
+    /**
+     * Creates view of given data range without copying it.
+     *
+     * @param source source data
+     * @param position range position
+     * @param length range length
+     * @return shared data
+     */
+    @Nonnull
+    public static SharedRangeBinaryData share(BinaryData source, long position, long length) {
+        if (position < 0 || length < 0 || position + length > source.getDataSize()) {
+            throw new IndexOutOfBoundsException("Range out of bounds");
+        }
+
+        SharedRangeBinaryData sharedData = new SharedRangeBinaryData(source, position, length);
+        synchronized (SHARES) {
+            SHARES.add(sharedData);
+        }
+        return sharedData;
+    }
+
+    /**
+     * Copies content of all views of given source data.
+     * <p>
+     * Ranges above {@link #SPILL_THRESHOLD} are written to temporary file.
+     * When called on event dispatch thread, this is done on background thread
+     * with progress dialog which allows user to cancel it.
+     *
+     * @param parentComponent parent component for progress dialog
+     * @param source source data
+     * @return true if all views were detached, false if cancelled by user
+     */
+    public static boolean detachShares(Component parentComponent, BinaryData source) {
+        List<SharedRangeBinaryData> spilledShares = new ArrayList<>();
+        long spillLength = 0;
+        for (SharedRangeBinaryData sharedData : getShares()) {
+            if (sharedData.data != source) {
+                continue;
+            }
+
+            if (sharedData.length > SPILL_THRESHOLD) {
+                spilledShares.add(sharedData);
+                spillLength += sharedData.length;
+            } else {
+                sharedData.detachToMemory();
+            }
+        }
+        if (spilledShares.isEmpty()) {
+            return true;
+        }
+
+        long totalLength = spillLength;
+        BackgroundTaskRunner.Task<Void> spillTask = (progressListener) -> {
+            long processed = 0;
+            for (SharedRangeBinaryData sharedData : spilledShares) {
+                sharedData.detachToFile(processed, totalLength, progressListener);
+                processed += sharedData.length;
+            }
+            return null;
+        };
+        try {
+            if (SwingUtilities.isEventDispatchThread()) {
+                java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(BinedModule.class);
+                BackgroundTaskRunner.execute(parentComponent, resourceBundle.getString("detachShares.progress"), spillTask);
+            } else {
+                spillTask.run((processed, total) -> {
+                });
+            }
+        } catch (CancellationException ex) {
+            return false;
+        } catch (Exception ex) {
+            Logger.getLogger(SharedRangeBinaryData.class.getName()).log(Level.SEVERE, null, ex);
+            // Content cannot be preserved, remaining views are released
+            for (SharedRangeBinaryData sharedData : spilledShares) {
+                if (sharedData.isShared()) {
+                    sharedData.release();
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Releases all views of given source data.
+     *
+     * @param source source data
+     */
+    public static void releaseShares(BinaryData source) {
+        for (SharedRangeBinaryData sharedData : getShares()) {
+            if (sharedData.data == source) {
+                sharedData.release();
+            }
+        }
+    }
+
+    @Nonnull
+    private static List<SharedRangeBinaryData> getShares() {
+        synchronized (SHARES) {
+            return new ArrayList<>(SHARES);
+        }
+    }
+
+    private void detachToMemory() {
+        synchronized (SHARES) {
+            if (!SHARES.remove(this)) {
+                return;
+            }
+        }
+
+        ByteArrayPagedData detachedData = new ByteArrayPagedData();
+        byte[] buffer = new byte[(int) Math.min(length, BLOCK_SIZE)];
+        long offset = 0;
+        while (offset < length) {
+            int blockLength = (int) Math.min(length - offset, BLOCK_SIZE);
+            data.copyToArray(position + offset, buffer, 0, blockLength);
+            detachedData.insert(offset, buffer, 0, blockLength);
+            offset += blockLength;
+        }
+        synchronized (this) {
+            data = detachedData;
+            position = 0;
+        }
+    }
+
+    private void detachToFile(long processed, long totalLength, BackgroundTaskRunner.ProgressListener progressListener) throws IOException {
+        File file = File.createTempFile("bined-shared", ".tmp");
+        RandomAccessFile access = new RandomAccessFile(file, "rw");
+        try {
+            byte[] buffer = new byte[BLOCK_SIZE];
+            long offset = 0;
+            while (offset < length) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Detaching cancelled");
+                }
+                int blockLength = (int) Math.min(length - offset, BLOCK_SIZE);
+                data.copyToArray(position + offset, buffer, 0, blockLength);
+                access.write(buffer, 0, blockLength);
+                offset += blockLength;
+                progressListener.progress(processed + offset, totalLength);
+            }
+        } catch (IOException | RuntimeException ex) {
+            access.close();
+            file.delete();
+            throw ex;
+        }
+
+        synchronized (SHARES) {
+            SHARES.remove(this);
+        }
+        synchronized (this) {
+            data = null;
+            position = 0;
+            spillFile = file;
+            spillAccess = access;
+        }
+    }
+
+    /**
+     * Returns true if data are still read from source.
+     *
+     * @return true if shared
+     */
+    public boolean isShared() {
+        synchronized (SHARES) {
+            return SHARES.contains(this);
+        }
+    }
+
+    /**
+     * Releases view which is no longer needed.
+     * <p>
+     * View is no longer detached when source is modified and its temporary
+     * file is deleted. Reading released view fails.
+     */
+    public void release() {
+        synchronized (SHARES) {
+            SHARES.remove(this);
+        }
+        synchronized (this) {
+            data = null;
+            if (spillAccess != null && !spillCopied) {
+                try {
+                    spillAccess.close();
+                } catch (IOException ex) {
+                    Logger.getLogger(SharedRangeBinaryData.class.getName()).log(Level.SEVERE, null, ex);
+                }
+                if (!spillFile.delete()) {
+                    spillFile.deleteOnExit();
+                }
+                spillAccess = null;
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    @Override
+    public long getDataSize() {
+        return length;
+    }
+
+    @Override
+    public synchronized byte getByte(long position) {
+        checkRange(position, 1);
+        if (spillAccess != null) {
+            byte[] value = new byte[1];
+            readSpilled(position, value, 0, 1);
+            return value[0];
+        }
+        return getData().getByte(this.position + position);
+    }
+
+    @Nonnull
+    @Override
+    public BinaryData copy() {
+        return copy(0, length);
+    }
+
+    @Nonnull
+    @Override
+    public synchronized BinaryData copy(long startFrom, long length) {
+        checkRange(startFrom, length);
+        if (spillAccess != null) {
+            // Copy reads from this view, temporary file is kept until exit
+            if (!spillCopied) {
+                spillCopied = true;
+                spillFile.deleteOnExit();
+            }
+            return new SharedRangeBinaryData(this, startFrom, length);
+        }
+        return share(getData(), position + startFrom, length);
+    }
+
+    @Override
+    public synchronized void copyToArray(long startFrom, byte[] target, int offset, int length) {
+        checkRange(startFrom, length);
+        if (spillAccess != null) {
+            readSpilled(startFrom, target, offset, length);
+            return;
+        }
+        getData().copyToArray(position + startFrom, target, offset, length);
+    }
+
+    @Override
+    public void saveToStream(OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(length, BLOCK_SIZE)];
+        long offset = 0;
+        while (offset < length) {
+            int blockLength = (int) Math.min(length - offset, BLOCK_SIZE);
+            copyToArray(offset, buffer, 0, blockLength);
+            outputStream.write(buffer, 0, blockLength);
+            offset += blockLength;
+        }
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getDataInputStream() {
+        return new BinaryDataRangeInputStream(this, 0, length);
+    }
+
+    @Override
+    public void dispose() {
+        // View can be still referenced by paste operations, released by clipboard owner
+    }
+
+    @Nonnull
+    private BinaryData getData() {
+        if (data == null) {
+            throw new IllegalStateException("Shared data were released");
+        }
+        return data;
+    }
+
+    private void readSpilled(long startFrom, byte[] target, int offset, int length) {
+        try {
+            spillAccess.seek(startFrom);
+            spillAccess.readFully(target, offset, length);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to read data from temporary file", ex);
+        }
+    }
+
+    private void checkRange(long startFrom, long length) {
+        if (startFrom < 0 || length < 0 || startFrom + length > this.length) {
+            throw new IndexOutOfBoundsException("Range out of bounds");
+        }
+    }
+}
@@ -24,11 +24,12 @@ import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.JPopupMenu;
 import org.exbin.bined.operation.swing.CodeAreaOperationCommandHandler;
-import org.exbin.bined.operation.swing.CodeAreaUndoRedo;
+import org.exbin.framework.bined.handler.BinEdCodeAreaUndoRedo;
 import org.exbin.bined.operation.command.EmptyBinaryDataUndoRedo;
 import org.exbin.bined.swing.section.SectCodeArea;
 import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.framework.bined.BinEdCodeAreaAssessor;
+import org.exbin.framework.bined.handler.BinEdCodeAreaCommandHandler;
 import org.exbin.framework.utils.TestApplication;
 import org.exbin.framework.utils.WindowUtils;
 import org.exbin.bined.operation.command.BinaryDataUndoRedo;
@@ -62,7 +63,7 @@ public class BinEdComponentPanel extends javax.swing.JPanel {
         ((CharAssessorPainterCapable) painter).setCharAssessor(codeAreaAssessor);
         codeArea.setCodeFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
 
-        CodeAreaOperationCommandHandler commandHandler = new CodeAreaOperationCommandHandler(codeArea, new EmptyBinaryDataUndoRedo());
+        CodeAreaOperationCommandHandler commandHandler = new BinEdCodeAreaCommandHandler(codeArea, new EmptyBinaryDataUndoRedo());
         codeArea.setCommandHandler(commandHandler);
 
         add(codeArea);
@@ -150,7 +151,7 @@ public class BinEdComponentPanel extends javax.swing.JPanel {
 
     public void setUndoRedo(BinaryDataUndoRedo undoRedo) {
         this.undoRedo = undoRedo;
-        CodeAreaOperationCommandHandler commandHandler = new CodeAreaOperationCommandHandler(codeArea, undoRedo == null ? new CodeAreaUndoRedo(codeArea) : undoRedo);
+        CodeAreaOperationCommandHandler commandHandler = new BinEdCodeAreaCommandHandler(codeArea, undoRedo == null ? new BinEdCodeAreaUndoRedo(codeArea) : undoRedo);
         codeArea.setCommandHandler(commandHandler);
 
         for (BinEdComponentExtension extension : componentExtensions) {
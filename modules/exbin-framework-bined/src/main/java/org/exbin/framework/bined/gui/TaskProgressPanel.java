@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.gui;
+
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.framework.App;
+import org.exbin.framework.language.api.LanguageModuleApi;
+import org.exbin.framework.utils.TestApplication;
+import org.exbin.framework.utils.UtilsModule;
+import org.exbin.framework.utils.WindowUtils;
+
+/**
+ * Panel showing progress of long running task.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class TaskProgressPanel extends javax.swing.JPanel {
+
+    private final java.util.ResourceBundle resourceBundle = App.getModule(LanguageModuleApi.class).getBundle(TaskProgressPanel.class);
+    private Runnable cancelListener = null;
+
+    public TaskProgressPanel() {
+        initComponents();
+    }
+
+    @Nonnull
+    public ResourceBundle getResourceBundle() {
+        return resourceBundle;
+    }
+
+    /**
+     * This method is called from within the constructor to initialize the form.
+     * WARNING: Do NOT modify this code. The content of this method is always
+     * regenerated by the Form Editor.
+     */
+    @SuppressWarnings("unchecked")
+    // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
+    private void initComponents() {
+
+        messageLabel = new javax.swing.JLabel();
+        progressBar = new javax.swing.JProgressBar();
+        controlPanel = new javax.swing.JPanel();
+        cancelButton = new javax.swing.JButton();
+
+        setBorder(javax.swing.BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        setLayout(new java.awt.BorderLayout(0, 5));
+
+        messageLabel.setText(resourceBundle.getString("messageLabel.text")); // NOI18N
+        add(messageLabel, java.awt.BorderLayout.NORTH);
+
+        progressBar.setIndeterminate(true);
+        progressBar.setMaximum(1000);
+        progressBar.setPreferredSize(new java.awt.Dimension(360, 24));
+        progressBar.setStringPainted(true);
+        add(progressBar, java.awt.BorderLayout.CENTER);
+
+        controlPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.RIGHT, 0, 0));
+
+        cancelButton.setText(resourceBundle.getString("cancelButton.text")); // NOI18N
+        cancelButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                cancelButtonActionPerformed(evt);
+            }
+        });
+        controlPanel.add(cancelButton);
+
+        add(controlPanel, java.awt.BorderLayout.SOUTH);
+    }// </editor-fold>//GEN-END:initComponents
+
+    private void cancelButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_cancelButtonActionPerformed
+        cancelButton.setEnabled(false);
+        progressBar.setString(resourceBundle.getString("cancelling.text"));
+        if (cancelListener != null) {
+            cancelListener.run();
+        }
+    }//GEN-LAST:event_cancelButtonActionPerformed
+
+    /**
+     * Test method for this panel.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        TestApplication testApplication = UtilsModule.createTestApplication();
+        testApplication.launch(() -> {
+            testApplication.addModule(org.exbin.framework.language.api.LanguageModuleApi.MODULE_ID, new org.exbin.framework.language.api.utils.TestLanguageModule());
+            WindowUtils.invokeWindow(new TaskProgressPanel());
+        });
+    }
+
+    // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JButton cancelButton;
+    private javax.swing.JPanel controlPanel;
+    private javax.swing.JLabel messageLabel;
+    private javax.swing.JProgressBar progressBar;
+    // End of variables declaration//GEN-END:variables
+
+    public void setMessage(String message) {
+        messageLabel.setText(message);
+    }
+
+    /**
+     * Sets progress in permilles.
+     *
+     * @param progress progress in range 0 to 1000
+     */
+    public void setProgress(int progress) {
+        if (!cancelButton.isEnabled()) {
+            return;
+        }
+
+        progressBar.setIndeterminate(false);
+        progressBar.setValue(progress);
+        progressBar.setString(null);
+    }
+
+    public void setCancelListener(@Nullable Runnable cancelListener) {
+        this.cancelListener = cancelListener;
+    }
+}
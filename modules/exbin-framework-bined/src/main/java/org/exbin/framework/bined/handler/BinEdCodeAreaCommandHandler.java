@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.handler;
+
+import java.awt.datatransfer.Clipboard;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.Transferable;
+import java.awt.event.KeyEvent;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.CodeAreaUtils;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.capability.SelectionCapable;
+import org.exbin.bined.operation.command.BinaryDataUndoRedo;
+import org.exbin.bined.operation.swing.CodeAreaOperationCommandHandler;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.bined.swing.CodeAreaSwingUtils;
+import org.exbin.bined.swing.basic.DefaultCodeAreaCommandHandler;
+import org.exbin.framework.bined.SharedRangeBinaryData;
+
+/**
+ * Command handler passing copied data to clipboard as shared range.
+ * <p>
+ * Copy only stores reference to selected range, so pasting into another
+ * editor reads data directly from the source. Data for other applications
+ * are produced only when requested. Shared ranges of edited data are copied
+ * before each modification.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinEdCodeAreaCommandHandler extends CodeAreaOperationCommandHandler {
+
+    private boolean cutting = false;
+
+    public BinEdCodeAreaCommandHandler(CodeAreaCore codeArea, @Nullable BinaryDataUndoRedo undoRedo) {
+        super(codeArea, undoRedo);
+    }
+
+    @Override
+    public void keyTyped(KeyEvent keyEvent) {
+        char keyValue = keyEvent.getKeyChar();
+        if (keyValue > DefaultCodeAreaCommandHandler.LAST_CONTROL_CODE && keyValue != DELETE_CHAR) {
+            if (!detachShares()) {
+                return;
+            }
+        }
+
+        super.keyTyped(keyEvent);
+    }
+
+    @Override
+    public void enterPressed() {
+        if (!detachShares()) {
+            return;
+        }
+        super.enterPressed();
+    }
+
+    @Override
+    public void backSpacePressed() {
+        if (!detachShares()) {
+            return;
+        }
+        super.backSpacePressed();
+    }
+
+    @Override
+    public void deletePressed() {
+        if (!detachShares()) {
+            return;
+        }
+        super.deletePressed();
+    }
+
+    @Override
+    public void delete() {
+        if (!detachShares()) {
+            return;
+        }
+        super.delete();
+    }
+
+    @Override
+    public void copy() {
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            return;
+        }
+
+        if (cutting) {
+            // Cut data are removed from source, so they cannot be shared
+            super.copy();
+            return;
+        }
+
+        try {
+            SharedRangeBinaryData sharedData = SharedRangeBinaryData.share(codeArea.getContentData(), selection.getFirst(), selection.getLength());
+            DataFlavor binedDataFlavor = new DataFlavor(CodeAreaUtils.BINED_CLIPBOARD_MIME_FULL);
+            DataFlavor binaryDataFlavor = new DataFlavor(CodeAreaUtils.MIME_CLIPBOARD_BINARY);
+            Clipboard clipboard = CodeAreaSwingUtils.getClipboard();
+            CodeAreaSwingUtils.BinaryDataClipboardData clipboardData = new CodeAreaSwingUtils.BinaryDataClipboardData(sharedData, binedDataFlavor, binaryDataFlavor, null);
+            clipboard.setContents(clipboardData, (Clipboard ownerClipboard, Transferable contents) -> {
+                clipboardData.lostOwnership(ownerClipboard, contents);
+                // Range is no longer reachable from clipboard
+                sharedData.release();
+            });
+        } catch (ClassNotFoundException ex) {
+            Logger.getLogger(BinEdCodeAreaCommandHandler.class.getName()).log(Level.SEVERE, null, ex);
+            super.copy();
+        }
+    }
+
+    @Override
+    public void cut() {
+        if (!detachShares()) {
+            return;
+        }
+        cutting = true;
+        try {
+            super.cut();
+        } finally {
+            cutting = false;
+        }
+    }
+
+    @Override
+    public void paste() {
+        if (!detachShares()) {
+            return;
+        }
+        super.paste();
+    }
+
+    @Override
+    public void pasteFromCode() {
+        if (!detachShares()) {
+            return;
+        }
+        super.pasteFromCode();
+    }
+
+    /**
+     * Copies content of shared ranges of edited data before modification.
+     *
+     * @return true if modification can continue, false if cancelled by user
+     */
+    public boolean detachShares() {
+        return SharedRangeBinaryData.detachShares(codeArea, codeArea.getContentData());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.handler;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.operation.command.BinaryDataCommand;
+import org.exbin.bined.operation.swing.CodeAreaUndoRedo;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.framework.bined.SharedRangeBinaryData;
+
+/**
+ * Undo redo copying shared ranges of edited data before each modification.
+ * <p>
+ * Modification is skipped when user cancels copying of shared ranges.
+ * <p>
+ * All commands of the code area pass through this instance, including
+ * commands executed by other components like search or value inspector.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinEdCodeAreaUndoRedo extends CodeAreaUndoRedo {
+
+    private final CodeAreaCore codeArea;
+
+    public BinEdCodeAreaUndoRedo(CodeAreaCore codeArea) {
+        super(codeArea);
+        this.codeArea = codeArea;
+    }
+
+    @Override
+    public void execute(BinaryDataCommand command) {
+        if (!detachShares()) {
+            return;
+        }
+        super.execute(command);
+    }
+
+    @Override
+    public void performUndo() {
+        if (!detachShares()) {
+            return;
+        }
+        super.performUndo();
+    }
+
+    @Override
+    public void performUndo(int count) {
+        if (!detachShares()) {
+            return;
+        }
+        super.performUndo(count);
+    }
+
+    @Override
+    public void performRedo() {
+        if (!detachShares()) {
+            return;
+        }
+        super.performRedo();
+    }
+
+    @Override
+    public void performRedo(int count) {
+        if (!detachShares()) {
+            return;
+        }
+        super.performRedo(count);
+    }
+
+    private boolean detachShares() {
+        return SharedRangeBinaryData.detachShares(codeArea, codeArea.getContentData());
+    }
+}
@@ -22,8 +22,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import javax.swing.SwingUtilities;
 import org.bouncycastle.crypto.Digest;
 import org.bouncycastle.crypto.digests.GOST3411Digest;
 import org.bouncycastle.crypto.digests.KeccakDigest;
@@ -57,7 +57,9 @@ import org.exbin.framework.bined.operation.api.ConvertDataMethod;
 import org.exbin.framework.bined.operation.api.PreviewDataHandler;
 import org.exbin.framework.bined.operation.bouncycastle.method.gui.ComputeHashDataPanel;
 import org.exbin.framework.bined.operation.ConversionDataProvider;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
 import org.exbin.framework.bined.operation.ConvertDataOperation;
+import org.exbin.framework.bined.operation.PreviewExecutor;
 import org.exbin.framework.bined.operation.command.ConvertDataCommand;
 import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
 import org.exbin.framework.language.api.LanguageModuleApi;
@@ -77,6 +79,7 @@ public class ComputeHashDataMethod implements ConvertDataMethod {
     private static final int BUFFER_SIZE = 4096;
     private PreviewDataHandler previewDataHandler;
     private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
 
     @Nonnull
     @Override
@@ -103,6 +106,11 @@ public class ComputeHashDataMethod implements ConvertDataMethod {
         ((ComputeHashDataPanel) component).initFocus();
     }
 
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
     @Nonnull
     @Override
     public CodeAreaCommand createConvertCommand(Component component, CodeAreaCore codeArea) {
@@ -120,8 +128,8 @@ public class ComputeHashDataMethod implements ConvertDataMethod {
             length = selection.getLength();
         }
 
-        ConversionDataProvider conversionDataProvider = (EditableBinaryData binaryData, long sourcePosition, long sourceLength, long targetPosition) -> {
-            convertData(binaryData, sourcePosition, sourceLength, hashType.get(), bitSize, binaryData, targetPosition);
+        ConversionDataProvider conversionDataProvider = (BinaryData sourceData, long sourcePosition, long sourceLength, EditableBinaryData targetData, long targetPosition, @Nullable ConversionProgressListener progressListener) -> {
+            convertData(sourceData, sourcePosition, sourceLength, hashType.get(), bitSize, targetData, targetPosition);
         };
 
         long convertedDataLength = computeDigestLength(hashType.get(), bitSize);
@@ -154,13 +162,18 @@ public class ComputeHashDataMethod implements ConvertDataMethod {
         Digest digest = getDigest(hashType, bitSize);
         digest.reset();
 
-        int bufferSize = length < BUFFER_SIZE ? (int) length : BUFFER_SIZE;
-        byte[] buffer = new byte[bufferSize];
+        byte[] buffer = new byte[length < BUFFER_SIZE ? (int) length : BUFFER_SIZE];
+        long offset = position;
         long remaining = length;
         while (remaining > 0) {
-            sourceBinaryData.copyToArray(position, buffer, 0, bufferSize);
-            digest.update(buffer, 0, bufferSize);
-            remaining -= bufferSize;
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Conversion cancelled");
+            }
+            int chunkSize = remaining < buffer.length ? (int) remaining : buffer.length;
+            sourceBinaryData.copyToArray(offset, buffer, 0, chunkSize);
+            digest.update(buffer, 0, chunkSize);
+            offset += chunkSize;
+            remaining -= chunkSize;
         }
         int digestSize = digest.getDigestSize();
         byte[] output = new byte[digestSize];
@@ -227,6 +240,8 @@ public class ComputeHashDataMethod implements ConvertDataMethod {
     public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
         this.previewDataHandler = previewDataHandler;
         this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
         ComputeHashDataPanel panel = (ComputeHashDataPanel) component;
         panel.setResultChangeListener(() -> {
             fillPreviewData(panel, codeArea);
@@ -235,33 +250,38 @@ public class ComputeHashDataMethod implements ConvertDataMethod {
     }
 
     private void fillPreviewData(ComputeHashDataPanel panel, CodeAreaCore codeArea) {
-        previewPanel = new BinaryPreviewPanel();
-        previewDataHandler.setPreviewComponent(previewPanel);
-        SwingUtilities.invokeLater(() -> {
-            Optional<HashType> hashType = panel.getHashType();
-            int bitSize = panel.getBitSize();
+        Optional<HashType> hashType = panel.getHashType();
+        int bitSize = panel.getBitSize();
+        if (!hashType.isPresent()) {
+            previewExecutor.cancel();
+            previewPanel.setPreviewData(new ByteArrayEditableData());
+            return;
+        }
 
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        // Digest of sampled prefix would differ from the result, whole range
+        // is processed on background thread and cancelled on option change
+        BinaryData contentData = codeArea.getContentData();
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
             EditableBinaryData previewBinaryData = new ByteArrayEditableData();
-            previewBinaryData.clear();
-            if (hashType.isPresent()) {
-                long position;
-                long length;
-                SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
-                if (selection.isEmpty()) {
-                    position = 0;
-                    length = codeArea.getDataSize();
-                } else {
-                    position = selection.getFirst();
-                    length = selection.getLength();
-                }
-                convertData(codeArea.getContentData(), position, length, hashType.get(), bitSize, previewBinaryData, 0);
-                long previewDataSize = previewBinaryData.getDataSize();
-                if (previewDataSize > previewLengthLimit) {
-                    previewBinaryData.remove(previewLengthLimit, previewDataSize - previewLengthLimit);
-                }
+            convertData(contentData, position, length, hashType.get(), bitSize, previewBinaryData, 0);
+            long previewDataSize = previewBinaryData.getDataSize();
+            if (previewDataSize > previewLengthLimit) {
+                previewBinaryData.remove(previewLengthLimit, previewDataSize - previewLengthLimit);
             }
-            previewPanel.setPreviewData(previewBinaryData);
-        });
+            return previewBinaryData;
+        }, targetPanel::setPreviewData);
     }
 
     public enum HashType {
@@ -20,6 +20,7 @@ import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.security.spec.KeySpec;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
@@ -27,7 +28,6 @@ import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
-import javax.swing.SwingUtilities;
 import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
@@ -40,8 +40,10 @@ import org.exbin.framework.bined.operation.api.ConvertDataMethod;
 import org.exbin.framework.language.api.LanguageModuleApi;
 import org.exbin.framework.bined.operation.api.PreviewDataHandler;
 import org.exbin.framework.bined.operation.ConversionDataProvider;
+import org.exbin.framework.bined.operation.ConversionProgressListener;
 import org.exbin.framework.bined.operation.command.ConvertDataCommand;
 import org.exbin.framework.bined.operation.ConvertDataOperation;
+import org.exbin.framework.bined.operation.PreviewExecutor;
 import org.exbin.framework.bined.operation.bouncycastle.method.gui.EncryptionPanel;
 import org.exbin.framework.bined.operation.gui.BinaryPreviewPanel;
 
@@ -61,6 +63,7 @@ public class SymmetricEncryptionMethod implements ConvertDataMethod {
     private long previewLengthLimit = 0;
     private PreviewDataHandler previewDataHandler;
     private BinaryPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
 
     @Nonnull
     @Override
@@ -80,6 +83,11 @@ public class SymmetricEncryptionMethod implements ConvertDataMethod {
         ((EncryptionPanel) component).initFocus();
     }
 
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
     @Nonnull
     @Override
     public CodeAreaCommand createConvertCommand(Component component, CodeAreaCore codeArea) {
@@ -99,8 +107,8 @@ public class SymmetricEncryptionMethod implements ConvertDataMethod {
             length = selection.getLength();
         }
 
-        ConversionDataProvider conversionDataProvider = (EditableBinaryData binaryData, long sourcePosition, long sourceLength, long targetPosition) -> {
-            convertData(binaryData, sourcePosition, sourceLength, operationType, algorithm, password, binaryData, targetPosition);
+        ConversionDataProvider conversionDataProvider = (BinaryData sourceData, long sourcePosition, long sourceLength, EditableBinaryData targetData, long targetPosition, @Nullable ConversionProgressListener progressListener) -> {
+            convertData(sourceData, sourcePosition, sourceLength, operationType, algorithm, password, targetData, targetPosition);
         };
 
         return new ConvertDataCommand(codeArea, new ConvertDataOperation(position, length, length, conversionDataProvider));
@@ -218,6 +226,8 @@ public class SymmetricEncryptionMethod implements ConvertDataMethod {
     public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
         this.previewDataHandler = previewDataHandler;
         this.previewLengthLimit = lengthLimit;
+        previewPanel = new BinaryPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
         EncryptionPanel panel = (EncryptionPanel) component;
         panel.setConfigChangeListener(() -> {
             fillPreviewData(panel, codeArea);
@@ -226,46 +236,54 @@ public class SymmetricEncryptionMethod implements ConvertDataMethod {
     }
 
     private void fillPreviewData(EncryptionPanel panel, CodeAreaCore codeArea) {
-        previewPanel = new BinaryPreviewPanel();
-        previewDataHandler.setPreviewComponent(previewPanel);
-        SwingUtilities.invokeLater(() -> {
-            OperationType operationType = panel.getOperationType();
-            Algorithm algorithm = panel.getAlgorithm();
-            char[] password = panel.getPassword();
-
-            if (password == null || password.length == 0) {
-                return;
-            }
-
-            EditableBinaryData previewBinaryData = new ByteArrayEditableData();
-            previewBinaryData.clear();
-            long position;
-            long length;
-            SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
-            if (selection.isEmpty()) {
-                position = 0;
-                length = codeArea.getDataSize();
-            } else {
-                position = selection.getFirst();
-                length = selection.getLength();
-            }
+        OperationType operationType = panel.getOperationType();
+        Algorithm algorithm = panel.getAlgorithm();
+        char[] password = panel.getPassword();
 
-            length = Math.min(length, 1024);
+        if (password == null || password.length == 0) {
+            previewExecutor.cancel();
+            return;
+        }
 
-            String resultMessage = convertData(codeArea.getContentData(), position, length, operationType, algorithm, password, previewBinaryData, 0);
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
 
-            if (resultMessage.isEmpty()) {
-                long previewDataSize = previewBinaryData.getDataSize();
-                if (previewDataSize > previewLengthLimit) {
-                    previewBinaryData.remove(previewLengthLimit, previewDataSize - previewLengthLimit);
-                }
-                previewPanel.setPreviewData(previewBinaryData);
+        // Key derivation and cipher run on background thread on sampled prefix
+        long sampleLength = PreviewExecutor.getSampleLength(length);
+        BinaryData contentData = codeArea.getContentData();
+        BinaryPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
+            PreviewResult result = new PreviewResult();
+            result.binaryData = new ByteArrayEditableData();
+            result.message = convertData(contentData, position, sampleLength, operationType, algorithm, password, result.binaryData, 0);
+            long previewDataSize = result.binaryData.getDataSize();
+            if (previewDataSize > previewLengthLimit) {
+                result.binaryData.remove(previewLengthLimit, previewDataSize - previewLengthLimit);
+            }
+            return result;
+        }, (result) -> {
+            if (result.message.isEmpty()) {
+                targetPanel.setPreviewData(result.binaryData);
             } else {
-                previewPanel.setErrorMessage(resultMessage);
+                targetPanel.setErrorMessage(result.message);
             }
         });
     }
 
+    private static class PreviewResult {
+
+        EditableBinaryData binaryData;
+        String message;
+    }
+
     public enum OperationType {
         ENCRYPT,
         DECRYPT
@@ -24,7 +24,6 @@ import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import javax.swing.SwingUtilities;
 import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.auxiliary.binary_data.EditableBinaryData;
 import org.exbin.auxiliary.binary_data.array.ByteArrayEditableData;
@@ -35,6 +34,7 @@ import org.exbin.framework.App;
 import org.exbin.framework.bined.operation.api.CopyAsDataMethod;
 import org.exbin.framework.language.api.LanguageModuleApi;
 import org.exbin.framework.bined.operation.api.PreviewDataHandler;
+import org.exbin.framework.bined.operation.PreviewExecutor;
 import org.exbin.framework.bined.operation.code.CodeExportFormat;
 import org.exbin.framework.bined.operation.code.CodeExportOptions;
 import org.exbin.framework.bined.operation.code.format.CHexArrayFormat;
@@ -57,6 +57,7 @@ public class CopyAsCodeDataMethod implements CopyAsDataMethod {
     private long previewLengthLimit = 128;
     private PreviewDataHandler previewDataHandler;
     private TextPreviewPanel previewPanel;
+    private final PreviewExecutor previewExecutor = new PreviewExecutor();
 
     public CopyAsCodeDataMethod() {
         // Initialize available export formats
@@ -86,6 +87,11 @@ public class CopyAsCodeDataMethod implements CopyAsDataMethod {
         // ((CopyAsCodePanel) component).initFocus();
     }
 
+    @Override
+    public void cancelPreview() {
+        previewExecutor.shutdown();
+    }
+
     @Override
     public void performCopy(Component component, CodeAreaCore codeArea) {
         CopyAsCodePanel panel = (CopyAsCodePanel) component;
@@ -116,6 +122,8 @@ public class CopyAsCodeDataMethod implements CopyAsDataMethod {
     public void requestPreview(PreviewDataHandler previewDataHandler, Component component, CodeAreaCore codeArea, long lengthLimit) {
         this.previewDataHandler = previewDataHandler;
         this.previewLengthLimit = lengthLimit;
+        previewPanel = new TextPreviewPanel();
+        previewDataHandler.setPreviewComponent(previewPanel);
         CopyAsCodePanel panel = (CopyAsCodePanel) component;
         panel.setResultChangeListener(() -> {
             fillPreviewData(panel, codeArea);
@@ -124,32 +132,43 @@ public class CopyAsCodeDataMethod implements CopyAsDataMethod {
     }
 
     private void fillPreviewData(CopyAsCodePanel panel, CodeAreaCore codeArea) {
-        previewPanel = new TextPreviewPanel();
-        previewDataHandler.setPreviewComponent(previewPanel);
-        SwingUtilities.invokeLater(() -> {
-            EditableBinaryData previewBinaryData = new ByteArrayEditableData();
-            previewBinaryData.clear();
-            long position;
-            long length;
-            SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
-            if (selection.isEmpty()) {
-                position = 0;
-                length = codeArea.getDataSize();
-            } else {
-                position = selection.getFirst();
-                length = selection.getLength();
-            }
+        CodeExportFormat format = panel.getSelectedFormat();
+        // Options are modified by panel, use copy for background computation
+        CodeExportOptions currentOptions = panel.getCurrentOptions();
+        CodeExportOptions options = new CodeExportOptions();
+        options.setUppercaseHex(currentOptions.isUppercaseHex());
+        options.setBytesPerLine(currentOptions.getBytesPerLine());
+        options.setIncludeLineBreaks(currentOptions.isIncludeLineBreaks());
+        options.setIndentation(currentOptions.getIndentation());
+        options.setIncludeVariableDeclaration(currentOptions.isIncludeVariableDeclaration());
+        options.setVariableName(currentOptions.getVariableName());
+        long position;
+        long length;
+        SelectionRange selection = ((SelectionCapable) codeArea).getSelection();
+        if (selection.isEmpty()) {
+            position = 0;
+            length = codeArea.getDataSize();
+        } else {
+            position = selection.getFirst();
+            length = selection.getLength();
+        }
 
-            if (length > previewLengthLimit) {
-                length = previewLengthLimit;
-            }
+        if (length > previewLengthLimit) {
+            length = previewLengthLimit;
+        }
 
-            previewBinaryData.insert(0, codeArea.getContentData().copy(position, length));
-            ResultData resultData = generateData(previewBinaryData, panel.getSelectedFormat(), panel.getCurrentOptions());
+        BinaryData contentData = codeArea.getContentData();
+        long previewLength = length;
+        TextPreviewPanel targetPanel = previewPanel;
+        previewExecutor.submit(() -> {
+            EditableBinaryData previewBinaryData = new ByteArrayEditableData();
+            previewBinaryData.insert(0, contentData.copy(position, previewLength));
+            return generateData(previewBinaryData, format, options);
+        }, (resultData) -> {
             if (resultData.errorText.isEmpty()) {
-                previewPanel.setPreviewText(resultData.resultText);
+                targetPanel.setPreviewText(resultData.resultText);
             } else {
-                previewPanel.setErrorMessage(resultData.errorText);
+                targetPanel.setErrorMessage(resultData.errorText);
             }
         });
     }
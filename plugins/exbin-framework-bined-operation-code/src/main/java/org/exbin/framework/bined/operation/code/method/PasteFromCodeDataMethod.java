@@ -80,6 +80,11 @@ public class PasteFromCodeDataMethod implements PasteFromDataMethod {
         // ((PasteFromCodePanel) component).initFocus();
     }
 
+    @Override
+    public void cancelPreview() {
+        // Preview only shows data already parsed by panel
+    }
+
     @Nonnull
     @Override
     public CodeAreaCommand createPasteCommand(Component component, CodeAreaCore codeArea, long position, EditOperation editOperation) {